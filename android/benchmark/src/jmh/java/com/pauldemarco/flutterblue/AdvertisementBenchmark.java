@@ -0,0 +1,54 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scan result path: raw advertisement to parsed proto to channel bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AdvertisementBenchmark {
+    @Param({"ibeacon", "eddystone_uid", "eddystone_url", "manufacturer_heavy", "max_legacy_31", "extended_255"})
+    public String payload;
+
+    private byte[] advertisement;
+    private Protos.BluetoothDevice device;
+
+    @Setup
+    public void setup() throws IOException {
+        advertisement = Corpus.advertisement(payload);
+        device = Protos.BluetoothDevice.newBuilder()
+                .setRemoteId("C0:FF:EE:00:00:01")
+                .setName("bench")
+                .setType(Protos.BluetoothDevice.Type.LE)
+                .build();
+    }
+
+    @Benchmark
+    public Protos.AdvertisementData parse() {
+        return AdvertisementParser.parse(advertisement);
+    }
+
+    @Benchmark
+    public Protos.ScanResult scanResult() {
+        return ProtoMaker.from(device, advertisement, -60);
+    }
+
+    @Benchmark
+    public byte[] scanResultBytes() {
+        return ProtoMaker.from(device, advertisement, -60).toByteArray();
+    }
+}
@@ -0,0 +1,56 @@
+package com.pauldemarco.flutterblue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads payloads from the checked in advertisements.txt corpus.
+ */
+final class Corpus {
+    private Corpus() {
+        // NOTE: sealed class for static access only
+    }
+
+    static byte[] advertisement(String name) throws IOException {
+        final byte[] advertisement = all().get(name);
+        if (advertisement == null) {
+            throw new IOException("no advertisement named " + name);
+        }
+        return advertisement;
+    }
+
+    /**
+     * Every payload of the corpus by name, in file order.
+     */
+    static Map<String, byte[]> all() throws IOException {
+        final InputStream in = Corpus.class.getResourceAsStream("/advertisements.txt");
+        if (in == null) {
+            throw new IOException("advertisements.txt missing from the classpath");
+        }
+        final Map<String, byte[]> out = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, Charset.forName("UTF-8")))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                final String[] parts = line.split(" ");
+                out.put(parts[0], hex(parts[1]));
+            }
+        }
+        return out;
+    }
+
+    private static byte[] hex(String s) {
+        final byte[] out = new byte[s.length() / 2];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (byte) Integer.parseInt(s.substring(i * 2, i * 2 + 2), 16);
+        }
+        return out;
+    }
+}
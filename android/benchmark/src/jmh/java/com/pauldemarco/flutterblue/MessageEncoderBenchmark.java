@@ -0,0 +1,141 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import android.bluetooth.BluetoothProfile;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct encoding of the hot event messages against building them. gc.alloc.rate.norm of the
+ * encoded benchmarks should stay at the size of the returned array plus its 16 byte header.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageEncoderBenchmark {
+    private static final String REMOTE_ID = "C0:FF:EE:00:00:01";
+
+    @State(Scope.Benchmark)
+    public static class Scan {
+        @Param({"ibeacon", "eddystone_uid", "manufacturer_heavy", "max_legacy_31", "extended_255"})
+        public String payload;
+
+        private byte[] advertisement;
+        private Protos.BluetoothDevice device;
+        // startScan's without filters and two filtered subscriptions
+        private final ScanSubscriptions subscriptions = new ScanSubscriptions();
+        // one subscription whose predicate turns every result down
+        private final ScanSubscriptions rejecting = new ScanSubscriptions();
+
+        @Setup
+        public void setup() throws IOException {
+            advertisement = Corpus.advertisement(payload);
+            device = Protos.BluetoothDevice.newBuilder()
+                    .setRemoteId(REMOTE_ID)
+                    .setName("bench")
+                    .setType(Protos.BluetoothDevice.Type.LE)
+                    .build();
+            subscriptions.put(ScanSubscriptions.START_SCAN_ID, Protos.ScanSettings.getDefaultInstance());
+            subscriptions.add(Protos.ScanSettings.newBuilder()
+                    .addServiceUuids("0000feaa-0000-1000-8000-00805f9b34fb")
+                    .build());
+            subscriptions.add(Protos.ScanSettings.newBuilder()
+                    .addServiceUuids("0000180d-0000-1000-8000-00805f9b34fb")
+                    .build());
+            rejecting.add(Protos.ScanSettings.newBuilder()
+                    .setPredicate(Protos.ScanPredicate.newBuilder().setMinRssi(-50))
+                    .build());
+        }
+    }
+
+    private BluetoothGattCharacteristic characteristic;
+    private List<BluetoothGattService> services;
+
+    @Setup
+    public void setup() {
+        // a heart rate measurement with its client characteristic configuration
+        final BluetoothGattService service = new BluetoothGattService(
+                UUID.fromString("0000180d-0000-1000-8000-00805f9b34fb"), BluetoothGattService.SERVICE_TYPE_PRIMARY);
+        characteristic = new BluetoothGattCharacteristic(
+                UUID.fromString("00002a37-0000-1000-8000-00805f9b34fb"), BluetoothGattCharacteristic.PROPERTY_NOTIFY, 0);
+        final BluetoothGattDescriptor cccd = new BluetoothGattDescriptor(
+                UUID.fromString("00002902-0000-1000-8000-00805f9b34fb"), 0);
+        cccd.setValue(new byte[]{1, 0});
+        characteristic.addDescriptor(cccd);
+        characteristic.setValue(new byte[]{0x06, 72});
+        service.addCharacteristic(characteristic);
+        services = Collections.singletonList(service);
+    }
+
+    @Benchmark
+    public byte[] scanResultBuilt(Scan scan) {
+        return ScanPipeline.build(scan.device, scan.advertisement, -60, true).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] scanResultEncoded(Scan scan) {
+        return MessageEncoder.get().scanResult(scan.device, scan.advertisement, -60, true);
+    }
+
+    @Benchmark
+    public byte[] scanResultRouted(Scan scan) {
+        return MessageEncoder.get().scanResult(scan.device, scan.advertisement, -60, true, scan.subscriptions);
+    }
+
+    @Benchmark
+    public byte[] scanResultRejected(Scan scan) {
+        return MessageEncoder.get().scanResult(scan.device, scan.advertisement, -60, true, scan.rejecting);
+    }
+
+    @Benchmark
+    public byte[] scanResultBeacons(Scan scan) {
+        return MessageEncoder.get().scanResult(scan.device, ScanPipeline.PROTO_DEVICES, scan.advertisement, -60, true,
+                null, true);
+    }
+
+    @Benchmark
+    public byte[] characteristicChangedBuilt() {
+        return Protos.OnCharacteristicChanged.newBuilder()
+                .setRemoteId(REMOTE_ID)
+                .setCharacteristic(ProtoMaker.from(REMOTE_ID, characteristic, services, false))
+                .build()
+                .toByteArray();
+    }
+
+    @Benchmark
+    public byte[] characteristicChangedEncoded() {
+        return MessageEncoder.get().characteristicChanged(REMOTE_ID, characteristic, services, false);
+    }
+
+    @Benchmark
+    public byte[] characteristicChangedBinaryUuids() {
+        return MessageEncoder.get().characteristicChanged(REMOTE_ID, characteristic, services, true);
+    }
+
+    @Benchmark
+    public byte[] deviceStateBuilt() {
+        return ProtoMaker.from(REMOTE_ID, BluetoothProfile.STATE_CONNECTED).toByteArray();
+    }
+
+    @Benchmark
+    public byte[] deviceStateEncoded() {
+        return MessageEncoder.get().deviceState(REMOTE_ID, BluetoothProfile.STATE_CONNECTED);
+    }
+}
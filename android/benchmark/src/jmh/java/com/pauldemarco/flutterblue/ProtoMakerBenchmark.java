@@ -0,0 +1,70 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothAdapter;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small conversions done for every characteristic and connection event.
+ *
+ * The *Built variants build the message anew as the plugin did before the shared tables, the
+ * difference in gc.alloc.rate.norm is what each characteristic in a discovery or read saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProtoMakerBenchmark {
+    public int properties = 0x1A;
+    public int state = 2;
+    public int adapterState = BluetoothAdapter.STATE_ON;
+
+    @Benchmark
+    public Protos.CharacteristicProperties characteristicProperties() {
+        return ProtoMaker.from(properties);
+    }
+
+    @Benchmark
+    public Protos.CharacteristicProperties characteristicPropertiesBuilt() {
+        return Protos.CharacteristicProperties.newBuilder()
+                .setBroadcast((properties & 1) != 0)
+                .setRead((properties & 2) != 0)
+                .setWriteWithoutResponse((properties & 4) != 0)
+                .setWrite((properties & 8) != 0)
+                .setNotify((properties & 16) != 0)
+                .setIndicate((properties & 32) != 0)
+                .setAuthenticatedSignedWrites((properties & 64) != 0)
+                .setExtendedProperties((properties & 128) != 0)
+                .setNotifyEncryptionRequired((properties & 256) != 0)
+                .setIndicateEncryptionRequired((properties & 512) != 0)
+                .build();
+    }
+
+    @Benchmark
+    public Protos.BluetoothState bluetoothState() {
+        return ProtoMaker.bluetoothState(adapterState);
+    }
+
+    @Benchmark
+    public Protos.BluetoothState bluetoothStateBuilt() {
+        return Protos.BluetoothState.newBuilder().setState(Protos.BluetoothState.State.ON).build();
+    }
+
+    @Benchmark
+    public Protos.DeviceStateResponse deviceState() {
+        return ProtoMaker.from("C0:FF:EE:00:00:01", state);
+    }
+
+    @Benchmark
+    public byte[] deviceStateBytes() {
+        return ProtoMaker.from("C0:FF:EE:00:00:01", state).toByteArray();
+    }
+}
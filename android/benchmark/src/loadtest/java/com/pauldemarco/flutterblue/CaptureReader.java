@@ -0,0 +1,117 @@
+package com.pauldemarco.flutterblue;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Sequential reader of files written by {@link CaptureWriter}.
+ *
+ * The same {@link Frame} instance is refilled by every {@link #next()} call.
+ */
+class CaptureReader implements Closeable {
+    static class Frame {
+        byte type;
+        long timestamp;
+        String method;
+        long address;
+        int rssi;
+        boolean connectable;
+        TraceBuffer.Event event;
+        long attributeMsb;
+        long attributeLsb;
+        int status;
+        int value;
+        // frames the writer dropped at this point
+        long dropped;
+        byte[] data = new byte[256];
+        int length;
+
+        byte[] copyData() {
+            return Arrays.copyOf(data, length);
+        }
+    }
+
+    private static final TraceBuffer.Event[] EVENTS = TraceBuffer.Event.values();
+
+    private final DataInputStream in;
+    private final Frame frame = new Frame();
+
+    CaptureReader(File file) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024));
+        if (in.readInt() != CaptureWriter.MAGIC) {
+            in.close();
+            throw new IOException("not a capture file: " + file);
+        }
+        final short version = in.readShort();
+        if (version != CaptureWriter.VERSION) {
+            in.close();
+            throw new IOException("unsupported capture version: " + version);
+        }
+    }
+
+    /**
+     * @return the next frame, or null at the end of the capture
+     */
+    Frame next() throws IOException {
+        final int type = in.read();
+        if (type < 0) {
+            return null;
+        }
+
+        try {
+            frame.type = (byte) type;
+            frame.timestamp = in.readLong();
+            switch (frame.type) {
+                case CaptureWriter.FRAME_METHOD_CALL:
+                case CaptureWriter.FRAME_OUTGOING:
+                    frame.method = in.readUTF();
+                    readData();
+                    break;
+                case CaptureWriter.FRAME_SCAN_RESULT:
+                    frame.address = in.readLong();
+                    frame.rssi = in.readInt();
+                    frame.connectable = in.readBoolean();
+                    readData();
+                    break;
+                case CaptureWriter.FRAME_GATT_CALLBACK:
+                    frame.event = EVENTS[in.readByte()];
+                    frame.address = in.readLong();
+                    frame.attributeMsb = in.readLong();
+                    frame.attributeLsb = in.readLong();
+                    frame.status = in.readInt();
+                    frame.value = in.readInt();
+                    frame.length = 0;
+                    break;
+                case CaptureWriter.FRAME_DROPPED:
+                    frame.dropped = in.readLong();
+                    frame.length = 0;
+                    break;
+                default:
+                    throw new IOException("unknown capture frame type: " + type);
+            }
+        } catch (EOFException e) {
+            throw new IOException("capture truncated", e);
+        }
+        return frame;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readData() throws IOException {
+        final int length = in.readInt();
+        if (frame.data.length < length) {
+            frame.data = new byte[Math.max(length, frame.data.length * 2)];
+        }
+        in.readFully(frame.data, 0, length);
+        frame.length = length;
+    }
+}
@@ -0,0 +1,230 @@
+package com.pauldemarco.flutterblue;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records frames from several threads with {@link CaptureWriter}, reads them back with
+ * {@link CaptureReader} and replays the file with {@link ReplayDriver}:
+ * <pre>gradle -p android/benchmark captureRoundTrip</pre>
+ * Records once as fast as the threads can, where every dropped frame has to be marked in the
+ * file, and once paced at the top rate of the scan pipeline load test, where no more than
+ * {@link #DROP_BUDGET} frames may be dropped. Exits non zero when a frame is lost without being
+ * marked as dropped, comes back out of the order its thread recorded it in, reads back or
+ * replays differently, or the paced recording dropped more than its budget.
+ */
+public class CaptureRoundTrip {
+    private static final int THREADS = 4;
+    private static final int FRAMES_PER_THREAD = 3000;
+    // 20k frames/s over all threads when paced
+    private static final long PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1) / 5000;
+    private static final long DROP_BUDGET = THREADS * FRAMES_PER_THREAD / 1000;
+    private static final UUID ATTRIBUTE = UUID.fromString("00002a37-0000-1000-8000-00805f9b34fb");
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final String run;
+    private final byte[][] advertisements;
+    private final List<String> errors = new ArrayList<>();
+    // per thread, the sequence number its next frame should have at least
+    private final int[] next = new int[THREADS];
+
+    private CaptureRoundTrip(String run, byte[][] advertisements) {
+        this.run = run;
+        this.advertisements = advertisements;
+    }
+
+    private void error(String error) {
+        errors.add(run + ": " + error);
+    }
+
+    private void sequence(int thread, int sequence) {
+        if (thread < 0 || thread >= THREADS || sequence < next[thread]) {
+            error("frame " + sequence + " of thread " + thread + " out of order");
+            return;
+        }
+        next[thread] = sequence + 1;
+    }
+
+    private static boolean connectable(int sequence) {
+        return (sequence & 1) == 0;
+    }
+
+    private static void pace(long startedAt, int i) {
+        final long due = startedAt + i * PERIOD_NANOS;
+        long now;
+        while ((now = System.nanoTime()) < due) {
+            if (due - now > 50000) {
+                LockSupport.parkNanos(due - now - 50000);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Every frame carries its thread and sequence number.
+     *
+     * @return the closed writer
+     */
+    private CaptureWriter record(File file, final boolean paced) throws Exception {
+        final CaptureWriter writer = new CaptureWriter(file);
+        writer.methodCall("startCapture", file.getPath());
+        // the replay routes the scan results to it
+        writer.methodCall("startScan", Protos.ScanSettings.getDefaultInstance().toByteArray());
+        final Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    final String address = String.format("C0:FF:EE:00:00:%02X", thread);
+                    final long startedAt = System.nanoTime();
+                    for (int i = 0; i < FRAMES_PER_THREAD; i++) {
+                        if (paced) {
+                            pace(startedAt, i);
+                        }
+                        switch (i % 3) {
+                            case 0:
+                                writer.scanResult(address, i, connectable(i), advertisements[i % advertisements.length]);
+                                break;
+                            case 1:
+                                writer.gattCallback(TraceBuffer.Event.CHARACTERISTIC_CHANGED, address, ATTRIBUTE, i, 0);
+                                break;
+                            default:
+                                writer.outgoing("OnCharacteristicChanged",
+                                        ByteBuffer.allocate(8).putInt(thread).putInt(i).array());
+                                break;
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.close();
+        return writer;
+    }
+
+    private void check(File file, CaptureWriter writer) throws Exception {
+        int frames = 0;
+        int scanResults = 0;
+        int outgoing = 0;
+        long marked = 0;
+        try (CaptureReader reader = new CaptureReader(file)) {
+            CaptureReader.Frame frame;
+            while ((frame = reader.next()) != null) {
+                if (frame.type == CaptureWriter.FRAME_DROPPED) {
+                    marked += frame.dropped;
+                    continue;
+                }
+                frames++;
+                switch (frame.type) {
+                    case CaptureWriter.FRAME_METHOD_CALL:
+                        if (!("startCapture".equals(frame.method) && file.getPath().equals(new String(frame.copyData(), UTF8)))
+                                && !("startScan".equals(frame.method) && frame.length == 0)) {
+                            error("method call read back as " + frame.method);
+                        }
+                        break;
+                    case CaptureWriter.FRAME_SCAN_RESULT:
+                        scanResults++;
+                        sequence((int) (frame.address & 0xFF), frame.rssi);
+                        if (!Arrays.equals(advertisements[frame.rssi % advertisements.length], frame.copyData())
+                                || frame.connectable != connectable(frame.rssi)) {
+                            error("scan result " + frame.rssi + " read back differently");
+                        }
+                        break;
+                    case CaptureWriter.FRAME_GATT_CALLBACK:
+                        sequence((int) (frame.address & 0xFF), frame.status);
+                        if (frame.event != TraceBuffer.Event.CHARACTERISTIC_CHANGED
+                                || frame.attributeMsb != ATTRIBUTE.getMostSignificantBits()
+                                || frame.attributeLsb != ATTRIBUTE.getLeastSignificantBits()) {
+                            error("gatt callback " + frame.status + " read back differently");
+                        }
+                        break;
+                    case CaptureWriter.FRAME_OUTGOING: {
+                        outgoing++;
+                        final ByteBuffer payload = ByteBuffer.wrap(frame.data, 0, frame.length);
+                        sequence(payload.getInt(), payload.getInt());
+                        break;
+                    }
+                    default:
+                        error("unknown frame type " + frame.type);
+                        break;
+                }
+            }
+        }
+        if (marked != writer.getDropped()) {
+            error("marked " + marked + " dropped frames, dropped " + writer.getDropped());
+        }
+        final long expected = 2 + THREADS * FRAMES_PER_THREAD - writer.getDropped();
+        if (frames != expected) {
+            error("read " + frames + " frames, expected " + expected);
+        }
+
+        final int[] dispatched = new int[2];
+        final ReplayDriver.Stats stats = ReplayDriver.replay(file, false, new MessageSink() {
+            @Override
+            public void dispatch(String method, byte[] payload, long receivedAt) {
+                if (!ScanPipeline.METHOD.equals(method)) {
+                    dispatched[1]++;
+                    return;
+                }
+                dispatched[0]++;
+                try {
+                    final Protos.ScanResult result = Protos.ScanResult.parseFrom(payload);
+                    if (result.getAdvertisementData().getConnectable() != connectable(result.getRssi())
+                            || !result.getSubscriptionIdsList().equals(Arrays.asList(ScanSubscriptions.START_SCAN_ID))) {
+                        error("scan result " + result.getRssi() + " replayed differently");
+                    }
+                } catch (InvalidProtocolBufferException e) {
+                    error("replayed scan result unreadable: " + e.getMessage());
+                }
+            }
+        });
+        if (stats.scanResults != scanResults || dispatched[0] != scanResults) {
+            error("replayed " + stats.scanResults + " and dispatched " + dispatched[0] + " of " + scanResults + " scan results");
+        }
+        if (dispatched[1] != outgoing) {
+            error("dispatched " + dispatched[1] + " of " + outgoing + " recorded messages");
+        }
+        if (stats.dropped != marked) {
+            error("replay counted " + stats.dropped + " of " + marked + " dropped frames");
+        }
+        System.out.println(run + ": captured " + frames + " frames, dropped " + writer.getDropped() + ", replayed " + stats);
+    }
+
+    public static void main(String[] args) throws Exception {
+        final byte[][] advertisements = Corpus.all().values().toArray(new byte[0][]);
+        final List<String> errors = new ArrayList<>();
+        for (final boolean paced : new boolean[]{false, true}) {
+            final File file = File.createTempFile("capture", ".bin");
+            file.deleteOnExit();
+            final CaptureRoundTrip check = new CaptureRoundTrip(paced ? "paced" : "burst", advertisements);
+            final CaptureWriter writer = check.record(file, paced);
+            check.check(file, writer);
+            if (paced && writer.getDropped() > DROP_BUDGET) {
+                check.error("dropped " + writer.getDropped() + " frames, more than " + DROP_BUDGET);
+            }
+            errors.addAll(check.errors);
+        }
+
+        if (!errors.isEmpty()) {
+            for (final String error : errors) {
+                System.err.println("CAPTURE " + error);
+            }
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import android.bluetooth.BluetoothProfile;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Checks that {@link MessageEncoder} writes byte for byte what building the messages serializes
+ * to, for every corpus advertisement, characteristics of primary and secondary services with
+ * string and binary uuids, and every device state:
+ * <pre>gradle -p android/benchmark messageEncoderCheck</pre>
+ * Exits non zero on the first differences found.
+ */
+public class MessageEncoderCheck {
+    private static final String REMOTE_ID = "C0:FF:EE:00:00:01";
+
+    private final List<String> mismatches = new ArrayList<>();
+
+    private void expect(String what, byte[] built, byte[] encoded) {
+        if (!Arrays.equals(built, encoded)) {
+            mismatches.add(what + "\n  built   " + hex(built) + "\n  encoded " + hex(encoded));
+        }
+    }
+
+    void scanResults() throws Exception {
+        final Protos.BluetoothDevice named = Protos.BluetoothDevice.newBuilder()
+                .setRemoteId(REMOTE_ID)
+                .setName("check")
+                .setType(Protos.BluetoothDevice.Type.LE)
+                .build();
+        final Protos.BluetoothDevice unnamed = Protos.BluetoothDevice.newBuilder()
+                .setRemoteId(REMOTE_ID)
+                .build();
+        final ScanSubscriptions subscriptions = new ScanSubscriptions();
+        subscriptions.put(ScanSubscriptions.START_SCAN_ID, Protos.ScanSettings.getDefaultInstance());
+        subscriptions.add(Protos.ScanSettings.newBuilder()
+                .addServiceUuids("0000feaa-0000-1000-8000-00805f9b34fb")
+                .build());
+
+        final MessageEncoder encoder = MessageEncoder.get();
+        final Map<String, byte[]> corpus = Corpus.all();
+        corpus.put("empty", new byte[0]);
+        corpus.put("null", null);
+        for (Map.Entry<String, byte[]> ad : corpus.entrySet()) {
+            for (Protos.BluetoothDevice device : new Protos.BluetoothDevice[]{named, unnamed}) {
+                for (boolean connectable : new boolean[]{true, false}) {
+                    for (boolean beacons : new boolean[]{false, true}) {
+                        final String what = String.format("scanResult %s name=%s connectable=%s beacons=%s",
+                                ad.getKey(), device.getName(), connectable, beacons);
+                        final byte[] built = ScanPipeline.build(device, ad.getValue(), -60, connectable, beacons)
+                                .toByteArray();
+                        expect(what, built, encoder.scanResult(device, ScanPipeline.PROTO_DEVICES, ad.getValue(),
+                                -60, connectable, null, beacons));
+
+                        // the routed result is the same message with the matched ids appended
+                        final byte[] routed = encoder.scanResult(device, ScanPipeline.PROTO_DEVICES, ad.getValue(),
+                                -60, connectable, subscriptions, beacons);
+                        final List<Integer> ids = Protos.ScanResult.parseFrom(routed).getSubscriptionIdsList();
+                        if (ids.isEmpty()) {
+                            mismatches.add(what + " routed to no subscription");
+                        }
+                        expect(what + " routed", ScanPipeline.build(device, ad.getValue(), -60, connectable, beacons)
+                                .toBuilder()
+                                .addAllSubscriptionIds(ids)
+                                .build()
+                                .toByteArray(), routed);
+                    }
+                }
+            }
+        }
+        // rssi 0 is the default and not written
+        expect("scanResult rssi 0", ScanPipeline.build(named, corpus.get("ibeacon"), 0, true).toByteArray(),
+                encoder.scanResult(named, corpus.get("ibeacon"), 0, true));
+    }
+
+    void characteristicsChanged() throws InvalidProtocolBufferException {
+        // a heart rate measurement with its client configuration, and a characteristic without
+        // value or descriptors in a secondary service included by the primary one
+        final BluetoothGattService primary = new BluetoothGattService(
+                UUID.fromString("0000180d-0000-1000-8000-00805f9b34fb"), BluetoothGattService.SERVICE_TYPE_PRIMARY);
+        final BluetoothGattCharacteristic measurement = new BluetoothGattCharacteristic(
+                UUID.fromString("00002a37-0000-1000-8000-00805f9b34fb"),
+                BluetoothGattCharacteristic.PROPERTY_NOTIFY | BluetoothGattCharacteristic.PROPERTY_READ, 0);
+        final BluetoothGattDescriptor cccd = new BluetoothGattDescriptor(
+                UUID.fromString("00002902-0000-1000-8000-00805f9b34fb"), 0);
+        cccd.setValue(new byte[]{1, 0});
+        measurement.addDescriptor(cccd);
+        // a descriptor never read has no value
+        measurement.addDescriptor(new BluetoothGattDescriptor(
+                UUID.fromString("00002901-0000-1000-8000-00805f9b34fb"), 0));
+        measurement.setValue(new byte[]{0x06, 72});
+        primary.addCharacteristic(measurement);
+
+        final BluetoothGattService secondary = new BluetoothGattService(
+                UUID.fromString("6e400001-b5a3-f393-e0a9-e50e24dcca9e"), BluetoothGattService.SERVICE_TYPE_SECONDARY);
+        final BluetoothGattCharacteristic unread = new BluetoothGattCharacteristic(
+                UUID.fromString("6e400003-b5a3-f393-e0a9-e50e24dcca9e"), 0x3FF, 0);
+        secondary.addCharacteristic(unread);
+        primary.addIncludedService(secondary);
+
+        final List<BluetoothGattService> services = Arrays.asList(primary, secondary);
+        for (boolean binaryUuids : new boolean[]{false, true}) {
+            for (BluetoothGattCharacteristic c : new BluetoothGattCharacteristic[]{measurement, unread}) {
+                final byte[] built = Protos.OnCharacteristicChanged.newBuilder()
+                        .setRemoteId(REMOTE_ID)
+                        .setCharacteristic(ProtoMaker.from(REMOTE_ID, c, services, binaryUuids))
+                        .build()
+                        .toByteArray();
+                expect("characteristicChanged " + c.getUuid() + " binaryUuids=" + binaryUuids, built,
+                        MessageEncoder.get().characteristicChanged(REMOTE_ID, c, services, binaryUuids));
+            }
+        }
+
+        // a secondary service nothing includes has no service uuid
+        final BluetoothGattService orphan = new BluetoothGattService(
+                UUID.fromString("0000ffe0-0000-1000-8000-00805f9b34fb"), BluetoothGattService.SERVICE_TYPE_SECONDARY);
+        final BluetoothGattCharacteristic orphaned = new BluetoothGattCharacteristic(
+                UUID.fromString("0000ffe1-0000-1000-8000-00805f9b34fb"), BluetoothGattCharacteristic.PROPERTY_WRITE, 0);
+        orphaned.setValue(new byte[]{0});
+        orphan.addCharacteristic(orphaned);
+        expect("characteristicChanged orphaned secondary", Protos.OnCharacteristicChanged.newBuilder()
+                        .setRemoteId(REMOTE_ID)
+                        .setCharacteristic(ProtoMaker.from(REMOTE_ID, orphaned, services, false))
+                        .build()
+                        .toByteArray(),
+                MessageEncoder.get().characteristicChanged(REMOTE_ID, orphaned, services, false));
+        final Protos.BluetoothCharacteristic parsed = Protos.OnCharacteristicChanged
+                .parseFrom(MessageEncoder.get().characteristicChanged(REMOTE_ID, unread, services, false))
+                .getCharacteristic();
+        if (!parsed.getSecondaryServiceUuid().equals(secondary.getUuid().toString())) {
+            mismatches.add("characteristicChanged lost the secondary service of " + unread.getUuid());
+        }
+
+        // characteristics known without their descriptors
+        final BluetoothGattCharacteristic bare = new BluetoothGattCharacteristic(
+                measurement.getUuid(), measurement.getProperties(), 0);
+        bare.setValue(measurement.getValue());
+        final BluetoothGattService bareService = new BluetoothGattService(
+                primary.getUuid(), BluetoothGattService.SERVICE_TYPE_PRIMARY);
+        bareService.addCharacteristic(bare);
+        expect("characteristicChanged without descriptors", Protos.OnCharacteristicChanged.newBuilder()
+                        .setRemoteId(REMOTE_ID)
+                        .setCharacteristic(ProtoMaker.from(REMOTE_ID, bare, Collections.<BluetoothGattService>emptyList(), false))
+                        .build()
+                        .toByteArray(),
+                MessageEncoder.get().characteristicChanged(REMOTE_ID, bare.getUuid(), bareService.getUuid(),
+                        bare.getProperties(), bare.getValue()));
+    }
+
+    void deviceStates() {
+        final int[] states = {
+                BluetoothProfile.STATE_DISCONNECTED,
+                BluetoothProfile.STATE_CONNECTING,
+                BluetoothProfile.STATE_CONNECTED,
+                BluetoothProfile.STATE_DISCONNECTING,
+                // unknown states are sent without one
+                42,
+        };
+        for (int state : states) {
+            expect("deviceState " + state, ProtoMaker.from(REMOTE_ID, state).toByteArray(),
+                    MessageEncoder.get().deviceState(REMOTE_ID, state));
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        if (bytes == null) {
+            return "null";
+        }
+        final StringBuilder s = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            s.append(String.format("%02x", b & 0xFF));
+        }
+        return s.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        final MessageEncoderCheck check = new MessageEncoderCheck();
+        check.scanResults();
+        check.characteristicsChanged();
+        check.deviceStates();
+        if (!check.mismatches.isEmpty()) {
+            for (final String mismatch : check.mismatches) {
+                System.err.println("MISMATCH " + mismatch);
+            }
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.pauldemarco.flutterblue;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * Feeds a capture from {@link CaptureWriter} back through the dispatch path of the plugin.
+ *
+ * Runs on a plain JVM:
+ * <pre>gradle -p android/benchmark replayCapture -Pcapture=capture.bin [-Prealtime] [-Piterations=N]</pre>
+ * The recorded startScan, subscribeScan, stopScan, unsubscribeScan, setBeaconDecoding and
+ * setPresenceTracking calls rebuild the scan subscriptions and presence tracker, scan results go
+ * through {@link ScanPipeline} as they arrived, and lost devices are expired on the recorded
+ * clock. Gatt callbacks can not be rebuilt without a stack, so their recorded outgoing messages
+ * are dispatched as they were. Subscription ids are handed out again in the recorded order, a
+ * subscribe that failed on the phone but not here shifts the later ones.
+ */
+public class ReplayDriver {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    static class Stats {
+        long frames;
+        long methodCalls;
+        long scanResults;
+        long gattCallbacks;
+        long dropped;
+        long dispatched;
+        long bytesDispatched;
+        long parseErrors;
+        long elapsedNanos;
+
+        @Override
+        public String toString() {
+            final double seconds = elapsedNanos / 1e9;
+            return "frames: " + frames
+                    + " methodCalls: " + methodCalls
+                    + " scanResults: " + scanResults
+                    + " gattCallbacks: " + gattCallbacks
+                    + " dropped: " + dropped
+                    + " dispatched: " + dispatched
+                    + " bytes: " + bytesDispatched
+                    + " parseErrors: " + parseErrors
+                    + " elapsed: " + String.format("%.3fs", seconds)
+                    + " rate: " + String.format("%.0f events/s", seconds > 0 ? dispatched / seconds : 0);
+        }
+    }
+
+    // the device of a scan result is only built once a subscription wants it, as on the phone
+    private static final ScanPipeline.DeviceConverter<String> ADDRESSES = new ScanPipeline.DeviceConverter<String>() {
+        @Override
+        public String address(String device) {
+            return device;
+        }
+
+        @Override
+        public Protos.BluetoothDevice convert(String device) {
+            return Protos.BluetoothDevice.newBuilder()
+                    .setRemoteId(device)
+                    .setType(Protos.BluetoothDevice.Type.LE)
+                    .build();
+        }
+    };
+
+    private final Stats stats = new Stats();
+    private final ScanSubscriptions subscriptions = new ScanSubscriptions();
+    private final ScanPipeline pipeline;
+    private final MessageSink sink;
+    // millis of the recorded clock the presence tracker is expired next
+    private long nextTick;
+
+    private ReplayDriver(final MessageSink target) {
+        sink = new MessageSink() {
+            @Override
+            public void dispatch(String method, byte[] payload, long receivedAt) {
+                target.dispatch(method, payload, receivedAt);
+                stats.dispatched++;
+                stats.bytesDispatched += payload.length;
+            }
+        };
+        pipeline = new ScanPipeline(sink, subscriptions);
+    }
+
+    /**
+     * @param realtime wait between frames as recorded, otherwise replay as fast as possible
+     */
+    static Stats replay(File capture, boolean realtime, MessageSink sink) throws IOException, InterruptedException {
+        final ReplayDriver driver = new ReplayDriver(sink);
+        final Stats stats = driver.stats;
+        final long startedAt = System.nanoTime();
+
+        try (CaptureReader reader = new CaptureReader(capture)) {
+            CaptureReader.Frame frame;
+            while ((frame = reader.next()) != null) {
+                stats.frames++;
+                if (realtime) {
+                    final long wait = frame.timestamp - (System.nanoTime() - startedAt);
+                    if (wait > 0) {
+                        Thread.sleep(wait / 1000000L, (int) (wait % 1000000L));
+                    }
+                }
+
+                // the recorded clock, so presence expires as it did even when replaying faster
+                final long receivedAt = startedAt + frame.timestamp;
+                driver.tick(receivedAt);
+                switch (frame.type) {
+                    case CaptureWriter.FRAME_METHOD_CALL:
+                        stats.methodCalls++;
+                        driver.methodCall(frame, receivedAt);
+                        break;
+                    case CaptureWriter.FRAME_SCAN_RESULT:
+                        stats.scanResults++;
+                        driver.pipeline.onScanResult(TraceBuffer.longToAddress(frame.address), ADDRESSES,
+                                frame.copyData(), frame.rssi, frame.connectable, receivedAt);
+                        break;
+                    case CaptureWriter.FRAME_GATT_CALLBACK:
+                        stats.gattCallbacks++;
+                        break;
+                    case CaptureWriter.FRAME_OUTGOING:
+                        if (!driver.regenerated(frame.method)) {
+                            driver.sink.dispatch(frame.method, frame.copyData(), receivedAt);
+                        }
+                        break;
+                    case CaptureWriter.FRAME_DROPPED:
+                        stats.dropped += frame.dropped;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        stats.parseErrors = driver.pipeline.getParseErrors();
+        stats.elapsedNanos = System.nanoTime() - startedAt;
+        return stats;
+    }
+
+    /**
+     * Applies the calls that change how scan results are handled, the ones the plugin rejected
+     * are rejected here too and change nothing.
+     */
+    private void methodCall(CaptureReader.Frame frame, long receivedAt) {
+        try {
+            switch (frame.method) {
+                case "startScan":
+                    subscriptions.put(ScanSubscriptions.START_SCAN_ID, Protos.ScanSettings.parseFrom(frame.copyData()));
+                    break;
+                case "subscribeScan":
+                    subscriptions.add(Protos.ScanSettings.parseFrom(frame.copyData()));
+                    break;
+                case "stopScan":
+                    subscriptions.remove(ScanSubscriptions.START_SCAN_ID);
+                    break;
+                case "unsubscribeScan":
+                    subscriptions.remove(Integer.parseInt(text(frame)));
+                    break;
+                case "setBeaconDecoding":
+                    pipeline.setDecodeBeacons(Boolean.parseBoolean(text(frame)));
+                    break;
+                case "setPresenceTracking": {
+                    final Protos.PresenceSettings settings = Protos.PresenceSettings.parseFrom(frame.copyData());
+                    if (settings.getEnabled()) {
+                        final PresenceTracker tracker = new PresenceTracker(settings.getLostAfterMillis(),
+                                settings.getRssiThreshold(), settings.getRssiSmoothing());
+                        pipeline.setPresence(tracker);
+                        nextTick = receivedAt / 1000000 + tracker.tickMillis();
+                    } else {
+                        pipeline.setPresence(null);
+                    }
+                    break;
+                }
+                default:
+                    break;
+            }
+        } catch (InvalidProtocolBufferException | RuntimeException e) {
+            // malformed settings or too many subscriptions
+        }
+    }
+
+    /**
+     * Reports the devices lost by now, as the plugin's presence tick does.
+     */
+    private void tick(long receivedAt) {
+        final PresenceTracker tracker = pipeline.getPresence();
+        final long now = receivedAt / 1000000;
+        if (tracker == null || now < nextTick) {
+            return;
+        }
+        for (Protos.PresenceEntry entry : tracker.expire(now)) {
+            sink.dispatch(PresenceTracker.LOST,
+                    Protos.PresenceEvent.newBuilder().setDevice(entry).build().toByteArray(), receivedAt);
+        }
+        nextTick = now + tracker.tickMillis();
+    }
+
+    /**
+     * Whether the replay produces the messages of that method itself instead of the recorded ones.
+     */
+    private boolean regenerated(String method) {
+        return ScanPipeline.METHOD.equals(method)
+                || PresenceTracker.APPEARED.equals(method)
+                || PresenceTracker.UPDATED.equals(method)
+                || PresenceTracker.LOST.equals(method);
+    }
+
+    private static String text(CaptureReader.Frame frame) {
+        return new String(frame.data, 0, frame.length, UTF8);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: ReplayDriver <capture> [--realtime] [--iterations N]");
+            System.exit(1);
+        }
+
+        final File capture = new File(args[0]);
+        boolean realtime = false;
+        int iterations = 1;
+        for (int i = 1; i < args.length; i++) {
+            if ("--realtime".equals(args[i])) {
+                realtime = true;
+            } else if ("--iterations".equals(args[i]) && i + 1 < args.length) {
+                iterations = Integer.parseInt(args[++i]);
+            }
+        }
+
+        final MessageSink sink = new MessageSink() {
+            @Override
+            public void dispatch(String method, byte[] payload, long receivedAt) {
+                // discard, only the conversion cost is of interest
+            }
+        };
+        for (int i = 0; i < iterations; i++) {
+            System.out.println("[" + (i + 1) + "/" + iterations + "] " + replay(capture, realtime, sink));
+        }
+    }
+}
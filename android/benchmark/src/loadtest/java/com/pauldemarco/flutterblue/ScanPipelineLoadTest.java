@@ -0,0 +1,282 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Throughput and allocation regression suite for the scan result path.
+ *
+ * A paced generator plays the scan callback thread, feeding corpus advertisements from a pool of
+ * devices into {@link ScanPipeline} at fixed rates. Its sink stands in for the main looper: a
+ * bounded queue drained by one thread, dropping messages when full the way a stalled ui thread
+ * would back up. Per rate it reports delivered throughput, p50/p99 latency from callback entry to
+ * dequeue, bytes allocated per advertisement on the callback thread and drops, and compares them
+ * to the checked in baselines:
+ * <pre>gradle -p android/benchmark scanPipelineLoadTest [-PupdateBaselines]</pre>
+ * Exits non zero when any metric regressed past its tolerance.
+ */
+public class ScanPipelineLoadTest {
+    private static final int DEVICES = 1000;
+    private static final int QUEUE_CAPACITY = 4096;
+
+    static class Result {
+        final int rate;
+        double throughput;
+        double p50Micros;
+        double p99Micros;
+        double allocatedPerEvent = -1;
+        long generated;
+        long dropped;
+
+        Result(int rate) {
+            this.rate = rate;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "%6d ads/s: throughput %8.0f/s p50 %8.1fus p99 %8.1fus alloc %6.0f B/ad dropped %d/%d",
+                    rate, throughput, p50Micros, p99Micros, allocatedPerEvent, dropped, generated);
+        }
+    }
+
+    private static class Message {
+        final byte[] payload;
+        final long receivedAt;
+
+        Message(byte[] payload, long receivedAt) {
+            this.payload = payload;
+            this.receivedAt = receivedAt;
+        }
+    }
+
+    private static final Message END = new Message(new byte[0], 0);
+
+    private final Protos.BluetoothDevice[] devices = new Protos.BluetoothDevice[DEVICES];
+    private final byte[][] advertisements;
+
+    ScanPipelineLoadTest() throws IOException {
+        for (int i = 0; i < DEVICES; i++) {
+            devices[i] = Protos.BluetoothDevice.newBuilder()
+                    .setRemoteId(String.format(Locale.US, "C0:FF:EE:00:%02X:%02X", (i >> 8) & 0xFF, i & 0xFF))
+                    .setName("load-" + i)
+                    .setType(Protos.BluetoothDevice.Type.LE)
+                    .build();
+        }
+        advertisements = Corpus.all().values().toArray(new byte[0][]);
+    }
+
+    Result run(int rate, int seconds) throws InterruptedException {
+        final int total = rate * seconds;
+        final long[] latencies = new long[total];
+        final ArrayBlockingQueue<Message> looper = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        final Result result = new Result(rate);
+
+        final int[] delivered = new int[1];
+        final Thread consumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Message m;
+                    while ((m = looper.take()) != END) {
+                        latencies[delivered[0]++] = System.nanoTime() - m.receivedAt;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "looper");
+        consumer.start();
+
+        final long[] dropped = new long[1];
+        final ScanPipeline pipeline = new ScanPipeline(new MessageSink() {
+            @Override
+            public void dispatch(String method, byte[] payload, long receivedAt) {
+                if (!looper.offer(new Message(payload, receivedAt))) {
+                    dropped[0]++;
+                }
+            }
+        });
+
+        final long allocatedBefore = allocatedBytes();
+        final long period = TimeUnit.SECONDS.toNanos(1) / rate;
+        final long startedAt = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            final long due = startedAt + i * period;
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                if (due - now > 50000) {
+                    LockSupport.parkNanos(due - now - 50000);
+                } else {
+                    // spinning would keep the looper thread off a single core until preempted
+                    Thread.yield();
+                }
+            }
+            pipeline.onScanResult(devices[i % DEVICES], advertisements[i % advertisements.length],
+                    -40 - (i & 0x3F), true, now);
+        }
+        final long allocatedAfter = allocatedBytes();
+        looper.put(END);
+        consumer.join();
+        final long elapsed = System.nanoTime() - startedAt;
+
+        result.generated = total;
+        result.dropped = dropped[0];
+        result.throughput = delivered[0] / (elapsed / 1e9);
+        if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+            result.allocatedPerEvent = (allocatedAfter - allocatedBefore) / (double) total;
+        }
+        final long[] sorted = Arrays.copyOf(latencies, delivered[0]);
+        Arrays.sort(sorted);
+        result.p50Micros = percentile(sorted, 0.50) / 1000.0;
+        result.p99Micros = percentile(sorted, 0.99) / 1000.0;
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    /**
+     * Bytes allocated so far by the calling thread, -1 when the vm can not tell.
+     */
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return the regressions, empty when every metric is within tolerance
+     */
+    static List<String> compare(Result r, Properties baselines) {
+        final List<String> regressions = new ArrayList<>();
+        final String key = "rate." + r.rate + ".";
+        final double throughputTolerance = Double.parseDouble(baselines.getProperty("tolerance.throughput", "0.05"));
+        final double latencyTolerance = Double.parseDouble(baselines.getProperty("tolerance.latency", "1.0"));
+        final double latencySlack = Double.parseDouble(baselines.getProperty("tolerance.latency_us", "50"));
+        final double allocTolerance = Double.parseDouble(baselines.getProperty("tolerance.alloc", "0.10"));
+        final double dropTolerance = Double.parseDouble(baselines.getProperty("tolerance.drop_rate", "0.001"));
+
+        final String throughput = baselines.getProperty(key + "throughput");
+        if (throughput != null && r.throughput < Double.parseDouble(throughput) * (1 - throughputTolerance)) {
+            regressions.add(String.format(Locale.US, "%s throughput %.0f/s below baseline %s/s", key, r.throughput, throughput));
+        }
+        final String p99 = baselines.getProperty(key + "p99_us");
+        // the slack absorbs the scheduling noise of a tail only tens of microseconds long
+        if (p99 != null && r.p99Micros > Double.parseDouble(p99) * (1 + latencyTolerance) + latencySlack) {
+            regressions.add(String.format(Locale.US, "%s p99 %.1fus above baseline %sus", key, r.p99Micros, p99));
+        }
+        final String alloc = baselines.getProperty(key + "alloc_bytes");
+        if (alloc != null && r.allocatedPerEvent >= 0
+                && r.allocatedPerEvent > Double.parseDouble(alloc) * (1 + allocTolerance)) {
+            regressions.add(String.format(Locale.US, "%s allocation %.0f B/ad above baseline %s B/ad", key, r.allocatedPerEvent, alloc));
+        }
+        final double dropRate = r.dropped / (double) r.generated;
+        if (dropRate > dropTolerance) {
+            regressions.add(String.format(Locale.US, "%s dropped %d of %d advertisements", key, r.dropped, r.generated));
+        }
+        return regressions;
+    }
+
+    static void record(Result r, Properties baselines) {
+        final String key = "rate." + r.rate + ".";
+        baselines.setProperty(key + "throughput", String.format(Locale.US, "%.0f", r.throughput));
+        baselines.setProperty(key + "p99_us", String.format(Locale.US, "%.1f", r.p99Micros));
+        if (r.allocatedPerEvent >= 0) {
+            baselines.setProperty(key + "alloc_bytes", String.format(Locale.US, "%.0f", r.allocatedPerEvent));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] rates = {5000, 10000, 20000};
+        int seconds = 5;
+        File baselineFile = null;
+        boolean update = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rates": {
+                    final String[] parts = args[++i].split(",");
+                    rates = new int[parts.length];
+                    for (int j = 0; j < parts.length; j++) {
+                        rates[j] = Integer.parseInt(parts[j].trim());
+                    }
+                    break;
+                }
+                case "--seconds": seconds = Integer.parseInt(args[++i]); break;
+                case "--baselines": baselineFile = new File(args[++i]); break;
+                case "--update-baselines": update = true; break;
+                default: throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+
+        final Properties baselines = new Properties();
+        if (baselineFile != null && baselineFile.exists()) {
+            try (InputStream in = new FileInputStream(baselineFile)) {
+                baselines.load(in);
+            }
+        }
+
+        final ScanPipelineLoadTest test = new ScanPipelineLoadTest();
+        // warm up the parser and encoder before anything is measured
+        test.run(rates[0], 2);
+
+        final List<String> regressions = new ArrayList<>();
+        for (final int rate : rates) {
+            final Result r = test.run(rate, seconds);
+            System.out.println(r);
+            if (update) {
+                record(r, baselines);
+            } else {
+                regressions.addAll(compare(r, baselines));
+            }
+        }
+
+        if (update) {
+            if (baselineFile == null) {
+                throw new IllegalArgumentException("--update-baselines needs --baselines");
+            }
+            // sorted and without the timestamp Properties.store adds, to keep diffs readable
+            try (Writer out = new OutputStreamWriter(new FileOutputStream(baselineFile), "ISO-8859-1")) {
+                out.write("# ScanPipelineLoadTest baselines, regenerate with -PupdateBaselines\n");
+                for (final String key : new TreeSet<>(baselines.stringPropertyNames())) {
+                    out.write(key + "=" + baselines.getProperty(key) + "\n");
+                }
+            }
+            System.out.println("baselines written to " + baselineFile);
+            return;
+        }
+        if (!regressions.isEmpty()) {
+            for (final String regression : regressions) {
+                System.err.println("REGRESSION " + regression);
+            }
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.pauldemarco.flutterblue;
+
+import com.google.protobuf.ByteString;
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks how scan results are routed and tracked: the comparisons, masks and byte order of the
+ * data predicates, name prefixes, the cheapest first evaluation of all and any, and when the
+ * presence tracker reports devices updated and lost:
+ * <pre>gradle -p android/benchmark scanRoutingCheck</pre>
+ * Exits non zero when any of them fails.
+ */
+public class ScanRoutingCheck {
+    private static final Protos.BluetoothDevice DEVICE = Protos.BluetoothDevice.newBuilder()
+            .setRemoteId("C0:FF:EE:00:00:01")
+            .build();
+    private static final int APPLE = 0x004C;
+
+    // manufacturer data 01 02 of APPLE, complete local name "flutter"
+    private static final byte[] RECORD = {
+            0x05, (byte) 0xFF, 0x4C, 0x00, 0x01, 0x02,
+            0x08, 0x09, 'f', 'l', 'u', 't', 't', 'e', 'r',
+    };
+    private static final byte[] NAMELESS = {0x05, (byte) 0xFF, 0x4C, 0x00, 0x01, 0x02};
+
+    private final List<String> failures = new ArrayList<>();
+
+    private void expect(String what, boolean expected, boolean actual) {
+        if (expected != actual) {
+            failures.add(what + ": expected " + expected + ", was " + actual);
+        }
+    }
+
+    private void expect(String what, Object expected, Object actual) {
+        if (expected == null ? actual != null : !expected.equals(actual)) {
+            failures.add(what + ": expected " + expected + ", was " + actual);
+        }
+    }
+
+    /**
+     * Whether the result goes to a subscription with only that predicate, through the encoder as
+     * the scan callback routes it.
+     */
+    private static boolean routed(Protos.ScanPredicate predicate, byte[] record, int rssi) {
+        final ScanSubscriptions subscriptions = new ScanSubscriptions();
+        subscriptions.add(Protos.ScanSettings.newBuilder().setPredicate(predicate).build());
+        return MessageEncoder.get().scanResult(DEVICE, record, rssi, true, subscriptions) != null;
+    }
+
+    private static Protos.ScanPredicate manufacturer(Protos.DataPredicate.Comparison comparison, boolean littleEndian,
+                                                     int offset, byte[] value, byte[] mask) {
+        final Protos.DataPredicate.Builder data = Protos.DataPredicate.newBuilder()
+                .setManufacturerId(APPLE)
+                .setOffset(offset)
+                .setValue(ByteString.copyFrom(value))
+                .setComparison(comparison)
+                .setLittleEndian(littleEndian);
+        if (mask != null) {
+            data.setMask(ByteString.copyFrom(mask));
+        }
+        return Protos.ScanPredicate.newBuilder().setManufacturerData(data).build();
+    }
+
+    private static Protos.ScanPredicate minRssi(int rssi) {
+        return Protos.ScanPredicate.newBuilder().setMinRssi(rssi).build();
+    }
+
+    private static Protos.ScanPredicate namePrefix(String prefix) {
+        return Protos.ScanPredicate.newBuilder().setNamePrefix(prefix).build();
+    }
+
+    void comparisons() {
+        final byte[] value = {0x02, 0x01};
+        // the data 01 02 is 0x0102 big endian and 0x0201 little endian, the value the other way round
+        final Protos.DataPredicate.Comparison[] comparisons = {
+                Protos.DataPredicate.Comparison.EQUAL,
+                Protos.DataPredicate.Comparison.NOT_EQUAL,
+                Protos.DataPredicate.Comparison.LESS,
+                Protos.DataPredicate.Comparison.LESS_OR_EQUAL,
+                Protos.DataPredicate.Comparison.GREATER,
+                Protos.DataPredicate.Comparison.GREATER_OR_EQUAL,
+        };
+        final boolean[] bigEndian = {false, true, true, true, false, false};
+        final boolean[] littleEndian = {false, true, false, false, true, true};
+        for (int i = 0; i < comparisons.length; i++) {
+            expect(comparisons[i] + " big endian", bigEndian[i],
+                    routed(manufacturer(comparisons[i], false, 0, value, null), RECORD, -60));
+            expect(comparisons[i] + " little endian", littleEndian[i],
+                    routed(manufacturer(comparisons[i], true, 0, value, null), RECORD, -60));
+        }
+
+        // the first byte decides before a later one is looked at
+        expect("most significant byte first", true, routed(manufacturer(Protos.DataPredicate.Comparison.LESS,
+                false, 0, new byte[]{0x02, 0x00}, null), RECORD, -60));
+        expect("little endian from the last byte", true, routed(manufacturer(Protos.DataPredicate.Comparison.LESS,
+                true, 0, new byte[]{0x00, 0x03}, null), RECORD, -60));
+
+        expect("offset", true, routed(manufacturer(Protos.DataPredicate.Comparison.EQUAL,
+                false, 1, new byte[]{0x02}, null), RECORD, -60));
+        expect("value past the data", false, routed(manufacturer(Protos.DataPredicate.Comparison.NOT_EQUAL,
+                false, 1, new byte[]{0x02, 0x03}, null), RECORD, -60));
+        expect("other manufacturer", false, routed(Protos.ScanPredicate.newBuilder()
+                .setManufacturerData(Protos.DataPredicate.newBuilder()
+                        .setManufacturerId(APPLE + 1)
+                        .setComparison(Protos.DataPredicate.Comparison.GREATER_OR_EQUAL))
+                .build(), RECORD, -60));
+    }
+
+    void masks() {
+        expect("masked out byte", true, routed(manufacturer(Protos.DataPredicate.Comparison.EQUAL,
+                false, 0, new byte[]{0x7F, 0x02}, new byte[]{0x00, (byte) 0xFF}), RECORD, -60));
+        expect("masked bits", true, routed(manufacturer(Protos.DataPredicate.Comparison.EQUAL,
+                false, 0, new byte[]{0x0F, 0x32}, new byte[]{0x01, 0x0F}), RECORD, -60));
+        expect("unmasked bits", false, routed(manufacturer(Protos.DataPredicate.Comparison.EQUAL,
+                false, 0, new byte[]{0x0F, 0x32}, null), RECORD, -60));
+        // a masked out byte cannot decide the order either
+        expect("masked order", false, routed(manufacturer(Protos.DataPredicate.Comparison.LESS,
+                false, 0, new byte[]{0x7F, 0x02}, new byte[]{0x00, (byte) 0xFF}), RECORD, -60));
+
+        boolean rejected = false;
+        try {
+            ScanPredicates.compile(manufacturer(Protos.DataPredicate.Comparison.EQUAL,
+                    false, 0, new byte[]{0x01, 0x02}, new byte[]{(byte) 0xFF}));
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        expect("mask shorter than the value rejected", true, rejected);
+    }
+
+    void names() {
+        expect("name prefix", true, routed(namePrefix("flu"), RECORD, -60));
+        expect("whole name", true, routed(namePrefix("flutter"), RECORD, -60));
+        expect("longer than the name", false, routed(namePrefix("flutters"), RECORD, -60));
+        expect("other name", false, routed(namePrefix("blue"), RECORD, -60));
+        expect("no name", false, routed(namePrefix("flu"), NAMELESS, -60));
+        expect("empty prefix", true, routed(namePrefix(""), RECORD, -60));
+        expect("empty prefix without a name", true, routed(namePrefix(""), NAMELESS, -60));
+    }
+
+    void allAndAny() {
+        final Protos.ScanPredicateList.Builder none = Protos.ScanPredicateList.newBuilder();
+        expect("empty all", true, routed(Protos.ScanPredicate.newBuilder().setAll(none).build(), RECORD, -60));
+        expect("empty any", false, routed(Protos.ScanPredicate.newBuilder().setAny(none).build(), RECORD, -60));
+
+        final Protos.ScanPredicateList both = Protos.ScanPredicateList.newBuilder()
+                .addPredicates(namePrefix("flu"))
+                .addPredicates(minRssi(-70))
+                .build();
+        final Protos.ScanPredicate all = Protos.ScanPredicate.newBuilder().setAll(both).build();
+        final Protos.ScanPredicate any = Protos.ScanPredicate.newBuilder().setAny(both).build();
+        expect("all holding", true, routed(all, RECORD, -60));
+        expect("all failing one", false, routed(all, RECORD, -80));
+        expect("any holding one", true, routed(any, NAMELESS, -60));
+        expect("any failing both", false, routed(any, NAMELESS, -80));
+
+        // min_rssi is listed last but checked first, the name is never looked at
+        final NameCounting ad = new NameCounting();
+        expect("all decided by the rssi", false, ScanPredicates.compile(all).test(ad, -80));
+        expect("any decided by the rssi", true, ScanPredicates.compile(any).test(ad, -60));
+        expect("names read", 0, ad.nameReads);
+        expect("all checking the name", false, ScanPredicates.compile(all).test(ad, -60));
+        expect("names read", 1, ad.nameReads);
+    }
+
+    void presence() {
+        // ticks of 125ms
+        final PresenceTracker tracker = new PresenceTracker(1000, 6, 1f);
+        expect("first advertisement", PresenceTracker.APPEARED, tracker.observe("a", -60, 1, 0));
+        expect("unchanged", null, tracker.observe("a", -62, 1, 100));
+        expect("rssi moved", PresenceTracker.UPDATED, tracker.observe("a", -66, 1, 100));
+        expect("payload changed", PresenceTracker.UPDATED, tracker.observe("a", -66, 2, 100));
+        expect("other device", PresenceTracker.APPEARED, tracker.observe("b", -60, 1, 200));
+
+        // not seen since 100, due once 1100 is reached on a tick
+        expect("lost before the deadline", 0, tracker.expire(1000).size());
+        expect("lost within a tick of it", 0, tracker.expire(1124).size());
+        final List<Protos.PresenceEntry> lost = tracker.expire(1125);
+        expect("lost at the deadline", 1, lost.size());
+        expect("lost device", "a", lost.isEmpty() ? null : lost.get(0).getRemoteId());
+        expect("still tracked", 1, tracker.snapshot(1125).getDevicesCount());
+
+        // seeing it again does not move its slot, it is put back when the slot comes up
+        tracker.observe("b", -60, 1, 1200);
+        expect("seen again", 0, tracker.expire(1250).size());
+        expect("lost after a pause", 1, tracker.expire(60000).size());
+        expect("appears again", PresenceTracker.APPEARED, tracker.observe("a", -60, 1, 60000));
+
+        tracker.forget("a");
+        expect("forgotten", 0, tracker.snapshot(60000).getDevicesCount());
+        expect("forgotten is not lost", 0, tracker.expire(70000).size());
+    }
+
+    /**
+     * An advertisement without fields that counts how often its name is looked at.
+     */
+    private static class NameCounting implements ParsedAdvertisement {
+        int nameReads;
+
+        @Override
+        public byte[] data() {
+            return new byte[0];
+        }
+
+        @Override
+        public int serviceUuidCount() {
+            return 0;
+        }
+
+        @Override
+        public long serviceUuidMsb(int i) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public long serviceUuidLsb(int i) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public int nameLength() {
+            nameReads++;
+            return -1;
+        }
+
+        @Override
+        public int nameOffset() {
+            return 0;
+        }
+
+        @Override
+        public int manufacturerIndex(int id) {
+            return -1;
+        }
+
+        @Override
+        public int manufacturerCount() {
+            return 0;
+        }
+
+        @Override
+        public int manufacturerId(int i) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public int manufacturerOffset(int i) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public int manufacturerLength(int i) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public int serviceDataIndex(long msb, long lsb) {
+            return -1;
+        }
+
+        @Override
+        public int serviceDataOffset(int i) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        public int serviceDataLength(int i) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    public static void main(String[] args) {
+        final ScanRoutingCheck check = new ScanRoutingCheck();
+        check.comparisons();
+        check.masks();
+        check.names();
+        check.allAndAny();
+        check.presence();
+        if (!check.failures.isEmpty()) {
+            for (final String failure : check.failures) {
+                System.err.println("FAILED " + failure);
+            }
+            System.exit(1);
+        }
+    }
+}
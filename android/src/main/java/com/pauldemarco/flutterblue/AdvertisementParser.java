@@ -32,14 +32,47 @@ import com.pauldemarco.flutter_blue.Protos;
 import com.pauldemarco.flutter_blue.Protos.AdvertisementData;
 
 import java.io.UnsupportedEncodingException;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Parser of Bluetooth Advertisement packets.
  */
 class AdvertisementParser {
+  // Bluetooth base UUID 00000000-0000-1000-8000-00805F9B34FB, short uuids go in the top 32 bits.
+  static final long BASE_UUID_MSB = 0x0000000000001000L;
+  static final long BASE_UUID_LSB = 0x800000805F9B34FBL;
+
+  static final int APPLE = 0x004C;
+  static final long EDDYSTONE_MSB = shortUuidMsb(0xFEAA);
+  static final int EDDYSTONE_UID = 0x00;
+  static final int EDDYSTONE_URL = 0x10;
+  static final int EDDYSTONE_TLM = 0x20;
+  static final int EDDYSTONE_EID = 0x30;
+
+  private static final String[] URL_SCHEMES = {"http://www.", "https://www.", "http://", "https://"};
+  private static final String[] URL_EXPANSIONS = {
+      ".com/", ".org/", ".edu/", ".net/", ".info/", ".biz/", ".gov/",
+      ".com", ".org", ".edu", ".net", ".info", ".biz", ".gov"};
+
+  /**
+   * Receives the fields of a packet in the order they appear, uuids as their two halves and
+   * payloads as ranges of the packet, so walking allocates nothing.
+   */
+  interface Visitor {
+    void serviceUuid(long msb, long lsb);
+
+    /**
+     * @param complete whether this is the complete (long) rather than the shortened name
+     */
+    void localName(byte[] data, int offset, int length, boolean complete);
+
+    void txPowerLevel(int level);
+
+    void serviceData(long msb, long lsb, byte[] data, int offset, int length);
+
+    void manufacturerData(int manufacturerId, byte[] data, int offset, int length);
+  }
 
   /**
    * Parses packet data into {@link AdvertisementData} structure.
@@ -49,89 +82,338 @@ class AdvertisementParser {
    * @throws ArrayIndexOutOfBoundsException if the input is truncated.
    */
   static AdvertisementData parse(byte[] rawData) {
-    ByteBuffer data = ByteBuffer.wrap(rawData).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
     AdvertisementData.Builder ret = AdvertisementData.newBuilder();
-    boolean seenLongLocalName = false;
-    do {
-      int length = data.get() & 0xFF;
+    parse(rawData, ret);
+    return ret.build();
+  }
+
+  /**
+   * Parses packet data into an existing builder, so callers can add fields the
+   * packet does not carry.
+   *
+   * @throws ArrayIndexOutOfBoundsException if the input is truncated.
+   */
+  static void parse(byte[] rawData, final AdvertisementData.Builder ret) {
+    parse(rawData, ret, false);
+  }
+
+  /**
+   * @param beacons whether to decode the beacon frames in the manufacturer and service data,
+   *     manufacturer data first, each in the order of the maps.
+   * @throws ArrayIndexOutOfBoundsException if the input is truncated.
+   */
+  static void parse(byte[] rawData, final AdvertisementData.Builder ret, boolean beacons) {
+    walk(rawData, new Visitor() {
+      private boolean seenLongLocalName = false;
+
+      @Override
+      public void serviceUuid(long msb, long lsb) {
+        ret.addServiceUuids(new UUID(msb, lsb).toString());
+      }
+
+      @Override
+      public void localName(byte[] data, int offset, int length, boolean complete) {
+        if (seenLongLocalName) {
+          // Prefer the long name over the short.
+          return;
+        }
+        try {
+          ret.setLocalName(new String(data, offset, length, "UTF-8"));
+        } catch (UnsupportedEncodingException e) {
+          throw new RuntimeException(e);
+        }
+        if (complete) {
+          seenLongLocalName = true;
+        }
+      }
+
+      @Override
+      public void txPowerLevel(int level) {
+        ret.setTxPowerLevel(Protos.Int32Value.newBuilder().setValue(level));
+      }
+
+      @Override
+      public void serviceData(long msb, long lsb, byte[] data, int offset, int length) {
+        ret.putServiceData(new UUID(msb, lsb).toString(), ByteString.copyFrom(data, offset, length));
+      }
+
+      @Override
+      public void manufacturerData(int manufacturerId, byte[] data, int offset, int length) {
+        ret.putManufacturerData(manufacturerId, ByteString.copyFrom(data, offset, length));
+      }
+    });
+    if (!beacons) {
+      return;
+    }
+    for (Map.Entry<Integer, ByteString> e : ret.getManufacturerDataMap().entrySet()) {
+      final byte[] data = e.getValue().toByteArray();
+      final Protos.Beacon beacon = beacon(e.getKey(), data, 0, data.length);
+      if (beacon != null) {
+        ret.addBeacons(beacon);
+      }
+    }
+    for (Map.Entry<String, ByteString> e : ret.getServiceDataMap().entrySet()) {
+      final UUID uuid = UUID.fromString(e.getKey());
+      final byte[] data = e.getValue().toByteArray();
+      final Protos.Beacon beacon = beacon(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), data, 0, data.length);
+      if (beacon != null) {
+        ret.addBeacons(beacon);
+      }
+    }
+  }
+
+  static boolean isIBeacon(int manufacturerId, byte[] data, int offset, int length) {
+    return manufacturerId == APPLE && length >= 23 && data[offset] == 0x02 && data[offset + 1] == 0x15;
+  }
+
+  static boolean isAltBeacon(byte[] data, int offset, int length) {
+    return length >= 24 && data[offset] == (byte) 0xBE && data[offset + 1] == (byte) 0xAC;
+  }
+
+  /**
+   * @param offset where the 0xFEAA service data starts
+   * @return the frame type, -1 for an unknown type or too short a frame
+   */
+  static int eddystoneFrame(byte[] data, int offset, int length) {
+    if (length < 1) {
+      return -1;
+    }
+    final int frame = data[offset] & 0xFF;
+    switch (frame) {
+      case EDDYSTONE_UID:
+        return length >= 18 ? frame : -1;
+      case EDDYSTONE_URL:
+        return length >= 3 && (data[offset + 2] & 0xFF) < URL_SCHEMES.length ? frame : -1;
+      case EDDYSTONE_TLM:
+        return length >= 14 && (data[offset + 1] != 1 || length >= 18) ? frame : -1;
+      case EDDYSTONE_EID:
+        return length >= 10 ? frame : -1;
+      default:
+        return -1;
+    }
+  }
+
+  /**
+   * Decodes an iBeacon or AltBeacon frame.
+   *
+   * @return null when the manufacturer data is no beacon
+   */
+  static Protos.Beacon beacon(int manufacturerId, byte[] data, int offset, int length) {
+    // both carry a 16 byte uuid, major and minor after a two byte prefix
+    final int id = offset + 2;
+    if (isIBeacon(manufacturerId, data, offset, length)) {
+      return Protos.Beacon.newBuilder().setIbeacon(Protos.IBeacon.newBuilder()
+          .setUuid(new UUID(int64be(data, id), int64be(data, id + 8)).toString())
+          .setMajor(uint16be(data, id + 16))
+          .setMinor(uint16be(data, id + 18))
+          .setMeasuredPower(data[id + 20]))
+          .build();
+    }
+    if (isAltBeacon(data, offset, length)) {
+      return Protos.Beacon.newBuilder().setAltBeacon(Protos.AltBeacon.newBuilder()
+          .setManufacturerId(manufacturerId)
+          .setUuid(new UUID(int64be(data, id), int64be(data, id + 8)).toString())
+          .setMajor(uint16be(data, id + 16))
+          .setMinor(uint16be(data, id + 18))
+          .setReferenceRssi(data[id + 20])
+          .setReserved(data[id + 21] & 0xFF))
+          .build();
+    }
+    return null;
+  }
+
+  /**
+   * Decodes an Eddystone frame.
+   *
+   * @return null when the service data is no beacon
+   */
+  static Protos.Beacon beacon(long msb, long lsb, byte[] data, int offset, int length) {
+    if (msb != EDDYSTONE_MSB || lsb != BASE_UUID_LSB) {
+      return null;
+    }
+    switch (eddystoneFrame(data, offset, length)) {
+      case EDDYSTONE_UID:
+        return Protos.Beacon.newBuilder().setEddystoneUid(Protos.EddystoneUid.newBuilder()
+            .setTxPower(data[offset + 1])
+            .setNamespace(ByteString.copyFrom(data, offset + 2, 10))
+            .setInstance(ByteString.copyFrom(data, offset + 12, 6)))
+            .build();
+      case EDDYSTONE_URL:
+        return Protos.Beacon.newBuilder().setEddystoneUrl(Protos.EddystoneUrl.newBuilder()
+            .setTxPower(data[offset + 1])
+            .setUrl(eddystoneUrl(data, offset + 2, Math.min(length, 20) - 2)))
+            .build();
+      case EDDYSTONE_TLM: {
+        final Protos.EddystoneTlm.Builder tlm = Protos.EddystoneTlm.newBuilder().setVersion(data[offset + 1] & 0xFF);
+        if (data[offset + 1] == 1) {
+          tlm.setEncrypted(ByteString.copyFrom(data, offset + 2, 16));
+        } else {
+          tlm.setBatteryMillivolts(uint16be(data, offset + 2));
+          // signed 8.8 fixed point
+          tlm.setTemperature((short) uint16be(data, offset + 4) / 256f);
+          tlm.setAdvertisementCount(uint32be(data, offset + 6));
+          tlm.setUptimeMillis(uint32be(data, offset + 10) * 100);
+        }
+        return Protos.Beacon.newBuilder().setEddystoneTlm(tlm).build();
+      }
+      case EDDYSTONE_EID:
+        return Protos.Beacon.newBuilder().setEddystoneEid(Protos.EddystoneEid.newBuilder()
+            .setTxPower(data[offset + 1])
+            .setEphemeralId(ByteString.copyFrom(data, offset + 2, 8)))
+            .build();
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * @param offset where the scheme byte is
+   */
+  private static String eddystoneUrl(byte[] data, int offset, int length) {
+    final StringBuilder url = new StringBuilder(URL_SCHEMES[data[offset]]);
+    for (int i = offset + 1; i < offset + length; i++) {
+      final int c = data[i] & 0xFF;
+      if (c < URL_EXPANSIONS.length) {
+        url.append(URL_EXPANSIONS[c]);
+      } else if (c > 0x20 && c < 0x7F) {
+        url.append((char) c);
+      }
+      // the rest is reserved, left out
+    }
+    return url.toString();
+  }
+
+  /**
+   * Walks the advertising structures of a packet.
+   *
+   * @throws ArrayIndexOutOfBoundsException if the input is truncated.
+   */
+  static void walk(byte[] data, Visitor visitor) {
+    int position = 0;
+    // extended advertisements fill the buffer without a zero length terminator
+    while (position < data.length) {
+      int length = data[position++] & 0xFF;
       if (length == 0) {
         break;
       }
-      if (length > data.remaining()) {
+      if (length > data.length - position) {
         throw new ArrayIndexOutOfBoundsException("Not enough data.");
       }
 
-      int type = data.get() & 0xFF;
+      int type = data[position++] & 0xFF;
       length--;
 
       switch (type) {
-        case 0x08: // Short local name.
-        case 0x09: { // Long local name.
-          if (seenLongLocalName) {
-            // Prefer the long name over the short.
-            data.position(data.position() + length);
-            break;
+        case 0x02: // Partial list of 16 bit service UUIDs.
+        case 0x03: { // Complete list of 16 bit service UUIDs.
+          for (int i = 0; i + 2 <= length; i += 2) {
+            visitor.serviceUuid(shortUuidMsb(uint16(data, position + i)), BASE_UUID_LSB);
           }
-          byte[] name = new byte[length];
-          data.get(name);
-          try {
-            ret.setLocalName(new String(name, "UTF-8"));
-          } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
+          position += length;
+          break;
+        }
+        case 0x04: // Partial list of 32 bit service UUIDs.
+        case 0x05: { // Complete list of 32 bit service UUIDs.
+          for (int i = 0; i + 4 <= length; i += 4) {
+            visitor.serviceUuid(shortUuidMsb(uint32(data, position + i)), BASE_UUID_LSB);
           }
-          if (type == 0x09) {
-            seenLongLocalName = true;
+          position += length;
+          break;
+        }
+        case 0x06: // Partial list of 128 bit service UUIDs.
+        case 0x07: { // Complete list of 128 bit service UUIDs.
+          // 128 bit uuids are sent fully little endian, least significant half first.
+          for (int i = 0; i + 16 <= length; i += 16) {
+            visitor.serviceUuid(int64(data, position + i + 8), int64(data, position + i));
           }
+          position += length;
+          break;
+        }
+        case 0x08: // Short local name.
+        case 0x09: { // Long local name.
+          visitor.localName(data, position, length, type == 0x09);
+          position += length;
           break;
         }
         case 0x0A: { // Power level.
-          ret.setTxPowerLevel(Protos.Int32Value.newBuilder().setValue(data.get()));
+          // NOTE: always a single byte, the packet's length is not trusted here
+          checkAvailable(data, position, 1);
+          visitor.txPowerLevel(data[position++]);
           break;
         }
         case 0x16: // Service Data with 16 bit UUID.
         case 0x20: // Service Data with 32 bit UUID.
         case 0x21: { // Service Data with 128 bit UUID.
-          UUID uuid;
-          int remainingDataLength = 0;
-          if (type == 0x16 || type == 0x20) {
-            long uuidValue;
-            if (type == 0x16) {
-              uuidValue = data.getShort() & 0xFFFF;
-              remainingDataLength = length - 2;
-            } else {
-              uuidValue = data.getInt() & 0xFFFFFFFF;
-              remainingDataLength = length - 4;
-            }
-            uuid = UUID.fromString(String.format("%08x-0000-1000-8000-00805f9b34fb", uuidValue));
+          final int uuidLength = type == 0x16 ? 2 : type == 0x20 ? 4 : 16;
+          if (length < uuidLength) {
+            throw new ArrayIndexOutOfBoundsException("Not enough data for Service Data.");
+          }
+          long msb;
+          long lsb;
+          if (type == 0x16) {
+            msb = shortUuidMsb(uint16(data, position));
+            lsb = BASE_UUID_LSB;
+          } else if (type == 0x20) {
+            msb = shortUuidMsb(uint32(data, position));
+            lsb = BASE_UUID_LSB;
           } else {
-            long msb = data.getLong();
-            long lsb = data.getLong();
-            uuid = new UUID(msb, lsb);
-            remainingDataLength = length - 16;
+            lsb = int64(data, position);
+            msb = int64(data, position + 8);
           }
-          byte[] remainingData = new byte[remainingDataLength];
-          data.get(remainingData);
-          ret.putServiceData(uuid.toString(), ByteString.copyFrom(remainingData));
+          visitor.serviceData(msb, lsb, data, position + uuidLength, length - uuidLength);
+          position += length;
           break;
         }
         case 0xFF: {// Manufacturer specific data.
           if(length < 2) {
             throw new ArrayIndexOutOfBoundsException("Not enough data for Manufacturer specific data.");
           }
-          int manufacturerId = data.getShort();
+          int manufacturerId = uint16(data, position);
           if((length - 2) > 0) {
-            byte[] msd = new byte[length - 2];
-            data.get(msd);
-            ret.putManufacturerData(manufacturerId, ByteString.copyFrom(msd));
+            visitor.manufacturerData(manufacturerId, data, position + 2, length - 2);
           }
+          position += length;
           break;
         }
         default: {
-          data.position(data.position() + length);
+          position += length;
           break;
         }
       }
-    } while (true);
-    return ret.build();
+    }
+  }
+
+  static long shortUuidMsb(long value) {
+    return BASE_UUID_MSB | (value << 32);
+  }
+
+  private static void checkAvailable(byte[] data, int position, int count) {
+    if (count > data.length - position) {
+      throw new ArrayIndexOutOfBoundsException("Not enough data.");
+    }
+  }
+
+  private static int uint16(byte[] data, int position) {
+    return (data[position] & 0xFF) | (data[position + 1] & 0xFF) << 8;
+  }
+
+  private static long uint32(byte[] data, int position) {
+    return (uint16(data, position) | (long) uint16(data, position + 2) << 16) & 0xFFFFFFFFL;
+  }
+
+  private static long int64(byte[] data, int position) {
+    return uint32(data, position) | uint32(data, position + 4) << 32;
+  }
+
+  static int uint16be(byte[] data, int position) {
+    return (data[position] & 0xFF) << 8 | (data[position + 1] & 0xFF);
+  }
+
+  static long uint32be(byte[] data, int position) {
+    return ((long) uint16be(data, position) << 16 | uint16be(data, position + 2)) & 0xFFFFFFFFL;
+  }
+
+  static long int64be(byte[] data, int position) {
+    return uint32be(data, position) << 32 | uint32be(data, position + 4);
   }
 }
@@ -0,0 +1,287 @@
+package com.pauldemarco.flutterblue;
+
+import android.annotation.TargetApi;
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.le.AdvertiseData;
+import android.bluetooth.le.AdvertisingSet;
+import android.bluetooth.le.AdvertisingSetCallback;
+import android.bluetooth.le.AdvertisingSetParameters;
+import android.bluetooth.le.BluetoothLeAdvertiser;
+import android.os.Handler;
+import android.os.ParcelUuid;
+import android.os.SystemClock;
+
+import com.google.protobuf.ByteString;
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * Concurrently running advertising sets, each started and stopped by the id dart gave it.
+ *
+ * Payload updates go to the running set without restarting it. They are throttled per set: an
+ * update arriving within the set's minimum interval of the previous one, or while the stack is
+ * still applying it, is held back and replaced by later ones, only the latest payload is applied.
+ *
+ * All calls and stack callbacks run on the main thread, so no locking is needed.
+ */
+@TargetApi(26)
+class AdvertisingSets {
+    static final String METHOD = "AdvertisingSetState";
+
+    private static final long DEFAULT_MIN_UPDATE_INTERVAL_MILLIS = 100;
+    // the stack takes the duration in 10ms units, up to 65535 of them
+    private static final int MAX_DURATION_MILLIS = 655350;
+
+    private class Entry extends AdvertisingSetCallback implements Runnable {
+        final String id;
+        final long minUpdateInterval;
+        MethodChannel.Result pending;
+        AdvertisingSet set;
+
+        AdvertiseData pendingData;
+        AdvertiseData pendingScanResponse;
+        int updatesInFlight;
+        long lastUpdateAt;
+        boolean flushScheduled;
+
+        Entry(String id, long minUpdateInterval, MethodChannel.Result pending) {
+            this.id = id;
+            this.minUpdateInterval = minUpdateInterval;
+            this.pending = pending;
+        }
+
+        void update(AdvertiseData data, AdvertiseData scanResponse) {
+            if (data != null) {
+                pendingData = data;
+            }
+            if (scanResponse != null) {
+                pendingScanResponse = scanResponse;
+            }
+            flush();
+        }
+
+        void flush() {
+            if ((pendingData == null && pendingScanResponse == null) || updatesInFlight > 0 || flushScheduled) {
+                return;
+            }
+            final long wait = lastUpdateAt + minUpdateInterval - SystemClock.uptimeMillis();
+            if (wait > 0) {
+                flushScheduled = true;
+                mMainHandler.postDelayed(this, wait);
+                return;
+            }
+
+            lastUpdateAt = SystemClock.uptimeMillis();
+            if (pendingData != null) {
+                updatesInFlight++;
+                set.setAdvertisingData(pendingData);
+                pendingData = null;
+            }
+            if (pendingScanResponse != null) {
+                updatesInFlight++;
+                set.setScanResponseData(pendingScanResponse);
+                pendingScanResponse = null;
+            }
+        }
+
+        @Override
+        public void run() {
+            flushScheduled = false;
+            if (mSets.get(id) == this) {
+                flush();
+            }
+        }
+
+        private void updated(int status) {
+            updatesInFlight--;
+            if (mSets.get(id) != this) {
+                // stopped meanwhile
+                return;
+            }
+            if (status != AdvertisingSetCallback.ADVERTISE_SUCCESS) {
+                // the set keeps advertising its previous payload
+                mSink.dispatch(METHOD, state(id, true, status, 0).toByteArray(), System.nanoTime());
+            }
+            flush();
+        }
+
+        @Override
+        public void onAdvertisingDataSet(AdvertisingSet advertisingSet, int status) {
+            updated(status);
+        }
+
+        @Override
+        public void onScanResponseDataSet(AdvertisingSet advertisingSet, int status) {
+            updated(status);
+        }
+
+        @Override
+        public void onAdvertisingSetStarted(AdvertisingSet advertisingSet, int txPower, int status) {
+            if (mSets.get(id) != this) {
+                // stopped before it started, stop() answered dart
+                return;
+            }
+            final boolean started = status == AdvertisingSetCallback.ADVERTISE_SUCCESS;
+            if (started) {
+                set = advertisingSet;
+            } else {
+                mSets.remove(id);
+            }
+            final MethodChannel.Result result = pending;
+            pending = null;
+            if (result == null) {
+                return;
+            }
+            if (started) {
+                result.success(state(id, true, status, txPower).toByteArray());
+            } else {
+                result.error("advertising_set_error", "advertising set failed to start, status: " + status, null);
+            }
+        }
+
+        @Override
+        public void onAdvertisingSetStopped(AdvertisingSet advertisingSet) {
+            if (mSets.get(id) == this) {
+                // stopped by the stack, the duration ran out
+                mSets.remove(id);
+            }
+            mSink.dispatch(METHOD, state(id, false, AdvertisingSetCallback.ADVERTISE_SUCCESS, 0).toByteArray(), System.nanoTime());
+        }
+    }
+
+    private final Map<String, Entry> mSets = new HashMap<>();
+    private final Handler mMainHandler;
+    private final MessageSink mSink;
+
+    AdvertisingSets(Handler mainHandler, MessageSink sink) {
+        mMainHandler = mainHandler;
+        mSink = sink;
+    }
+
+    void start(BluetoothLeAdvertiser advertiser, Protos.AdvertisingSetRequest request, MethodChannel.Result result) {
+        if (request.getSetId().isEmpty()) {
+            result.error("advertising_set_error", "advertising set must have an id", null);
+            return;
+        }
+        if (mSets.containsKey(request.getSetId())) {
+            result.error("advertising_set_error", "advertising set (" + request.getSetId() + ") already started", null);
+            return;
+        }
+        final int durationMillis = request.getDurationMillis();
+        if (durationMillis < 0 || durationMillis > MAX_DURATION_MILLIS) {
+            result.error("advertising_set_error", "duration must be between 0 and " + MAX_DURATION_MILLIS + "ms, was: " + durationMillis, null);
+            return;
+        }
+
+        final AdvertisingSetParameters.Builder parameters = new AdvertisingSetParameters.Builder()
+                .setConnectable(request.getConnectable())
+                .setScannable(request.getScannable())
+                .setLegacyMode(request.getLegacy())
+                .setIncludeTxPower(request.getIncludeTxPower())
+                .setPrimaryPhy(phy(request.getPrimaryPhy()))
+                .setSecondaryPhy(phy(request.getSecondaryPhy()));
+        if (request.getInterval() != 0) {
+            parameters.setInterval(request.getInterval());
+        }
+        if (request.hasTxPower()) {
+            parameters.setTxPowerLevel(request.getTxPower().getValue());
+        }
+
+        final Entry entry = new Entry(request.getSetId(),
+                request.getMinUpdateIntervalMillis() > 0 ? request.getMinUpdateIntervalMillis() : DEFAULT_MIN_UPDATE_INTERVAL_MILLIS,
+                result);
+        try {
+            advertiser.startAdvertisingSet(parameters.build(),
+                    advertiseData(request.getAdvertiseData()),
+                    request.hasScanResponse() ? advertiseData(request.getScanResponse()) : null,
+                    null, null,
+                    // rounded up, a short duration must not become 0 which advertises until stopped
+                    (durationMillis + 9) / 10, 0,
+                    entry, mMainHandler);
+        } catch (IllegalArgumentException e) {
+            // unsupported parameter combination or payload too large for the controller
+            result.error("advertising_set_error", e.getMessage(), null);
+            return;
+        }
+        mSets.put(entry.id, entry);
+    }
+
+    /**
+     * @return false when no set with that id is running
+     */
+    boolean update(Protos.AdvertisingDataUpdate update) {
+        final Entry entry = mSets.get(update.getSetId());
+        if (entry == null || entry.set == null) {
+            return false;
+        }
+        entry.update(update.hasAdvertiseData() ? advertiseData(update.getAdvertiseData()) : null,
+                update.hasScanResponse() ? advertiseData(update.getScanResponse()) : null);
+        return true;
+    }
+
+    /**
+     * @return false when no set with that id is running
+     */
+    boolean stop(BluetoothLeAdvertiser advertiser, String id) {
+        final Entry entry = mSets.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        mMainHandler.removeCallbacks(entry);
+        if (entry.pending != null) {
+            entry.pending.error("advertising_set_error", "advertising set (" + id + ") stopped before it started", null);
+            entry.pending = null;
+        }
+        entry.pendingData = null;
+        entry.pendingScanResponse = null;
+        advertiser.stopAdvertisingSet(entry);
+        return true;
+    }
+
+    void stopAll(BluetoothLeAdvertiser advertiser) {
+        for (final String id : new ArrayList<>(mSets.keySet())) {
+            stop(advertiser, id);
+        }
+    }
+
+    static AdvertiseData advertiseData(Protos.AdvertisingPayload payload) {
+        final AdvertiseData.Builder data = new AdvertiseData.Builder()
+                .setIncludeDeviceName(payload.getIncludeDeviceName())
+                .setIncludeTxPowerLevel(payload.getIncludeTxPowerLevel());
+        for (final String uuid : payload.getServiceUuidsList()) {
+            data.addServiceUuid(ParcelUuid.fromString(uuid));
+        }
+        for (final Map.Entry<Integer, ByteString> e : payload.getManufacturerDataMap().entrySet()) {
+            data.addManufacturerData(e.getKey(), e.getValue().toByteArray());
+        }
+        for (final Map.Entry<String, ByteString> e : payload.getServiceDataMap().entrySet()) {
+            data.addServiceData(ParcelUuid.fromString(e.getKey()), e.getValue().toByteArray());
+        }
+        return data.build();
+    }
+
+    private static int phy(Protos.AdvertisingSetRequest.Phy phy) {
+        switch (phy) {
+            case LE_2M:
+                return BluetoothDevice.PHY_LE_2M;
+            case LE_CODED:
+                return BluetoothDevice.PHY_LE_CODED;
+            default:
+                return BluetoothDevice.PHY_LE_1M;
+        }
+    }
+
+    private static Protos.AdvertisingSetState state(String id, boolean running, int status, int txPower) {
+        return Protos.AdvertisingSetState.newBuilder()
+                .setSetId(id)
+                .setRunning(running)
+                .setStatus(status)
+                .setTxPower(txPower)
+                .build();
+    }
+}
@@ -0,0 +1,433 @@
+package com.pauldemarco.flutterblue;
+
+import android.annotation.TargetApi;
+import android.bluetooth.BluetoothAdapter;
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCallback;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import android.bluetooth.BluetoothManager;
+import android.bluetooth.BluetoothProfile;
+import android.bluetooth.le.BluetoothLeAdvertiser;
+import android.bluetooth.le.BluetoothLeScanner;
+import android.bluetooth.le.ScanCallback;
+import android.bluetooth.le.ScanFilter;
+import android.bluetooth.le.ScanRecord;
+import android.bluetooth.le.ScanResult;
+import android.bluetooth.le.ScanSettings;
+import android.content.Context;
+import android.os.Build;
+import android.os.ParcelUuid;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link BleBackend} on the device's {@link BluetoothAdapter}, one {@link BluetoothGatt} per
+ * connected device.
+ */
+class AndroidBackend implements BleBackend {
+    private final Context mContext;
+    private final BluetoothManager mBluetoothManager;
+    private final BluetoothAdapter mBluetoothAdapter;
+    // gatt callbacks close failed connections from binder threads
+    private final Map<String, BluetoothGatt> mGattServers = new ConcurrentHashMap<>();
+    private volatile GattListener mGattListener;
+    private volatile ScanListener mScanListener;
+
+    AndroidBackend(Context context, BluetoothManager manager, BluetoothAdapter adapter) {
+        mContext = context;
+        mBluetoothManager = manager;
+        mBluetoothAdapter = adapter;
+    }
+
+    @Override
+    public int getState() {
+        return mBluetoothAdapter.getState();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return mBluetoothAdapter.isEnabled();
+    }
+
+    @Override
+    public BluetoothLeAdvertiser getAdvertiser() {
+        return mBluetoothAdapter.getBluetoothLeAdvertiser();
+    }
+
+    @Override
+    @TargetApi(26)
+    public boolean isLeExtendedAdvertisingSupported() {
+        return mBluetoothAdapter.isLeExtendedAdvertisingSupported();
+    }
+
+    @Override
+    @TargetApi(26)
+    public boolean isLeCodedPhySupported() {
+        return mBluetoothAdapter.isLeCodedPhySupported();
+    }
+
+    @Override
+    @TargetApi(26)
+    public boolean isLe2MPhySupported() {
+        return mBluetoothAdapter.isLe2MPhySupported();
+    }
+
+    @Override
+    public void startScan(Protos.ScanSettings settings, ScanListener listener) {
+        mScanListener = listener;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            startScan21(settings);
+        } else {
+            startScan18(settings);
+        }
+    }
+
+    @Override
+    public void stopScan() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            stopScan21();
+        } else {
+            stopScan18();
+        }
+    }
+
+    private ScanCallback scanCallback21;
+
+    @TargetApi(21)
+    private ScanCallback getScanCallback21() {
+        if(scanCallback21 == null){
+            scanCallback21 = new ScanCallback() {
+
+                @Override
+                public void onScanResult(int callbackType, ScanResult result) {
+                    final long receivedAt = System.nanoTime();
+                    super.onScanResult(callbackType, result);
+                    final ScanRecord scanRecord = result.getScanRecord();
+                    final byte[] bytes = scanRecord != null ? scanRecord.getBytes() : null;
+                    final boolean connectable;
+                    if(Build.VERSION.SDK_INT >= 26) {
+                        connectable = result.isConnectable();
+                    } else {
+                        connectable = scanRecord != null && (scanRecord.getAdvertiseFlags() & 0x2) > 0;
+                    }
+                    mScanListener.onScanResult(result.getDevice(), ProtoMaker.DEVICES, bytes, result.getRssi(),
+                            connectable, receivedAt);
+                }
+
+                @Override
+                public void onBatchScanResults(List<ScanResult> results) {
+                    super.onBatchScanResults(results);
+
+                }
+
+                @Override
+                public void onScanFailed(int errorCode) {
+                    super.onScanFailed(errorCode);
+                    mScanListener.onScanFailed(errorCode);
+                }
+            };
+        }
+        return scanCallback21;
+    }
+
+    @TargetApi(21)
+    private void startScan21(Protos.ScanSettings proto) throws IllegalStateException {
+        BluetoothLeScanner scanner = mBluetoothAdapter.getBluetoothLeScanner();
+        if(scanner == null) throw new IllegalStateException("getBluetoothLeScanner() is null. Is the Adapter on?");
+        int scanMode = proto.getAndroidScanMode();
+        int count = proto.getServiceUuidsCount();
+        List<ScanFilter> filters = new ArrayList<>(count + proto.getFiltersCount());
+        for(int i = 0; i < count; i++) {
+            String uuid = proto.getServiceUuids(i);
+            ScanFilter f = new ScanFilter.Builder().setServiceUuid(ParcelUuid.fromString(uuid)).build();
+            filters.add(f);
+        }
+        for (Protos.ScanFilter filter : proto.getFiltersList()) {
+            filters.add(scanFilter21(filter));
+        }
+        ScanSettings settings = new ScanSettings.Builder().setScanMode(scanMode).build();
+        scanner.startScan(filters, settings, getScanCallback21());
+    }
+
+    /**
+     * @throws IllegalArgumentException for masks not as long as their data or a malformed address.
+     */
+    @TargetApi(21)
+    private static ScanFilter scanFilter21(Protos.ScanFilter proto) {
+        final ScanFilter.Builder f = new ScanFilter.Builder();
+        if (!proto.getServiceUuid().isEmpty()) {
+            f.setServiceUuid(ParcelUuid.fromString(proto.getServiceUuid()));
+        }
+        if (!proto.getDeviceName().isEmpty()) {
+            f.setDeviceName(proto.getDeviceName());
+        }
+        if (!proto.getDeviceAddress().isEmpty()) {
+            // the builder only takes upper case addresses
+            f.setDeviceAddress(proto.getDeviceAddress().toUpperCase(Locale.US));
+        }
+        if (proto.hasManufacturerId()) {
+            if (proto.getManufacturerDataMask().isEmpty()) {
+                f.setManufacturerData(proto.getManufacturerId().getValue(), proto.getManufacturerData().toByteArray());
+            } else {
+                f.setManufacturerData(proto.getManufacturerId().getValue(), proto.getManufacturerData().toByteArray(),
+                        proto.getManufacturerDataMask().toByteArray());
+            }
+        }
+        if (!proto.getServiceDataUuid().isEmpty()) {
+            final ParcelUuid uuid = ParcelUuid.fromString(proto.getServiceDataUuid());
+            if (proto.getServiceDataMask().isEmpty()) {
+                f.setServiceData(uuid, proto.getServiceData().toByteArray());
+            } else {
+                f.setServiceData(uuid, proto.getServiceData().toByteArray(), proto.getServiceDataMask().toByteArray());
+            }
+        }
+        return f.build();
+    }
+
+    @TargetApi(21)
+    private void stopScan21() {
+        BluetoothLeScanner scanner = mBluetoothAdapter.getBluetoothLeScanner();
+        if(scanner != null) scanner.stopScan(getScanCallback21());
+    }
+
+    private BluetoothAdapter.LeScanCallback scanCallback18;
+
+    private BluetoothAdapter.LeScanCallback getScanCallback18() {
+        if(scanCallback18 == null) {
+            scanCallback18 = new BluetoothAdapter.LeScanCallback() {
+                @Override
+                public void onLeScan(final BluetoothDevice bluetoothDevice, int rssi,
+                                     byte[] scanRecord) {
+                    final long receivedAt = System.nanoTime();
+                    mScanListener.onScanResult(bluetoothDevice, ProtoMaker.DEVICES, scanRecord, rssi, false, receivedAt);
+                }
+            };
+        }
+        return scanCallback18;
+    }
+
+    private void startScan18(Protos.ScanSettings proto) throws IllegalStateException {
+        List<String> serviceUuids = proto.getServiceUuidsList();
+        UUID[] uuids = new UUID[serviceUuids.size()];
+        for(int i = 0; i < serviceUuids.size(); i++) {
+            uuids[i] = UUID.fromString(serviceUuids.get(i));
+        }
+        boolean success = mBluetoothAdapter.startLeScan(uuids, getScanCallback18());
+        if(!success) throw new IllegalStateException("getBluetoothLeScanner() is null. Is the Adapter on?");
+    }
+
+    private void stopScan18() {
+        mBluetoothAdapter.stopLeScan(getScanCallback18());
+    }
+
+    @Override
+    public void setGattListener(GattListener listener) {
+        mGattListener = listener;
+    }
+
+    @Override
+    public int getConnectionState(String address) {
+        final BluetoothDevice device = mBluetoothAdapter.getRemoteDevice(address);
+        return mBluetoothManager.getConnectionState(device, BluetoothProfile.GATT);
+    }
+
+    @Override
+    public boolean hasConnection(String address) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        if (gatt == null) {
+            return false;
+        }
+        if (gatt.getDevice() == null) {
+            // the stack lost the device, the connection is of no use anymore
+            gatt.close();
+            mGattServers.remove(address);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean connect(String address, boolean autoConnect) {
+        final BluetoothGatt knownGatt = mGattServers.get(address);
+        if (knownGatt != null) {
+            if (knownGatt.connect()) {
+                return true;
+            }
+            knownGatt.close();
+            mGattServers.remove(address);
+        }
+
+        final BluetoothDevice device = mBluetoothAdapter.getRemoteDevice(address);
+        final BluetoothGatt gatt;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            gatt = device.connectGatt(mContext, false, mGattCallback, BluetoothDevice.TRANSPORT_LE);
+        } else {
+            gatt = device.connectGatt(mContext, false, mGattCallback);
+        }
+        if (gatt == null) {
+            return false;
+        }
+        if (autoConnect) {
+            gatt.connect();
+        }
+        mGattServers.put(address, gatt);
+        return true;
+    }
+
+    @Override
+    public void disconnect(String address) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        if (gatt != null) {
+            gatt.disconnect();
+        }
+    }
+
+    @Override
+    public void close(String address) {
+        final BluetoothGatt gatt = mGattServers.remove(address);
+        if (gatt != null) {
+            gatt.close();
+        }
+    }
+
+    @Override
+    public void closeAll() {
+        for (final Map.Entry<String, BluetoothGatt> e : mGattServers.entrySet()) {
+            final BluetoothGatt gatt = e.getValue();
+            if (getConnectionState(e.getKey()) == BluetoothProfile.STATE_CONNECTED) {
+                gatt.disconnect();
+            }
+            gatt.close();
+        }
+        mGattServers.clear();
+    }
+
+    @Override
+    public boolean discoverServices(String address) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        return gatt != null && gatt.discoverServices();
+    }
+
+    @Override
+    public List<BluetoothGattService> getServices(String address) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        return gatt != null ? gatt.getServices() : Collections.<BluetoothGattService>emptyList();
+    }
+
+    @Override
+    public BluetoothGattService getService(String address, UUID uuid) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        return gatt != null ? gatt.getService(uuid) : null;
+    }
+
+    @Override
+    public boolean readCharacteristic(String address, BluetoothGattCharacteristic characteristic) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        return gatt != null && gatt.readCharacteristic(characteristic);
+    }
+
+    @Override
+    public boolean writeCharacteristic(String address, BluetoothGattCharacteristic characteristic) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        return gatt != null && gatt.writeCharacteristic(characteristic);
+    }
+
+    @Override
+    public boolean readDescriptor(String address, BluetoothGattDescriptor descriptor) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        return gatt != null && gatt.readDescriptor(descriptor);
+    }
+
+    @Override
+    public boolean writeDescriptor(String address, BluetoothGattDescriptor descriptor) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        return gatt != null && gatt.writeDescriptor(descriptor);
+    }
+
+    @Override
+    public boolean setCharacteristicNotification(String address, BluetoothGattCharacteristic characteristic, boolean enable) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        return gatt != null && gatt.setCharacteristicNotification(characteristic, enable);
+    }
+
+    @Override
+    @TargetApi(21)
+    public boolean requestMtu(String address, int mtu) {
+        final BluetoothGatt gatt = mGattServers.get(address);
+        return gatt != null && gatt.requestMtu(mtu);
+    }
+
+    private final BluetoothGattCallback mGattCallback = new BluetoothGattCallback() {
+        /**
+         * @return the gatt's address, once checked it is the connection to its device
+         */
+        private String known(BluetoothGatt gatt) {
+            final String address = gatt.getDevice().getAddress();
+            if (mGattServers.get(address) != gatt) {
+                throw new RuntimeException("callback called with unknown gatt object");
+            }
+            return address;
+        }
+
+        @Override
+        public void onConnectionStateChange(BluetoothGatt gatt, int status, int newState) {
+            mGattListener.onConnectionStateChange(gatt.getDevice().getAddress(), status, newState);
+        }
+
+        @Override
+        public void onServicesDiscovered(BluetoothGatt gatt, int status) {
+            mGattListener.onServicesDiscovered(known(gatt), status);
+        }
+
+        @Override
+        public void onCharacteristicRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
+            mGattListener.onCharacteristicRead(known(gatt), characteristic, status);
+        }
+
+        @Override
+        public void onCharacteristicWrite(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
+            mGattListener.onCharacteristicWrite(known(gatt), characteristic, status);
+        }
+
+        @Override
+        public void onCharacteristicChanged(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic) {
+            mGattListener.onCharacteristicChanged(known(gatt), characteristic);
+        }
+
+        @Override
+        public void onDescriptorRead(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status) {
+            mGattListener.onDescriptorRead(known(gatt), descriptor, status);
+        }
+
+        @Override
+        public void onDescriptorWrite(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status) {
+            mGattListener.onDescriptorWrite(known(gatt), descriptor, status);
+        }
+
+        @Override
+        public void onReliableWriteCompleted(BluetoothGatt gatt, int status) {
+            mGattListener.onReliableWriteCompleted(gatt.getDevice().getAddress(), status);
+        }
+
+        @Override
+        public void onReadRemoteRssi(BluetoothGatt gatt, int rssi, int status) {
+            mGattListener.onReadRemoteRssi(gatt.getDevice().getAddress(), rssi, status);
+        }
+
+        @Override
+        public void onMtuChanged(BluetoothGatt gatt, int mtu, int status) {
+            mGattListener.onMtuChanged(known(gatt), mtu, status);
+        }
+    };
+}
@@ -0,0 +1,158 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import android.bluetooth.le.BluetoothLeAdvertiser;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The adapter, scanner and gatt client connections the plugin drives, addressed by device
+ * address. {@link AndroidBackend} forwards to the android stack, the unit tests run the plugin's
+ * event handling against simulated peripherals instead.
+ *
+ * Gatt attributes are the framework's classes, which only hold data and can be built off device.
+ * Operations follow {@link android.bluetooth.BluetoothGatt} semantics: they return false when
+ * refused, otherwise the outcome arrives later on the {@link GattListener}.
+ */
+interface BleBackend {
+    interface ScanListener {
+        /**
+         * Called from the scan callback thread.
+         *
+         * @param converter gives the device's address and converts it once a result is sent
+         * @param receivedAt {@link System#nanoTime()} when the callback was entered
+         */
+        <D> void onScanResult(D device, ScanPipeline.DeviceConverter<D> converter, byte[] scanRecord, int rssi,
+                              boolean connectable, long receivedAt);
+
+        void onScanFailed(int errorCode);
+    }
+
+    /**
+     * The {@link android.bluetooth.BluetoothGattCallback} of every connection.
+     */
+    interface GattListener {
+        void onConnectionStateChange(String address, int status, int newState);
+
+        void onServicesDiscovered(String address, int status);
+
+        void onCharacteristicRead(String address, BluetoothGattCharacteristic characteristic, int status);
+
+        void onCharacteristicWrite(String address, BluetoothGattCharacteristic characteristic, int status);
+
+        void onCharacteristicChanged(String address, BluetoothGattCharacteristic characteristic);
+
+        void onDescriptorRead(String address, BluetoothGattDescriptor descriptor, int status);
+
+        void onDescriptorWrite(String address, BluetoothGattDescriptor descriptor, int status);
+
+        void onReliableWriteCompleted(String address, int status);
+
+        void onReadRemoteRssi(String address, int rssi, int status);
+
+        void onMtuChanged(String address, int mtu, int status);
+    }
+
+    /**
+     * @return one of the BluetoothAdapter STATE_ values
+     */
+    int getState();
+
+    boolean isEnabled();
+
+    /**
+     * @return null when the adapter can not advertise
+     */
+    BluetoothLeAdvertiser getAdvertiser();
+
+    boolean isLeExtendedAdvertisingSupported();
+
+    boolean isLeCodedPhySupported();
+
+    boolean isLe2MPhySupported();
+
+    /**
+     * Scans with the settings' service uuids and filters, results go to the listener until
+     * {@link #stopScan}.
+     *
+     * @throws IllegalStateException when the scanner is not available
+     * @throws IllegalArgumentException for filters the stack does not take
+     */
+    void startScan(Protos.ScanSettings settings, ScanListener listener);
+
+    void stopScan();
+
+    void setGattListener(GattListener listener);
+
+    /**
+     * @return one of the BluetoothProfile STATE_ values of the gatt connection
+     */
+    int getConnectionState(String address);
+
+    /**
+     * Whether there is a connection to the device, connected or not, until {@link #close}.
+     */
+    boolean hasConnection(String address);
+
+    /**
+     * Connects, reusing the connection to the device when there is one.
+     *
+     * @param autoConnect keep connecting until the device is in range
+     * @return false when refused
+     */
+    boolean connect(String address, boolean autoConnect);
+
+    /**
+     * The disconnect is reported to the listener, the connection is kept for a reconnect.
+     */
+    void disconnect(String address);
+
+    /**
+     * Drops the connection without reporting it.
+     */
+    void close(String address);
+
+    /**
+     * Disconnects and closes every connection.
+     */
+    void closeAll();
+
+    boolean discoverServices(String address);
+
+    /**
+     * @return the services discovered so far, empty without a connection
+     */
+    List<BluetoothGattService> getServices(String address);
+
+    /**
+     * @return the first discovered service with the uuid, null if there is none
+     */
+    BluetoothGattService getService(String address, UUID uuid);
+
+    boolean readCharacteristic(String address, BluetoothGattCharacteristic characteristic);
+
+    /**
+     * Writes the characteristic's value with its write type.
+     */
+    boolean writeCharacteristic(String address, BluetoothGattCharacteristic characteristic);
+
+    boolean readDescriptor(String address, BluetoothGattDescriptor descriptor);
+
+    /**
+     * Writes the descriptor's value.
+     */
+    boolean writeDescriptor(String address, BluetoothGattDescriptor descriptor);
+
+    /**
+     * Only routes the characteristic's notifications locally, the peripheral starts sending them
+     * once its client characteristic configuration is written.
+     */
+    boolean setCharacteristicNotification(String address, BluetoothGattCharacteristic characteristic, boolean enable);
+
+    boolean requestMtu(String address, int mtu);
+}
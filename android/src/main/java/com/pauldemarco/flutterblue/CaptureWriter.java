@@ -0,0 +1,257 @@
+package com.pauldemarco.flutterblue;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records everything crossing the plugin into a binary capture file, read back by the replay
+ * tools of the benchmark module.
+ *
+ * Layout is a header (magic, version) followed by frames of
+ * [type:byte][nanos since start:long][type specific body]. Addresses are packed into a long.
+ *
+ * Callers only queue their frames, one writer thread does the file io so binder and scan
+ * threads never wait on the disk. Frames arriving while the queue is full are dropped, counted,
+ * and marked in the file by a dropped frame written before the next frame that made it.
+ */
+class CaptureWriter {
+    static final int MAGIC = 0x46424350; // "FBCP"
+    static final short VERSION = 2;
+
+    static final byte FRAME_METHOD_CALL = 1;    // [method:utf][length:int][arguments]
+    static final byte FRAME_SCAN_RESULT = 2;    // [address:long][rssi:int][connectable:boolean][length:int][scan record]
+    static final byte FRAME_GATT_CALLBACK = 3;  // [event:byte][address:long][uuid msb:long][uuid lsb:long][status:int][value:int]
+    static final byte FRAME_OUTGOING = 4;       // [method:utf][length:int][payload]
+    static final byte FRAME_DROPPED = 5;        // [count:long]
+
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final byte[] EMPTY = new byte[0];
+
+    private static class Frame {
+        final byte type;
+        final long timestamp;
+        String method;
+        long address;
+        int rssi;
+        boolean connectable;
+        TraceBuffer.Event event;
+        UUID attribute;
+        int status;
+        int value;
+        byte[] data;
+        // frames dropped since the one queued before
+        long droppedBefore;
+
+        Frame(byte type, long timestamp) {
+            this.type = type;
+            this.timestamp = timestamp;
+        }
+    }
+
+    // queued by close, the writer thread ends once it got to it
+    private static final Frame END = new Frame((byte) 0, 0);
+
+    private final File file;
+    private final DataOutputStream out;
+    private final long startedAt;
+    private final BlockingQueue<Frame> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final AtomicLong dropped = new AtomicLong();
+    // dropped but not marked yet, the next frame queued takes them
+    private final AtomicLong unmarked = new AtomicLong();
+    // written by the writer thread, read after it ended
+    private IOException error;
+
+    CaptureWriter(File file) throws IOException {
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024));
+        this.startedAt = System.nanoTime();
+        try {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+        writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "FlutterBlueCapture");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    /**
+     * Frames dropped so far because the writer thread fell behind.
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+
+    void methodCall(String method, Object arguments) {
+        final byte[] data;
+        if (arguments instanceof byte[]) {
+            data = (byte[]) arguments;
+        } else if (arguments != null) {
+            data = String.valueOf(arguments).getBytes(UTF8);
+        } else {
+            data = EMPTY;
+        }
+
+        final Frame frame = frame(FRAME_METHOD_CALL);
+        frame.method = method;
+        frame.data = data;
+        enqueue(frame);
+    }
+
+    void scanResult(String address, int rssi, boolean connectable, byte[] scanRecord) {
+        final Frame frame = frame(FRAME_SCAN_RESULT);
+        frame.address = TraceBuffer.addressToLong(address);
+        frame.rssi = rssi;
+        frame.connectable = connectable;
+        frame.data = scanRecord != null ? scanRecord : EMPTY;
+        enqueue(frame);
+    }
+
+    void gattCallback(TraceBuffer.Event event, String address, UUID attribute, int status, int value) {
+        final Frame frame = frame(FRAME_GATT_CALLBACK);
+        frame.event = event;
+        frame.address = TraceBuffer.addressToLong(address);
+        frame.attribute = attribute;
+        frame.status = status;
+        frame.value = value;
+        enqueue(frame);
+    }
+
+    void outgoing(String method, byte[] payload) {
+        final Frame frame = frame(FRAME_OUTGOING);
+        frame.method = method;
+        frame.data = payload != null ? payload : EMPTY;
+        enqueue(frame);
+    }
+
+    /**
+     * Waits for the queued frames to be written, frames recorded afterwards are ignored.
+     *
+     * @throws IOException the first error hit while recording, or while closing
+     */
+    void close() throws IOException {
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while finishing the capture", e);
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private Frame frame(byte type) {
+        return new Frame(type, System.nanoTime() - startedAt);
+    }
+
+    private void enqueue(Frame frame) {
+        if (unmarked.get() != 0) {
+            frame.droppedBefore = unmarked.getAndSet(0);
+        }
+        if (!queue.offer(frame)) {
+            dropped.incrementAndGet();
+            unmarked.addAndGet(frame.droppedBefore + 1);
+        }
+    }
+
+    // runs on the writer thread
+    private void drain() {
+        try {
+            Frame frame;
+            while ((frame = queue.take()) != END) {
+                if (error == null) {
+                    try {
+                        write(frame);
+                    } catch (IOException e) {
+                        // keeps taking frames so callers never block on a full queue
+                        error = e;
+                    }
+                }
+            }
+            // drops no frame came after
+            final long rest = unmarked.getAndSet(0);
+            if (rest > 0 && error == null) {
+                try {
+                    dropped(System.nanoTime() - startedAt, rest);
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                out.close();
+            } catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+    }
+
+    private void write(Frame frame) throws IOException {
+        if (frame.droppedBefore > 0) {
+            dropped(frame.timestamp, frame.droppedBefore);
+        }
+        out.writeByte(frame.type);
+        out.writeLong(frame.timestamp);
+        switch (frame.type) {
+            case FRAME_METHOD_CALL:
+            case FRAME_OUTGOING:
+                out.writeUTF(frame.method);
+                bytes(frame.data);
+                break;
+            case FRAME_SCAN_RESULT:
+                out.writeLong(frame.address);
+                out.writeInt(frame.rssi);
+                out.writeBoolean(frame.connectable);
+                bytes(frame.data);
+                break;
+            case FRAME_GATT_CALLBACK:
+                out.writeByte(frame.event.ordinal());
+                out.writeLong(frame.address);
+                out.writeLong(frame.attribute != null ? frame.attribute.getMostSignificantBits() : 0);
+                out.writeLong(frame.attribute != null ? frame.attribute.getLeastSignificantBits() : 0);
+                out.writeInt(frame.status);
+                out.writeInt(frame.value);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void dropped(long timestamp, long count) throws IOException {
+        out.writeByte(FRAME_DROPPED);
+        out.writeLong(timestamp);
+        out.writeLong(count);
+    }
+
+    private void bytes(byte[] data) throws IOException {
+        out.writeInt(data.length);
+        out.write(data);
+    }
+}
@@ -0,0 +1,107 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+
+import com.google.protobuf.ByteString;
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the CompactDiscoverServicesResult of a gatt database.
+ *
+ * The nested DiscoverServicesResult repeats the remote id and the parent uuids in every attribute
+ * and serializes included services again under every service including them. Here each uuid goes
+ * into a table once and each service is listed once, everything else refers to them by index.
+ */
+class CompactDiscovery {
+    private final Protos.CompactDiscoverServicesResult.Builder mResult = Protos.CompactDiscoverServicesResult.newBuilder();
+    private final Map<UUID, Integer> mUuids = new HashMap<>();
+    // the gatt hands out the same service objects for included services
+    private final Map<BluetoothGattService, Integer> mServiceIndex = new IdentityHashMap<>();
+    private final List<BluetoothGattService> mServices = new ArrayList<>();
+    private final boolean mBinaryUuids;
+
+    private CompactDiscovery(boolean binaryUuids) {
+        mBinaryUuids = binaryUuids;
+    }
+
+    /**
+     * @param binaryUuids fill the uuid table in binary_uuids instead of uuids
+     */
+    static Protos.CompactDiscoverServicesResult from(String remoteId, List<BluetoothGattService> services, boolean binaryUuids) {
+        final CompactDiscovery d = new CompactDiscovery(binaryUuids);
+        d.mResult.setRemoteId(remoteId);
+        for (BluetoothGattService s : services) {
+            d.serviceIndex(s);
+        }
+        // included services the gatt did not list are appended while going through the list
+        for (int i = 0; i < d.mServices.size(); i++) {
+            d.add(i, d.mServices.get(i));
+        }
+        return d.mResult.build();
+    }
+
+    private void add(int index, BluetoothGattService service) {
+        final Protos.CompactService.Builder s = Protos.CompactService.newBuilder();
+        s.setUuid(uuidIndex(service.getUuid()));
+        s.setIsPrimary(service.getType() == BluetoothGattService.SERVICE_TYPE_PRIMARY);
+        for (BluetoothGattService included : service.getIncludedServices()) {
+            s.addIncludedServices(serviceIndex(included));
+        }
+        mResult.addServices(s);
+
+        for (BluetoothGattCharacteristic c : service.getCharacteristics()) {
+            final int characteristicIndex = mResult.getCharacteristicsCount();
+            final Protos.CompactCharacteristic.Builder p = Protos.CompactCharacteristic.newBuilder();
+            p.setService(index);
+            p.setUuid(uuidIndex(c.getUuid()));
+            p.setProperties(c.getProperties());
+            if (c.getValue() != null) {
+                p.setValue(ByteString.copyFrom(c.getValue()));
+            }
+            mResult.addCharacteristics(p);
+
+            for (BluetoothGattDescriptor d : c.getDescriptors()) {
+                final Protos.CompactDescriptor.Builder q = Protos.CompactDescriptor.newBuilder();
+                q.setCharacteristic(characteristicIndex);
+                q.setUuid(uuidIndex(d.getUuid()));
+                if (d.getValue() != null) {
+                    q.setValue(ByteString.copyFrom(d.getValue()));
+                }
+                mResult.addDescriptors(q);
+            }
+        }
+    }
+
+    private int serviceIndex(BluetoothGattService service) {
+        Integer index = mServiceIndex.get(service);
+        if (index == null) {
+            index = mServices.size();
+            mServiceIndex.put(service, index);
+            mServices.add(service);
+        }
+        return index;
+    }
+
+    private int uuidIndex(UUID uuid) {
+        Integer index = mUuids.get(uuid);
+        if (index == null) {
+            index = mUuids.size();
+            mUuids.put(uuid, index);
+            if (mBinaryUuids) {
+                mResult.addBinaryUuids(Uuids.toBinary(uuid));
+            } else {
+                mResult.addUuids(uuid.toString());
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,161 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * A Protos.ScanFilter checked against parsed advertisements, the way android's ScanFilter
+ * matches them in the controller.
+ *
+ * Routing needs this since the hardware scans with the filters of every subscription.
+ */
+class CompiledScanFilter {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final boolean mHasServiceUuid;
+    private final long mServiceUuidMsb;
+    private final long mServiceUuidLsb;
+    private final byte[] mName;
+    private final String mAddress;
+    private final int mManufacturerId;
+    private final byte[] mManufacturerData;
+    private final byte[] mManufacturerDataMask;
+    private final boolean mHasServiceData;
+    private final long mServiceDataMsb;
+    private final long mServiceDataLsb;
+    private final byte[] mServiceData;
+    private final byte[] mServiceDataMask;
+
+    /**
+     * @throws IllegalArgumentException when a uuid, the address or the manufacturer id is malformed
+     *         or data comes without its key or with a mask of another length.
+     */
+    CompiledScanFilter(Protos.ScanFilter filter) {
+        mHasServiceUuid = !filter.getServiceUuid().isEmpty();
+        final UUID serviceUuid = mHasServiceUuid ? UUID.fromString(filter.getServiceUuid()) : null;
+        mServiceUuidMsb = mHasServiceUuid ? serviceUuid.getMostSignificantBits() : 0;
+        mServiceUuidLsb = mHasServiceUuid ? serviceUuid.getLeastSignificantBits() : 0;
+
+        mName = filter.getDeviceName().isEmpty() ? null : filter.getDeviceName().getBytes(UTF8);
+        mAddress = filter.getDeviceAddress().isEmpty() ? null : filter.getDeviceAddress().toUpperCase(Locale.US);
+        if (mAddress != null && !isAddress(mAddress)) {
+            throw new IllegalArgumentException("invalid device address: " + filter.getDeviceAddress());
+        }
+
+        if (!filter.hasManufacturerId() && !filter.getManufacturerData().isEmpty()) {
+            throw new IllegalArgumentException("manufacturer data without a manufacturer id");
+        }
+        if (filter.hasManufacturerId() && filter.getManufacturerId().getValue() < 0) {
+            throw new IllegalArgumentException("invalid manufacturer id: " + filter.getManufacturerId().getValue());
+        }
+        mManufacturerId = filter.hasManufacturerId() ? filter.getManufacturerId().getValue() : -1;
+        mManufacturerData = filter.getManufacturerData().toByteArray();
+        mManufacturerDataMask = mask(mManufacturerData, filter.getManufacturerDataMask().toByteArray(), "manufacturer");
+
+        mHasServiceData = !filter.getServiceDataUuid().isEmpty();
+        if (!mHasServiceData && !filter.getServiceData().isEmpty()) {
+            throw new IllegalArgumentException("service data without a service data uuid");
+        }
+        final UUID serviceDataUuid = mHasServiceData ? UUID.fromString(filter.getServiceDataUuid()) : null;
+        mServiceDataMsb = mHasServiceData ? serviceDataUuid.getMostSignificantBits() : 0;
+        mServiceDataLsb = mHasServiceData ? serviceDataUuid.getLeastSignificantBits() : 0;
+        mServiceData = filter.getServiceData().toByteArray();
+        mServiceDataMask = mask(mServiceData, filter.getServiceDataMask().toByteArray(), "service");
+    }
+
+    /**
+     * What BluetoothAdapter.checkBluetoothAddress accepts: "XX:XX:XX:XX:XX:XX", upper case hex.
+     */
+    private static boolean isAddress(String address) {
+        if (address.length() != 17) {
+            return false;
+        }
+        for (int i = 0; i < 17; i++) {
+            final char c = address.charAt(i);
+            if (i % 3 == 2) {
+                if (c != ':') {
+                    return false;
+                }
+            } else if (!((c >= '0' && c <= '9') || (c >= 'A' && c <= 'F'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] mask(byte[] data, byte[] mask, String kind) {
+        if (mask.length == 0) {
+            return null;
+        }
+        if (mask.length != data.length) {
+            throw new IllegalArgumentException(kind + " data mask of " + mask.length + " bytes for " + data.length + " bytes of data");
+        }
+        return mask;
+    }
+
+    boolean matches(ParsedAdvertisement ad, String address) {
+        if (mAddress != null && !mAddress.equalsIgnoreCase(address)) {
+            return false;
+        }
+        final byte[] data = ad.data();
+        if (mHasServiceUuid && !hasServiceUuid(ad)) {
+            return false;
+        }
+        if (mName != null && !regionEquals(data, ad.nameOffset(), ad.nameLength(), mName)) {
+            return false;
+        }
+        if (mManufacturerId >= 0) {
+            final int i = ad.manufacturerIndex(mManufacturerId);
+            if (i < 0 || !partialMatch(data, ad.manufacturerOffset(i), ad.manufacturerLength(i), mManufacturerData, mManufacturerDataMask)) {
+                return false;
+            }
+        }
+        if (mHasServiceData) {
+            final int i = ad.serviceDataIndex(mServiceDataMsb, mServiceDataLsb);
+            if (i < 0 || !partialMatch(data, ad.serviceDataOffset(i), ad.serviceDataLength(i), mServiceData, mServiceDataMask)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasServiceUuid(ParsedAdvertisement ad) {
+        for (int i = 0; i < ad.serviceUuidCount(); i++) {
+            if (ad.serviceUuidMsb(i) == mServiceUuidMsb && ad.serviceUuidLsb(i) == mServiceUuidLsb) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionEquals(byte[] data, int offset, int length, byte[] expected) {
+        if (length != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (data[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The advertised data has to start with the filter's data, in the bits of the mask if any.
+     */
+    static boolean partialMatch(byte[] data, int offset, int length, byte[] expected, byte[] mask) {
+        if (length < expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            final int m = mask != null ? mask[i] : 0xFF;
+            if ((data[offset + i] & m) != (expected[i] & m)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,158 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+/**
+ * Throughput and latency counters of a single gatt connection.
+ *
+ * All updates are plain field writes under the instance lock, cheap enough to stay enabled.
+ */
+class ConnectionStats {
+    static final int DEFAULT_MTU = 23;
+    static final int LATENCY_BUCKETS = 16;
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private static final Protos.OperationStats.Type[] OPS = Protos.OperationStats.Type.values();
+
+    private final String remoteId;
+
+    private final long[] issued = new long[OPS.length];
+    private final long[] completed = new long[OPS.length];
+    private final long[] failed = new long[OPS.length];
+    private final long[] pendingSince = new long[OPS.length];
+    private final LatencyHistogram[] latency = new LatencyHistogram[OPS.length];
+
+    private int mtu = DEFAULT_MTU;
+    private long bytesRead;
+    private long bytesWritten;
+    private long bytesNotified;
+    private long notifications;
+
+    private long notifyWindowStart;
+    private long notifyWindowCount;
+    private double notificationsPerSecond;
+
+    ConnectionStats(String remoteId) {
+        this.remoteId = remoteId;
+        for (int i = 0; i < OPS.length; i++) {
+            latency[i] = new LatencyHistogram(LATENCY_BUCKETS, LatencyHistogram.MILLIS);
+        }
+    }
+
+    /**
+     * Operation is about to be handed to the stack, called first as its callback may arrive before
+     * the call returns. Latency is measured until {@link #opCompleted}.
+     *
+     * @return what {@link #opRejected} needs to undo the start
+     */
+    synchronized long opStarted(Protos.OperationStats.Type op) {
+        final int i = op.ordinal();
+        issued[i]++;
+        final long previous = pendingSince[i];
+        pendingSince[i] = System.nanoTime();
+        return previous;
+    }
+
+    /**
+     * Operation was refused by the stack before being sent, there will be no callback.
+     *
+     * @param previous returned by the {@link #opStarted} call for it, an operation still in flight
+     *                 keeps its start
+     */
+    synchronized void opRejected(Protos.OperationStats.Type op, long previous) {
+        final int i = op.ordinal();
+        failed[i]++;
+        pendingSince[i] = previous;
+    }
+
+    synchronized void opCompleted(Protos.OperationStats.Type op, boolean success) {
+        final int i = op.ordinal();
+        if (success) {
+            completed[i]++;
+        } else {
+            failed[i]++;
+        }
+
+        final long since = pendingSince[i];
+        if (since != 0) {
+            pendingSince[i] = 0;
+            latency[i].record(System.nanoTime() - since);
+        }
+    }
+
+    synchronized boolean isPending(Protos.OperationStats.Type op) {
+        return pendingSince[op.ordinal()] != 0;
+    }
+
+    synchronized void bytesRead(int count) {
+        bytesRead += count;
+    }
+
+    synchronized void bytesWritten(int count) {
+        bytesWritten += count;
+    }
+
+    synchronized void notificationReceived(int count) {
+        bytesNotified += count;
+        notifications++;
+
+        final long now = System.nanoTime();
+        if (notifyWindowStart == 0) {
+            notifyWindowStart = now;
+        }
+        notifyWindowCount++;
+
+        final long elapsed = now - notifyWindowStart;
+        if (elapsed >= NANOS_PER_SECOND) {
+            notificationsPerSecond = notifyWindowCount * (double) NANOS_PER_SECOND / elapsed;
+            notifyWindowStart = now;
+            notifyWindowCount = 0;
+        }
+    }
+
+    synchronized void mtuChanged(int mtu) {
+        this.mtu = mtu;
+    }
+
+    /**
+     * Rate of the last completed window, or of the open one once it is older than a window so
+     * notifications that stopped coming do not keep reporting their last rate.
+     */
+    private double notificationsPerSecond() {
+        if (notifyWindowStart == 0) {
+            return 0;
+        }
+        final long elapsed = System.nanoTime() - notifyWindowStart;
+        if (elapsed < NANOS_PER_SECOND) {
+            return notificationsPerSecond;
+        }
+        return notifyWindowCount * (double) NANOS_PER_SECOND / elapsed;
+    }
+
+    synchronized Protos.ConnectionStats toProto() {
+        final Protos.ConnectionStats.Builder p = Protos.ConnectionStats.newBuilder();
+        p.setRemoteId(remoteId);
+        p.setMtu(mtu);
+        p.setBytesRead(bytesRead);
+        p.setBytesWritten(bytesWritten);
+        p.setBytesNotified(bytesNotified);
+        p.setNotifications(notifications);
+        p.setNotificationsPerSecond(notificationsPerSecond());
+
+        for (int i = 0; i < OPS.length; i++) {
+            if (OPS[i] == Protos.OperationStats.Type.UNRECOGNIZED || issued[i] == 0) {
+                continue;
+            }
+
+            final Protos.OperationStats.Builder op = Protos.OperationStats.newBuilder();
+            op.setType(OPS[i]);
+            op.setIssued(issued[i]);
+            op.setCompleted(completed[i]);
+            op.setFailed(failed[i]);
+            op.addAllLatencyHistogram(latency[i].toList());
+            p.addOperations(op);
+        }
+        return p.build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency of the native to dart event path, keyed by event name.
+ *
+ * Each dispatched event is stamped when its callback arrives, once serialized and when
+ * invokeMethod runs on the main looper.
+ */
+class DispatchStats {
+    static final int LATENCY_BUCKETS = 24;
+
+    private final ConcurrentHashMap<String, Event> events = new ConcurrentHashMap<>();
+
+    void dispatched(String name, long receivedAt, long serializedAt, long invokedAt) {
+        eventFor(name).dispatched(receivedAt, serializedAt, invokedAt);
+    }
+
+    void dropped(String name) {
+        eventFor(name).dropped();
+    }
+
+    Protos.DispatchStatsSnapshot toProto() {
+        final Protos.DispatchStatsSnapshot.Builder p = Protos.DispatchStatsSnapshot.newBuilder();
+        for (final Event event : events.values()) {
+            p.addEvents(event.toProto());
+        }
+        return p.build();
+    }
+
+    private Event eventFor(String name) {
+        Event event = events.get(name);
+        if (event == null) {
+            event = new Event(name);
+            final Event known = events.putIfAbsent(name, event);
+            if (known != null) {
+                event = known;
+            }
+        }
+        return event;
+    }
+
+    private static class Event {
+        private final String name;
+        private final LatencyHistogram serialize = new LatencyHistogram(LATENCY_BUCKETS, LatencyHistogram.MICROS);
+        private final LatencyHistogram queue = new LatencyHistogram(LATENCY_BUCKETS, LatencyHistogram.MICROS);
+        private final LatencyHistogram total = new LatencyHistogram(LATENCY_BUCKETS, LatencyHistogram.MICROS);
+        private long dispatched;
+        private long dropped;
+
+        Event(String name) {
+            this.name = name;
+        }
+
+        synchronized void dispatched(long receivedAt, long serializedAt, long invokedAt) {
+            dispatched++;
+            serialize.record(serializedAt - receivedAt);
+            queue.record(invokedAt - serializedAt);
+            total.record(invokedAt - receivedAt);
+        }
+
+        synchronized void dropped() {
+            dropped++;
+        }
+
+        synchronized Protos.DispatchStats toProto() {
+            return Protos.DispatchStats.newBuilder()
+                    .setEvent(name)
+                    .setDispatched(dispatched)
+                    .setDropped(dropped)
+                    .addAllSerializeHistogram(serialize.toList())
+                    .addAllQueueHistogram(queue.toList())
+                    .addAllTotalHistogram(total.toList())
+                    .build();
+        }
+    }
+}
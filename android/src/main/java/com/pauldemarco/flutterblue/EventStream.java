@@ -0,0 +1,187 @@
+package com.pauldemarco.flutterblue;
+
+import android.os.Handler;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.flutter.plugin.common.BinaryMessenger;
+
+/**
+ * Sends events to dart as frames on a plain binary channel instead of one method call each.
+ *
+ * On the method channel StandardMethodCodec copies every payload into its own stream and from
+ * there into a direct buffer for the engine. Here an event is copied once, straight into a pooled
+ * direct frame. A frame holds any number of events, each
+ * <pre>
+ *   u8   method name length
+ *   ...  method name, ASCII
+ *   u32  payload length, little endian
+ *   ...  payload, the serialized proto
+ * </pre>
+ * so dart can hand views of the frame to the proto parsers without copying.
+ *
+ * Events are appended from any thread and the main looper sends the open frame when it gets to
+ * it. Everything that arrives in the meantime shares that frame.
+ */
+class EventStream {
+    static final int FRAME_CAPACITY = 64 * 1024;
+    // frames kept for reuse, one filling while one is sent
+    private static final int POOLED_FRAMES = 2;
+
+    private static class Frame {
+        final ByteBuffer buffer;
+        int count;
+        String[] methods = new String[64];
+        long[] receivedAt = new long[64];
+        long[] serializedAt = new long[64];
+
+        Frame(int capacity) {
+            buffer = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        void add(String method, byte[] payload, long received, long serialized) {
+            buffer.put((byte) method.length());
+            for (int i = 0; i < method.length(); i++) {
+                buffer.put((byte) method.charAt(i));
+            }
+            buffer.putInt(payload.length);
+            buffer.put(payload);
+
+            if (count == methods.length) {
+                methods = Arrays.copyOf(methods, count * 2);
+                receivedAt = Arrays.copyOf(receivedAt, count * 2);
+                serializedAt = Arrays.copyOf(serializedAt, count * 2);
+            }
+            methods[count] = method;
+            receivedAt[count] = received;
+            serializedAt[count] = serialized;
+            count++;
+        }
+
+        void clear() {
+            buffer.clear();
+            Arrays.fill(methods, 0, count, null);
+            count = 0;
+        }
+    }
+
+    private final BinaryMessenger mMessenger;
+    private final String mChannel;
+    private final Handler mMainHandler;
+    private final DispatchStats mStats;
+
+    private final ArrayDeque<Frame> mFree = new ArrayDeque<>();
+    private final ArrayDeque<Frame> mFull = new ArrayDeque<>();
+    private Frame mOpen;
+    private boolean mFlushPosted;
+    private boolean mClosed;
+    // main looper only
+    private final List<Frame> mSending = new ArrayList<>();
+
+    private final Runnable mFlush = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    EventStream(BinaryMessenger messenger, String channel, Handler mainHandler, DispatchStats stats) {
+        mMessenger = messenger;
+        mChannel = channel;
+        mMainHandler = mainHandler;
+        mStats = stats;
+    }
+
+    private static int sizeOf(String method, byte[] payload) {
+        return 1 + method.length() + 4 + payload.length;
+    }
+
+    /**
+     * Queues an event for the next frame, called from any thread.
+     *
+     * @param receivedAt {@link System#nanoTime()} of when the originating callback arrived
+     * @param serializedAt {@link System#nanoTime()} of when the payload was ready
+     * @return false once closed, the event was not taken
+     */
+    boolean send(String method, byte[] payload, long receivedAt, long serializedAt) {
+        final int size = sizeOf(method, payload);
+        synchronized (this) {
+            if (mClosed) {
+                return false;
+            }
+            if (mOpen != null && mOpen.buffer.remaining() < size) {
+                mFull.add(mOpen);
+                mOpen = null;
+            }
+            if (mOpen == null) {
+                mOpen = obtain(size);
+            }
+            mOpen.add(method, payload, receivedAt, serializedAt);
+            if (!mFlushPosted) {
+                mFlushPosted = true;
+                mMainHandler.post(mFlush);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sends whatever is queued and refuses later events, called on the main looper.
+     */
+    void close() {
+        flush();
+        synchronized (this) {
+            mClosed = true;
+            mFree.clear();
+        }
+    }
+
+    private void flush() {
+        synchronized (this) {
+            if (mClosed) {
+                return;
+            }
+            mSending.addAll(mFull);
+            mFull.clear();
+            if (mOpen != null) {
+                mSending.add(mOpen);
+                mOpen = null;
+            }
+            mFlushPosted = false;
+        }
+
+        for (final Frame frame : mSending) {
+            final long sentAt = System.nanoTime();
+            // the engine takes position() as the message size and copies the bytes before send
+            // returns, so the frame can be reused right after
+            mMessenger.send(mChannel, frame.buffer);
+            for (int i = 0; i < frame.count; i++) {
+                mStats.dispatched(frame.methods[i], frame.receivedAt[i], frame.serializedAt[i], sentAt);
+            }
+            frame.clear();
+        }
+
+        synchronized (this) {
+            for (final Frame frame : mSending) {
+                if (frame.buffer.capacity() == FRAME_CAPACITY && mFree.size() < POOLED_FRAMES) {
+                    mFree.add(frame);
+                }
+            }
+        }
+        mSending.clear();
+    }
+
+    private Frame obtain(int size) {
+        if (size > FRAME_CAPACITY) {
+            // a single oversized event, e.g. the discovery of a large gatt database
+            return new Frame(size);
+        }
+        final Frame frame = mFree.poll();
+        return frame != null ? frame : new Frame(FRAME_CAPACITY);
+    }
+}
@@ -6,11 +6,9 @@ package com.pauldemarco.flutterblue;
 
 import android.app.Activity;
 import android.Manifest;
-import android.annotation.TargetApi;
 import android.bluetooth.BluetoothAdapter;
 import android.bluetooth.BluetoothDevice;
 import android.bluetooth.BluetoothGatt;
-import android.bluetooth.BluetoothGattCallback;
 import android.bluetooth.BluetoothGattCharacteristic;
 import android.bluetooth.BluetoothGattDescriptor;
 import android.bluetooth.BluetoothGattServer;
@@ -22,30 +20,27 @@ import android.bluetooth.le.AdvertiseCallback;
 import android.bluetooth.le.AdvertiseData;
 import android.bluetooth.le.AdvertiseSettings;
 import android.bluetooth.le.BluetoothLeAdvertiser;
-import android.bluetooth.le.BluetoothLeScanner;
-import android.bluetooth.le.ScanCallback;
-import android.bluetooth.le.ScanFilter;
-import android.bluetooth.le.ScanResult;
-import android.bluetooth.le.ScanSettings;
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
 import android.content.IntentFilter;
 import android.content.pm.PackageManager;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
 import android.os.ParcelUuid;
 import android.util.Log;
 
-import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.pauldemarco.flutter_blue.Protos;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import androidx.annotation.NonNull;
@@ -83,15 +78,32 @@ public class FlutterBluePlugin
     private static final String TAG = "FlutterBluePlugin";
     private static final String NAMESPACE = "plugins.pauldemarco.com/flutter_blue";
     private static final int REQUEST_COARSE_LOCATION_PERMISSIONS = 1452;
-    static final private UUID CCCD_ID = UUID.fromString("00002902-0000-1000-8000-00805f9b34fb");
 
     private ActivityPluginBinding mActivityBinding;
     private Activity mActivity;
     private MethodChannel channel;
     private EventChannel stateChannel;
+    private BinaryMessenger mMessenger;
+    // events go out as frames on NAMESPACE/events instead of the method channel while set
+    private volatile EventStream mEventStream;
+    // attribute uuids go out in the binary_*uuid fields while set
+    private volatile boolean mBinaryUuids;
+    // kept for the gatt server, the central role goes through mBackend
     private BluetoothManager mBluetoothManager;
-    private BluetoothAdapter mBluetoothAdapter;
-    private final Map<String, BluetoothGatt> mGattServers = new HashMap<>();
+    // null when the device has no bluetooth
+    private BleBackend mBackend;
+    private GattClient mGattClient;
+    private final DispatchStats mDispatchStats = new DispatchStats();
+    private final TraceBuffer mTrace = new TraceBuffer();
+    private volatile CaptureWriter mCapture;
+    private final MessageSink mDartSink = new MessageSink() {
+        @Override
+        public void dispatch(String method, byte[] payload, long receivedAt) {
+            invokeMethodUIThread(method, payload, receivedAt);
+        }
+    };
+    private final ScanSubscriptions mScanSubscriptions = new ScanSubscriptions();
+    private final ScanPipeline mScanPipeline = new ScanPipeline(mDartSink, mScanSubscriptions);
     private LogLevel logLevel = LogLevel.EMERGENCY;
 
     // Pending call and result for startScan, in the case where permissions are needed
@@ -101,11 +113,108 @@ public class FlutterBluePlugin
     // advertisement
     private BluetoothLeAdvertiser mBluetoothLeAdvertiser;
     private boolean mServiceAdvertised;
+    // created on first use, API 26+ only
+    private AdvertisingSets mAdvertisingSets;
 
     // server
     private BluetoothGattServer mBluetoothGattServer;
     private boolean mServerActive;
     private HashMap<String, BluetoothDevice> gattClients = new HashMap<>();
+    private final ServerValueStore mServerValues = new ServerValueStore();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final ServerNotifier mServerNotifier = new ServerNotifier(mMainHandler);
+    private final ServerServiceQueue mServerServices = new ServerServiceQueue();
+    // writes arriving within this window of the first go to dart as one batch
+    private static final long SERVER_WRITE_BATCH_MILLIS = 5;
+    private final Runnable mFlushServerWrites = new Runnable() {
+        @Override
+        public void run() {
+            mServerWrites.flush(mDartSink);
+        }
+    };
+    private final ServerWriteHandler mServerWrites = new ServerWriteHandler(mServerValues, new Runnable() {
+        @Override
+        public void run() {
+            mMainHandler.postDelayed(mFlushServerWrites, SERVER_WRITE_BATCH_MILLIS);
+        }
+    });
+    // subscriptions added while the scan start was held back, dropped if that start fails
+    private final List<Integer> mHeldBackScanIds = new ArrayList<>();
+    private final ScanSessions mScanSessions = new ScanSessions(new ScanSessions.Scanner() {
+        @Override
+        public void start(Protos.ScanSettings settings) throws Exception {
+            mBackend.startScan(settings, mScanListener);
+            mHeldBackScanIds.clear();
+        }
+
+        @Override
+        public void stop() {
+            mBackend.stopScan();
+        }
+    }, new ScanSessions.Listener() {
+        @Override
+        public void onDeferredStartFailed(Exception e) {
+            final List<Integer> removed = new ArrayList<>();
+            for (final int id : mHeldBackScanIds) {
+                if (mScanSubscriptions.remove(id)) {
+                    removed.add(id);
+                }
+            }
+            mHeldBackScanIds.clear();
+            mScanSessions.reportStartFailure(e, removed);
+            restoreScan();
+        }
+    }, mMainHandler, mDartSink);
+    private final BleBackend.ScanListener mScanListener = new BleBackend.ScanListener() {
+        @Override
+        public <D> void onScanResult(D device, ScanPipeline.DeviceConverter<D> converter, byte[] scanRecord, int rssi,
+                                     boolean connectable, long receivedAt) {
+            if (!mScanSessions.isDelivering()) {
+                return;
+            }
+            final CaptureWriter capture = mCapture;
+            if (capture != null) {
+                capture.scanResult(converter.address(device), rssi, connectable, scanRecord);
+            }
+            mScanPipeline.onScanResult(device, converter, scanRecord, rssi, connectable, receivedAt);
+        }
+
+        @Override
+        public void onScanFailed(int errorCode) {
+            mScanSessions.onScanFailed(errorCode);
+        }
+    };
+    // records into the trace buffer, the log message is only formatted when debug logging is on
+    private final GattClient.Tracer mTracer = new GattClient.Tracer() {
+        @Override
+        public void trace(TraceBuffer.Event event, String address, UUID attribute, int status, int value) {
+            mTrace.record(event, address, attribute, status, value);
+            final CaptureWriter capture = mCapture;
+            if (capture != null) {
+                capture.gattCallback(event, address, attribute, status, value);
+            }
+            if (isLoggable(LogLevel.DEBUG)) {
+                Log.d(TAG, TraceBuffer.format(-1, event, TraceBuffer.addressToLong(address), attribute, status, value));
+            }
+        }
+    };
+    // expires tracked devices while presence tracking is on
+    private final Runnable mPresenceTick = new Runnable() {
+        @Override
+        public void run() {
+            final PresenceTracker tracker = mScanPipeline.getPresence();
+            if (tracker == null) {
+                return;
+            }
+            // the clock of the pipeline's receivedAt
+            final long now = System.nanoTime();
+            for (Protos.PresenceEntry entry : tracker.expire(now / 1000000)) {
+                mDartSink.dispatch(PresenceTracker.LOST,
+                        Protos.PresenceEvent.newBuilder().setDevice(entry).build().toByteArray(), now);
+            }
+            mMainHandler.postDelayed(this, tracker.tickMillis());
+        }
+    };
 
     public static void registerWith(Registrar registrar) {
         final FlutterBluePlugin instance = new FlutterBluePlugin();
@@ -168,8 +277,14 @@ public class FlutterBluePlugin
 
     private void onAttachedToEngine(Context context, BinaryMessenger messenger) {
         mBluetoothManager = (BluetoothManager) context.getSystemService(Context.BLUETOOTH_SERVICE);
-        mBluetoothAdapter = mBluetoothManager.getAdapter();
+        final BluetoothAdapter adapter = mBluetoothManager.getAdapter();
+        if (adapter != null) {
+            mBackend = new AndroidBackend(context, mBluetoothManager, adapter);
+            mGattClient = new GattClient(mBackend, mDartSink, mTracer);
+            mBackend.setGattListener(mGattClient);
+        }
 
+        mMessenger = messenger;
         channel = new MethodChannel(messenger, NAMESPACE + "/methods");
         channel.setMethodCallHandler(this);
 
@@ -178,6 +293,12 @@ public class FlutterBluePlugin
     }
 
     private void onDetachedFromEngine() {
+        final EventStream stream = mEventStream;
+        if (stream != null) {
+            stream.close();
+            mEventStream = null;
+        }
+        mMessenger = null;
         channel.setMethodCallHandler(null);
         channel = null;
         stateChannel.setStreamHandler(null);
@@ -186,25 +307,36 @@ public class FlutterBluePlugin
     }
 
     private void onCleanupPlugin() {
-        for (final Map.Entry<String, BluetoothGatt> e : mGattServers.entrySet()) {
-            final String targetAddress = e.getKey();
-            final BluetoothGatt gatt = e.getValue();
-
-            if (targetAddress != null) {
-                if (isConnected(targetAddress) && gatt != null) {
-                    gatt.disconnect();
-                }
-            }
-            if (gatt != null) {
-                gatt.close();
+        if (mBackend != null) {
+            mBackend.closeAll();
+            mGattClient.clear();
+        }
+        mScanSubscriptions.clear();
+        mHeldBackScanIds.clear();
+        mScanSessions.stopNow();
+        mScanPipeline.setPresence(null);
+        mMainHandler.removeCallbacks(mPresenceTick);
+        if (mAdvertisingSets != null && mBackend != null) {
+            final BluetoothLeAdvertiser advertiser = mBackend.getAdvertiser();
+            if (advertiser != null) {
+                mAdvertisingSets.stopAll(advertiser);
             }
         }
-        mGattServers.clear();
+        try {
+            stopCapture();
+        } catch (IOException e) {
+            Log.e(TAG, "failed to finish capture: " + e.getMessage());
+        }
     }
 
     @Override
     public void onMethodCall(@NonNull MethodCall call, @NonNull  Result result) {
-        if(mBluetoothAdapter == null && !"isAvailable".equals(call.method)) {
+        final CaptureWriter capture = mCapture;
+        if (capture != null) {
+            capture.methodCall(call.method, call.arguments);
+        }
+
+        if(mBackend == null && !"isAvailable".equals(call.method)) {
             result.error("bluetooth_unavailable", "the device does not have bluetooth", null);
             return;
         }
@@ -220,52 +352,37 @@ public class FlutterBluePlugin
 
             case "state":
             {
-                Protos.BluetoothState.Builder p = Protos.BluetoothState.newBuilder();
+                Protos.BluetoothState p;
                 try {
-                    switch(mBluetoothAdapter.getState()) {
-                        case BluetoothAdapter.STATE_OFF:
-                            p.setState(Protos.BluetoothState.State.OFF);
-                            break;
-                        case BluetoothAdapter.STATE_ON:
-                            p.setState(Protos.BluetoothState.State.ON);
-                            break;
-                        case BluetoothAdapter.STATE_TURNING_OFF:
-                            p.setState(Protos.BluetoothState.State.TURNING_OFF);
-                            break;
-                        case BluetoothAdapter.STATE_TURNING_ON:
-                            p.setState(Protos.BluetoothState.State.TURNING_ON);
-                            break;
-                        default:
-                            p.setState(Protos.BluetoothState.State.UNKNOWN);
-                            break;
-                    }
+                    p = ProtoMaker.bluetoothState(mBackend.getState());
                 } catch (SecurityException e) {
-                    p.setState(Protos.BluetoothState.State.UNAUTHORIZED);
+                    p = ProtoMaker.from(Protos.BluetoothState.State.UNAUTHORIZED);
                 }
-                result.success(p.build().toByteArray());
+                result.success(p.toByteArray());
                 break;
             }
 
             case "isAvailable":
             {
-                result.success(mBluetoothAdapter != null);
+                result.success(mBackend != null);
                 break;
             }
 
             case "isServerAvailable":
             {
-                final BluetoothLeAdvertiser advertiser = mBluetoothAdapter.getBluetoothLeAdvertiser();
-                result.success(mBluetoothAdapter != null && advertiser != null);
+                final BluetoothLeAdvertiser advertiser = mBackend.getAdvertiser();
+                result.success(mBackend != null && advertiser != null);
                 break;
             }
 
             case "isOn":
             {
-                result.success(mBluetoothAdapter.isEnabled());
+                result.success(mBackend.isEnabled());
                 break;
             }
 
             case "startScan":
+            case "subscribeScan":
             {
                 if (ContextCompat.checkSelfPermission(mActivity, Manifest.permission.ACCESS_COARSE_LOCATION)
                         != PackageManager.PERMISSION_GRANTED) {
@@ -285,17 +402,163 @@ public class FlutterBluePlugin
 
             case "stopScan":
             {
-                stopScan();
+                mScanSubscriptions.remove(ScanSubscriptions.START_SCAN_ID);
+                mHeldBackScanIds.remove(Integer.valueOf(ScanSubscriptions.START_SCAN_ID));
+                try {
+                    applyScanSubscriptions();
+                } catch (Exception e) {
+                    result.error("stopScan", e.getMessage(), e);
+                    break;
+                }
+                result.success(null);
+                break;
+            }
+
+            case "unsubscribeScan":
+            {
+                final int id = (int)call.arguments;
+                if (!mScanSubscriptions.remove(id)) {
+                    result.error("unsubscribe_scan_error", "no scan subscription (" + id + ")", null);
+                    break;
+                }
+                mHeldBackScanIds.remove(Integer.valueOf(id));
+                try {
+                    applyScanSubscriptions();
+                } catch (Exception e) {
+                    result.error("unsubscribe_scan_error", e.getMessage(), e);
+                    break;
+                }
+                result.success(null);
+                break;
+            }
+
+            case "setBeaconDecoding":
+            {
+                mScanPipeline.setDecodeBeacons((boolean)call.arguments);
+                result.success(null);
+                break;
+            }
+
+            case "setPresenceTracking":
+            {
+                byte[] data = call.arguments();
+                Protos.PresenceSettings settings;
+                try {
+                    settings = Protos.PresenceSettings.newBuilder().mergeFrom(data).build();
+                } catch (InvalidProtocolBufferException e) {
+                    result.error("RuntimeException", e.getMessage(), e);
+                    break;
+                }
+
+                mMainHandler.removeCallbacks(mPresenceTick);
+                if (settings.getEnabled()) {
+                    final PresenceTracker tracker = new PresenceTracker(settings.getLostAfterMillis(),
+                            settings.getRssiThreshold(), settings.getRssiSmoothing());
+                    mScanPipeline.setPresence(tracker);
+                    mMainHandler.postDelayed(mPresenceTick, tracker.tickMillis());
+                } else {
+                    mScanPipeline.setPresence(null);
+                }
                 result.success(null);
                 break;
             }
 
+            case "presenceSnapshot":
+            {
+                final PresenceTracker tracker = mScanPipeline.getPresence();
+                if (tracker == null) {
+                    result.error("presence_error", "presence tracking is not enabled", null);
+                    break;
+                }
+                result.success(tracker.snapshot(System.nanoTime() / 1000000).toByteArray());
+                break;
+            }
+
             case "startAdvertisement":
             {
                 startAdvertisement(call, result);
                 break;
             }
 
+            case "startAdvertisingSet":
+            {
+                if (Build.VERSION.SDK_INT < 26) {
+                    result.error("advertising_set_error", "advertising sets need API 26", null);
+                    break;
+                }
+
+                byte[] data = call.arguments();
+                Protos.AdvertisingSetRequest request;
+                try {
+                    request = Protos.AdvertisingSetRequest.newBuilder().mergeFrom(data).build();
+                } catch (InvalidProtocolBufferException e) {
+                    result.error("RuntimeException", e.getMessage(), e);
+                    break;
+                }
+
+                final BluetoothLeAdvertiser advertiser = mBackend.getAdvertiser();
+                if (advertiser == null) {
+                    result.error("advertising_set_error", "failed to get bluetooth le advertiser, is the adapter on?", null);
+                    break;
+                }
+                if (!request.getLegacy() && !mBackend.isLeExtendedAdvertisingSupported()) {
+                    result.error("advertising_set_error", "extended advertising not supported, use legacy", null);
+                    break;
+                }
+                if ((request.getPrimaryPhy() == Protos.AdvertisingSetRequest.Phy.LE_CODED
+                        || request.getSecondaryPhy() == Protos.AdvertisingSetRequest.Phy.LE_CODED)
+                        && !mBackend.isLeCodedPhySupported()) {
+                    result.error("advertising_set_error", "coded phy not supported", null);
+                    break;
+                }
+                if (request.getSecondaryPhy() == Protos.AdvertisingSetRequest.Phy.LE_2M && !mBackend.isLe2MPhySupported()) {
+                    result.error("advertising_set_error", "2M phy not supported", null);
+                    break;
+                }
+
+                if (mAdvertisingSets == null) {
+                    mAdvertisingSets = new AdvertisingSets(mMainHandler, mDartSink);
+                }
+                mAdvertisingSets.start(advertiser, request, result);
+                break;
+            }
+
+            case "updateAdvertisementData":
+            {
+                byte[] data = call.arguments();
+                Protos.AdvertisingDataUpdate request;
+                try {
+                    request = Protos.AdvertisingDataUpdate.newBuilder().mergeFrom(data).build();
+                } catch (InvalidProtocolBufferException e) {
+                    result.error("RuntimeException", e.getMessage(), e);
+                    break;
+                }
+
+                try {
+                    if (mAdvertisingSets == null || !mAdvertisingSets.update(request)) {
+                        result.error("advertising_set_error", "advertising set (" + request.getSetId() + ") is not running", null);
+                        break;
+                    }
+                } catch (IllegalArgumentException e) {
+                    result.error("advertising_set_error", e.getMessage(), null);
+                    break;
+                }
+                result.success(null);
+                break;
+            }
+
+            case "stopAdvertisingSet":
+            {
+                final String setId = (String)call.arguments;
+                final BluetoothLeAdvertiser advertiser = mBackend.getAdvertiser();
+                if (mAdvertisingSets == null || advertiser == null || !mAdvertisingSets.stop(advertiser, setId)) {
+                    result.error("advertising_set_error", "advertising set (" + setId + ") is not running", null);
+                    break;
+                }
+                result.success(null);
+                break;
+            }
+
             case "stopAdvertisement":
             {
                 stopAdvertisement();
@@ -316,6 +579,193 @@ public class FlutterBluePlugin
                 break;
             }
 
+            case "addServerServices":
+            {
+                if (!mServerActive) {
+                    result.error("bluetooth_server_error", "server is not running", null);
+                    break;
+                }
+
+                byte[] data = call.arguments();
+                Protos.ServerServices request;
+                try {
+                    request = Protos.ServerServices.newBuilder().mergeFrom(data).build();
+                } catch (InvalidProtocolBufferException e) {
+                    result.error("RuntimeException", e.getMessage(), e);
+                    break;
+                }
+
+                final List<BluetoothGattService> services = new ArrayList<>(request.getServicesCount());
+                for (final Protos.BluetoothService ps : request.getServicesList()) {
+                    final BluetoothGattService service = ServiceBuilder.serviceFromProtoMessage(ps, result);
+                    if (service == null) {
+                        // NOTE: result error state already set!
+                        return;
+                    }
+                    services.add(service);
+                }
+                addServerServices(services, result, false);
+                break;
+            }
+
+            case "removeServerService":
+            {
+                final String serviceId = (String)call.arguments;
+                final BluetoothGattService service = mServerActive ? mServerServices.remove(UUID.fromString(serviceId)) : null;
+                if (service == null) {
+                    result.error("bluetooth_server_error", "service (" + serviceId + ") is not served", null);
+                    break;
+                }
+                mServerValues.unregister(service);
+                mServerNotifier.forget(service);
+                result.success(null);
+                break;
+            }
+
+            case "setServerCharacteristicValue":
+            {
+                byte[] data = call.arguments();
+                Protos.SetServerCharacteristicValueRequest request;
+                try {
+                    request = Protos.SetServerCharacteristicValueRequest.newBuilder().mergeFrom(data).build();
+                } catch (InvalidProtocolBufferException e) {
+                    result.error("RuntimeException", e.getMessage(), e);
+                    break;
+                }
+
+                BluetoothGattCharacteristic characteristic;
+                try {
+                    characteristic = locateServerCharacteristic(Uuids.parse(request.getServiceUuid()),
+                            Uuids.parse(request.getSecondaryServiceUuid()), Uuids.parse(request.getCharacteristicUuid()));
+                } catch (Exception e) {
+                    result.error("set_server_characteristic_value_error", e.getMessage(), null);
+                    return;
+                }
+
+                if (!mServerValues.set(characteristic, request.getValue().toByteArray())) {
+                    result.error("set_server_characteristic_value_error", "characteristic is not served", null);
+                    return;
+                }
+                result.success(null);
+                break;
+            }
+
+            case "notifyServerCharacteristic":
+            {
+                byte[] data = call.arguments();
+                Protos.SetServerCharacteristicValueRequest request;
+                try {
+                    request = Protos.SetServerCharacteristicValueRequest.newBuilder().mergeFrom(data).build();
+                } catch (InvalidProtocolBufferException e) {
+                    result.error("RuntimeException", e.getMessage(), e);
+                    break;
+                }
+
+                BluetoothGattCharacteristic characteristic;
+                try {
+                    characteristic = locateServerCharacteristic(Uuids.parse(request.getServiceUuid()),
+                            Uuids.parse(request.getSecondaryServiceUuid()), Uuids.parse(request.getCharacteristicUuid()));
+                } catch (Exception e) {
+                    result.error("notify_server_characteristic_error", e.getMessage(), null);
+                    return;
+                }
+
+                // reads after the notification see the same value
+                final byte[] value = request.getValue().toByteArray();
+                if (!mServerValues.set(characteristic, value)) {
+                    result.error("notify_server_characteristic_error", "characteristic is not served", null);
+                    return;
+                }
+                result.success(mServerNotifier.notifyChanged(characteristic, value));
+                break;
+            }
+
+            case "getStats":
+            {
+                final String deviceId = (String)call.arguments;
+                result.success(mGattClient.stats(deviceId).toByteArray());
+                break;
+            }
+
+            case "getDispatchStats":
+            {
+                result.success(mDispatchStats.toProto().toByteArray());
+                break;
+            }
+
+            case "setEventStream":
+            {
+                final boolean enabled = (boolean)call.arguments;
+                final EventStream stream = mEventStream;
+                if (enabled && stream == null) {
+                    mEventStream = new EventStream(mMessenger, NAMESPACE + "/events", mMainHandler, mDispatchStats);
+                } else if (!enabled && stream != null) {
+                    mEventStream = null;
+                    // what is queued still goes out as a frame, ahead of the next method call
+                    stream.close();
+                }
+                result.success(null);
+                break;
+            }
+
+            case "setCompactDiscovery":
+            {
+                mGattClient.setCompactDiscovery((boolean)call.arguments);
+                result.success(null);
+                break;
+            }
+
+            case "setBinaryUuids":
+            {
+                mBinaryUuids = (boolean)call.arguments;
+                mGattClient.setBinaryUuids(mBinaryUuids);
+                result.success(null);
+                break;
+            }
+
+            case "setTraceEnabled":
+            {
+                mTrace.setEnabled((boolean)call.arguments);
+                result.success(null);
+                break;
+            }
+
+            case "dumpTrace":
+            {
+                result.success(mTrace.toProto().toByteArray());
+                break;
+            }
+
+            case "startCapture":
+            {
+                final String path = (String)call.arguments;
+                if (mCapture != null) {
+                    result.error("capture_error", "capture already running to: " + mCapture.getFile(), null);
+                    break;
+                }
+                try {
+                    mCapture = new CaptureWriter(new File(path));
+                } catch (IOException e) {
+                    result.error("capture_error", e.getMessage(), e);
+                    break;
+                }
+                result.success(null);
+                break;
+            }
+
+            case "stopCapture":
+            {
+                final long dropped;
+                try {
+                    dropped = stopCapture();
+                } catch (IOException e) {
+                    result.error("capture_error", e.getMessage(), e);
+                    break;
+                }
+                result.success(dropped);
+                break;
+            }
+
             case "getConnectedDevices":
             {
                 List<BluetoothDevice> devices = mBluetoothManager.getConnectedDevices(BluetoothProfile.GATT);
@@ -324,7 +774,6 @@ public class FlutterBluePlugin
                     p.addDevices(ProtoMaker.from(d));
                 }
                 result.success(p.build().toByteArray());
-                log(LogLevel.EMERGENCY, "mGattServers size: " + mGattServers.size());
                 break;
             }
 
@@ -339,43 +788,18 @@ public class FlutterBluePlugin
                     break;
                 }
                 String deviceId = options.getRemoteId();
-                BluetoothDevice device = mBluetoothAdapter.getRemoteDevice(deviceId);
-                boolean isConnected = mBluetoothManager.getConnectedDevices(BluetoothProfile.GATT).contains(device);
 
-                if(mGattServers.containsKey(deviceId)) {
-                    // If device is already connected, return error
-                    if (isConnected) {
-                        result.error("already_connected", "connection with device already exists", null);
-                        return;
-                    }
-
-                    // Reuse already created bluetooth gatt if possible
-                    final BluetoothGatt knownGATT = mGattServers.get(deviceId);
-                    if (knownGATT != null) {
-                        if (!knownGATT.connect()){
-                            knownGATT.close();
-                            mGattServers.remove(deviceId);
-                        } else {
-                            result.success(null);
-                            break;
-                        }
-                    } else {
-                        mGattServers.remove(deviceId);
-                    }
-                }
-
-                // New request, connect and add gattServer to Map
-                BluetoothGatt gattServer;
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
-                    gattServer = device.connectGatt(mActivity, false, mGattCallback, BluetoothDevice.TRANSPORT_LE);
-                } else {
-                    gattServer = device.connectGatt(mActivity, false, mGattCallback);
+                // If device is already connected, return error
+                if (mBackend.hasConnection(deviceId) && isConnected(deviceId)) {
+                    result.error("already_connected", "connection with device already exists", null);
+                    return;
                 }
 
-                if (options.getAndroidAutoConnect()) {
-                    gattServer.connect();
+                // Reuses the connection to the device if possible
+                if (!mBackend.connect(deviceId, options.getAndroidAutoConnect())) {
+                    result.error("connect_error", "connectGatt failed", null);
+                    break;
                 }
-                mGattServers.put(deviceId, gattServer);
                 result.success(null);
                 break;
             }
@@ -389,19 +813,12 @@ public class FlutterBluePlugin
                     mBluetoothGattServer.cancelConnection(gattClient);
                 }
 
-                BluetoothGatt gattServer = mGattServers.get(deviceId);
-                if (gattServer != null) {
-					boolean skipDisconnect = false;
-					final BluetoothAdapter localBluetoothAdapter = mBluetoothAdapter;
-					if (localBluetoothAdapter != null) {
-                        skipDisconnect = !localBluetoothAdapter.isEnabled();
-                    }
-
-					if (skipDisconnect) {
-                        mGattServers.remove(deviceId);
-                        gattServer.close();
+                if (mBackend.hasConnection(deviceId)) {
+                    if (!mBackend.isEnabled()) {
+                        mBackend.close(deviceId);
+                        mGattClient.closed(deviceId);
                     } else if (isConnected(deviceId)) {
-                        gattServer.disconnect();
+                        mBackend.disconnect(deviceId);
                     }
                 }
                 result.success(null);
@@ -411,10 +828,9 @@ public class FlutterBluePlugin
             case "deviceState":
             {
                 String deviceId = (String)call.arguments;
-                BluetoothDevice device = mBluetoothAdapter.getRemoteDevice(deviceId);
-                int state = mBluetoothManager.getConnectionState(device, BluetoothProfile.GATT);
                 try {
-                    result.success(ProtoMaker.from(device, state).toByteArray());
+                    int state = mBackend.getConnectionState(deviceId);
+                    result.success(ProtoMaker.from(deviceId, state).toByteArray());
                 } catch(Exception e) {
                     result.error("device_state_error", e.getMessage(), e);
                 }
@@ -424,15 +840,14 @@ public class FlutterBluePlugin
             case "discoverServices":
             {
                 final String deviceId = (String) call.arguments;
-                BluetoothGatt gattServer;
                 try {
-                    gattServer = locateGatt(deviceId);
+                    checkConnected(deviceId);
                 } catch (Exception e) {
                     result.error("discover_services_error", e.getMessage(), e);
                     return;
                 }
 
-                if(gattServer.discoverServices()) {
+                if(mGattClient.discoverServices(deviceId)) {
                     result.success(null);
                 } else {
                     result.error("discover_services_error", "unknown reason", null);
@@ -453,9 +868,8 @@ public class FlutterBluePlugin
                 final String deviceId = options.getRemoteId();
                 final int localMTUSize = options.getLocalMTUSize();
 
-                BluetoothGatt gattServer;
                 try {
-                    gattServer = locateGatt(deviceId);
+                    checkConnected(deviceId);
                 } catch (Exception e) {
                     result.error("request_mtu_error", e.getMessage(), e);
                     return;
@@ -466,7 +880,7 @@ public class FlutterBluePlugin
                     return;
                 }
 
-                if(gattServer.requestMtu(localMTUSize)) {
+                if(mGattClient.requestMtu(deviceId, localMTUSize)) {
                     result.success(null);
                 } else {
                     result.error("request_mtu_error", "requestMtu call failed", null);
@@ -477,20 +891,43 @@ public class FlutterBluePlugin
             case "services":
             {
                 final String deviceId = (String)call.arguments;
-                BluetoothGatt gattServer;
                 try {
-                    gattServer = locateGatt(deviceId);
+                    checkConnected(deviceId);
                 } catch (Exception e) {
                     result.error("get_services_error", e.getMessage(), e);
                     return;
                 }
 
-                Protos.DiscoverServicesResult.Builder p = Protos.DiscoverServicesResult.newBuilder();
-                p.setRemoteId(deviceId);
-                for(BluetoothGattService s : gattServer.getServices()){
-                    p.addServices(ProtoMaker.from(gattServer.getDevice(), s, gattServer.getServices()));
+                result.success(mGattClient.services(deviceId));
+                break;
+            }
+
+            case "service":
+            {
+                byte[] data = call.arguments();
+                Protos.ServiceRequest request;
+                try {
+                    request = Protos.ServiceRequest.newBuilder().mergeFrom(data).build();
+                } catch (InvalidProtocolBufferException e) {
+                    result.error("RuntimeException", e.getMessage(), e);
+                    break;
                 }
-                result.success(p.build().toByteArray());
+
+                UUID serviceUuid;
+                try {
+                    checkConnected(request.getRemoteId());
+                    serviceUuid = Uuids.parse(request.getBinaryServiceUuid(), request.getServiceUuid());
+                } catch (Exception e) {
+                    result.error("get_service_error", e.getMessage(), e);
+                    return;
+                }
+
+                final byte[] service = serviceUuid != null ? mGattClient.service(request.getRemoteId(), serviceUuid) : null;
+                if (service == null) {
+                    result.error("get_service_error", "service (" + serviceUuid + ") could not be located on the device", null);
+                    break;
+                }
+                result.success(service);
                 break;
             }
 
@@ -511,8 +948,9 @@ public class FlutterBluePlugin
 
                 Protos.DiscoverServicesResult.Builder p = Protos.DiscoverServicesResult.newBuilder();
                 p.setRemoteId(deviceId);
-                for (BluetoothGattService s : mBluetoothGattServer.getServices()) {
-                    p.addServices(ProtoMaker.from(targetDevice, s, mBluetoothGattServer.getServices()));
+                final List<BluetoothGattService> services = mBluetoothGattServer.getServices();
+                for (BluetoothGattService s : services) {
+                    p.addServices(ProtoMaker.from(targetDevice, s, services, mBinaryUuids));
                 }
                 result.success(p.build().toByteArray());
                 break;
@@ -529,17 +967,19 @@ public class FlutterBluePlugin
                     break;
                 }
 
-                BluetoothGatt gattServer;
                 BluetoothGattCharacteristic characteristic;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
+                    checkConnected(request.getRemoteId());
+                    characteristic = locateCharacteristic(request.getRemoteId(),
+                            Uuids.parse(request.getBinaryServiceUuid(), request.getServiceUuid()),
+                            Uuids.parse(request.getBinarySecondaryServiceUuid(), request.getSecondaryServiceUuid()),
+                            Uuids.parse(request.getBinaryCharacteristicUuid(), request.getCharacteristicUuid()));
                 } catch(Exception e) {
                     result.error("read_characteristic_error", e.getMessage(), e);
                     return;
                 }
 
-                if(gattServer.readCharacteristic(characteristic)) {
+                if(mGattClient.readCharacteristic(request.getRemoteId(), characteristic)) {
                     result.success(null);
                 } else {
                     result.error("read_characteristic_error", "unknown reason, may occur if readCharacteristic was called before last read finished.", null);
@@ -558,19 +998,21 @@ public class FlutterBluePlugin
                     break;
                 }
 
-                BluetoothGatt gattServer;
                 BluetoothGattCharacteristic characteristic;
                 BluetoothGattDescriptor descriptor;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
-                    descriptor = locateDescriptor(characteristic, request.getDescriptorUuid());
+                    checkConnected(request.getRemoteId());
+                    characteristic = locateCharacteristic(request.getRemoteId(),
+                            Uuids.parse(request.getBinaryServiceUuid(), request.getServiceUuid()),
+                            Uuids.parse(request.getBinarySecondaryServiceUuid(), request.getSecondaryServiceUuid()),
+                            Uuids.parse(request.getBinaryCharacteristicUuid(), request.getCharacteristicUuid()));
+                    descriptor = locateDescriptor(characteristic, Uuids.parse(request.getBinaryDescriptorUuid(), request.getDescriptorUuid()));
                 } catch(Exception e) {
                     result.error("read_descriptor_error", e.getMessage(), e);
                     return;
                 }
 
-                if(gattServer.readDescriptor(descriptor)) {
+                if(mGattClient.readDescriptor(request.getRemoteId(), descriptor)) {
                     result.success(null);
                 } else {
                     result.error("read_descriptor_error", "unknown reason, may occur if readDescriptor was called before last read finished.", null);
@@ -589,11 +1031,13 @@ public class FlutterBluePlugin
                     break;
                 }
 
-                BluetoothGatt gattServer;
                 BluetoothGattCharacteristic characteristic;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
+                    checkConnected(request.getRemoteId());
+                    characteristic = locateCharacteristic(request.getRemoteId(),
+                            Uuids.parse(request.getBinaryServiceUuid(), request.getServiceUuid()),
+                            Uuids.parse(request.getBinarySecondaryServiceUuid(), request.getSecondaryServiceUuid()),
+                            Uuids.parse(request.getBinaryCharacteristicUuid(), request.getCharacteristicUuid()));
                 } catch(Exception e) {
                     result.error("write_characteristic_error", e.getMessage(), e);
                     return;
@@ -611,7 +1055,7 @@ public class FlutterBluePlugin
                     characteristic.setWriteType(BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT);
                 }
 
-                if(!gattServer.writeCharacteristic(characteristic)){
+                if(!mGattClient.writeCharacteristic(request.getRemoteId(), characteristic)){
                     result.error("write_characteristic_error", "writeCharacteristic failed", null);
                     return;
                 }
@@ -631,13 +1075,15 @@ public class FlutterBluePlugin
                     break;
                 }
 
-                BluetoothGatt gattServer;
                 BluetoothGattCharacteristic characteristic;
                 BluetoothGattDescriptor descriptor;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
-                    descriptor = locateDescriptor(characteristic, request.getDescriptorUuid());
+                    checkConnected(request.getRemoteId());
+                    characteristic = locateCharacteristic(request.getRemoteId(),
+                            Uuids.parse(request.getBinaryServiceUuid(), request.getServiceUuid()),
+                            Uuids.parse(request.getBinarySecondaryServiceUuid(), request.getSecondaryServiceUuid()),
+                            Uuids.parse(request.getBinaryCharacteristicUuid(), request.getCharacteristicUuid()));
+                    descriptor = locateDescriptor(characteristic, Uuids.parse(request.getBinaryDescriptorUuid(), request.getDescriptorUuid()));
                 } catch(Exception e) {
                     result.error("write_descriptor_error", e.getMessage(), e);
                     return;
@@ -648,7 +1094,7 @@ public class FlutterBluePlugin
                     result.error("write_descriptor_error", "could not set the local value for descriptor", null);
                 }
 
-                if(!gattServer.writeDescriptor(descriptor)){
+                if(!mGattClient.writeDescriptor(request.getRemoteId(), descriptor)){
                     result.error("write_descriptor_error", "writeCharacteristic failed", null);
                     return;
                 }
@@ -668,13 +1114,15 @@ public class FlutterBluePlugin
                     break;
                 }
 
-                BluetoothGatt gattServer;
                 BluetoothGattCharacteristic characteristic;
                 BluetoothGattDescriptor cccDescriptor;
                 try {
-                    gattServer = locateGatt(request.getRemoteId());
-                    characteristic = locateCharacteristic(gattServer, request.getServiceUuid(), request.getSecondaryServiceUuid(), request.getCharacteristicUuid());
-                    cccDescriptor = characteristic.getDescriptor(CCCD_ID);
+                    checkConnected(request.getRemoteId());
+                    characteristic = locateCharacteristic(request.getRemoteId(),
+                            Uuids.parse(request.getBinaryServiceUuid(), request.getServiceUuid()),
+                            Uuids.parse(request.getBinarySecondaryServiceUuid(), request.getSecondaryServiceUuid()),
+                            Uuids.parse(request.getBinaryCharacteristicUuid(), request.getCharacteristicUuid()));
+                    cccDescriptor = characteristic.getDescriptor(GattClient.CCCD_ID);
                     if(cccDescriptor == null) {
                         throw new Exception("could not locate CCCD descriptor for characteristic: " +characteristic.getUuid().toString());
                     }
@@ -702,7 +1150,7 @@ public class FlutterBluePlugin
                     value = BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE;
                 }
 
-                if(!gattServer.setCharacteristicNotification(characteristic, request.getEnable())){
+                if(!mBackend.setCharacteristicNotification(request.getRemoteId(), characteristic, request.getEnable())){
                     result.error("set_notification_error", "could not set characteristic notifications to :" + request.getEnable(), null);
                     return;
                 }
@@ -712,7 +1160,7 @@ public class FlutterBluePlugin
                     return;
                 }
 
-                if(!gattServer.writeDescriptor(cccDescriptor)) {
+                if(!mGattClient.writeNotificationDescriptor(request.getRemoteId(), cccDescriptor)) {
                     result.error("set_notification_error", "error when writing the descriptor", null);
                     return;
                 }
@@ -746,39 +1194,58 @@ public class FlutterBluePlugin
         return false;
     }
 
+    /**
+     * @return the number of frames the capture dropped
+     */
+    private long stopCapture() throws IOException {
+        final CaptureWriter capture = mCapture;
+        mCapture = null;
+        if (capture == null) {
+            return 0;
+        }
+        capture.close();
+        if (capture.getDropped() > 0) {
+            Log.w(TAG, "capture dropped " + capture.getDropped() + " frames");
+        }
+        return capture.getDropped();
+    }
+
     private boolean isConnected(String deviceId) {
-        final BluetoothDevice device = mBluetoothAdapter.getRemoteDevice(deviceId);
-        return mBluetoothManager.getConnectedDevices(BluetoothProfile.GATT).contains(device);
+        return mBackend.getConnectionState(deviceId) == BluetoothProfile.STATE_CONNECTED;
     }
 
-    private BluetoothGatt locateGatt(String remoteId) throws Exception {
-        BluetoothGatt gattServer = mGattServers.get(remoteId);
-        if (gattServer == null ) {
+    private void checkConnected(String remoteId) throws Exception {
+        if (!mBackend.hasConnection(remoteId)) {
+            mGattClient.closed(remoteId);
             throw new Exception("no instance of BluetoothGatt, have you connected first?");
         }
-
-        final BluetoothDevice device = gattServer.getDevice();
-        if (device == null) {
-            gattServer.close();
-            mGattServers.remove(remoteId);
-            throw new Exception("gatt server's device is null");
+        if (!isConnected(remoteId)) {
+            throw new Exception("instance of BluetoothGatt is not connected, you have to connect first");
         }
+    }
 
-        if (!isConnected(device.getAddress())) {
-            throw new Exception("instance of BluetoothGatt is not connected, you have to connect first");
+    /**
+     * @param secondaryServiceId null for characteristics of the primary service
+     */
+    private BluetoothGattCharacteristic locateCharacteristic(String remoteId, UUID serviceId, UUID secondaryServiceId, UUID characteristicId) throws Exception {
+        return locateCharacteristic(serviceId != null ? mBackend.getService(remoteId, serviceId) : null, serviceId, secondaryServiceId, characteristicId);
+    }
+
+    private BluetoothGattCharacteristic locateServerCharacteristic(UUID serviceId, UUID secondaryServiceId, UUID characteristicId) throws Exception {
+        if (!mServerActive) {
+            throw new Exception("server is not running");
         }
-        return gattServer;
+        return locateCharacteristic(serviceId != null ? mBluetoothGattServer.getService(serviceId) : null, serviceId, secondaryServiceId, characteristicId);
     }
 
-    private BluetoothGattCharacteristic locateCharacteristic(BluetoothGatt gattServer, String serviceId, String secondaryServiceId, String characteristicId) throws Exception {
-        BluetoothGattService primaryService = gattServer.getService(UUID.fromString(serviceId));
+    private BluetoothGattCharacteristic locateCharacteristic(BluetoothGattService primaryService, UUID serviceId, UUID secondaryServiceId, UUID characteristicId) throws Exception {
         if(primaryService == null) {
             throw new Exception("service (" + serviceId + ") could not be located on the device");
         }
         BluetoothGattService secondaryService = null;
-        if(secondaryServiceId.length() > 0) {
+        if(secondaryServiceId != null) {
             for(BluetoothGattService s : primaryService.getIncludedServices()){
-                if(s.getUuid().equals(UUID.fromString(secondaryServiceId))){
+                if(s.getUuid().equals(secondaryServiceId)){
                     secondaryService = s;
                 }
             }
@@ -787,15 +1254,15 @@ public class FlutterBluePlugin
             }
         }
         BluetoothGattService service = (secondaryService != null) ? secondaryService : primaryService;
-        BluetoothGattCharacteristic characteristic = service.getCharacteristic(UUID.fromString(characteristicId));
+        BluetoothGattCharacteristic characteristic = characteristicId != null ? service.getCharacteristic(characteristicId) : null;
         if(characteristic == null) {
             throw new Exception("characteristic (" + characteristicId + ") could not be located in the service ("+service.getUuid().toString()+")");
         }
         return characteristic;
     }
 
-    private BluetoothGattDescriptor locateDescriptor(BluetoothGattCharacteristic characteristic, String descriptorId) throws Exception {
-        BluetoothGattDescriptor descriptor = characteristic.getDescriptor(UUID.fromString(descriptorId));
+    private BluetoothGattDescriptor locateDescriptor(BluetoothGattCharacteristic characteristic, UUID descriptorId) throws Exception {
+        BluetoothGattDescriptor descriptor = descriptorId != null ? characteristic.getDescriptor(descriptorId) : null;
         if(descriptor == null) {
             throw new Exception("descriptor (" + descriptorId + ") could not be located in the characteristic ("+characteristic.getUuid().toString()+")");
         }
@@ -813,19 +1280,10 @@ public class FlutterBluePlugin
                 if (BluetoothAdapter.ACTION_STATE_CHANGED.equals(action)) {
                     final int state = intent.getIntExtra(BluetoothAdapter.EXTRA_STATE,
                             BluetoothAdapter.ERROR);
-                    switch (state) {
-                        case BluetoothAdapter.STATE_OFF:
-                            sink.success(Protos.BluetoothState.newBuilder().setState(Protos.BluetoothState.State.OFF).build().toByteArray());
-                            break;
-                        case BluetoothAdapter.STATE_TURNING_OFF:
-                            sink.success(Protos.BluetoothState.newBuilder().setState(Protos.BluetoothState.State.TURNING_OFF).build().toByteArray());
-                            break;
-                        case BluetoothAdapter.STATE_ON:
-                            sink.success(Protos.BluetoothState.newBuilder().setState(Protos.BluetoothState.State.ON).build().toByteArray());
-                            break;
-                        case BluetoothAdapter.STATE_TURNING_ON:
-                            sink.success(Protos.BluetoothState.newBuilder().setState(Protos.BluetoothState.State.TURNING_ON).build().toByteArray());
-                            break;
+                    final Protos.BluetoothState p = ProtoMaker.bluetoothState(state);
+                    // ERROR and anything unexpected is not passed on
+                    if (p.getState() != Protos.BluetoothState.State.UNKNOWN) {
+                        sink.success(p.toByteArray());
                     }
                 }
             }
@@ -845,109 +1303,60 @@ public class FlutterBluePlugin
         }
     };
 
+    /**
+     * Handles startScan and subscribeScan, subscribeScan answers with the subscription's id.
+     */
     private void startScan(MethodCall call, Result result) {
         byte[] data = call.arguments();
+        final boolean subscribe = "subscribeScan".equals(call.method);
+        // set once the subscription is in, it is taken out again if the scan fails to start
+        int id = -1;
         Protos.ScanSettings settings;
         try {
             settings = Protos.ScanSettings.newBuilder().mergeFrom(data).build();
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-                startScan21(settings);
+            if (subscribe) {
+                id = mScanSubscriptions.add(settings);
             } else {
-                startScan18(settings);
+                mScanSubscriptions.put(ScanSubscriptions.START_SCAN_ID, settings);
+                id = ScanSubscriptions.START_SCAN_ID;
+            }
+            applyScanSubscriptions();
+            if (mScanSessions.isStartDeferred()) {
+                mHeldBackScanIds.add(id);
             }
-            result.success(null);
+            result.success(subscribe ? id : null);
         } catch (Exception e) {
-            result.error("startScan", e.getMessage(), e);
-        }
-    }
-
-    private void stopScan() {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            stopScan21();
-        } else {
-            stopScan18();
-        }
-    }
-
-    private ScanCallback scanCallback21;
-
-    @TargetApi(21)
-    private ScanCallback getScanCallback21() {
-        if(scanCallback21 == null){
-            scanCallback21 = new ScanCallback() {
-
-                @Override
-                public void onScanResult(int callbackType, ScanResult result) {
-                    super.onScanResult(callbackType, result);
-                    Protos.ScanResult scanResult = ProtoMaker.from(result.getDevice(), result);
-                    invokeMethodUIThread("ScanResult", scanResult.toByteArray());
-                }
-
-                @Override
-                public void onBatchScanResults(List<ScanResult> results) {
-                    super.onBatchScanResults(results);
-
-                }
-
-                @Override
-                public void onScanFailed(int errorCode) {
-                    super.onScanFailed(errorCode);
-                }
-            };
-        }
-        return scanCallback21;
-    }
-
-    @TargetApi(21)
-    private void startScan21(Protos.ScanSettings proto) throws IllegalStateException {
-        BluetoothLeScanner scanner = mBluetoothAdapter.getBluetoothLeScanner();
-        if(scanner == null) throw new IllegalStateException("getBluetoothLeScanner() is null. Is the Adapter on?");
-        int scanMode = proto.getAndroidScanMode();
-        int count = proto.getServiceUuidsCount();
-        List<ScanFilter> filters = new ArrayList<>(count);
-        for(int i = 0; i < count; i++) {
-            String uuid = proto.getServiceUuids(i);
-            ScanFilter f = new ScanFilter.Builder().setServiceUuid(ParcelUuid.fromString(uuid)).build();
-            filters.add(f);
+            if (id >= 0) {
+                mScanSubscriptions.remove(id);
+                // the failed start took down the scan the other subscriptions share
+                restoreScan();
+            }
+            result.error(subscribe ? "subscribe_scan_error" : "startScan", e.getMessage(), e);
         }
-        ScanSettings settings = new ScanSettings.Builder().setScanMode(scanMode).build();
-        scanner.startScan(filters, settings, getScanCallback21());
     }
 
-    @TargetApi(21)
-    private void stopScan21() {
-        BluetoothLeScanner scanner = mBluetoothAdapter.getBluetoothLeScanner();
-        if(scanner != null) scanner.stopScan(getScanCallback21());
-    }
-
-    private BluetoothAdapter.LeScanCallback scanCallback18;
-
-    private BluetoothAdapter.LeScanCallback getScanCallback18() {
-        if(scanCallback18 == null) {
-            scanCallback18 = new BluetoothAdapter.LeScanCallback() {
-                @Override
-                public void onLeScan(final BluetoothDevice bluetoothDevice, int rssi,
-                                     byte[] scanRecord) {
-                    Protos.ScanResult scanResult = ProtoMaker.from(bluetoothDevice, scanRecord, rssi);
-                    invokeMethodUIThread("ScanResult", scanResult.toByteArray());
-                }
-            };
+    /**
+     * Starts the scan again for the subscriptions left after a start failed, dart hears through a
+     * ScanSessionState if that fails too.
+     */
+    private void restoreScan() {
+        try {
+            applyScanSubscriptions();
+        } catch (Exception e) {
+            mScanSessions.reportStartFailure(e, Collections.<Integer>emptyList());
         }
-        return scanCallback18;
     }
 
-    private void startScan18(Protos.ScanSettings proto) throws IllegalStateException {
-        List<String> serviceUuids = proto.getServiceUuidsList();
-        UUID[] uuids = new UUID[serviceUuids.size()];
-        for(int i = 0; i < serviceUuids.size(); i++) {
-            uuids[i] = UUID.fromString(serviceUuids.get(i));
+    /**
+     * Brings the hardware scan in line with the subscriptions.
+     */
+    private void applyScanSubscriptions() throws Exception {
+        final Protos.ScanSettings union = mScanSubscriptions.union();
+        if (union == null) {
+            mScanSessions.stop();
+        } else {
+            mScanSessions.start(union);
         }
-        boolean success = mBluetoothAdapter.startLeScan(uuids, getScanCallback18());
-        if(!success) throw new IllegalStateException("getBluetoothLeScanner() is null. Is the Adapter on?");
-    }
-
-    private void stopScan18() {
-        mBluetoothAdapter.stopLeScan(getScanCallback18());
     }
 
     private void startAdvertisement(MethodCall call, Result result) {
@@ -981,7 +1390,7 @@ public class FlutterBluePlugin
         }
 
         mServiceAdvertised = false;
-        mBluetoothLeAdvertiser = mBluetoothAdapter.getBluetoothLeAdvertiser();
+        mBluetoothLeAdvertiser = mBackend.getAdvertiser();
         if (mBluetoothLeAdvertiser == null) {
             result.error("bluetooth_advertisement_error",
                     "unable to start advertisement, failed to get bluetooth le advertiser!",
@@ -1069,46 +1478,81 @@ public class FlutterBluePlugin
                     null);
             return;
         }
+        mServerActive = true;
+        mServerServices.setServer(mBluetoothGattServer);
+        mServerNotifier.setServer(mBluetoothGattServer);
 
-        if (!mBluetoothGattServer.addService(service)) {
-            mBluetoothGattServer.close();
-            mBluetoothGattServer = null;
-
-            result.error("bluetooth_server_error",
-                    "start server failed to add gatt service to server!",
-                    null);
-            return;
-        }
+        addServerServices(Collections.singletonList(service), result, true);
+    }
 
-        result.success(null);
+    /**
+     * Completes the result once all services are on the server, or with an error after none are.
+     *
+     * @param starting stop the server on failure, it would be left without its services
+     */
+    private void addServerServices(List<BluetoothGattService> services, final Result result, final boolean starting) {
+        mServerServices.add(services, new ServerServiceQueue.Callback() {
+            @Override
+            public void onComplete(List<BluetoothGattService> added, final int status) {
+                for (final BluetoothGattService s : added) {
+                    mServerValues.register(s);
+                }
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (status == BluetoothGatt.GATT_SUCCESS) {
+                            result.success(null);
+                            return;
+                        }
+                        if (status == ServerServiceQueue.SERVER_STOPPED) {
+                            result.error("bluetooth_server_error", "server stopped before the service was added", null);
+                            return;
+                        }
+                        if (starting) {
+                            stopServer();
+                        }
+                        result.error("bluetooth_server_error",
+                                "failed to add gatt service to server, status: " + GattHelpers.gattStatusToString(status),
+                                null);
+                    }
+                });
+            }
+        });
     }
 
     private void stopServer() {
         if (mBluetoothGattServer != null) {
             mBluetoothGattServer.close();
         }
+        mMainHandler.removeCallbacks(mFlushServerWrites);
+        mServerWrites.clear();
+        mServerValues.clear();
+        mServerNotifier.setServer(null);
+        mServerServices.setServer(null);
         mServerActive = false;
     }
 
     private AdvertiseCallback mAdvertiseCallback = new AdvertiseCallback() {
         @Override
         public void onStartSuccess(AdvertiseSettings settingsInEffect) {
+            final long receivedAt = System.nanoTime();
             mServiceAdvertised = true;
 
             Protos.ServerAdvertiseResult.Builder advertiseResult = Protos.ServerAdvertiseResult.newBuilder();
             advertiseResult.setSuccess(true);
             advertiseResult.setErrorCode(0);
-            invokeMethodUIThread("ServerAdvertiseResult", advertiseResult.build().toByteArray());
+            invokeMethodUIThread("ServerAdvertiseResult", advertiseResult.build().toByteArray(), receivedAt);
         }
 
         @Override
         public void onStartFailure(int errorCode) {
+            final long receivedAt = System.nanoTime();
             mServiceAdvertised = false;
 
             Protos.ServerAdvertiseResult.Builder advertiseResult = Protos.ServerAdvertiseResult.newBuilder();
             advertiseResult.setSuccess(false);
             advertiseResult.setErrorCode(errorCode);
-            invokeMethodUIThread("ServerAdvertiseResult", advertiseResult.build().toByteArray());
+            invokeMethodUIThread("ServerAdvertiseResult", advertiseResult.build().toByteArray(), receivedAt);
         }
     };
 
@@ -1121,16 +1565,19 @@ public class FlutterBluePlugin
 
         @Override
         public void onConnectionStateChange(BluetoothDevice device, int status, int newState) {
+            final long receivedAt = System.nanoTime();
             super.onConnectionStateChange(device, status, newState);
 
             if (newState == BluetoothProfile.STATE_CONNECTED) {
                 gattClients.put(device.getAddress(), device);
             } else {
                 gattClients.remove(device.getAddress());
+                mServerNotifier.onDisconnected(device);
+                mServerWrites.onDisconnected(device);
             }
 
             invokeMethodUIThread("ServerDeviceState",
-                                  ProtoMaker.from(device, newState == BluetoothProfile.STATE_CONNECTED).toByteArray());
+                                  ProtoMaker.from(device, newState == BluetoothProfile.STATE_CONNECTED).toByteArray(), receivedAt);
         }
 
         @Override
@@ -1140,30 +1587,17 @@ public class FlutterBluePlugin
                 return;
             }
 
-            if (descriptor.getUuid().equals(CCCD_ID)) {
-                boolean notifyEnabled = false;
-                boolean indicationEnabled = false;
-                if (value != null) {
-                    if (value.length == 2) {
-                        if (Arrays.equals(value, BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE)) {
-                            notifyEnabled = true;
-                        } else if (Arrays.equals(value, BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE)) {
-                            notifyEnabled = false;
-                        } else if (Arrays.equals(value, BluetoothGattDescriptor.ENABLE_INDICATION_VALUE)) {
-                            indicationEnabled = true;
-                        }
-                    }
+            if (descriptor.getUuid().equals(GattClient.CCCD_ID)) {
+                int status = BluetoothGatt.GATT_SUCCESS;
+                if (value == null || value.length != 2) {
+                    status = BluetoothGatt.GATT_INVALID_ATTRIBUTE_LENGTH;
+                } else if (!mServerNotifier.setConfiguration(device, descriptor.getCharacteristic(), value[0])) {
+                    status = BluetoothGatt.GATT_REQUEST_NOT_SUPPORTED;
                 }
-
-                if (indicationEnabled) {
-                    Log.e(TAG, "server indication cannot be enabled, not implemented!");
-                    if (responseNeeded) {
-                        mBluetoothGattServer.sendResponse(device, requestId, BluetoothGatt.GATT_FAILURE, 0, null);
-                    }
-                    return;
+                if (responseNeeded) {
+                    mBluetoothGattServer.sendResponse(device, requestId, status, 0, null);
                 }
-
-                Log.e(TAG, "enable notify: " + (notifyEnabled ? "TRUE" : "FALSE"));
+                return;
             }
 
             if (responseNeeded) {
@@ -1172,182 +1606,85 @@ public class FlutterBluePlugin
         }
 
         @Override
-        public void onCharacteristicReadRequest(BluetoothDevice device, int requestId, int offset, BluetoothGattCharacteristic characteristic) {
+        public void onDescriptorReadRequest(BluetoothDevice device, int requestId, int offset, BluetoothGattDescriptor descriptor) {
             if (!isServerClientDevice(device)) {
-                mBluetoothGattServer.sendResponse(device, requestId, BluetoothGatt.GATT_SUCCESS, 0, null);
+                mBluetoothGattServer.sendResponse(device, requestId, BluetoothGatt.GATT_FAILURE, 0, null);
                 return;
             }
 
-            Log.e(TAG, "read characteristic: "  + characteristic.getUuid().toString());
-            mBluetoothGattServer.sendResponse(device, requestId, BluetoothGatt.GATT_SUCCESS, 0, null);
-        }
-    };
-
-    private final BluetoothGattCallback mGattCallback = new BluetoothGattCallback() {
-        private void throwIfUnknownGatt(BluetoothGatt gatt) {
-            final BluetoothDevice device = gatt.getDevice();
-            if (device != null) {
-                try {
-                    final BluetoothGatt knownGatt = locateGatt(device.getAddress());
-                    if (knownGatt != gatt) {
-                        throw new RuntimeException("callback called with unknown gatt object");
-                    }
-                } catch (Exception e) {
-                    if (e instanceof RuntimeException) {
-                        throw (RuntimeException) e;
-                    } else {
-                        throw new RuntimeException(e);
-                    }
-                }
+            // the configuration is per client, the descriptor's own value is shared
+            byte[] value = descriptor.getUuid().equals(GattClient.CCCD_ID)
+                    ? mServerNotifier.getConfiguration(device, descriptor.getCharacteristic())
+                    : descriptor.getValue();
+            if (value == null) {
+                value = new byte[0];
             }
-        }
-
-        @Override
-        public void onConnectionStateChange(BluetoothGatt gatt, int status, int newState) {
-            log(LogLevel.DEBUG,
-                    "[onConnectionStateChange] status: " + GattHelpers.gattStatusToString(status)
-                    + " newState: " + GattHelpers.connectionStateToString(newState)
-                    + " - GATT == " + gatt.hashCode());
-            if (status != BluetoothGatt.GATT_SUCCESS) {
-                gatt.close();
-                mGattServers.remove(gatt.getDevice().getAddress());
+            if (offset > value.length) {
+                mBluetoothGattServer.sendResponse(device, requestId, BluetoothGatt.GATT_INVALID_OFFSET, offset, null);
+                return;
             }
-            invokeMethodUIThread("DeviceState", ProtoMaker.from(gatt.getDevice(), newState).toByteArray());
+            mBluetoothGattServer.sendResponse(device, requestId, BluetoothGatt.GATT_SUCCESS, offset, ServerValueStore.readAt(value, offset));
         }
 
         @Override
-        public void onServicesDiscovered(BluetoothGatt gatt, int status) {
-            log(LogLevel.DEBUG, "[onServicesDiscovered] count: " + gatt.getServices().size() + " status: " + status);
-            throwIfUnknownGatt(gatt);
-
-            Protos.DiscoverServicesResult.Builder p = Protos.DiscoverServicesResult.newBuilder();
-            p.setRemoteId(gatt.getDevice().getAddress());
-            for(BluetoothGattService s : gatt.getServices()) {
-                p.addServices(ProtoMaker.from(gatt.getDevice(), s, gatt.getServices()));
+        public void onCharacteristicWriteRequest(BluetoothDevice device, int requestId, BluetoothGattCharacteristic characteristic, boolean preparedWrite, boolean responseNeeded, int offset, byte[] value) {
+            final long receivedAt = System.nanoTime();
+            if (!isServerClientDevice(device)) {
+                if (responseNeeded) {
+                    mBluetoothGattServer.sendResponse(device, requestId, BluetoothGatt.GATT_FAILURE, 0, null);
+                }
+                return;
             }
-            invokeMethodUIThread("DiscoverServicesResult", p.build().toByteArray());
-        }
-
-        @Override
-        public void onCharacteristicRead(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
-            log(LogLevel.DEBUG, "[onCharacteristicRead] uuid: " + characteristic.getUuid().toString() + " status: " + status);
-            throwIfUnknownGatt(gatt);
-
-            Protos.ReadCharacteristicResponse.Builder p = Protos.ReadCharacteristicResponse.newBuilder();
-            p.setRemoteId(gatt.getDevice().getAddress());
-            p.setCharacteristic(ProtoMaker.from(gatt.getDevice(), characteristic, gatt.getServices()));
-            invokeMethodUIThread("ReadCharacteristicResponse", p.build().toByteArray());
-        }
-
-        @Override
-        public void onCharacteristicWrite(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic, int status) {
-            log(LogLevel.DEBUG, "[onCharacteristicWrite] uuid: " + characteristic.getUuid().toString() + " status: " + status);
-            throwIfUnknownGatt(gatt);
-
-            Protos.WriteCharacteristicRequest.Builder request = Protos.WriteCharacteristicRequest.newBuilder();
-            request.setRemoteId(gatt.getDevice().getAddress());
-            request.setCharacteristicUuid(characteristic.getUuid().toString());
-            request.setServiceUuid(characteristic.getService().getUuid().toString());
-            Protos.WriteCharacteristicResponse.Builder p = Protos.WriteCharacteristicResponse.newBuilder();
-            p.setRequest(request);
-            p.setSuccess(status == BluetoothGatt.GATT_SUCCESS);
-            invokeMethodUIThread("WriteCharacteristicResponse", p.build().toByteArray());
-        }
 
-        @Override
-        public void onCharacteristicChanged(BluetoothGatt gatt, BluetoothGattCharacteristic characteristic) {
-            log(LogLevel.DEBUG, "[onCharacteristicChanged] uuid: " + characteristic.getUuid().toString());
-            throwIfUnknownGatt(gatt);
-
-            Protos.OnCharacteristicChanged.Builder p = Protos.OnCharacteristicChanged.newBuilder();
-            p.setRemoteId(gatt.getDevice().getAddress());
-            p.setCharacteristic(ProtoMaker.from(gatt.getDevice(), characteristic, gatt.getServices()));
-            invokeMethodUIThread("OnCharacteristicChanged", p.build().toByteArray());
+            // answered right away, dart gets the data with the next batch
+            final int status = mServerWrites.write(device, characteristic, preparedWrite, offset, value, receivedAt);
+            if (responseNeeded) {
+                mBluetoothGattServer.sendResponse(device, requestId, status, offset, value);
+            }
         }
 
         @Override
-        public void onDescriptorRead(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status) {
-            log(LogLevel.DEBUG, "[onDescriptorRead] uuid: " + descriptor.getUuid().toString() + " status: " + status);
-            throwIfUnknownGatt(gatt);
-
-            // Rebuild the ReadAttributeRequest and send back along with response
-            Protos.ReadDescriptorRequest.Builder q = Protos.ReadDescriptorRequest.newBuilder();
-            q.setRemoteId(gatt.getDevice().getAddress());
-            q.setCharacteristicUuid(descriptor.getCharacteristic().getUuid().toString());
-            q.setDescriptorUuid(descriptor.getUuid().toString());
-            if(descriptor.getCharacteristic().getService().getType() == BluetoothGattService.SERVICE_TYPE_PRIMARY) {
-                q.setServiceUuid(descriptor.getCharacteristic().getService().getUuid().toString());
-            } else {
-                // Reverse search to find service
-                for(BluetoothGattService s : gatt.getServices()) {
-                    for(BluetoothGattService ss : s.getIncludedServices()) {
-                        if(ss.getUuid().equals(descriptor.getCharacteristic().getService().getUuid())){
-                            q.setServiceUuid(s.getUuid().toString());
-                            q.setSecondaryServiceUuid(ss.getUuid().toString());
-                            break;
-                        }
-                    }
-                }
-            }
-            Protos.ReadDescriptorResponse.Builder p = Protos.ReadDescriptorResponse.newBuilder();
-            p.setRequest(q);
-
-            // in case of the remote is disconnected or there is an issue the getValue may return null!
-            byte[] valueData = descriptor.getValue();
-            if (valueData == null) {
-                valueData = new byte[0];
+        public void onExecuteWrite(BluetoothDevice device, int requestId, boolean execute) {
+            final long receivedAt = System.nanoTime();
+            if (!isServerClientDevice(device)) {
+                mBluetoothGattServer.sendResponse(device, requestId, BluetoothGatt.GATT_FAILURE, 0, null);
+                return;
             }
 
-            p.setValue(ByteString.copyFrom(valueData));
-            invokeMethodUIThread("ReadDescriptorResponse", p.build().toByteArray());
+            final int status = mServerWrites.execute(device, execute, receivedAt);
+            mBluetoothGattServer.sendResponse(device, requestId, status, 0, null);
         }
 
         @Override
-        public void onDescriptorWrite(BluetoothGatt gatt, BluetoothGattDescriptor descriptor, int status) {
-            log(LogLevel.DEBUG, "[onDescriptorWrite] uuid: " + descriptor.getUuid().toString() + " status: " + status);
-            throwIfUnknownGatt(gatt);
-
-            Protos.WriteDescriptorRequest.Builder request = Protos.WriteDescriptorRequest.newBuilder();
-            request.setRemoteId(gatt.getDevice().getAddress());
-            request.setDescriptorUuid(descriptor.getUuid().toString());
-            request.setCharacteristicUuid(descriptor.getCharacteristic().getUuid().toString());
-            request.setServiceUuid(descriptor.getCharacteristic().getService().getUuid().toString());
-            Protos.WriteDescriptorResponse.Builder p = Protos.WriteDescriptorResponse.newBuilder();
-            p.setRequest(request);
-            p.setSuccess(status == BluetoothGatt.GATT_SUCCESS);
-            invokeMethodUIThread("WriteDescriptorResponse", p.build().toByteArray());
-
-            if(descriptor.getUuid().compareTo(CCCD_ID) == 0) {
-                // SetNotificationResponse
-                Protos.SetNotificationResponse.Builder q = Protos.SetNotificationResponse.newBuilder();
-                q.setRemoteId(gatt.getDevice().getAddress());
-                q.setCharacteristic(ProtoMaker.from(gatt.getDevice(), descriptor.getCharacteristic(), gatt.getServices()));
-                q.setSuccess(true);
-                invokeMethodUIThread("SetNotificationResponse", q.build().toByteArray());
-            }
+        public void onServiceAdded(int status, BluetoothGattService service) {
+            mServerServices.onServiceAdded(status, service);
         }
 
         @Override
-        public void onReliableWriteCompleted(BluetoothGatt gatt, int status) {
-            log(LogLevel.DEBUG, "[onReliableWriteCompleted] status: " + status);
+        public void onNotificationSent(BluetoothDevice device, int status) {
+            mServerNotifier.onNotificationSent(device, status);
         }
 
         @Override
-        public void onReadRemoteRssi(BluetoothGatt gatt, int rssi, int status) {
-            log(LogLevel.DEBUG, "[onReadRemoteRssi] rssi: " + rssi + " status: " + status);
+        public void onMtuChanged(BluetoothDevice device, int mtu) {
+            mServerNotifier.onMtuChanged(device, mtu);
         }
 
         @Override
-        public void onMtuChanged(BluetoothGatt gatt, int mtu, int status) {
-            log(LogLevel.DEBUG, "[onMtuChanged] mtu: " + mtu + " status: " + status);
-            throwIfUnknownGatt(gatt);
-
-            Protos.RequestMTUResult.Builder p = Protos.RequestMTUResult.newBuilder();
-            p.setRemoteId(gatt.getDevice().getAddress());
-            p.setRemoteMTUSize(mtu);
-            p.setSuccess(status == BluetoothGatt.GATT_SUCCESS);
+        public void onCharacteristicReadRequest(BluetoothDevice device, int requestId, int offset, BluetoothGattCharacteristic characteristic) {
+            if (!isServerClientDevice(device)) {
+                mBluetoothGattServer.sendResponse(device, requestId, BluetoothGatt.GATT_FAILURE, 0, null);
+                return;
+            }
 
-            invokeMethodUIThread("RequestMTUResult", p.build().toByteArray());
+            // served from the store right here, dart only pushes values when they change
+            final byte[] value = mServerValues.get(characteristic);
+            final int status = ServerValueStore.readStatus(characteristic, value, offset);
+            if (status != BluetoothGatt.GATT_SUCCESS) {
+                mBluetoothGattServer.sendResponse(device, requestId, status, offset, null);
+                return;
+            }
+            mBluetoothGattServer.sendResponse(device, requestId, status, offset, ServerValueStore.readAt(value, offset));
         }
     };
 
@@ -1356,13 +1693,25 @@ public class FlutterBluePlugin
         EMERGENCY, ALERT, CRITICAL, ERROR, WARNING, NOTICE, INFO, DEBUG;
     }
 
-    private void log(LogLevel level, String message) {
-        if(level.ordinal() <= logLevel.ordinal()) {
-            Log.d(TAG, message);
-        }
+    private boolean isLoggable(LogLevel level) {
+        return level.ordinal() <= logLevel.ordinal();
     }
 
-    private void invokeMethodUIThread(final String name, final byte[] byteArray) {
+    /**
+     * @param receivedAt {@link System#nanoTime()} of when the originating callback arrived
+     */
+    private void invokeMethodUIThread(final String name, final byte[] byteArray, final long receivedAt) {
+        final long serializedAt = System.nanoTime();
+        final CaptureWriter capture = mCapture;
+        if (capture != null) {
+            capture.outgoing(name, byteArray);
+        }
+
+        final EventStream stream = mEventStream;
+        if (stream != null && stream.send(name, byteArray, receivedAt, serializedAt)) {
+            return;
+        }
+
         final Activity localActivity = mActivity;
         if (localActivity != null) {
             final MethodChannel localChannel = channel;
@@ -1371,10 +1720,14 @@ public class FlutterBluePlugin
                         new Runnable() {
                             @Override
                             public void run() {
+                                final long invokedAt = System.nanoTime();
                                 localChannel.invokeMethod(name, byteArray);
+                                mDispatchStats.dispatched(name, receivedAt, serializedAt, invokedAt);
                             }
                         });
+                return;
             }
         }
+        mDispatchStats.dropped(name);
     }
 }
\ No newline at end of file
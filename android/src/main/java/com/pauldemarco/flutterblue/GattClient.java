@@ -0,0 +1,410 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import android.bluetooth.BluetoothProfile;
+
+import com.google.protobuf.ByteString;
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The gatt client side of the plugin between dart and a {@link BleBackend}: issues operations
+ * with their statistics and turns the connections' callbacks into the messages dart gets.
+ *
+ * Only uses the framework's gatt attribute classes, so it runs against a simulated backend off
+ * device too.
+ */
+class GattClient implements BleBackend.GattListener {
+    static final UUID CCCD_ID = UUID.fromString("00002902-0000-1000-8000-00805f9b34fb");
+
+    /**
+     * Sees every callback before it is handled.
+     */
+    interface Tracer {
+        void trace(TraceBuffer.Event event, String address, UUID attribute, int status, int value);
+    }
+
+    private final BleBackend mBackend;
+    private final MessageSink mSink;
+    private final Tracer mTracer;
+    private final ConcurrentHashMap<String, ConnectionStats> mConnectionStats = new ConcurrentHashMap<>();
+    private final ServiceCache mServiceCache = new ServiceCache();
+    // discovery results go out as CompactDiscoverServicesResult while set
+    private volatile boolean mCompactDiscovery;
+    // attribute uuids go out in the binary_*uuid fields while set
+    private volatile boolean mBinaryUuids;
+
+    GattClient(BleBackend backend, MessageSink sink, Tracer tracer) {
+        mBackend = backend;
+        mSink = sink;
+        mTracer = tracer;
+    }
+
+    void setCompactDiscovery(boolean compact) {
+        mCompactDiscovery = compact;
+    }
+
+    void setBinaryUuids(boolean binaryUuids) {
+        mBinaryUuids = binaryUuids;
+    }
+
+    boolean discoverServices(String address) {
+        final long previous = opStarted(address, Protos.OperationStats.Type.DISCOVER_SERVICES);
+        return accepted(address, Protos.OperationStats.Type.DISCOVER_SERVICES, previous, mBackend.discoverServices(address));
+    }
+
+    boolean requestMtu(String address, int mtu) {
+        final long previous = opStarted(address, Protos.OperationStats.Type.REQUEST_MTU);
+        return accepted(address, Protos.OperationStats.Type.REQUEST_MTU, previous, mBackend.requestMtu(address, mtu));
+    }
+
+    boolean readCharacteristic(String address, BluetoothGattCharacteristic characteristic) {
+        final long previous = opStarted(address, Protos.OperationStats.Type.READ_CHARACTERISTIC);
+        return accepted(address, Protos.OperationStats.Type.READ_CHARACTERISTIC, previous,
+                mBackend.readCharacteristic(address, characteristic));
+    }
+
+    boolean readDescriptor(String address, BluetoothGattDescriptor descriptor) {
+        final long previous = opStarted(address, Protos.OperationStats.Type.READ_DESCRIPTOR);
+        return accepted(address, Protos.OperationStats.Type.READ_DESCRIPTOR, previous,
+                mBackend.readDescriptor(address, descriptor));
+    }
+
+    boolean writeCharacteristic(String address, BluetoothGattCharacteristic characteristic) {
+        final long previous = opStarted(address, Protos.OperationStats.Type.WRITE_CHARACTERISTIC);
+        return accepted(address, Protos.OperationStats.Type.WRITE_CHARACTERISTIC, previous,
+                mBackend.writeCharacteristic(address, characteristic));
+    }
+
+    boolean writeDescriptor(String address, BluetoothGattDescriptor descriptor) {
+        final long previous = opStarted(address, Protos.OperationStats.Type.WRITE_DESCRIPTOR);
+        return accepted(address, Protos.OperationStats.Type.WRITE_DESCRIPTOR, previous,
+                mBackend.writeDescriptor(address, descriptor));
+    }
+
+    /**
+     * Writes the client characteristic configuration of a characteristic whose notifications
+     * were routed with {@link BleBackend#setCharacteristicNotification}.
+     */
+    boolean writeNotificationDescriptor(String address, BluetoothGattDescriptor cccDescriptor) {
+        final long previous = opStarted(address, Protos.OperationStats.Type.SET_NOTIFICATION);
+        return accepted(address, Protos.OperationStats.Type.SET_NOTIFICATION, previous,
+                mBackend.writeDescriptor(address, cccDescriptor));
+    }
+
+    /**
+     * @return a DiscoverServicesResult, or a CompactDiscoverServicesResult in compact mode
+     */
+    byte[] services(String address) {
+        return mServiceCache.services(address, mBackend.getServices(address), mCompactDiscovery, mBinaryUuids);
+    }
+
+    /**
+     * @return a BluetoothService, null when the device has no such service
+     */
+    byte[] service(String address, UUID uuid) {
+        return mServiceCache.service(address, mBackend.getServices(address), uuid, mBinaryUuids);
+    }
+
+    /**
+     * @param address null or empty for every connection
+     */
+    Protos.StatsSnapshot stats(String address) {
+        final Protos.StatsSnapshot.Builder p = Protos.StatsSnapshot.newBuilder();
+        if (address == null || address.isEmpty()) {
+            for (ConnectionStats stats : mConnectionStats.values()) {
+                p.addConnections(stats.toProto());
+            }
+        } else {
+            final ConnectionStats stats = mConnectionStats.get(address);
+            if (stats != null) {
+                p.addConnections(stats.toProto());
+            }
+        }
+        return p.build();
+    }
+
+    /**
+     * Forgets a connection closed without its disconnect being reported.
+     */
+    void closed(String address) {
+        mConnectionStats.remove(address);
+        mServiceCache.invalidate(address);
+    }
+
+    void clear() {
+        mConnectionStats.clear();
+        mServiceCache.clear();
+    }
+
+    @Override
+    public void onConnectionStateChange(String address, int status, int newState) {
+        final long receivedAt = System.nanoTime();
+        mTracer.trace(TraceBuffer.Event.CONNECTION_STATE, address, null, status, newState);
+        if (status != BluetoothGatt.GATT_SUCCESS) {
+            mBackend.close(address);
+        }
+        if (status != BluetoothGatt.GATT_SUCCESS || newState == BluetoothProfile.STATE_DISCONNECTED) {
+            closed(address);
+        } else if (newState == BluetoothProfile.STATE_CONNECTED) {
+            // counted per connection, an auto connect starts over
+            mServiceCache.invalidate(address);
+            mConnectionStats.put(address, new ConnectionStats(address));
+        }
+        mSink.dispatch("DeviceState", MessageEncoder.get().deviceState(address, newState), receivedAt);
+    }
+
+    @Override
+    public void onServicesDiscovered(String address, int status) {
+        final long receivedAt = System.nanoTime();
+        final List<BluetoothGattService> services = mBackend.getServices(address);
+        mTracer.trace(TraceBuffer.Event.SERVICES_DISCOVERED, address, null, status, services.size());
+
+        final ConnectionStats stats = mConnectionStats.get(address);
+        if (stats != null) {
+            stats.opCompleted(Protos.OperationStats.Type.DISCOVER_SERVICES, status == BluetoothGatt.GATT_SUCCESS);
+        }
+
+        final boolean compact = mCompactDiscovery;
+        mSink.dispatch(compact ? "CompactDiscoverServicesResult" : "DiscoverServicesResult",
+                mServiceCache.discovered(address, services, compact, mBinaryUuids), receivedAt);
+    }
+
+    @Override
+    public void onCharacteristicRead(String address, BluetoothGattCharacteristic characteristic, int status) {
+        final long receivedAt = System.nanoTime();
+        mTracer.trace(TraceBuffer.Event.CHARACTERISTIC_READ, address, characteristic.getUuid(), status, lengthOf(characteristic.getValue()));
+
+        final ConnectionStats stats = mConnectionStats.get(address);
+        if (stats != null) {
+            stats.opCompleted(Protos.OperationStats.Type.READ_CHARACTERISTIC, status == BluetoothGatt.GATT_SUCCESS);
+            if (status == BluetoothGatt.GATT_SUCCESS && characteristic.getValue() != null) {
+                stats.bytesRead(characteristic.getValue().length);
+            }
+        }
+
+        Protos.ReadCharacteristicResponse.Builder p = Protos.ReadCharacteristicResponse.newBuilder();
+        p.setRemoteId(address);
+        p.setCharacteristic(ProtoMaker.from(address, characteristic, mBackend.getServices(address), mBinaryUuids));
+        mSink.dispatch("ReadCharacteristicResponse", p.build().toByteArray(), receivedAt);
+    }
+
+    @Override
+    public void onCharacteristicWrite(String address, BluetoothGattCharacteristic characteristic, int status) {
+        final long receivedAt = System.nanoTime();
+        mTracer.trace(TraceBuffer.Event.CHARACTERISTIC_WRITE, address, characteristic.getUuid(), status, lengthOf(characteristic.getValue()));
+
+        final ConnectionStats stats = mConnectionStats.get(address);
+        if (stats != null) {
+            stats.opCompleted(Protos.OperationStats.Type.WRITE_CHARACTERISTIC, status == BluetoothGatt.GATT_SUCCESS);
+            if (status == BluetoothGatt.GATT_SUCCESS && characteristic.getValue() != null) {
+                stats.bytesWritten(characteristic.getValue().length);
+            }
+        }
+
+        Protos.WriteCharacteristicRequest.Builder request = Protos.WriteCharacteristicRequest.newBuilder();
+        request.setRemoteId(address);
+        if (mBinaryUuids) {
+            request.setBinaryCharacteristicUuid(Uuids.toBinary(characteristic.getUuid()));
+            request.setBinaryServiceUuid(Uuids.toBinary(characteristic.getService().getUuid()));
+        } else {
+            request.setCharacteristicUuid(characteristic.getUuid().toString());
+            request.setServiceUuid(characteristic.getService().getUuid().toString());
+        }
+        Protos.WriteCharacteristicResponse.Builder p = Protos.WriteCharacteristicResponse.newBuilder();
+        p.setRequest(request);
+        p.setSuccess(status == BluetoothGatt.GATT_SUCCESS);
+        mSink.dispatch("WriteCharacteristicResponse", p.build().toByteArray(), receivedAt);
+    }
+
+    @Override
+    public void onCharacteristicChanged(String address, BluetoothGattCharacteristic characteristic) {
+        final long receivedAt = System.nanoTime();
+        final byte[] notified = characteristic.getValue();
+        mTracer.trace(TraceBuffer.Event.CHARACTERISTIC_CHANGED, address, characteristic.getUuid(), TraceBuffer.NO_STATUS, lengthOf(notified));
+
+        final ConnectionStats stats = mConnectionStats.get(address);
+        if (stats != null) {
+            stats.notificationReceived(notified != null ? notified.length : 0);
+        }
+
+        // the services are only looked up for characteristics of secondary services, getting
+        // them allocates
+        final List<BluetoothGattService> services =
+                characteristic.getService().getType() == BluetoothGattService.SERVICE_TYPE_PRIMARY
+                        ? Collections.<BluetoothGattService>emptyList()
+                        : mBackend.getServices(address);
+        mSink.dispatch("OnCharacteristicChanged",
+                MessageEncoder.get().characteristicChanged(address, characteristic, services, mBinaryUuids), receivedAt);
+    }
+
+    @Override
+    public void onDescriptorRead(String address, BluetoothGattDescriptor descriptor, int status) {
+        final long receivedAt = System.nanoTime();
+        mTracer.trace(TraceBuffer.Event.DESCRIPTOR_READ, address, descriptor.getUuid(), status, lengthOf(descriptor.getValue()));
+
+        // Rebuild the ReadAttributeRequest and send back along with response
+        UUID serviceUuid = null;
+        UUID secondaryServiceUuid = null;
+        if(descriptor.getCharacteristic().getService().getType() == BluetoothGattService.SERVICE_TYPE_PRIMARY) {
+            serviceUuid = descriptor.getCharacteristic().getService().getUuid();
+        } else {
+            // Reverse search to find service
+            for(BluetoothGattService s : mBackend.getServices(address)) {
+                for(BluetoothGattService ss : s.getIncludedServices()) {
+                    if(ss.getUuid().equals(descriptor.getCharacteristic().getService().getUuid())){
+                        serviceUuid = s.getUuid();
+                        secondaryServiceUuid = ss.getUuid();
+                        break;
+                    }
+                }
+            }
+        }
+        Protos.ReadDescriptorRequest.Builder q = Protos.ReadDescriptorRequest.newBuilder();
+        q.setRemoteId(address);
+        if (mBinaryUuids) {
+            q.setBinaryCharacteristicUuid(Uuids.toBinary(descriptor.getCharacteristic().getUuid()));
+            q.setBinaryDescriptorUuid(Uuids.toBinary(descriptor.getUuid()));
+            if (serviceUuid != null) {
+                q.setBinaryServiceUuid(Uuids.toBinary(serviceUuid));
+            }
+            if (secondaryServiceUuid != null) {
+                q.setBinarySecondaryServiceUuid(Uuids.toBinary(secondaryServiceUuid));
+            }
+        } else {
+            q.setCharacteristicUuid(descriptor.getCharacteristic().getUuid().toString());
+            q.setDescriptorUuid(descriptor.getUuid().toString());
+            if (serviceUuid != null) {
+                q.setServiceUuid(serviceUuid.toString());
+            }
+            if (secondaryServiceUuid != null) {
+                q.setSecondaryServiceUuid(secondaryServiceUuid.toString());
+            }
+        }
+        Protos.ReadDescriptorResponse.Builder p = Protos.ReadDescriptorResponse.newBuilder();
+        p.setRequest(q);
+
+        // in case of the remote is disconnected or there is an issue the getValue may return null!
+        byte[] valueData = descriptor.getValue();
+        if (valueData == null) {
+            valueData = new byte[0];
+        }
+
+        final ConnectionStats stats = mConnectionStats.get(address);
+        if (stats != null) {
+            stats.opCompleted(Protos.OperationStats.Type.READ_DESCRIPTOR, status == BluetoothGatt.GATT_SUCCESS);
+            if (status == BluetoothGatt.GATT_SUCCESS) {
+                stats.bytesRead(valueData.length);
+            }
+        }
+
+        p.setValue(ByteString.copyFrom(valueData));
+        mSink.dispatch("ReadDescriptorResponse", p.build().toByteArray(), receivedAt);
+    }
+
+    @Override
+    public void onDescriptorWrite(String address, BluetoothGattDescriptor descriptor, int status) {
+        final long receivedAt = System.nanoTime();
+        mTracer.trace(TraceBuffer.Event.DESCRIPTOR_WRITE, address, descriptor.getUuid(), status, lengthOf(descriptor.getValue()));
+
+        // CCCD writes issued by setNotification are accounted separately from plain descriptor writes
+        final ConnectionStats stats = mConnectionStats.get(address);
+        if (stats == null) {
+            // disconnected meanwhile
+        } else if (descriptor.getUuid().equals(CCCD_ID) && stats.isPending(Protos.OperationStats.Type.SET_NOTIFICATION)) {
+            stats.opCompleted(Protos.OperationStats.Type.SET_NOTIFICATION, status == BluetoothGatt.GATT_SUCCESS);
+        } else {
+            stats.opCompleted(Protos.OperationStats.Type.WRITE_DESCRIPTOR, status == BluetoothGatt.GATT_SUCCESS);
+            if (status == BluetoothGatt.GATT_SUCCESS && descriptor.getValue() != null) {
+                stats.bytesWritten(descriptor.getValue().length);
+            }
+        }
+
+        Protos.WriteDescriptorRequest.Builder request = Protos.WriteDescriptorRequest.newBuilder();
+        request.setRemoteId(address);
+        if (mBinaryUuids) {
+            request.setBinaryDescriptorUuid(Uuids.toBinary(descriptor.getUuid()));
+            request.setBinaryCharacteristicUuid(Uuids.toBinary(descriptor.getCharacteristic().getUuid()));
+            request.setBinaryServiceUuid(Uuids.toBinary(descriptor.getCharacteristic().getService().getUuid()));
+        } else {
+            request.setDescriptorUuid(descriptor.getUuid().toString());
+            request.setCharacteristicUuid(descriptor.getCharacteristic().getUuid().toString());
+            request.setServiceUuid(descriptor.getCharacteristic().getService().getUuid().toString());
+        }
+        Protos.WriteDescriptorResponse.Builder p = Protos.WriteDescriptorResponse.newBuilder();
+        p.setRequest(request);
+        p.setSuccess(status == BluetoothGatt.GATT_SUCCESS);
+        mSink.dispatch("WriteDescriptorResponse", p.build().toByteArray(), receivedAt);
+
+        if(descriptor.getUuid().compareTo(CCCD_ID) == 0) {
+            // SetNotificationResponse
+            Protos.SetNotificationResponse.Builder q = Protos.SetNotificationResponse.newBuilder();
+            q.setRemoteId(address);
+            q.setCharacteristic(ProtoMaker.from(address, descriptor.getCharacteristic(), mBackend.getServices(address), mBinaryUuids));
+            q.setSuccess(true);
+            mSink.dispatch("SetNotificationResponse", q.build().toByteArray(), receivedAt);
+        }
+    }
+
+    @Override
+    public void onReliableWriteCompleted(String address, int status) {
+        mTracer.trace(TraceBuffer.Event.RELIABLE_WRITE_COMPLETED, address, null, status, 0);
+    }
+
+    @Override
+    public void onReadRemoteRssi(String address, int rssi, int status) {
+        mTracer.trace(TraceBuffer.Event.READ_REMOTE_RSSI, address, null, status, rssi);
+    }
+
+    @Override
+    public void onMtuChanged(String address, int mtu, int status) {
+        final long receivedAt = System.nanoTime();
+        mTracer.trace(TraceBuffer.Event.MTU_CHANGED, address, null, status, mtu);
+
+        final ConnectionStats stats = mConnectionStats.get(address);
+        if (stats != null) {
+            stats.opCompleted(Protos.OperationStats.Type.REQUEST_MTU, status == BluetoothGatt.GATT_SUCCESS);
+            if (status == BluetoothGatt.GATT_SUCCESS) {
+                stats.mtuChanged(mtu);
+            }
+        }
+
+        Protos.RequestMTUResult.Builder p = Protos.RequestMTUResult.newBuilder();
+        p.setRemoteId(address);
+        p.setRemoteMTUSize(mtu);
+        p.setSuccess(status == BluetoothGatt.GATT_SUCCESS);
+        mSink.dispatch("RequestMTUResult", p.build().toByteArray(), receivedAt);
+    }
+
+    /**
+     * Counts an operation about to be handed to the stack, first as its callback may arrive
+     * before the call returns.
+     *
+     * @return what {@link #accepted} needs if the stack refuses it
+     */
+    private long opStarted(String address, Protos.OperationStats.Type op) {
+        final ConnectionStats stats = mConnectionStats.get(address);
+        return stats != null ? stats.opStarted(op) : 0;
+    }
+
+    private boolean accepted(String address, Protos.OperationStats.Type op, long previous, boolean accepted) {
+        if (!accepted) {
+            final ConnectionStats stats = mConnectionStats.get(address);
+            if (stats != null) {
+                stats.opRejected(op, previous);
+            }
+        }
+        return accepted;
+    }
+
+    private static int lengthOf(byte[] value) {
+        return value != null ? value.length : 0;
+    }
+}
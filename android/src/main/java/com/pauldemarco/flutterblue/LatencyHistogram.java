@@ -0,0 +1,43 @@
+package com.pauldemarco.flutterblue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed size log2 histogram of durations.
+ *
+ * Bucket 0 counts durations below one unit, bucket i counts [2^(i-1), 2^i) units
+ * and the last bucket is open ended. Not thread safe, owners synchronize.
+ */
+class LatencyHistogram {
+    static final long MICROS = 1000L;
+    static final long MILLIS = 1000000L;
+
+    private final long[] buckets;
+    private final long unitNanos;
+
+    LatencyHistogram(int bucketCount, long unitNanos) {
+        this.buckets = new long[bucketCount];
+        this.unitNanos = unitNanos;
+    }
+
+    void record(long nanos) {
+        buckets[bucketOf(nanos / unitNanos)]++;
+    }
+
+    List<Long> toList() {
+        final List<Long> out = new ArrayList<>(buckets.length);
+        for (final long count : buckets) {
+            out.add(count);
+        }
+        return out;
+    }
+
+    private int bucketOf(long units) {
+        if (units <= 0) {
+            return 0;
+        }
+        final int bucket = 64 - Long.numberOfLeadingZeros(units);
+        return Math.min(bucket, buckets.length - 1);
+    }
+}
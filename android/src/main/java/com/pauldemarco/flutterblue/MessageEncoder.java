@@ -0,0 +1,741 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import android.bluetooth.BluetoothProfile;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes the messages sent for every scan result, notification and connection change straight to
+ * the wire format, byte for byte what the Protos builders produce so dart is unaffected.
+ *
+ * Each thread reuses one encoder with its buffers, the returned array is the only allocation per
+ * message. Nested messages are never built, their lengths are worked out before writing them.
+ */
+class MessageEncoder {
+    private static final int BUFFER_SIZE = 512;
+    private static final int LENGTH_DELIMITED = WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int UUID_LENGTH = 36;
+    // tag, length and the characters of a uuid string field
+    private static final int UUID_FIELD_SIZE = 2 + UUID_LENGTH;
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    private static final ThreadLocal<MessageEncoder> INSTANCE = new ThreadLocal<MessageEncoder>() {
+        @Override
+        protected MessageEncoder initialValue() {
+            return new MessageEncoder();
+        }
+    };
+
+    static MessageEncoder get() {
+        return INSTANCE.get();
+    }
+
+    private final ByteArrayOutputStream mOutput = new ByteArrayOutputStream(BUFFER_SIZE);
+    private CodedOutputStream mCoded = CodedOutputStream.newInstance(mOutput, BUFFER_SIZE);
+    private boolean mWriting;
+    private final byte[] mUuid = new byte[UUID_LENGTH];
+    private final Advertisement mAdvertisement = new Advertisement();
+    private final int[] mSubscriptionIds = new int[ScanSubscriptions.MAX_SUBSCRIPTIONS + 1];
+
+    /**
+     * Same bytes as {@link ScanPipeline#build}.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the scan record is truncated.
+     */
+    byte[] scanResult(Protos.BluetoothDevice device, byte[] scanRecord, int rssi, boolean connectable) {
+        return scanResult(device, ScanPipeline.PROTO_DEVICES, scanRecord, rssi, connectable, null);
+    }
+
+    byte[] scanResult(Protos.BluetoothDevice device, byte[] scanRecord, int rssi, boolean connectable,
+                      ScanSubscriptions subscriptions) {
+        return scanResult(device, ScanPipeline.PROTO_DEVICES, scanRecord, rssi, connectable, subscriptions, false);
+    }
+
+    <D> byte[] scanResult(D device, ScanPipeline.DeviceConverter<D> converter, byte[] scanRecord, int rssi,
+                          boolean connectable, ScanSubscriptions subscriptions) {
+        return scanResult(device, converter, scanRecord, rssi, connectable, subscriptions, false);
+    }
+
+    /**
+     * Also routes the result, its subscription_ids are the subscriptions the advertisement matches.
+     * The device is only converted once a subscription wants the result.
+     *
+     * @param subscriptions null to leave subscription_ids out
+     * @param beacons whether to add the beacon frames decoded from the advertisement, only results
+     *        that are sent are decoded
+     * @return null when no subscription matches
+     * @throws ArrayIndexOutOfBoundsException if the scan record is truncated.
+     */
+    <D> byte[] scanResult(D device, ScanPipeline.DeviceConverter<D> converter, byte[] scanRecord, int rssi,
+                          boolean connectable, ScanSubscriptions subscriptions, boolean beacons) {
+        final Advertisement a = mAdvertisement;
+        a.reset(scanRecord, connectable, beacons);
+        try {
+            if (scanRecord != null && scanRecord.length > 0) {
+                AdvertisementParser.walk(scanRecord, a);
+            }
+            int subscriptionCount = 0;
+            if (subscriptions != null) {
+                subscriptionCount = subscriptions.match(a, converter.address(device), rssi, mSubscriptionIds);
+                if (subscriptionCount == 0) {
+                    return null;
+                }
+            }
+
+            begin();
+            mCoded.writeMessage(1, converter.convert(device));
+            mCoded.writeTag(2, LENGTH_DELIMITED);
+            mCoded.writeUInt32NoTag(a.serializedSize());
+            a.writeTo(mCoded);
+            if (rssi != 0) {
+                mCoded.writeInt32(3, rssi);
+            }
+            if (subscriptionCount > 0) {
+                // packed
+                int size = 0;
+                for (int i = 0; i < subscriptionCount; i++) {
+                    size += CodedOutputStream.computeInt32SizeNoTag(mSubscriptionIds[i]);
+                }
+                mCoded.writeTag(4, LENGTH_DELIMITED);
+                mCoded.writeUInt32NoTag(size);
+                for (int i = 0; i < subscriptionCount; i++) {
+                    mCoded.writeInt32NoTag(mSubscriptionIds[i]);
+                }
+            }
+            return finish();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            a.reset(null, false, false);
+        }
+    }
+
+    /**
+     * Same bytes as an OnCharacteristicChanged holding
+     * {@link ProtoMaker#from(String, BluetoothGattCharacteristic, List, boolean)}.
+     */
+    byte[] characteristicChanged(String remoteId, BluetoothGattCharacteristic characteristic, List<BluetoothGattService> services,
+                                 boolean binaryUuids) {
+        final BluetoothGattService service = characteristic.getService();
+        UUID serviceUuid = null;
+        UUID secondaryServiceUuid = null;
+        if (service.getType() == BluetoothGattService.SERVICE_TYPE_PRIMARY) {
+            serviceUuid = service.getUuid();
+        } else {
+            // Reverse search to find service, the last match wins as in ProtoMaker
+            for (BluetoothGattService s : services) {
+                for (BluetoothGattService ss : s.getIncludedServices()) {
+                    if (ss.getUuid().equals(service.getUuid())) {
+                        serviceUuid = s.getUuid();
+                        secondaryServiceUuid = ss.getUuid();
+                        break;
+                    }
+                }
+            }
+        }
+        return characteristicChanged(remoteId, characteristic.getUuid(), serviceUuid, secondaryServiceUuid,
+                characteristic.getProperties(), characteristic.getValue(), characteristic.getDescriptors(), binaryUuids);
+    }
+
+    /**
+     * For characteristics known without their descriptors.
+     */
+    byte[] characteristicChanged(String remoteId, UUID uuid, UUID serviceUuid, int properties, byte[] value) {
+        return characteristicChanged(remoteId, uuid, serviceUuid, null, properties, value,
+                Collections.<BluetoothGattDescriptor>emptyList(), false);
+    }
+
+    /**
+     * Same bytes as {@link ProtoMaker#from(String, int)}.
+     */
+    byte[] deviceState(String remoteId, int state) {
+        begin();
+        try {
+            writeString(1, remoteId);
+            switch (state) {
+                case BluetoothProfile.STATE_DISCONNECTING:
+                    mCoded.writeEnum(2, Protos.DeviceStateResponse.BluetoothDeviceState.DISCONNECTING_VALUE);
+                    break;
+                case BluetoothProfile.STATE_CONNECTED:
+                    mCoded.writeEnum(2, Protos.DeviceStateResponse.BluetoothDeviceState.CONNECTED_VALUE);
+                    break;
+                case BluetoothProfile.STATE_CONNECTING:
+                    mCoded.writeEnum(2, Protos.DeviceStateResponse.BluetoothDeviceState.CONNECTING_VALUE);
+                    break;
+                default:
+                    // DISCONNECTED is the default and not written
+                    break;
+            }
+            return finish();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * A PresenceEvent around a ScanResult already serialized by {@link #scanResult}, which is
+     * copied in as is.
+     */
+    byte[] presenceEvent(Protos.PresenceEntry device, byte[] scanResult) {
+        begin();
+        try {
+            mCoded.writeMessage(1, device);
+            writeBytes(2, scanResult);
+            return finish();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Binary uuids replace the strings, they have the highest field numbers so go last.
+     */
+    private byte[] characteristicChanged(String remoteId, UUID uuid, UUID serviceUuid, UUID secondaryServiceUuid,
+                                         int properties, byte[] value, List<BluetoothGattDescriptor> descriptors,
+                                         boolean binaryUuids) {
+        int size = uuidSize(uuid, binaryUuids) + stringSize(2, remoteId);
+        if (serviceUuid != null) {
+            size += uuidSize(serviceUuid, binaryUuids);
+        }
+        if (secondaryServiceUuid != null) {
+            size += uuidSize(secondaryServiceUuid, binaryUuids);
+        }
+        for (int i = 0; i < descriptors.size(); i++) {
+            size += lengthDelimitedSize(descriptorSize(remoteId, descriptors.get(i), binaryUuids));
+        }
+        size += lengthDelimitedSize(propertiesSize(properties));
+        size += bytesSize(7, value);
+
+        begin();
+        try {
+            writeString(1, remoteId);
+            mCoded.writeTag(2, LENGTH_DELIMITED);
+            mCoded.writeUInt32NoTag(size);
+
+            if (!binaryUuids) {
+                writeUuid(1, uuid);
+            }
+            writeString(2, remoteId);
+            if (!binaryUuids && serviceUuid != null) {
+                writeUuid(3, serviceUuid);
+            }
+            if (!binaryUuids && secondaryServiceUuid != null) {
+                writeUuid(4, secondaryServiceUuid);
+            }
+            for (int i = 0; i < descriptors.size(); i++) {
+                final BluetoothGattDescriptor d = descriptors.get(i);
+                mCoded.writeTag(5, LENGTH_DELIMITED);
+                mCoded.writeUInt32NoTag(descriptorSize(remoteId, d, binaryUuids));
+                if (!binaryUuids) {
+                    writeUuid(1, d.getUuid());
+                }
+                writeString(2, remoteId);
+                if (!binaryUuids) {
+                    writeUuid(3, d.getCharacteristic().getService().getUuid());
+                    writeUuid(4, d.getCharacteristic().getUuid());
+                }
+                writeBytes(5, d.getValue());
+                if (binaryUuids) {
+                    writeBinaryUuid(6, d.getUuid());
+                    writeBinaryUuid(7, d.getCharacteristic().getService().getUuid());
+                    writeBinaryUuid(8, d.getCharacteristic().getUuid());
+                }
+            }
+            mCoded.writeTag(6, LENGTH_DELIMITED);
+            mCoded.writeUInt32NoTag(propertiesSize(properties));
+            // CharacteristicProperties numbers its fields in the order of the property bits
+            for (int bit = 0; bit < 10; bit++) {
+                if ((properties & (1 << bit)) != 0) {
+                    mCoded.writeBool(bit + 1, true);
+                }
+            }
+            writeBytes(7, value);
+            if (binaryUuids) {
+                writeBinaryUuid(8, uuid);
+                if (serviceUuid != null) {
+                    writeBinaryUuid(9, serviceUuid);
+                }
+                if (secondaryServiceUuid != null) {
+                    writeBinaryUuid(10, secondaryServiceUuid);
+                }
+            }
+            return finish();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static int descriptorSize(String remoteId, BluetoothGattDescriptor d, boolean binaryUuids) {
+        return uuidSize(d.getUuid(), binaryUuids)
+                + uuidSize(d.getCharacteristic().getService().getUuid(), binaryUuids)
+                + uuidSize(d.getCharacteristic().getUuid(), binaryUuids)
+                + stringSize(2, remoteId) + bytesSize(5, d.getValue());
+    }
+
+    /**
+     * @return the size of a uuid field with a one byte tag
+     */
+    private static int uuidSize(UUID uuid, boolean binary) {
+        if (!binary) {
+            return UUID_FIELD_SIZE;
+        }
+        return 2 + Uuids.binaryLength(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    private static int propertiesSize(int properties) {
+        // every set property is a one byte tag and a one byte true
+        return 2 * Integer.bitCount(properties & 0x3FF);
+    }
+
+    private void begin() {
+        if (mWriting) {
+            // an earlier message failed half way, its bytes are still buffered
+            mCoded = CodedOutputStream.newInstance(mOutput, BUFFER_SIZE);
+        }
+        mOutput.reset();
+        mWriting = true;
+    }
+
+    private byte[] finish() throws IOException {
+        mCoded.flush();
+        mWriting = false;
+        return mOutput.toByteArray();
+    }
+
+    private void writeString(int field, String value) throws IOException {
+        if (!value.isEmpty()) {
+            mCoded.writeString(field, value);
+        }
+    }
+
+    private void writeBytes(int field, byte[] value) throws IOException {
+        if (value != null && value.length > 0) {
+            mCoded.writeByteArray(field, value);
+        }
+    }
+
+    private void writeUuid(int field, UUID uuid) throws IOException {
+        writeUuid(field, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Writes the uuid as the string {@link UUID#toString()} returns.
+     */
+    private void writeUuid(int field, long msb, long lsb) throws IOException {
+        hex(msb >>> 32, 0, 8);
+        mUuid[8] = '-';
+        hex(msb >>> 16, 9, 4);
+        mUuid[13] = '-';
+        hex(msb, 14, 4);
+        mUuid[18] = '-';
+        hex(lsb >>> 48, 19, 4);
+        mUuid[23] = '-';
+        hex(lsb, 24, 12);
+        mCoded.writeTag(field, LENGTH_DELIMITED);
+        mCoded.writeUInt32NoTag(UUID_LENGTH);
+        mCoded.writeRawBytes(mUuid, 0, UUID_LENGTH);
+    }
+
+    private void writeBinaryUuid(int field, UUID uuid) throws IOException {
+        final long msb = uuid.getMostSignificantBits();
+        final long lsb = uuid.getLeastSignificantBits();
+        final int length = Uuids.binaryLength(msb, lsb);
+        Uuids.toBinary(msb, lsb, mUuid, 0);
+        mCoded.writeTag(field, LENGTH_DELIMITED);
+        mCoded.writeUInt32NoTag(length);
+        mCoded.writeRawBytes(mUuid, 0, length);
+    }
+
+    private void hex(long value, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            mUuid[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static int bytesSize(int field, byte[] value) {
+        return value == null || value.length == 0 ? 0 : lengthDelimitedSize(value.length);
+    }
+
+    /**
+     * @return the size of a length delimited field with a one byte tag
+     */
+    private static int lengthDelimitedSize(int length) {
+        return 1 + CodedOutputStream.computeUInt32SizeNoTag(length) + length;
+    }
+
+    /**
+     * AdvertisementData as collected from a scan record, payloads stay ranges of the record.
+     *
+     * Follows the builder's rules: the first complete name wins over shortened ones, later values
+     * replace earlier ones, map keys keep the position of their first occurrence.
+     */
+    private class Advertisement implements AdvertisementParser.Visitor, ParsedAdvertisement {
+        private byte[] data;
+        private boolean connectable;
+        private boolean decodeBeacons;
+
+        private int nameOffset;
+        private int nameLength;
+        private boolean nameComplete;
+        // the name decoded when it is not valid UTF-8, decoding replaced the bad bytes
+        private String nameFallback;
+
+        private boolean hasTxPowerLevel;
+        private int txPowerLevel;
+
+        private int uuidCount;
+        private long[] uuidMsb = new long[8];
+        private long[] uuidLsb = new long[8];
+
+        private int manufacturerCount;
+        private int[] manufacturerId = new int[4];
+        private int[] manufacturerOffset = new int[4];
+        private int[] manufacturerLength = new int[4];
+
+        private int serviceDataCount;
+        private long[] serviceDataMsb = new long[4];
+        private long[] serviceDataLsb = new long[4];
+        private int[] serviceDataOffset = new int[4];
+        private int[] serviceDataLength = new int[4];
+
+        // decoded by serializedSize, the only messages built
+        private final List<Protos.Beacon> beacons = new ArrayList<>();
+
+        void reset(byte[] data, boolean connectable, boolean decodeBeacons) {
+            this.data = data;
+            this.connectable = connectable;
+            this.decodeBeacons = decodeBeacons;
+            beacons.clear();
+            nameLength = -1;
+            nameComplete = false;
+            nameFallback = null;
+            hasTxPowerLevel = false;
+            uuidCount = 0;
+            manufacturerCount = 0;
+            serviceDataCount = 0;
+        }
+
+        @Override
+        public byte[] data() {
+            return data;
+        }
+
+        @Override
+        public int serviceUuidCount() {
+            return uuidCount;
+        }
+
+        @Override
+        public long serviceUuidMsb(int i) {
+            return uuidMsb[i];
+        }
+
+        @Override
+        public long serviceUuidLsb(int i) {
+            return uuidLsb[i];
+        }
+
+        @Override
+        public int nameLength() {
+            return nameLength;
+        }
+
+        @Override
+        public int nameOffset() {
+            return nameOffset;
+        }
+
+        @Override
+        public int manufacturerIndex(int id) {
+            for (int i = 0; i < manufacturerCount; i++) {
+                if (manufacturerId[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int manufacturerCount() {
+            return manufacturerCount;
+        }
+
+        @Override
+        public int manufacturerId(int i) {
+            return manufacturerId[i];
+        }
+
+        @Override
+        public int manufacturerOffset(int i) {
+            return manufacturerOffset[i];
+        }
+
+        @Override
+        public int manufacturerLength(int i) {
+            return manufacturerLength[i];
+        }
+
+        @Override
+        public int serviceDataIndex(long msb, long lsb) {
+            for (int i = 0; i < serviceDataCount; i++) {
+                if (serviceDataMsb[i] == msb && serviceDataLsb[i] == lsb) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public int serviceDataOffset(int i) {
+            return serviceDataOffset[i];
+        }
+
+        @Override
+        public int serviceDataLength(int i) {
+            return serviceDataLength[i];
+        }
+
+        @Override
+        public void serviceUuid(long msb, long lsb) {
+            if (uuidCount == uuidMsb.length) {
+                uuidMsb = Arrays.copyOf(uuidMsb, uuidCount * 2);
+                uuidLsb = Arrays.copyOf(uuidLsb, uuidCount * 2);
+            }
+            uuidMsb[uuidCount] = msb;
+            uuidLsb[uuidCount] = lsb;
+            uuidCount++;
+        }
+
+        @Override
+        public void localName(byte[] data, int offset, int length, boolean complete) {
+            if (nameComplete) {
+                return;
+            }
+            nameOffset = offset;
+            nameLength = length;
+            nameComplete = complete;
+        }
+
+        @Override
+        public void txPowerLevel(int level) {
+            hasTxPowerLevel = true;
+            txPowerLevel = level;
+        }
+
+        @Override
+        public void serviceData(long msb, long lsb, byte[] data, int offset, int length) {
+            int i = 0;
+            while (i < serviceDataCount && (serviceDataMsb[i] != msb || serviceDataLsb[i] != lsb)) {
+                i++;
+            }
+            if (i == serviceDataCount) {
+                if (i == serviceDataMsb.length) {
+                    serviceDataMsb = Arrays.copyOf(serviceDataMsb, i * 2);
+                    serviceDataLsb = Arrays.copyOf(serviceDataLsb, i * 2);
+                    serviceDataOffset = Arrays.copyOf(serviceDataOffset, i * 2);
+                    serviceDataLength = Arrays.copyOf(serviceDataLength, i * 2);
+                }
+                serviceDataMsb[i] = msb;
+                serviceDataLsb[i] = lsb;
+                serviceDataCount++;
+            }
+            serviceDataOffset[i] = offset;
+            serviceDataLength[i] = length;
+        }
+
+        @Override
+        public void manufacturerData(int id, byte[] data, int offset, int length) {
+            int i = 0;
+            while (i < manufacturerCount && manufacturerId[i] != id) {
+                i++;
+            }
+            if (i == manufacturerCount) {
+                if (i == manufacturerId.length) {
+                    manufacturerId = Arrays.copyOf(manufacturerId, i * 2);
+                    manufacturerOffset = Arrays.copyOf(manufacturerOffset, i * 2);
+                    manufacturerLength = Arrays.copyOf(manufacturerLength, i * 2);
+                }
+                manufacturerId[i] = id;
+                manufacturerCount++;
+            }
+            manufacturerOffset[i] = offset;
+            manufacturerLength[i] = length;
+        }
+
+        int serializedSize() {
+            int size = 0;
+            if (nameLength > 0) {
+                if (!isValidUtf8(data, nameOffset, nameLength)) {
+                    try {
+                        nameFallback = new String(data, nameOffset, nameLength, "UTF-8");
+                    } catch (UnsupportedEncodingException e) {
+                        throw new RuntimeException(e);
+                    }
+                    size += CodedOutputStream.computeStringSize(1, nameFallback);
+                } else {
+                    size += lengthDelimitedSize(nameLength);
+                }
+            }
+            if (hasTxPowerLevel) {
+                size += lengthDelimitedSize(txPowerLevelSize());
+            }
+            if (connectable) {
+                size += 2;
+            }
+            for (int i = 0; i < manufacturerCount; i++) {
+                size += lengthDelimitedSize(manufacturerEntrySize(i));
+            }
+            for (int i = 0; i < serviceDataCount; i++) {
+                size += lengthDelimitedSize(serviceDataEntrySize(i));
+            }
+            if (decodeBeacons) {
+                decodeBeacons();
+                for (int i = 0; i < beacons.size(); i++) {
+                    size += CodedOutputStream.computeMessageSize(7, beacons.get(i));
+                }
+            }
+            return size + uuidCount * UUID_FIELD_SIZE;
+        }
+
+        /**
+         * Writes the fields sized by the last {@link #serializedSize()}.
+         */
+        void writeTo(CodedOutputStream out) throws IOException {
+            if (nameFallback != null) {
+                out.writeString(1, nameFallback);
+            } else if (nameLength > 0) {
+                out.writeByteArray(1, data, nameOffset, nameLength);
+            }
+            if (hasTxPowerLevel) {
+                out.writeTag(2, LENGTH_DELIMITED);
+                out.writeUInt32NoTag(txPowerLevelSize());
+                if (txPowerLevel != 0) {
+                    out.writeInt32(1, txPowerLevel);
+                }
+            }
+            if (connectable) {
+                out.writeBool(3, true);
+            }
+            // map entries always carry key and value, defaults included
+            for (int i = 0; i < manufacturerCount; i++) {
+                out.writeTag(4, LENGTH_DELIMITED);
+                out.writeUInt32NoTag(manufacturerEntrySize(i));
+                out.writeInt32(1, manufacturerId[i]);
+                out.writeByteArray(2, data, manufacturerOffset[i], manufacturerLength[i]);
+            }
+            for (int i = 0; i < serviceDataCount; i++) {
+                out.writeTag(5, LENGTH_DELIMITED);
+                out.writeUInt32NoTag(serviceDataEntrySize(i));
+                writeUuid(1, serviceDataMsb[i], serviceDataLsb[i]);
+                out.writeByteArray(2, data, serviceDataOffset[i], serviceDataLength[i]);
+            }
+            for (int i = 0; i < uuidCount; i++) {
+                writeUuid(6, uuidMsb[i], uuidLsb[i]);
+            }
+            // indexed, an iterator would be allocated per result
+            for (int i = 0; i < beacons.size(); i++) {
+                out.writeMessage(7, beacons.get(i));
+            }
+        }
+
+        /**
+         * In the order {@link AdvertisementParser#parse(byte[], Protos.AdvertisementData.Builder, boolean)}
+         * adds them.
+         */
+        private void decodeBeacons() {
+            beacons.clear();
+            for (int i = 0; i < manufacturerCount; i++) {
+                final Protos.Beacon b = AdvertisementParser.beacon(manufacturerId[i], data, manufacturerOffset[i], manufacturerLength[i]);
+                if (b != null) {
+                    beacons.add(b);
+                }
+            }
+            for (int i = 0; i < serviceDataCount; i++) {
+                final Protos.Beacon b = AdvertisementParser.beacon(serviceDataMsb[i], serviceDataLsb[i], data,
+                        serviceDataOffset[i], serviceDataLength[i]);
+                if (b != null) {
+                    beacons.add(b);
+                }
+            }
+        }
+
+        private int txPowerLevelSize() {
+            return txPowerLevel != 0 ? CodedOutputStream.computeInt32Size(1, txPowerLevel) : 0;
+        }
+
+        private int manufacturerEntrySize(int i) {
+            return CodedOutputStream.computeInt32Size(1, manufacturerId[i]) + lengthDelimitedSize(manufacturerLength[i]);
+        }
+
+        private int serviceDataEntrySize(int i) {
+            return UUID_FIELD_SIZE + lengthDelimitedSize(serviceDataLength[i]);
+        }
+    }
+
+    /**
+     * Strict UTF-8 check, valid input decodes and encodes back to the same bytes.
+     */
+    static boolean isValidUtf8(byte[] data, int offset, int length) {
+        final int end = offset + length;
+        int i = offset;
+        while (i < end) {
+            final int b = data[i] & 0xFF;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            final int continuations;
+            int min = 0x80;
+            int max = 0xBF;
+            if (b >= 0xC2 && b <= 0xDF) {
+                continuations = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuations = 2;
+                if (b == 0xE0) {
+                    min = 0xA0; // overlong
+                } else if (b == 0xED) {
+                    max = 0x9F; // surrogates
+                }
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuations = 3;
+                if (b == 0xF0) {
+                    min = 0x90; // overlong
+                } else if (b == 0xF4) {
+                    max = 0x8F; // beyond U+10FFFF
+                }
+            } else {
+                return false;
+            }
+            if (continuations >= end - i) {
+                return false;
+            }
+            for (int j = 1; j <= continuations; j++) {
+                final int c = data[i + j] & 0xFF;
+                if (c < (j == 1 ? min : 0x80) || c > (j == 1 ? max : 0xBF)) {
+                    return false;
+                }
+            }
+            i += continuations + 1;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,11 @@
+package com.pauldemarco.flutterblue;
+
+/**
+ * Receiver of serialized messages headed for the dart side, keyed by method name.
+ */
+interface MessageSink {
+    /**
+     * @param receivedAt {@link System#nanoTime()} when the event that caused the message arrived
+     */
+    void dispatch(String method, byte[] payload, long receivedAt);
+}
@@ -0,0 +1,44 @@
+package com.pauldemarco.flutterblue;
+
+/**
+ * The fields of a scan record after walking it, for deciding where a result goes before it is
+ * serialized. Payloads are ranges of {@link #data()}.
+ */
+interface ParsedAdvertisement {
+    byte[] data();
+
+    int serviceUuidCount();
+
+    long serviceUuidMsb(int i);
+
+    long serviceUuidLsb(int i);
+
+    /**
+     * @return -1 without a local name
+     */
+    int nameLength();
+
+    int nameOffset();
+
+    /**
+     * @return the index of the company's data, -1 when not advertised
+     */
+    int manufacturerIndex(int id);
+
+    int manufacturerCount();
+
+    int manufacturerId(int i);
+
+    int manufacturerOffset(int i);
+
+    int manufacturerLength(int i);
+
+    /**
+     * @return the index of the service's data, -1 when not advertised
+     */
+    int serviceDataIndex(long msb, long lsb);
+
+    int serviceDataOffset(int i);
+
+    int serviceDataLength(int i);
+}
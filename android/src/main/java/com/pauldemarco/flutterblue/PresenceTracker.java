@@ -0,0 +1,206 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Devices seen by the scan, keyed by address, so dart hears of a device when it appears, changes
+ * or goes out of range instead of for every advertisement.
+ *
+ * A device is updated when its payload hash changes or its smoothed rssi moved by the threshold
+ * since it was last reported. It is lost once not seen for lostAfter. Expiry runs on a timer
+ * wheel: a device sits in the slot of its deadline as of when it was put there and is only
+ * checked when that slot comes up, being seen again does not move it.
+ *
+ * Times are millis of a monotonic clock supplied by the caller.
+ */
+class PresenceTracker {
+    static final String APPEARED = "DeviceAppeared";
+    static final String UPDATED = "DeviceUpdated";
+    static final String LOST = "DeviceLost";
+
+    static final long DEFAULT_LOST_AFTER_MILLIS = 10000;
+    static final int DEFAULT_RSSI_THRESHOLD = 6;
+    static final float DEFAULT_RSSI_SMOOTHING = 0.3f;
+
+    private static final int SLOTS = 64;
+    // slots per lostAfter, the wheel spans eight times that
+    private static final int SLOTS_PER_PERIOD = 8;
+    private static final long MIN_TICK_MILLIS = 50;
+
+    private static class Entry {
+        final String address;
+        long lastSeen;
+        float smoothedRssi;
+        int reportedRssi;
+        int payloadHash;
+        boolean removed;
+        // index of the wheel slot holding it
+        int slot;
+
+        Entry(String address) {
+            this.address = address;
+        }
+    }
+
+    private final long mLostAfter;
+    private final int mRssiThreshold;
+    private final float mSmoothing;
+    private final long mTick;
+
+    private final Map<String, Entry> mEntries = new HashMap<>();
+    private final List<List<Entry>> mSlots = new ArrayList<>(SLOTS);
+    // the last tick expire went through
+    private long mCursor;
+
+    /**
+     * Zero or negative settings take the defaults.
+     *
+     * @param smoothing weight of a new rssi sample in the moving average, up to 1
+     */
+    PresenceTracker(long lostAfterMillis, int rssiThreshold, float smoothing) {
+        mLostAfter = lostAfterMillis > 0 ? lostAfterMillis : DEFAULT_LOST_AFTER_MILLIS;
+        mRssiThreshold = rssiThreshold > 0 ? rssiThreshold : DEFAULT_RSSI_THRESHOLD;
+        mSmoothing = smoothing > 0 ? Math.min(smoothing, 1f) : DEFAULT_RSSI_SMOOTHING;
+        mTick = Math.max(MIN_TICK_MILLIS, mLostAfter / SLOTS_PER_PERIOD);
+        for (int i = 0; i < SLOTS; i++) {
+            mSlots.add(new ArrayList<Entry>());
+        }
+    }
+
+    /**
+     * How often {@link #expire} should be called.
+     */
+    long tickMillis() {
+        return mTick;
+    }
+
+    /**
+     * Records an advertisement, called from the scan callback thread.
+     *
+     * @return {@link #APPEARED}, {@link #UPDATED}, or null when there is nothing to report
+     */
+    synchronized String observe(String address, int rssi, int payloadHash, long now) {
+        Entry entry = mEntries.get(address);
+        if (entry == null) {
+            if (mEntries.isEmpty()) {
+                mCursor = now / mTick;
+            }
+            entry = new Entry(address);
+            entry.lastSeen = now;
+            entry.smoothedRssi = rssi;
+            entry.reportedRssi = rssi;
+            entry.payloadHash = payloadHash;
+            mEntries.put(address, entry);
+            schedule(entry);
+            return APPEARED;
+        }
+
+        entry.lastSeen = now;
+        entry.smoothedRssi += mSmoothing * (rssi - entry.smoothedRssi);
+        final int smoothed = Math.round(entry.smoothedRssi);
+        if (entry.payloadHash != payloadHash || Math.abs(smoothed - entry.reportedRssi) >= mRssiThreshold) {
+            entry.payloadHash = payloadHash;
+            entry.reportedRssi = smoothed;
+            return UPDATED;
+        }
+        return null;
+    }
+
+    /**
+     * Drops a device without reporting it lost, for one that appeared but was not wanted.
+     * Called right after it appeared, so it is found at the end of its slot.
+     */
+    synchronized void forget(String address) {
+        final Entry entry = mEntries.remove(address);
+        if (entry != null) {
+            entry.removed = true;
+            final List<Entry> slot = mSlots.get(entry.slot);
+            final int i = slot.lastIndexOf(entry);
+            if (i >= 0) {
+                slot.remove(i);
+            }
+        }
+    }
+
+    /**
+     * @return the device as it is now, null when not tracked
+     */
+    synchronized Protos.PresenceEntry entry(String address, long now) {
+        final Entry entry = mEntries.get(address);
+        return entry != null ? toProto(entry, now) : null;
+    }
+
+    /**
+     * Advances the wheel to now.
+     *
+     * @return the devices lost since the last call
+     */
+    synchronized List<Protos.PresenceEntry> expire(long now) {
+        final List<Protos.PresenceEntry> lost = new ArrayList<>();
+        final long target = now / mTick;
+        // after a long pause every slot is due once
+        final long from = Math.max(mCursor + 1, target - SLOTS + 1);
+        for (long t = from; t <= target; t++) {
+            final List<Entry> slot = mSlots.get((int) (t % SLOTS));
+            if (slot.isEmpty()) {
+                continue;
+            }
+            final Entry[] due = slot.toArray(new Entry[0]);
+            slot.clear();
+            for (Entry entry : due) {
+                if (entry.removed) {
+                    continue;
+                }
+                if (entry.lastSeen + mLostAfter <= now) {
+                    mEntries.remove(entry.address);
+                    entry.removed = true;
+                    lost.add(toProto(entry, now));
+                } else {
+                    schedule(entry);
+                }
+            }
+        }
+        mCursor = target;
+        return lost;
+    }
+
+    synchronized Protos.PresenceSnapshot snapshot(long now) {
+        final Protos.PresenceSnapshot.Builder p = Protos.PresenceSnapshot.newBuilder();
+        for (Entry entry : mEntries.values()) {
+            p.addDevices(toProto(entry, now));
+        }
+        return p.build();
+    }
+
+    synchronized void clear() {
+        for (Entry entry : mEntries.values()) {
+            entry.removed = true;
+        }
+        mEntries.clear();
+        for (List<Entry> slot : mSlots) {
+            slot.clear();
+        }
+    }
+
+    private void schedule(Entry entry) {
+        // rounded up, the slot comes up at or after the deadline
+        final long deadline = entry.lastSeen + mLostAfter;
+        final long tick = Math.max((deadline + mTick - 1) / mTick, mCursor + 1);
+        entry.slot = (int) (tick % SLOTS);
+        mSlots.get(entry.slot).add(entry);
+    }
+
+    private static Protos.PresenceEntry toProto(Entry entry, long now) {
+        return Protos.PresenceEntry.newBuilder()
+                .setRemoteId(entry.address)
+                .setSmoothedRssi(Math.round(entry.smoothedRssi))
+                .setLastSeenMillisAgo(Math.max(0, now - entry.lastSeen))
+                .setPayloadHash(entry.payloadHash)
+                .build();
+    }
+}
@@ -4,27 +4,21 @@
 
 package com.pauldemarco.flutterblue;
 
-import android.annotation.TargetApi;
+import android.bluetooth.BluetoothAdapter;
 import android.bluetooth.BluetoothDevice;
 import android.bluetooth.BluetoothGatt;
 import android.bluetooth.BluetoothGattCharacteristic;
 import android.bluetooth.BluetoothGattDescriptor;
 import android.bluetooth.BluetoothGattService;
 import android.bluetooth.BluetoothProfile;
-import android.bluetooth.le.ScanRecord;
-import android.bluetooth.le.ScanResult;
-import android.os.Build;
 import android.os.Parcel;
-import android.os.ParcelUuid;
 import android.util.Log;
-import android.util.SparseArray;
 
 import com.google.protobuf.ByteString;
 import com.pauldemarco.flutter_blue.Protos;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -33,65 +27,38 @@ import java.util.UUID;
 
 public class ProtoMaker {
 
-    private static final UUID CCCD_UUID = UUID.fromString("000002902-0000-1000-8000-00805f9b34fb");
+    // every combination of the ten property bits, messages are immutable so they are shared
+    private static final int PROPERTY_BITS = 0x3FF;
+    private static final Protos.CharacteristicProperties[] PROPERTIES = new Protos.CharacteristicProperties[PROPERTY_BITS + 1];
+    // indexed by State number
+    private static final Protos.BluetoothState[] BLUETOOTH_STATES = new Protos.BluetoothState[Protos.BluetoothState.State.values().length - 1];
 
-    static Protos.ScanResult from(BluetoothDevice device, byte[] advertisementData, int rssi) {
-        Protos.ScanResult.Builder p = Protos.ScanResult.newBuilder();
-        p.setDevice(from(device));
-        if(advertisementData != null && advertisementData.length > 0)
-            p.setAdvertisementData(AdvertisementParser.parse(advertisementData));
-        p.setRssi(rssi);
-        return p.build();
+    static {
+        for (int i = 0; i < PROPERTIES.length; i++) {
+            PROPERTIES[i] = buildProperties(i);
+        }
+        for (Protos.BluetoothState.State state : Protos.BluetoothState.State.values()) {
+            if (state != Protos.BluetoothState.State.UNRECOGNIZED) {
+                BLUETOOTH_STATES[state.getNumber()] = Protos.BluetoothState.newBuilder().setState(state).build();
+            }
+        }
     }
 
-    @TargetApi(21)
-    static Protos.ScanResult from(BluetoothDevice device, ScanResult scanResult) {
-        Protos.ScanResult.Builder p = Protos.ScanResult.newBuilder();
-        p.setDevice(from(device));
-        Protos.AdvertisementData.Builder a = Protos.AdvertisementData.newBuilder();
-        ScanRecord scanRecord = scanResult.getScanRecord();
-        if(Build.VERSION.SDK_INT >= 26) {
-            a.setConnectable(scanResult.isConnectable());
-        } else {
-            if(scanRecord != null) {
-                int flags = scanRecord.getAdvertiseFlags();
-                a.setConnectable((flags & 0x2) > 0);
-            }
+    // scan results convert their device only when they are sent
+    static final ScanPipeline.DeviceConverter<BluetoothDevice> DEVICES = new ScanPipeline.DeviceConverter<BluetoothDevice>() {
+        @Override
+        public String address(BluetoothDevice device) {
+            return device.getAddress();
         }
-        if(scanRecord != null) {
-            String deviceName = scanRecord.getDeviceName();
-            if(deviceName != null) {
-                a.setLocalName(deviceName);
-            }
-            int txPower = scanRecord.getTxPowerLevel();
-            if(txPower != Integer.MIN_VALUE) {
-                a.setTxPowerLevel(Protos.Int32Value.newBuilder().setValue(txPower));
-            }
-            // Manufacturer Specific Data
-            SparseArray<byte[]> msd = scanRecord.getManufacturerSpecificData();
-            for (int i = 0; i < msd.size(); i++) {
-                int key = msd.keyAt(i);
-                byte[] value = msd.valueAt(i);
-                a.putManufacturerData(key, ByteString.copyFrom(value));
-            }
-            // Service Data
-            Map<ParcelUuid, byte[]> serviceData = scanRecord.getServiceData();
-            for (Map.Entry<ParcelUuid, byte[]> entry : serviceData.entrySet()) {
-                ParcelUuid key = entry.getKey();
-                byte[] value = entry.getValue();
-                a.putServiceData(key.getUuid().toString(), ByteString.copyFrom(value));
-            }
-            // Service UUIDs
-            List<ParcelUuid> serviceUuids = scanRecord.getServiceUuids();
-            if(serviceUuids != null) {
-                for (ParcelUuid s : serviceUuids) {
-                    a.addServiceUuids(s.getUuid().toString());
-                }
-            }
+
+        @Override
+        public Protos.BluetoothDevice convert(BluetoothDevice device) {
+            return from(device);
         }
-        p.setRssi(scanResult.getRssi());
-        p.setAdvertisementData(a.build());
-        return p.build();
+    };
+
+    static Protos.ScanResult from(Protos.BluetoothDevice device, byte[] advertisementData, int rssi) {
+        return ScanPipeline.build(device, advertisementData, rssi, false);
     }
 
     static Protos.BluetoothDevice from(BluetoothDevice device) {
@@ -128,59 +95,111 @@ public class ProtoMaker {
         return p.build();
     }
 
-    static Protos.BluetoothService from(BluetoothDevice device, BluetoothGattService service, List<BluetoothGattService> services) {
+    /**
+     * @param binaryUuids fill the binary_*uuid fields instead of the uuid strings
+     */
+    static Protos.BluetoothService from(BluetoothDevice device, BluetoothGattService service, List<BluetoothGattService> services, boolean binaryUuids) {
+        return from(device.getAddress(), service, services, binaryUuids);
+    }
+
+    static Protos.BluetoothService from(String remoteId, BluetoothGattService service, List<BluetoothGattService> services, boolean binaryUuids) {
         Protos.BluetoothService.Builder p = Protos.BluetoothService.newBuilder();
-        p.setRemoteId(device.getAddress());
-        p.setUuid(service.getUuid().toString());
+        p.setRemoteId(remoteId);
+        if (binaryUuids) {
+            p.setBinaryUuid(Uuids.toBinary(service.getUuid()));
+        } else {
+            p.setUuid(service.getUuid().toString());
+        }
         p.setIsPrimary(service.getType() == BluetoothGattService.SERVICE_TYPE_PRIMARY);
         for(BluetoothGattCharacteristic c : service.getCharacteristics()) {
-            p.addCharacteristics(from(device, c, services));
+            p.addCharacteristics(from(remoteId, c, services, binaryUuids));
         }
         for(BluetoothGattService s : service.getIncludedServices()) {
-            p.addIncludedServices(from(device, s, services));
+            p.addIncludedServices(from(remoteId, s, services, binaryUuids));
         }
         return p.build();
     }
 
-    static Protos.BluetoothCharacteristic from(BluetoothDevice device, BluetoothGattCharacteristic characteristic, List<BluetoothGattService> services) {
+    static Protos.BluetoothCharacteristic from(BluetoothDevice device, BluetoothGattCharacteristic characteristic, List<BluetoothGattService> services, boolean binaryUuids) {
+        return from(device.getAddress(), characteristic, services, binaryUuids);
+    }
+
+    static Protos.BluetoothCharacteristic from(String remoteId, BluetoothGattCharacteristic characteristic, List<BluetoothGattService> services, boolean binaryUuids) {
         Protos.BluetoothCharacteristic.Builder p = Protos.BluetoothCharacteristic.newBuilder();
-        p.setRemoteId(device.getAddress());
-        p.setUuid(characteristic.getUuid().toString());
+        p.setRemoteId(remoteId);
+        if (binaryUuids) {
+            p.setBinaryUuid(Uuids.toBinary(characteristic.getUuid()));
+        } else {
+            p.setUuid(characteristic.getUuid().toString());
+        }
         p.setProperties(from(characteristic.getProperties()));
         if(characteristic.getValue() != null)
             p.setValue(ByteString.copyFrom(characteristic.getValue()));
         for(BluetoothGattDescriptor d : characteristic.getDescriptors()) {
-            p.addDescriptors(from(device, d));
+            p.addDescriptors(from(remoteId, d, binaryUuids));
         }
+        UUID serviceUuid = null;
+        UUID secondaryServiceUuid = null;
         if(characteristic.getService().getType() == BluetoothGattService.SERVICE_TYPE_PRIMARY) {
-            p.setServiceUuid(characteristic.getService().getUuid().toString());
+            serviceUuid = characteristic.getService().getUuid();
         } else {
             // Reverse search to find service
             for(BluetoothGattService s : services) {
                 for(BluetoothGattService ss : s.getIncludedServices()) {
                     if(ss.getUuid().equals(characteristic.getService().getUuid())){
-                        p.setServiceUuid(s.getUuid().toString());
-                        p.setSecondaryServiceUuid(ss.getUuid().toString());
+                        serviceUuid = s.getUuid();
+                        secondaryServiceUuid = ss.getUuid();
                         break;
                     }
                 }
             }
         }
+        if (serviceUuid != null) {
+            if (binaryUuids) {
+                p.setBinaryServiceUuid(Uuids.toBinary(serviceUuid));
+            } else {
+                p.setServiceUuid(serviceUuid.toString());
+            }
+        }
+        if (secondaryServiceUuid != null) {
+            if (binaryUuids) {
+                p.setBinarySecondaryServiceUuid(Uuids.toBinary(secondaryServiceUuid));
+            } else {
+                p.setSecondaryServiceUuid(secondaryServiceUuid.toString());
+            }
+        }
         return p.build();
     }
 
-    static Protos.BluetoothDescriptor from(BluetoothDevice device, BluetoothGattDescriptor descriptor) {
+    static Protos.BluetoothDescriptor from(BluetoothDevice device, BluetoothGattDescriptor descriptor, boolean binaryUuids) {
+        return from(device.getAddress(), descriptor, binaryUuids);
+    }
+
+    static Protos.BluetoothDescriptor from(String remoteId, BluetoothGattDescriptor descriptor, boolean binaryUuids) {
         Protos.BluetoothDescriptor.Builder p = Protos.BluetoothDescriptor.newBuilder();
-        p.setRemoteId(device.getAddress());
-        p.setUuid(descriptor.getUuid().toString());
-        p.setCharacteristicUuid(descriptor.getCharacteristic().getUuid().toString());
-        p.setServiceUuid(descriptor.getCharacteristic().getService().getUuid().toString());
+        p.setRemoteId(remoteId);
+        if (binaryUuids) {
+            p.setBinaryUuid(Uuids.toBinary(descriptor.getUuid()));
+            p.setBinaryCharacteristicUuid(Uuids.toBinary(descriptor.getCharacteristic().getUuid()));
+            p.setBinaryServiceUuid(Uuids.toBinary(descriptor.getCharacteristic().getService().getUuid()));
+        } else {
+            p.setUuid(descriptor.getUuid().toString());
+            p.setCharacteristicUuid(descriptor.getCharacteristic().getUuid().toString());
+            p.setServiceUuid(descriptor.getCharacteristic().getService().getUuid().toString());
+        }
         if(descriptor.getValue() != null)
             p.setValue(ByteString.copyFrom(descriptor.getValue()));
         return p.build();
     }
 
+    /**
+     * Bits outside of the ten known properties are ignored.
+     */
     static Protos.CharacteristicProperties from(int properties) {
+        return PROPERTIES[properties & PROPERTY_BITS];
+    }
+
+    private static Protos.CharacteristicProperties buildProperties(int properties) {
         return Protos.CharacteristicProperties.newBuilder()
                 .setBroadcast((properties & 1) != 0)
                 .setRead((properties & 2) != 0)
@@ -196,6 +215,10 @@ public class ProtoMaker {
     }
 
     static Protos.DeviceStateResponse from(BluetoothDevice device, int state) {
+        return from(device.getAddress(), state);
+    }
+
+    static Protos.DeviceStateResponse from(String remoteId, int state) {
         Protos.DeviceStateResponse.Builder p = Protos.DeviceStateResponse.newBuilder();
         switch(state) {
             case BluetoothProfile.STATE_DISCONNECTING:
@@ -213,7 +236,30 @@ public class ProtoMaker {
             default:
                 break;
         }
-        p.setRemoteId(device.getAddress());
+        p.setRemoteId(remoteId);
         return p.build();
     }
-}
\ No newline at end of file
+
+    static Protos.BluetoothState from(Protos.BluetoothState.State state) {
+        return BLUETOOTH_STATES[state.getNumber()];
+    }
+
+    /**
+     * @param adapterState one of the BluetoothAdapter STATE_ constants
+     * @return UNKNOWN for anything else
+     */
+    static Protos.BluetoothState bluetoothState(int adapterState) {
+        switch(adapterState) {
+            case BluetoothAdapter.STATE_OFF:
+                return from(Protos.BluetoothState.State.OFF);
+            case BluetoothAdapter.STATE_ON:
+                return from(Protos.BluetoothState.State.ON);
+            case BluetoothAdapter.STATE_TURNING_OFF:
+                return from(Protos.BluetoothState.State.TURNING_OFF);
+            case BluetoothAdapter.STATE_TURNING_ON:
+                return from(Protos.BluetoothState.State.TURNING_ON);
+            default:
+                return from(Protos.BluetoothState.State.UNKNOWN);
+        }
+    }
+}
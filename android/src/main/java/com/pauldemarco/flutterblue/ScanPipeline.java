@@ -0,0 +1,155 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.Arrays;
+
+/**
+ * Scan result handling between the scan callback and the channel: raw scan record in,
+ * serialized ScanResult out.
+ *
+ * Kept free of android types so the exact path the plugin runs per advertisement can be driven
+ * and measured on a plain JVM.
+ */
+class ScanPipeline {
+    static final String METHOD = "ScanResult";
+
+    /**
+     * Gives the address of a device for routing and converts it once a result is sent, so
+     * results no subscription wants never convert the device.
+     */
+    interface DeviceConverter<D> {
+        String address(D device);
+
+        Protos.BluetoothDevice convert(D device);
+    }
+
+    static final DeviceConverter<Protos.BluetoothDevice> PROTO_DEVICES = new DeviceConverter<Protos.BluetoothDevice>() {
+        @Override
+        public String address(Protos.BluetoothDevice device) {
+            return device.getRemoteId();
+        }
+
+        @Override
+        public Protos.BluetoothDevice convert(Protos.BluetoothDevice device) {
+            return device;
+        }
+    };
+
+    private final MessageSink sink;
+    // null to send every result without routing
+    private final ScanSubscriptions subscriptions;
+    // null unless presence tracking is on
+    private volatile PresenceTracker presence;
+    private volatile boolean decodeBeacons;
+    // written from the scan callback thread only
+    private volatile long parseErrors;
+
+    ScanPipeline(MessageSink sink) {
+        this(sink, null);
+    }
+
+    ScanPipeline(MessageSink sink, ScanSubscriptions subscriptions) {
+        this.sink = sink;
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Called from the scan callback thread.
+     *
+     * @param connectable only known from the scan result on API 26+, otherwise from the flags
+     * @param receivedAt {@link System#nanoTime()} when the callback was entered
+     */
+    void onScanResult(Protos.BluetoothDevice device, byte[] scanRecord, int rssi, boolean connectable, long receivedAt) {
+        onScanResult(device, PROTO_DEVICES, scanRecord, rssi, connectable, receivedAt);
+    }
+
+    /**
+     * Called from the scan callback thread.
+     */
+    <D> void onScanResult(D device, DeviceConverter<D> converter, byte[] scanRecord, int rssi, boolean connectable,
+                          long receivedAt) {
+        final PresenceTracker tracker = presence;
+        String change = null;
+        String address = null;
+        if (tracker != null) {
+            // decided on the raw record, an unchanged device is not encoded at all
+            address = converter.address(device);
+            change = tracker.observe(address, rssi, Arrays.hashCode(scanRecord), receivedAt / 1000000);
+            if (change == null) {
+                return;
+            }
+        }
+
+        final MessageEncoder encoder = MessageEncoder.get();
+        final boolean beacons = decodeBeacons;
+        byte[] payload;
+        try {
+            payload = encoder.scanResult(device, converter, scanRecord, rssi, connectable, subscriptions, beacons);
+        } catch (RuntimeException e) {
+            // the framework drops malformed records too, still report the device, to the
+            // subscriptions without service filters as its uuids are unknown
+            parseErrors++;
+            payload = encoder.scanResult(device, converter, null, rssi, connectable, subscriptions, false);
+        }
+        if (tracker == null) {
+            if (payload != null) {
+                sink.dispatch(METHOD, payload, receivedAt);
+            }
+        } else if (payload != null) {
+            final Protos.PresenceEntry entry = tracker.entry(address, receivedAt / 1000000);
+            // null when tracking was reset meanwhile
+            if (entry != null) {
+                sink.dispatch(change, encoder.presenceEvent(entry, payload), receivedAt);
+            }
+        } else if (change == PresenceTracker.APPEARED) {
+            // no subscription wants it, a device that was reported stays until it is lost
+            tracker.forget(address);
+        }
+    }
+
+    /**
+     * Reports devices through the tracker instead of every result, null to stop.
+     */
+    void setPresence(PresenceTracker tracker) {
+        presence = tracker;
+    }
+
+    PresenceTracker getPresence() {
+        return presence;
+    }
+
+    /**
+     * Adds the decoded beacon frames to the results sent.
+     */
+    void setDecodeBeacons(boolean decode) {
+        decodeBeacons = decode;
+    }
+
+    long getParseErrors() {
+        return parseErrors;
+    }
+
+    /**
+     * The message {@link MessageEncoder#scanResult} encodes without building it.
+     *
+     * @throws ArrayIndexOutOfBoundsException if the scan record is truncated.
+     */
+    static Protos.ScanResult build(Protos.BluetoothDevice device, byte[] scanRecord, int rssi, boolean connectable) {
+        return build(device, scanRecord, rssi, connectable, false);
+    }
+
+    static Protos.ScanResult build(Protos.BluetoothDevice device, byte[] scanRecord, int rssi, boolean connectable,
+                                   boolean beacons) {
+        final Protos.AdvertisementData.Builder a = Protos.AdvertisementData.newBuilder();
+        if (scanRecord != null && scanRecord.length > 0) {
+            AdvertisementParser.parse(scanRecord, a, beacons);
+        }
+        a.setConnectable(connectable);
+        return Protos.ScanResult.newBuilder()
+                .setDevice(device)
+                .setAdvertisementData(a)
+                .setRssi(rssi)
+                .build();
+    }
+}
@@ -0,0 +1,372 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Compiles a Protos.ScanPredicate into a tree of checks, once when a scan subscription is made.
+ *
+ * The checks run on the walked advertisement before anything is converted or serialized, they
+ * allocate nothing. The children of all and any are ordered cheapest first so that most results
+ * are decided by the rssi or a single byte compare.
+ */
+class ScanPredicates {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    abstract static class Predicate {
+        abstract boolean test(ParsedAdvertisement ad, int rssi);
+
+        /**
+         * Rough relative cost of {@link #test}, for ordering.
+         */
+        abstract int cost();
+    }
+
+    private static final Comparator<Predicate> BY_COST = new Comparator<Predicate>() {
+        @Override
+        public int compare(Predicate a, Predicate b) {
+            return a.cost() - b.cost();
+        }
+    };
+
+    private ScanPredicates() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when the predicate or one nested in it is unset or malformed.
+     */
+    static Predicate compile(Protos.ScanPredicate proto) {
+        switch (proto.getPredicateCase()) {
+            case ALL:
+                return new All(compile(proto.getAll()));
+            case ANY:
+                return new Any(compile(proto.getAny()));
+            case MIN_RSSI:
+                return new MinRssi(proto.getMinRssi());
+            case MANUFACTURER_DATA:
+                return new ManufacturerData(proto.getManufacturerData());
+            case SERVICE_DATA:
+                return new ServiceData(proto.getServiceData());
+            case NAME_PREFIX:
+                return new NamePrefix(proto.getNamePrefix());
+            case BEACON:
+                return new BeaconFrame(proto.getBeacon());
+            default:
+                throw new IllegalArgumentException("scan predicate without a condition");
+        }
+    }
+
+    private static Predicate[] compile(Protos.ScanPredicateList list) {
+        final Predicate[] predicates = new Predicate[list.getPredicatesCount()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = compile(list.getPredicates(i));
+        }
+        Arrays.sort(predicates, BY_COST);
+        return predicates;
+    }
+
+    private static class All extends Predicate {
+        private final Predicate[] mPredicates;
+
+        All(Predicate[] predicates) {
+            mPredicates = predicates;
+        }
+
+        @Override
+        boolean test(ParsedAdvertisement ad, int rssi) {
+            for (Predicate p : mPredicates) {
+                if (!p.test(ad, rssi)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int cost() {
+            int cost = 1;
+            for (Predicate p : mPredicates) {
+                cost += p.cost();
+            }
+            return cost;
+        }
+    }
+
+    private static class Any extends Predicate {
+        private final Predicate[] mPredicates;
+
+        Any(Predicate[] predicates) {
+            mPredicates = predicates;
+        }
+
+        @Override
+        boolean test(ParsedAdvertisement ad, int rssi) {
+            for (Predicate p : mPredicates) {
+                if (p.test(ad, rssi)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int cost() {
+            int cost = 1;
+            for (Predicate p : mPredicates) {
+                cost += p.cost();
+            }
+            return cost;
+        }
+    }
+
+    private static class MinRssi extends Predicate {
+        private final int mMinRssi;
+
+        MinRssi(int minRssi) {
+            mMinRssi = minRssi;
+        }
+
+        @Override
+        boolean test(ParsedAdvertisement ad, int rssi) {
+            return rssi >= mMinRssi;
+        }
+
+        @Override
+        int cost() {
+            return 1;
+        }
+    }
+
+    private static class NamePrefix extends Predicate {
+        private final byte[] mPrefix;
+
+        NamePrefix(String prefix) {
+            mPrefix = prefix.getBytes(UTF8);
+        }
+
+        @Override
+        boolean test(ParsedAdvertisement ad, int rssi) {
+            if (mPrefix.length == 0) {
+                // every name starts with it, devices without one included
+                return true;
+            }
+            if (ad.nameLength() < mPrefix.length) {
+                return false;
+            }
+            final byte[] data = ad.data();
+            final int offset = ad.nameOffset();
+            for (int i = 0; i < mPrefix.length; i++) {
+                if (data[offset + i] != mPrefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int cost() {
+            return 2 + mPrefix.length / 8;
+        }
+    }
+
+    /**
+     * The comparison of a byte range, the lookup of the range is left to subclasses.
+     */
+    private abstract static class DataRange extends Predicate {
+        private final int mOffset;
+        private final byte[] mValue;
+        private final byte[] mMask;
+        private final Protos.DataPredicate.Comparison mComparison;
+        private final boolean mLittleEndian;
+
+        DataRange(Protos.DataPredicate proto) {
+            if (proto.getOffset() < 0) {
+                throw new IllegalArgumentException("data predicate offset " + proto.getOffset());
+            }
+            if (!proto.getMask().isEmpty() && proto.getMask().size() != proto.getValue().size()) {
+                throw new IllegalArgumentException("data predicate mask of " + proto.getMask().size()
+                        + " bytes for a value of " + proto.getValue().size());
+            }
+            if (proto.getComparison() == Protos.DataPredicate.Comparison.UNRECOGNIZED) {
+                throw new IllegalArgumentException("unknown data predicate comparison");
+            }
+            mOffset = proto.getOffset();
+            mValue = proto.getValue().toByteArray();
+            mMask = proto.getMask().isEmpty() ? null : proto.getMask().toByteArray();
+            mComparison = proto.getComparison();
+            mLittleEndian = proto.getLittleEndian();
+        }
+
+        /**
+         * @param offset where the data starts in ad.data()
+         */
+        boolean test(byte[] data, int offset, int length) {
+            if (length < mOffset + mValue.length) {
+                return false;
+            }
+            final int start = offset + mOffset;
+            int order = 0;
+            for (int k = 0; k < mValue.length && order == 0; k++) {
+                // the most significant byte first
+                final int i = mLittleEndian ? mValue.length - 1 - k : k;
+                final int m = mMask != null ? mMask[i] & 0xFF : 0xFF;
+                order = (data[start + i] & m) - (mValue[i] & m);
+            }
+            switch (mComparison) {
+                case EQUAL:
+                    return order == 0;
+                case NOT_EQUAL:
+                    return order != 0;
+                case LESS:
+                    return order < 0;
+                case LESS_OR_EQUAL:
+                    return order <= 0;
+                case GREATER:
+                    return order > 0;
+                default:
+                    return order >= 0;
+            }
+        }
+
+        @Override
+        int cost() {
+            return 4 + mValue.length / 8;
+        }
+    }
+
+    private static class ManufacturerData extends DataRange {
+        private final int mId;
+
+        ManufacturerData(Protos.DataPredicate proto) {
+            super(proto);
+            mId = proto.getManufacturerId();
+        }
+
+        @Override
+        boolean test(ParsedAdvertisement ad, int rssi) {
+            final int i = ad.manufacturerIndex(mId);
+            return i >= 0 && test(ad.data(), ad.manufacturerOffset(i), ad.manufacturerLength(i));
+        }
+    }
+
+    private static class ServiceData extends DataRange {
+        private final long mMsb;
+        private final long mLsb;
+
+        ServiceData(Protos.DataPredicate proto) {
+            super(proto);
+            final UUID uuid = UUID.fromString(proto.getServiceUuid());
+            mMsb = uuid.getMostSignificantBits();
+            mLsb = uuid.getLeastSignificantBits();
+        }
+
+        @Override
+        boolean test(ParsedAdvertisement ad, int rssi) {
+            final int i = ad.serviceDataIndex(mMsb, mLsb);
+            return i >= 0 && test(ad.data(), ad.serviceDataOffset(i), ad.serviceDataLength(i));
+        }
+
+        @Override
+        int cost() {
+            // the uuid lookup compares two longs per entry
+            return super.cost() + 1;
+        }
+    }
+
+    /**
+     * Reads the frames in place, nothing is decoded.
+     */
+    private static class BeaconFrame extends Predicate {
+        private final boolean mHasUuid;
+        private final long mUuidMsb;
+        private final long mUuidLsb;
+        private final int mMajor;
+        private final int mMinor;
+        private final byte[] mNamespace;
+        private final byte[] mInstance;
+
+        BeaconFrame(Protos.BeaconPredicate proto) {
+            mHasUuid = !proto.getUuid().isEmpty();
+            final UUID uuid = mHasUuid ? UUID.fromString(proto.getUuid()) : null;
+            mUuidMsb = mHasUuid ? uuid.getMostSignificantBits() : 0;
+            mUuidLsb = mHasUuid ? uuid.getLeastSignificantBits() : 0;
+            mMajor = proto.hasMajor() ? proto.getMajor().getValue() : -1;
+            mMinor = proto.hasMinor() ? proto.getMinor().getValue() : -1;
+            mNamespace = bytes(proto.getEddystoneNamespace().toByteArray(), 10, "namespace");
+            mInstance = bytes(proto.getEddystoneInstance().toByteArray(), 6, "instance");
+            if ((mHasUuid || mMajor >= 0 || mMinor >= 0) && (mNamespace != null || mInstance != null)) {
+                throw new IllegalArgumentException("beacon predicate on both an iBeacon id and an Eddystone uid");
+            }
+        }
+
+        private static byte[] bytes(byte[] value, int length, String kind) {
+            if (value.length == 0) {
+                return null;
+            }
+            if (value.length != length) {
+                throw new IllegalArgumentException("Eddystone " + kind + " of " + value.length + " bytes, not " + length);
+            }
+            return value;
+        }
+
+        @Override
+        boolean test(ParsedAdvertisement ad, int rssi) {
+            final byte[] data = ad.data();
+            if (mNamespace == null && mInstance == null) {
+                for (int i = 0; i < ad.manufacturerCount(); i++) {
+                    final int offset = ad.manufacturerOffset(i);
+                    final int length = ad.manufacturerLength(i);
+                    if ((AdvertisementParser.isIBeacon(ad.manufacturerId(i), data, offset, length)
+                            || AdvertisementParser.isAltBeacon(data, offset, length))
+                            && matchesId(data, offset + 2)) {
+                        return true;
+                    }
+                }
+            }
+            if (mHasUuid || mMajor >= 0 || mMinor >= 0) {
+                return false;
+            }
+            final int i = ad.serviceDataIndex(AdvertisementParser.EDDYSTONE_MSB, AdvertisementParser.BASE_UUID_LSB);
+            if (i < 0) {
+                return false;
+            }
+            final int offset = ad.serviceDataOffset(i);
+            final int frame = AdvertisementParser.eddystoneFrame(data, offset, ad.serviceDataLength(i));
+            if (mNamespace == null && mInstance == null) {
+                return frame >= 0;
+            }
+            return frame == AdvertisementParser.EDDYSTONE_UID
+                    && (mNamespace == null || regionEquals(data, offset + 2, mNamespace))
+                    && (mInstance == null || regionEquals(data, offset + 12, mInstance));
+        }
+
+        /**
+         * @param id where the 16 byte uuid, major and minor start
+         */
+        private boolean matchesId(byte[] data, int id) {
+            return (!mHasUuid || (AdvertisementParser.int64be(data, id) == mUuidMsb
+                    && AdvertisementParser.int64be(data, id + 8) == mUuidLsb))
+                    && (mMajor < 0 || AdvertisementParser.uint16be(data, id + 16) == mMajor)
+                    && (mMinor < 0 || AdvertisementParser.uint16be(data, id + 18) == mMinor);
+        }
+
+        private static boolean regionEquals(byte[] data, int offset, byte[] expected) {
+            for (int i = 0; i < expected.length; i++) {
+                if (data[offset + i] != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int cost() {
+            // a prefix check per manufacturer and a uuid lookup
+            return 6;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.pauldemarco.flutterblue;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.List;
+
+/**
+ * Sits between dart's startScan and stopScan and the scanner.
+ *
+ * Android silently drops the results of an app starting more than five scans within 30 seconds.
+ * Starts are therefore counted here and one that would exceed the budget is held back until the
+ * oldest start leaves the window, dart is told through a ScanSessionState.
+ *
+ * A stop only takes effect after a short grace period, a start with the same settings within it
+ * keeps the hardware scan running and costs nothing. Repeated starts with the same settings are
+ * merged into the running scan.
+ *
+ * All calls and timers run on the main thread, results may be checked from any thread.
+ */
+class ScanSessions {
+    static final String METHOD = "ScanSessionState";
+
+    static final int MAX_STARTS = 5;
+    static final long START_WINDOW_MILLIS = 30000;
+    // how long the hardware scan outlives a stopScan, in case dart starts again
+    static final long STOP_GRACE_MILLIS = 2000;
+
+    interface Scanner {
+        void start(Protos.ScanSettings settings) throws Exception;
+
+        void stop();
+    }
+
+    interface Listener {
+        /**
+         * A start held back for the budget failed, the hardware is not scanning.
+         */
+        void onDeferredStartFailed(Exception e);
+    }
+
+    private final Scanner mScanner;
+    private final Listener mListener;
+    private final Handler mMainHandler;
+    private final MessageSink mSink;
+
+    // what dart asked for, null when stopped
+    private Protos.ScanSettings mRequested;
+    // what the hardware scans with, null when not scanning
+    private Protos.ScanSettings mRunning;
+    // whether results are passed on
+    private volatile boolean mDelivering;
+    private boolean mStartDeferred;
+    // ring of the most recent start times
+    private final long[] mStarts = new long[MAX_STARTS];
+    private int mStartCount;
+
+    private final Runnable mStop = new Runnable() {
+        @Override
+        public void run() {
+            stopHardware();
+        }
+    };
+
+    private final Runnable mDeferredStart = new Runnable() {
+        @Override
+        public void run() {
+            mStartDeferred = false;
+            if (mRequested == null) {
+                return;
+            }
+            try {
+                startHardware(mRequested);
+            } catch (Exception e) {
+                mRequested = null;
+                mDelivering = false;
+                mListener.onDeferredStartFailed(e);
+            }
+        }
+    };
+
+    ScanSessions(Scanner scanner, Listener listener, Handler mainHandler, MessageSink sink) {
+        mScanner = scanner;
+        mListener = listener;
+        mMainHandler = mainHandler;
+        mSink = sink;
+    }
+
+    /**
+     * @throws Exception from the scanner, when the scan could not be started right away.
+     */
+    void start(Protos.ScanSettings settings) throws Exception {
+        mMainHandler.removeCallbacks(mStop);
+        mMainHandler.removeCallbacks(mDeferredStart);
+        mStartDeferred = false;
+        mRequested = settings;
+        mDelivering = true;
+        if (settings.equals(mRunning)) {
+            return;
+        }
+        if (mRunning != null) {
+            // the new settings need a new scan, results of the old one would not match them
+            stopHardware();
+        }
+
+        final long wait = startWait();
+        if (wait > 0) {
+            mStartDeferred = true;
+            mMainHandler.postDelayed(mDeferredStart, wait);
+            dispatch(state().setDeferredMillis(wait));
+            return;
+        }
+        try {
+            startHardware(settings);
+        } catch (Exception e) {
+            mRequested = null;
+            mDelivering = false;
+            throw e;
+        }
+    }
+
+    void stop() {
+        mMainHandler.removeCallbacks(mDeferredStart);
+        mStartDeferred = false;
+        mRequested = null;
+        mDelivering = false;
+        if (mRunning != null) {
+            mMainHandler.removeCallbacks(mStop);
+            mMainHandler.postDelayed(mStop, STOP_GRACE_MILLIS);
+        }
+    }
+
+    /**
+     * Stops the hardware right away, for the plugin going away.
+     */
+    void stopNow() {
+        mMainHandler.removeCallbacks(mDeferredStart);
+        mStartDeferred = false;
+        mMainHandler.removeCallbacks(mStop);
+        mRequested = null;
+        mDelivering = false;
+        stopHardware();
+    }
+
+    /**
+     * True while the last start waits for the budget.
+     */
+    boolean isStartDeferred() {
+        return mStartDeferred;
+    }
+
+    /**
+     * Tells dart a scan could not be started.
+     *
+     * @param removed the subscriptions dropped because of it
+     */
+    void reportStartFailure(Exception e, List<Integer> removed) {
+        dispatch(state()
+                .setError(e.getMessage() != null ? e.getMessage() : e.toString())
+                .addAllRemovedSubscriptionIds(removed));
+    }
+
+    /**
+     * False during the grace period after a stop, the results then are not wanted.
+     */
+    boolean isDelivering() {
+        return mDelivering;
+    }
+
+    /**
+     * @param errorCode one of the ScanCallback SCAN_FAILED_ constants
+     */
+    void onScanFailed(int errorCode) {
+        mMainHandler.removeCallbacks(mStop);
+        mRunning = null;
+        mRequested = null;
+        mDelivering = false;
+        dispatch(state().setErrorCode(errorCode));
+    }
+
+    private void startHardware(Protos.ScanSettings settings) throws Exception {
+        mScanner.start(settings);
+        mRunning = settings;
+        mStarts[mStartCount % MAX_STARTS] = SystemClock.uptimeMillis();
+        mStartCount++;
+    }
+
+    private void stopHardware() {
+        if (mRunning != null) {
+            mRunning = null;
+            mScanner.stop();
+        }
+    }
+
+    /**
+     * @return millis until a start fits into the budget, 0 when it does now
+     */
+    private long startWait() {
+        if (mStartCount < MAX_STARTS) {
+            return 0;
+        }
+        // the slot about to be overwritten holds the oldest start
+        final long oldest = mStarts[mStartCount % MAX_STARTS];
+        return Math.max(0, oldest + START_WINDOW_MILLIS - SystemClock.uptimeMillis());
+    }
+
+    private int startsLeft() {
+        final long now = SystemClock.uptimeMillis();
+        int used = 0;
+        for (int i = 0; i < Math.min(mStartCount, MAX_STARTS); i++) {
+            if (now - mStarts[i] < START_WINDOW_MILLIS) {
+                used++;
+            }
+        }
+        return MAX_STARTS - used;
+    }
+
+    private Protos.ScanSessionState.Builder state() {
+        return Protos.ScanSessionState.newBuilder()
+                .setScanning(mRunning != null)
+                .setStartsLeft(startsLeft());
+    }
+
+    private void dispatch(Protos.ScanSessionState.Builder state) {
+        mSink.dispatch(METHOD, state.build().toByteArray(), System.nanoTime());
+    }
+}
@@ -0,0 +1,178 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Scans dart is subscribed to, each with its own settings, sharing one hardware scan.
+ *
+ * The hardware scans with the union of the subscriptions' filters and the most aggressive scan
+ * mode among them. Each result then goes to the subscriptions whose filters it matches, found
+ * from the advertisement as it is encoded, so the record is only parsed once. Their predicates
+ * are checked there too, they cannot be handed to the hardware.
+ *
+ * Subscription 0 is the one startScan and stopScan manage.
+ */
+class ScanSubscriptions {
+    static final int START_SCAN_ID = 0;
+    // besides startScan's
+    static final int MAX_SUBSCRIPTIONS = 32;
+
+    private static class Subscription {
+        final int id;
+        final Protos.ScanSettings settings;
+        // service uuids and filters, any of them has to match, none matches everything
+        final long[] uuidMsb;
+        final long[] uuidLsb;
+        final CompiledScanFilter[] filters;
+        // checked on top of the filters, null when there is none
+        final ScanPredicates.Predicate predicate;
+
+        Subscription(int id, Protos.ScanSettings settings) {
+            this.id = id;
+            this.settings = settings;
+            final int count = settings.getServiceUuidsCount();
+            uuidMsb = new long[count];
+            uuidLsb = new long[count];
+            for (int i = 0; i < count; i++) {
+                final UUID uuid = UUID.fromString(settings.getServiceUuids(i));
+                uuidMsb[i] = uuid.getMostSignificantBits();
+                uuidLsb[i] = uuid.getLeastSignificantBits();
+            }
+            filters = new CompiledScanFilter[settings.getFiltersCount()];
+            for (int i = 0; i < filters.length; i++) {
+                filters[i] = new CompiledScanFilter(settings.getFilters(i));
+            }
+            predicate = settings.hasPredicate() ? ScanPredicates.compile(settings.getPredicate()) : null;
+        }
+
+        boolean unfiltered() {
+            return uuidMsb.length == 0 && filters.length == 0;
+        }
+
+        boolean matches(ParsedAdvertisement ad, String address, int rssi) {
+            return matchesFilters(ad, address) && (predicate == null || predicate.test(ad, rssi));
+        }
+
+        private boolean matchesFilters(ParsedAdvertisement ad, String address) {
+            if (unfiltered()) {
+                return true;
+            }
+            for (int i = 0; i < ad.serviceUuidCount(); i++) {
+                for (int j = 0; j < uuidMsb.length; j++) {
+                    if (ad.serviceUuidMsb(i) == uuidMsb[j] && ad.serviceUuidLsb(i) == uuidLsb[j]) {
+                        return true;
+                    }
+                }
+            }
+            for (CompiledScanFilter f : filters) {
+                if (f.matches(ad, address)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final Map<Integer, Subscription> mSubscriptions = new LinkedHashMap<>();
+    private int mNextId = START_SCAN_ID + 1;
+    // copy read by the scan callback thread
+    private volatile Subscription[] mActive = new Subscription[0];
+
+    /**
+     * @return the new subscription's id
+     * @throws IllegalArgumentException when a uuid or filter is malformed.
+     * @throws IllegalStateException when there are MAX_SUBSCRIPTIONS already.
+     */
+    synchronized int add(Protos.ScanSettings settings) {
+        final int count = mSubscriptions.size() - (mSubscriptions.containsKey(START_SCAN_ID) ? 1 : 0);
+        if (count >= MAX_SUBSCRIPTIONS) {
+            throw new IllegalStateException("more than " + MAX_SUBSCRIPTIONS + " scan subscriptions");
+        }
+        final int id = mNextId++;
+        put(id, settings);
+        return id;
+    }
+
+    /**
+     * Adds the subscription or replaces its settings.
+     *
+     * @throws IllegalArgumentException when a uuid or filter is malformed.
+     */
+    synchronized void put(int id, Protos.ScanSettings settings) {
+        mSubscriptions.put(id, new Subscription(id, settings));
+        publish();
+    }
+
+    /**
+     * @return false when there was no such subscription
+     */
+    synchronized boolean remove(int id) {
+        if (mSubscriptions.remove(id) == null) {
+            return false;
+        }
+        publish();
+        return true;
+    }
+
+    synchronized void clear() {
+        mSubscriptions.clear();
+        publish();
+    }
+
+    /**
+     * @return what the hardware has to scan with, null without subscriptions
+     */
+    synchronized Protos.ScanSettings union() {
+        if (mSubscriptions.isEmpty()) {
+            return null;
+        }
+        int scanMode = Integer.MIN_VALUE;
+        boolean unfiltered = false;
+        final Set<String> uuids = new LinkedHashSet<>();
+        final Set<Protos.ScanFilter> filters = new LinkedHashSet<>();
+        for (Subscription s : mSubscriptions.values()) {
+            // SCAN_MODE_OPPORTUNISTIC (-1) to SCAN_MODE_LOW_LATENCY (2), higher scans more
+            scanMode = Math.max(scanMode, s.settings.getAndroidScanMode());
+            if (s.unfiltered()) {
+                unfiltered = true;
+            }
+            for (int i = 0; i < s.uuidMsb.length; i++) {
+                uuids.add(new UUID(s.uuidMsb[i], s.uuidLsb[i]).toString());
+            }
+            filters.addAll(s.settings.getFiltersList());
+        }
+        final Protos.ScanSettings.Builder p = Protos.ScanSettings.newBuilder();
+        p.setAndroidScanMode(scanMode);
+        if (!unfiltered) {
+            p.addAllServiceUuids(uuids);
+            p.addAllFilters(filters);
+        }
+        return p.build();
+    }
+
+    /**
+     * Finds the subscriptions an advertisement goes to, called from the scan callback thread.
+     *
+     * @param ids receives the ids, MAX_SUBSCRIPTIONS + 1 long
+     * @return the number of ids
+     */
+    int match(ParsedAdvertisement ad, String address, int rssi, int[] ids) {
+        int matched = 0;
+        for (Subscription s : mActive) {
+            if (s.matches(ad, address, rssi)) {
+                ids[matched++] = s.id;
+            }
+        }
+        return matched;
+    }
+
+    private void publish() {
+        mActive = mSubscriptions.values().toArray(new Subscription[0]);
+    }
+}
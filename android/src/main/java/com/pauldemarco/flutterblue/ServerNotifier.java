@@ -0,0 +1,218 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattServer;
+import android.bluetooth.BluetoothGattService;
+import android.os.Handler;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fans characteristic changes out to the gatt server's subscribed clients.
+ *
+ * Android takes one notification per client at a time, the next may only be sent after
+ * onNotificationSent, so every client has its own queue. Queued values of the same characteristic
+ * are coalesced, a slow client gets the latest value instead of a growing backlog.
+ *
+ * A notification the stack refuses, it takes one at a time across all clients, stays queued and is
+ * tried again after a short delay.
+ */
+class ServerNotifier {
+    // client characteristic configuration bits
+    static final int NOTIFY = 0x01;
+    static final int INDICATE = 0x02;
+
+    private static final int DEFAULT_MTU = 23;
+    // opcode and attribute handle
+    private static final int NOTIFICATION_HEADER = 3;
+    private static final long RETRY_MILLIS = 10;
+    // a value refused this many times in a row is dropped, the client is likely gone
+    private static final int MAX_RETRIES = 50;
+    private static final String TAG = "FlutterBluePlugin";
+
+    private class Client implements Runnable {
+        final BluetoothDevice device;
+        final Map<BluetoothGattCharacteristic, Integer> subscriptions = new HashMap<>();
+        final LinkedHashMap<BluetoothGattCharacteristic, byte[]> pending = new LinkedHashMap<>();
+        int mtu = DEFAULT_MTU;
+        boolean inFlight;
+        // set while a retry is posted, inFlight stays set until it runs
+        boolean retrying;
+        int refused;
+
+        Client(BluetoothDevice device) {
+            this.device = device;
+        }
+
+        @Override
+        public void run() {
+            synchronized (ServerNotifier.this) {
+                if (!retrying) {
+                    return;
+                }
+                retrying = false;
+                inFlight = false;
+                sendNext(this);
+            }
+        }
+    }
+
+    private final Handler mMainHandler;
+    private final Map<String, Client> mClients = new HashMap<>();
+    private BluetoothGattServer mServer;
+
+    ServerNotifier(Handler mainHandler) {
+        mMainHandler = mainHandler;
+    }
+
+    synchronized void setServer(BluetoothGattServer server) {
+        mServer = server;
+        for (final Client client : new ArrayList<>(mClients.values())) {
+            cancelRetry(client);
+        }
+        mClients.clear();
+    }
+
+    synchronized void onDisconnected(BluetoothDevice device) {
+        final Client client = mClients.remove(device.getAddress());
+        if (client != null) {
+            cancelRetry(client);
+        }
+    }
+
+    synchronized void onMtuChanged(BluetoothDevice device, int mtu) {
+        client(device).mtu = mtu;
+    }
+
+    /**
+     * @param configuration the client characteristic configuration bits, 0 unsubscribes
+     * @return false when the characteristic does not support what was asked for
+     */
+    synchronized boolean setConfiguration(BluetoothDevice device, BluetoothGattCharacteristic characteristic, int configuration) {
+        final int properties = characteristic.getProperties();
+        if (((configuration & NOTIFY) != 0 && (properties & BluetoothGattCharacteristic.PROPERTY_NOTIFY) == 0)
+                || ((configuration & INDICATE) != 0 && (properties & BluetoothGattCharacteristic.PROPERTY_INDICATE) == 0)) {
+            return false;
+        }
+
+        final Client client = client(device);
+        if ((configuration & (NOTIFY | INDICATE)) == 0) {
+            client.subscriptions.remove(characteristic);
+            client.pending.remove(characteristic);
+        } else {
+            client.subscriptions.put(characteristic, configuration & (NOTIFY | INDICATE));
+        }
+        return true;
+    }
+
+    /**
+     * Drops subscriptions to a service removed from the server.
+     */
+    synchronized void forget(BluetoothGattService service) {
+        for (final Client client : mClients.values()) {
+            for (final BluetoothGattCharacteristic c : service.getCharacteristics()) {
+                client.subscriptions.remove(c);
+                client.pending.remove(c);
+            }
+        }
+    }
+
+    /**
+     * @return the client characteristic configuration value as read by that client
+     */
+    synchronized byte[] getConfiguration(BluetoothDevice device, BluetoothGattCharacteristic characteristic) {
+        final Client client = mClients.get(device.getAddress());
+        final Integer configuration = client != null ? client.subscriptions.get(characteristic) : null;
+        return new byte[]{configuration != null ? configuration.byteValue() : 0, 0};
+    }
+
+    /**
+     * Queues the value for every client subscribed to the characteristic.
+     *
+     * @return the number of clients the value goes out to
+     */
+    synchronized int notifyChanged(BluetoothGattCharacteristic characteristic, byte[] value) {
+        int count = 0;
+        for (final Client client : mClients.values()) {
+            if (!client.subscriptions.containsKey(characteristic)) {
+                continue;
+            }
+            client.pending.remove(characteristic);
+            client.pending.put(characteristic, value);
+            count++;
+            if (!client.inFlight) {
+                sendNext(client);
+            }
+        }
+        return count;
+    }
+
+    synchronized void onNotificationSent(BluetoothDevice device, int status) {
+        final Client client = mClients.get(device.getAddress());
+        if (client == null) {
+            return;
+        }
+        cancelRetry(client);
+        client.inFlight = false;
+        sendNext(client);
+    }
+
+    private void cancelRetry(Client client) {
+        if (client.retrying) {
+            client.retrying = false;
+            mMainHandler.removeCallbacks(client);
+        }
+    }
+
+    private Client client(BluetoothDevice device) {
+        Client client = mClients.get(device.getAddress());
+        if (client == null) {
+            client = new Client(device);
+            mClients.put(device.getAddress(), client);
+        }
+        return client;
+    }
+
+    private void sendNext(Client client) {
+        final Iterator<Map.Entry<BluetoothGattCharacteristic, byte[]>> it = client.pending.entrySet().iterator();
+        while (mServer != null && it.hasNext()) {
+            final Map.Entry<BluetoothGattCharacteristic, byte[]> next = it.next();
+            final BluetoothGattCharacteristic characteristic = next.getKey();
+            final Integer configuration = client.subscriptions.get(characteristic);
+            if (configuration == null) {
+                it.remove();
+                continue;
+            }
+
+            final int max = client.mtu - NOTIFICATION_HEADER;
+            final byte[] value = next.getValue();
+            // the characteristic is shared by all clients, its value is only set under our lock
+            characteristic.setValue(value.length > max ? Arrays.copyOf(value, max) : value);
+            final boolean confirm = (configuration & INDICATE) != 0;
+            if (mServer.notifyCharacteristicChanged(client.device, characteristic, confirm)) {
+                it.remove();
+                client.refused = 0;
+                client.inFlight = true;
+                return;
+            }
+
+            // the value stays queued, later changes still replace it
+            if (++client.refused <= MAX_RETRIES) {
+                client.inFlight = true;
+                client.retrying = true;
+                mMainHandler.postDelayed(client, RETRY_MILLIS);
+                return;
+            }
+            Log.w(TAG, "dropping notification of " + characteristic.getUuid() + " to " + client.device.getAddress());
+            it.remove();
+            client.refused = 0;
+        }
+    }
+}
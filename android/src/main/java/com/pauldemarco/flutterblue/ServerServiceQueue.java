@@ -0,0 +1,145 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattServer;
+import android.bluetooth.BluetoothGattService;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adds services to the gatt server one at a time, android refuses addService until the previous
+ * one was confirmed by onServiceAdded.
+ *
+ * Services requested together are added as a unit: included services go first, since the stack
+ * needs their handles, and a failure removes whatever the request had added so far.
+ */
+class ServerServiceQueue {
+    /**
+     * Status of the requests dropped because the server went away.
+     */
+    static final int SERVER_STOPPED = -1;
+
+    interface Callback {
+        /**
+         * @param added every service added to the server, included ones first, empty on failure
+         * @param status gatt status of the first failed add, {@link #SERVER_STOPPED}, or success
+         */
+        void onComplete(List<BluetoothGattService> added, int status);
+    }
+
+    private static class Request {
+        final List<BluetoothGattService> pending = new ArrayList<>();
+        final List<BluetoothGattService> added = new ArrayList<>();
+        final Callback callback;
+
+        Request(Callback callback) {
+            this.callback = callback;
+        }
+    }
+
+    private final ArrayDeque<Request> mQueue = new ArrayDeque<>();
+    private BluetoothGattServer mServer;
+    private BluetoothGattService mInFlight;
+
+    /**
+     * Completes all queued requests with {@link #SERVER_STOPPED}.
+     */
+    synchronized void setServer(BluetoothGattServer server) {
+        mServer = server;
+        mInFlight = null;
+        final Request[] dropped = mQueue.toArray(new Request[0]);
+        mQueue.clear();
+        for (final Request r : dropped) {
+            r.callback.onComplete(new ArrayList<BluetoothGattService>(), SERVER_STOPPED);
+        }
+    }
+
+    synchronized void add(List<BluetoothGattService> services, Callback callback) {
+        final Request request = new Request(callback);
+        for (final BluetoothGattService s : services) {
+            flatten(s, request.pending);
+        }
+        mQueue.add(request);
+        if (mInFlight == null) {
+            next();
+        }
+    }
+
+    synchronized void onServiceAdded(int status, BluetoothGattService service) {
+        final Request request = mQueue.peek();
+        if (request == null || service != mInFlight) {
+            return;
+        }
+        mInFlight = null;
+
+        if (status != BluetoothGatt.GATT_SUCCESS) {
+            fail(request, status);
+        } else {
+            request.added.add(service);
+            if (request.pending.isEmpty()) {
+                mQueue.poll();
+                request.callback.onComplete(request.added, BluetoothGatt.GATT_SUCCESS);
+            }
+        }
+        next();
+    }
+
+    /**
+     * Removes a service that is on the server or still queued.
+     *
+     * @return the service removed, null when there was none with that uuid
+     */
+    synchronized BluetoothGattService remove(UUID uuid) {
+        for (final Request r : mQueue) {
+            for (final BluetoothGattService s : r.pending) {
+                if (s.getUuid().equals(uuid)) {
+                    r.pending.remove(s);
+                    return s;
+                }
+            }
+        }
+        if (mServer == null) {
+            return null;
+        }
+        final BluetoothGattService service = mServer.getService(uuid);
+        return service != null && mServer.removeService(service) ? service : null;
+    }
+
+    private void next() {
+        while (mServer != null && mInFlight == null && !mQueue.isEmpty()) {
+            final Request request = mQueue.peek();
+            if (request.pending.isEmpty()) {
+                mQueue.poll();
+                request.callback.onComplete(request.added, BluetoothGatt.GATT_SUCCESS);
+                continue;
+            }
+
+            final BluetoothGattService service = request.pending.remove(0);
+            mInFlight = service;
+            if (!mServer.addService(service)) {
+                mInFlight = null;
+                fail(request, BluetoothGatt.GATT_FAILURE);
+            }
+        }
+    }
+
+    private void fail(Request request, int status) {
+        mQueue.remove(request);
+        for (final BluetoothGattService s : request.added) {
+            mServer.removeService(s);
+        }
+        request.callback.onComplete(new ArrayList<BluetoothGattService>(), status);
+    }
+
+    private void flatten(BluetoothGattService service, List<BluetoothGattService> out) {
+        for (final BluetoothGattService included : service.getIncludedServices()) {
+            if (!out.contains(included) && (mServer == null || !mServer.getServices().contains(included))) {
+                flatten(included, out);
+            }
+        }
+        out.add(service);
+    }
+}
@@ -0,0 +1,84 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattService;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Characteristic values served by the gatt server.
+ *
+ * Values are set from the main thread and read on binder threads, every stored array is a private
+ * copy that is never modified so readers need no locking. Keyed by the characteristic instance
+ * since uuids may repeat across services.
+ */
+class ServerValueStore {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ConcurrentHashMap<BluetoothGattCharacteristic, byte[]> mValues = new ConcurrentHashMap<>();
+
+    /**
+     * Seeds the store with the initial values of the service's characteristics. Included services
+     * are added to the server on their own and registered separately.
+     */
+    void register(BluetoothGattService service) {
+        for (final BluetoothGattCharacteristic c : service.getCharacteristics()) {
+            final byte[] value = c.getValue();
+            mValues.put(c, value != null ? Arrays.copyOf(value, value.length) : EMPTY);
+        }
+    }
+
+    void unregister(BluetoothGattService service) {
+        for (final BluetoothGattCharacteristic c : service.getCharacteristics()) {
+            mValues.remove(c);
+        }
+    }
+
+    void clear() {
+        mValues.clear();
+    }
+
+    /**
+     * @return false when the characteristic does not belong to a registered service
+     */
+    boolean set(BluetoothGattCharacteristic characteristic, byte[] value) {
+        if (!mValues.containsKey(characteristic)) {
+            return false;
+        }
+        mValues.put(characteristic, Arrays.copyOf(value, value.length));
+        return true;
+    }
+
+    /**
+     * @return the current value, null when not registered. Must not be modified.
+     */
+    byte[] get(BluetoothGattCharacteristic characteristic) {
+        return mValues.get(characteristic);
+    }
+
+    /**
+     * Gatt status of a read at offset, long reads continue with increasing offsets. The stack
+     * truncates the response to the connection's MTU.
+     */
+    static int readStatus(BluetoothGattCharacteristic characteristic, byte[] value, int offset) {
+        if (value == null) {
+            return BluetoothGatt.GATT_FAILURE;
+        }
+        if ((characteristic.getProperties() & BluetoothGattCharacteristic.PROPERTY_READ) == 0) {
+            return BluetoothGatt.GATT_READ_NOT_PERMITTED;
+        }
+        if (offset < 0 || offset > value.length) {
+            return BluetoothGatt.GATT_INVALID_OFFSET;
+        }
+        return BluetoothGatt.GATT_SUCCESS;
+    }
+
+    static byte[] readAt(byte[] value, int offset) {
+        if (offset == 0) {
+            return value;
+        }
+        return Arrays.copyOfRange(value, offset, value.length);
+    }
+}
@@ -0,0 +1,204 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothDevice;
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+
+import com.google.protobuf.ByteString;
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gatt server characteristic writes, answered natively and delivered to dart in batches.
+ *
+ * Prepared writes are buffered per client until the client executes or cancels them. Completed
+ * writes update the {@link ServerValueStore} and collect into one ServerCharacteristicWriteBatch
+ * until the next flush, so a central streaming writes costs a channel message per batch rather
+ * than per chunk.
+ */
+class ServerWriteHandler {
+    static final String METHOD = "ServerCharacteristicWrites";
+
+    // longest attribute value allowed by the spec
+    private static final int MAX_VALUE_LENGTH = 512;
+
+    private static class PreparedWrite {
+        final BluetoothGattCharacteristic characteristic;
+        final int offset;
+        final byte[] value;
+
+        PreparedWrite(BluetoothGattCharacteristic characteristic, int offset, byte[] value) {
+            this.characteristic = characteristic;
+            this.offset = offset;
+            this.value = value;
+        }
+    }
+
+    private final ServerValueStore mValues;
+    private final Runnable mScheduleFlush;
+    private final Map<String, List<PreparedWrite>> mPrepared = new HashMap<>();
+    private Protos.ServerCharacteristicWriteBatch.Builder mBatch = Protos.ServerCharacteristicWriteBatch.newBuilder();
+    private long mBatchStartedAt;
+
+    /**
+     * @param scheduleFlush called when a write lands in an empty batch, must arrange for
+     *                      {@link #flush(MessageSink)} to run
+     */
+    ServerWriteHandler(ServerValueStore values, Runnable scheduleFlush) {
+        mValues = values;
+        mScheduleFlush = scheduleFlush;
+    }
+
+    /**
+     * @return the gatt status to respond with
+     */
+    synchronized int write(BluetoothDevice device, BluetoothGattCharacteristic characteristic, boolean preparedWrite,
+                           int offset, byte[] value, long receivedAt) {
+        final int properties = characteristic.getProperties();
+        if ((properties & (BluetoothGattCharacteristic.PROPERTY_WRITE | BluetoothGattCharacteristic.PROPERTY_WRITE_NO_RESPONSE)) == 0) {
+            return BluetoothGatt.GATT_WRITE_NOT_PERMITTED;
+        }
+        if (value == null) {
+            value = new byte[0];
+        }
+        if (offset < 0 || offset + value.length > MAX_VALUE_LENGTH) {
+            return BluetoothGatt.GATT_INVALID_ATTRIBUTE_LENGTH;
+        }
+
+        if (preparedWrite) {
+            List<PreparedWrite> queue = mPrepared.get(device.getAddress());
+            // the offset counts in the value as the writes queued before leave it
+            final int length = projectedLength(characteristic, queue, queue != null ? queue.size() : 0);
+            if (length < 0) {
+                return BluetoothGatt.GATT_FAILURE;
+            }
+            if (offset > length) {
+                return BluetoothGatt.GATT_INVALID_OFFSET;
+            }
+            if (queue == null) {
+                queue = new ArrayList<>();
+                mPrepared.put(device.getAddress(), queue);
+            }
+            queue.add(new PreparedWrite(characteristic, offset, value));
+            return BluetoothGatt.GATT_SUCCESS;
+        }
+
+        final int status = apply(characteristic, offset, value);
+        if (status == BluetoothGatt.GATT_SUCCESS) {
+            delivered(device, characteristic, receivedAt);
+        }
+        return status;
+    }
+
+    /**
+     * Applies or discards the client's prepared writes, all of them or none.
+     *
+     * @return the gatt status to respond with
+     */
+    synchronized int execute(BluetoothDevice device, boolean execute, long receivedAt) {
+        final List<PreparedWrite> queue = mPrepared.remove(device.getAddress());
+        if (!execute || queue == null) {
+            return BluetoothGatt.GATT_SUCCESS;
+        }
+
+        // the values may have been replaced since the writes were queued
+        for (int i = 0; i < queue.size(); i++) {
+            final PreparedWrite w = queue.get(i);
+            final int length = projectedLength(w.characteristic, queue, i);
+            if (length < 0) {
+                return BluetoothGatt.GATT_FAILURE;
+            }
+            if (w.offset > length) {
+                return BluetoothGatt.GATT_INVALID_OFFSET;
+            }
+        }
+        final List<BluetoothGattCharacteristic> written = new ArrayList<>();
+        for (final PreparedWrite w : queue) {
+            apply(w.characteristic, w.offset, w.value);
+            if (!written.contains(w.characteristic)) {
+                written.add(w.characteristic);
+            }
+        }
+        for (final BluetoothGattCharacteristic c : written) {
+            delivered(device, c, receivedAt);
+        }
+        return BluetoothGatt.GATT_SUCCESS;
+    }
+
+    synchronized void onDisconnected(BluetoothDevice device) {
+        mPrepared.remove(device.getAddress());
+    }
+
+    synchronized void clear() {
+        mPrepared.clear();
+        mBatch.clear();
+    }
+
+    /**
+     * Sends the writes collected since the last flush as one message.
+     */
+    void flush(MessageSink sink) {
+        final Protos.ServerCharacteristicWriteBatch batch;
+        final long startedAt;
+        synchronized (this) {
+            if (mBatch.getWritesCount() == 0) {
+                return;
+            }
+            batch = mBatch.build();
+            startedAt = mBatchStartedAt;
+            mBatch = Protos.ServerCharacteristicWriteBatch.newBuilder();
+        }
+        sink.dispatch(METHOD, batch.toByteArray(), startedAt);
+    }
+
+    /**
+     * @return the length of the characteristic's value once the first count writes of the queue
+     *         are applied, -1 when it is not in the store
+     */
+    private int projectedLength(BluetoothGattCharacteristic characteristic, List<PreparedWrite> queue, int count) {
+        final byte[] current = mValues.get(characteristic);
+        if (current == null) {
+            return -1;
+        }
+        int length = current.length;
+        for (int i = 0; i < count; i++) {
+            final PreparedWrite w = queue.get(i);
+            if (w.characteristic == characteristic) {
+                length = w.offset + w.value.length;
+            }
+        }
+        return length;
+    }
+
+    private int apply(BluetoothGattCharacteristic characteristic, int offset, byte[] value) {
+        final byte[] current = mValues.get(characteristic);
+        if (current == null) {
+            return BluetoothGatt.GATT_FAILURE;
+        }
+        if (offset > current.length) {
+            return BluetoothGatt.GATT_INVALID_OFFSET;
+        }
+        final byte[] next = new byte[offset + value.length];
+        System.arraycopy(current, 0, next, 0, offset);
+        System.arraycopy(value, 0, next, offset, value.length);
+        mValues.set(characteristic, next);
+        return BluetoothGatt.GATT_SUCCESS;
+    }
+
+    private void delivered(BluetoothDevice device, BluetoothGattCharacteristic characteristic, long receivedAt) {
+        final boolean first = mBatch.getWritesCount() == 0;
+        mBatch.addWrites(Protos.ServerCharacteristicWrite.newBuilder()
+                .setRemoteId(device.getAddress())
+                .setServiceUuid(characteristic.getService().getUuid().toString())
+                .setCharacteristicUuid(characteristic.getUuid().toString())
+                .setValue(ByteString.copyFrom(mValues.get(characteristic))));
+        if (first) {
+            mBatchStartedAt = receivedAt;
+            mScheduleFlush.run();
+        }
+    }
+}
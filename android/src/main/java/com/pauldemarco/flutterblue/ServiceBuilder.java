@@ -11,6 +11,8 @@ import java.util.UUID;
 import io.flutter.plugin.common.MethodChannel;
 
 public class ServiceBuilder {
+    private static final UUID CCCD_ID = UUID.fromString("00002902-0000-1000-8000-00805f9b34fb");
+
     private ServiceBuilder() {
         // NOTE: sealed class for static access only
     }
@@ -48,6 +50,9 @@ public class ServiceBuilder {
         if (props.getWrite()) {
             properties |= BluetoothGattCharacteristic.PROPERTY_WRITE;
         }
+        if (props.getWriteWithoutResponse()) {
+            properties |= BluetoothGattCharacteristic.PROPERTY_WRITE_NO_RESPONSE;
+        }
         if (props.getRead()) {
             properties |= BluetoothGattCharacteristic.PROPERTY_READ;
         }
@@ -75,9 +80,18 @@ public class ServiceBuilder {
         }
         // NOT IMPLEMENTED
 
+        // the stack rejects reads and writes of attributes without permission before asking us
+        int permissions = 0;
+        if ((properties & BluetoothGattCharacteristic.PROPERTY_READ) != 0) {
+            permissions |= BluetoothGattCharacteristic.PERMISSION_READ;
+        }
+        if ((properties & (BluetoothGattCharacteristic.PROPERTY_WRITE | BluetoothGattCharacteristic.PROPERTY_WRITE_NO_RESPONSE)) != 0) {
+            permissions |= BluetoothGattCharacteristic.PERMISSION_WRITE;
+        }
+
         final BluetoothGattCharacteristic out = new BluetoothGattCharacteristic(
                 UUID.fromString(chs.getUuid()),
-                properties, 0);
+                properties, permissions);
 
         // set value if possible
         if (chs.getValue() != null) {
@@ -95,6 +109,13 @@ public class ServiceBuilder {
             }
         }
 
+        // clients can only subscribe through a client characteristic configuration descriptor
+        if ((properties & (BluetoothGattCharacteristic.PROPERTY_NOTIFY | BluetoothGattCharacteristic.PROPERTY_INDICATE)) != 0
+                && out.getDescriptor(CCCD_ID) == null) {
+            out.addDescriptor(new BluetoothGattDescriptor(CCCD_ID,
+                    BluetoothGattDescriptor.PERMISSION_READ | BluetoothGattDescriptor.PERMISSION_WRITE));
+        }
+
         return out;
     }
 
@@ -0,0 +1,113 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGattService;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serialized service trees per connection, so asking for the services again does not convert the
+ * whole gatt database again.
+ *
+ * A tree is kept until the services are rediscovered or the device disconnects. Characteristic
+ * and descriptor values in it are the ones known when it was built.
+ */
+class ServiceCache {
+    // index of a tree's format in Entry.services
+    private static final int COMPACT = 1;
+    private static final int BINARY_UUIDS = 2;
+
+    private static class Entry {
+        final byte[][] services = new byte[4][];
+        final Map<UUID, byte[][]> service = new HashMap<>();
+    }
+
+    private final Map<String, Entry> mEntries = new HashMap<>();
+
+    /**
+     * Builds the tree of freshly discovered services, replacing what was cached.
+     *
+     * @return a DiscoverServicesResult, or a CompactDiscoverServicesResult when compact
+     */
+    synchronized byte[] discovered(String remoteId, List<BluetoothGattService> services, boolean compact, boolean binaryUuids) {
+        mEntries.remove(remoteId);
+        return services(remoteId, services, compact, binaryUuids);
+    }
+
+    /**
+     * @param services what the connection discovered, only converted when not cached
+     * @return a DiscoverServicesResult, or a CompactDiscoverServicesResult when compact
+     */
+    synchronized byte[] services(String remoteId, List<BluetoothGattService> services, boolean compact, boolean binaryUuids) {
+        final Entry entry = entryFor(remoteId);
+        final int format = (compact ? COMPACT : 0) | (binaryUuids ? BINARY_UUIDS : 0);
+        if (entry.services[format] != null) {
+            return entry.services[format];
+        }
+
+        if (compact) {
+            entry.services[format] = CompactDiscovery.from(remoteId, services, binaryUuids).toByteArray();
+        } else {
+            final Protos.DiscoverServicesResult.Builder p = Protos.DiscoverServicesResult.newBuilder();
+            p.setRemoteId(remoteId);
+            for (BluetoothGattService s : services) {
+                p.addServices(ProtoMaker.from(remoteId, s, services, binaryUuids));
+            }
+            entry.services[format] = p.build().toByteArray();
+        }
+        return entry.services[format];
+    }
+
+    /**
+     * Converts only the one service and what it includes.
+     *
+     * @return a BluetoothService, null when the connection has no such service
+     */
+    synchronized byte[] service(String remoteId, List<BluetoothGattService> services, UUID uuid, boolean binaryUuids) {
+        final Entry entry = entryFor(remoteId);
+        byte[][] formats = entry.service.get(uuid);
+        if (formats == null) {
+            formats = new byte[2][];
+            entry.service.put(uuid, formats);
+        }
+        final int format = binaryUuids ? 1 : 0;
+        if (formats[format] == null) {
+            BluetoothGattService found = null;
+            for (BluetoothGattService s : services) {
+                if (s.getUuid().equals(uuid)) {
+                    found = s;
+                    break;
+                }
+            }
+            if (found == null) {
+                return null;
+            }
+            formats[format] = ProtoMaker.from(remoteId, found, services, binaryUuids).toByteArray();
+        }
+        return formats[format];
+    }
+
+    /**
+     * Called when the device connects or disconnects, a new connection starts from scratch.
+     */
+    synchronized void invalidate(String remoteId) {
+        mEntries.remove(remoteId);
+    }
+
+    synchronized void clear() {
+        mEntries.clear();
+    }
+
+    private Entry entryFor(String remoteId) {
+        Entry entry = mEntries.get(remoteId);
+        if (entry == null) {
+            entry = new Entry();
+            mEntries.put(remoteId, entry);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,152 @@
+package com.pauldemarco.flutterblue;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Fixed size ring buffer of structured gatt events.
+ *
+ * Entries are kept in preallocated primitive arrays so recording never allocates,
+ * text is only produced when the buffer is dumped.
+ */
+class TraceBuffer {
+    static final int CAPACITY = 1024;
+
+    enum Event {
+        CONNECTION_STATE("onConnectionStateChange", "newState"),
+        SERVICES_DISCOVERED("onServicesDiscovered", "count"),
+        CHARACTERISTIC_READ("onCharacteristicRead", "length"),
+        CHARACTERISTIC_WRITE("onCharacteristicWrite", "length"),
+        CHARACTERISTIC_CHANGED("onCharacteristicChanged", "length"),
+        DESCRIPTOR_READ("onDescriptorRead", "length"),
+        DESCRIPTOR_WRITE("onDescriptorWrite", "length"),
+        RELIABLE_WRITE_COMPLETED("onReliableWriteCompleted", null),
+        READ_REMOTE_RSSI("onReadRemoteRssi", "rssi"),
+        MTU_CHANGED("onMtuChanged", "mtu");
+
+        final String callback;
+        final String valueLabel;
+
+        Event(String callback, String valueLabel) {
+            this.callback = callback;
+            this.valueLabel = valueLabel;
+        }
+    }
+
+    /**
+     * Status value for events that do not carry a gatt status.
+     */
+    static final int NO_STATUS = Integer.MIN_VALUE;
+
+    private static final Event[] EVENTS = Event.values();
+    private static final int MASK = CAPACITY - 1;
+
+    private final long[] timestamps = new long[CAPACITY];
+    private final byte[] events = new byte[CAPACITY];
+    private final long[] devices = new long[CAPACITY];
+    private final long[] attributesMsb = new long[CAPACITY];
+    private final long[] attributesLsb = new long[CAPACITY];
+    private final int[] statuses = new int[CAPACITY];
+    private final int[] values = new int[CAPACITY];
+    private long written;
+
+    private volatile boolean enabled;
+
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @param address   device MAC address, "XX:XX:XX:XX:XX:XX"
+     * @param attribute characteristic or descriptor uuid, may be null
+     */
+    void record(Event event, String address, UUID attribute, int status, int value) {
+        if (!enabled) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+        final long device = addressToLong(address);
+        final long msb = attribute != null ? attribute.getMostSignificantBits() : 0;
+        final long lsb = attribute != null ? attribute.getLeastSignificantBits() : 0;
+
+        synchronized (this) {
+            final int i = (int) (written & MASK);
+            timestamps[i] = now;
+            events[i] = (byte) event.ordinal();
+            devices[i] = device;
+            attributesMsb[i] = msb;
+            attributesLsb[i] = lsb;
+            statuses[i] = status;
+            values[i] = value;
+            written++;
+        }
+    }
+
+    synchronized Protos.TraceDump toProto() {
+        final Protos.TraceDump.Builder p = Protos.TraceDump.newBuilder();
+        final long now = System.nanoTime();
+        final long first = Math.max(0, written - CAPACITY);
+        for (long n = first; n < written; n++) {
+            final int i = (int) (n & MASK);
+            final UUID attribute = (attributesMsb[i] != 0 || attributesLsb[i] != 0)
+                    ? new UUID(attributesMsb[i], attributesLsb[i]) : null;
+            p.addEvents(format(now - timestamps[i], EVENTS[events[i]], devices[i], attribute, statuses[i], values[i]));
+        }
+        p.setOverwritten(first);
+        return p.build();
+    }
+
+    /**
+     * Human readable form of an event, shared with the logcat output.
+     */
+    static String format(long ageNanos, Event event, long device, UUID attribute, int status, int value) {
+        final StringBuilder sb = new StringBuilder();
+        if (ageNanos >= 0) {
+            sb.append(String.format(Locale.US, "-%.3fms ", ageNanos / 1000000.0));
+        }
+        sb.append('[').append(event.callback).append("] ").append(longToAddress(device));
+        if (attribute != null) {
+            sb.append(" uuid: ").append(attribute);
+        }
+        if (status != NO_STATUS) {
+            sb.append(" status: ").append(GattHelpers.gattStatusToString(status));
+        }
+        if (event.valueLabel != null) {
+            sb.append(' ').append(event.valueLabel).append(": ");
+            if (event == Event.CONNECTION_STATE) {
+                sb.append(GattHelpers.connectionStateToString(value));
+            } else {
+                sb.append(value);
+            }
+        }
+        return sb.toString();
+    }
+
+    static long addressToLong(String address) {
+        if (address == null) {
+            return 0;
+        }
+        long out = 0;
+        for (int i = 0; i < address.length(); i++) {
+            final int digit = Character.digit(address.charAt(i), 16);
+            if (digit >= 0) {
+                out = (out << 4) | digit;
+            }
+        }
+        return out;
+    }
+
+    static String longToAddress(long device) {
+        final StringBuilder sb = new StringBuilder(17);
+        for (int shift = 40; shift >= 0; shift -= 8) {
+            sb.append(String.format(Locale.US, "%02X", (device >> shift) & 0xFF));
+            if (shift > 0) {
+                sb.append(':');
+            }
+        }
+        return sb.toString();
+    }
+}
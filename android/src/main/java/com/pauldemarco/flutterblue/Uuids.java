@@ -0,0 +1,107 @@
+package com.pauldemarco.flutterblue;
+
+import com.google.protobuf.ByteString;
+
+import java.util.UUID;
+
+/**
+ * Binary uuids as the binary_*uuid proto fields carry them: uuids on the bluetooth base uuid in
+ * their 16 or 32 bit short form, any other uuid as all 16 bytes, most significant byte first.
+ */
+class Uuids {
+    private Uuids() {
+    }
+
+    static boolean isShort(long msb, long lsb) {
+        return lsb == AdvertisementParser.BASE_UUID_LSB
+                && (msb & 0xFFFFFFFFL) == AdvertisementParser.BASE_UUID_MSB;
+    }
+
+    /**
+     * @return 2, 4 or 16
+     */
+    static int binaryLength(long msb, long lsb) {
+        if (!isShort(msb, lsb)) {
+            return 16;
+        }
+        return (msb >>> 32) <= 0xFFFF ? 2 : 4;
+    }
+
+    /**
+     * Writes the binary form into out from offset, {@link #binaryLength} bytes.
+     */
+    static void toBinary(long msb, long lsb, byte[] out, int offset) {
+        final int length = binaryLength(msb, lsb);
+        if (length == 16) {
+            putLong(msb, out, offset);
+            putLong(lsb, out, offset + 8);
+            return;
+        }
+        final long value = msb >>> 32;
+        for (int i = 0; i < length; i++) {
+            out[offset + i] = (byte) (value >>> (8 * (length - 1 - i)));
+        }
+    }
+
+    static ByteString toBinary(UUID uuid) {
+        final long msb = uuid.getMostSignificantBits();
+        final long lsb = uuid.getLeastSignificantBits();
+        final byte[] out = new byte[binaryLength(msb, lsb)];
+        toBinary(msb, lsb, out, 0);
+        return ByteString.copyFrom(out);
+    }
+
+    /**
+     * @throws IllegalArgumentException when not 2, 4 or 16 bytes long.
+     */
+    static UUID fromBinary(ByteString binary) {
+        switch (binary.size()) {
+            case 2:
+            case 4: {
+                long value = 0;
+                for (int i = 0; i < binary.size(); i++) {
+                    value = (value << 8) | (binary.byteAt(i) & 0xFF);
+                }
+                return new UUID(AdvertisementParser.shortUuidMsb(value), AdvertisementParser.BASE_UUID_LSB);
+            }
+            case 16:
+                return new UUID(getLong(binary, 0), getLong(binary, 8));
+            default:
+                throw new IllegalArgumentException("binary uuid of " + binary.size() + " bytes, expected 2, 4 or 16");
+        }
+    }
+
+    /**
+     * Reads a request uuid from whichever of its fields the client set.
+     *
+     * @return null when neither is set
+     * @throws IllegalArgumentException when malformed.
+     */
+    static UUID parse(ByteString binary, String string) {
+        if (!binary.isEmpty()) {
+            return fromBinary(binary);
+        }
+        return parse(string);
+    }
+
+    /**
+     * @return null when empty
+     */
+    static UUID parse(String string) {
+        return string.isEmpty() ? null : UUID.fromString(string);
+    }
+
+    private static void putLong(long value, byte[] out, int offset) {
+        for (int i = 0; i < 8; i++) {
+            out[offset + i] = (byte) (value >>> (56 - 8 * i));
+        }
+    }
+
+    private static long getLong(ByteString binary, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (binary.byteAt(offset + i) & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,291 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothProfile;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the scan pipeline and {@link GattClient} against {@link SimulatedBackend}: 1000 devices
+ * advertising while 20 of them are connected, discovered and stream notifications. The test
+ * thread plays the dart side, it gets every message in order and issues the next operation.
+ *
+ * Robolectric provides working gatt attribute classes.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class GattClientLoadTest {
+    private static final int ADVERTISERS = 1000;
+    private static final int CONNECTIONS = 20;
+    private static final int NOTIFICATIONS = 25;
+    private static final int MTU = 247;
+    private static final long TIMEOUT_MILLIS = 30000;
+    private static final UUID SERVICE = UUID.fromString("0000180d-0000-1000-8000-00805f9b34fb");
+    private static final UUID NOTIFY_CHARACTERISTIC = UUID.fromString("00002a37-0000-1000-8000-00805f9b34fb");
+    private static final UUID CONTROL_CHARACTERISTIC = UUID.fromString("00002a39-0000-1000-8000-00805f9b34fb");
+
+    private static class Message {
+        final String method;
+        final byte[] payload;
+
+        Message(String method, byte[] payload) {
+            this.method = method;
+            this.payload = payload;
+        }
+    }
+
+    private static final GattClient.Tracer NO_TRACE = new GattClient.Tracer() {
+        @Override
+        public void trace(TraceBuffer.Event event, String address, UUID attribute, int status, int value) {
+        }
+    };
+
+    private final BlockingQueue<Message> messages = new LinkedBlockingQueue<>();
+    private final MessageSink sink = new MessageSink() {
+        @Override
+        public void dispatch(String method, byte[] payload, long receivedAt) {
+            messages.add(new Message(method, payload));
+        }
+    };
+
+    private SimulatedBackend backend;
+    private GattClient client;
+
+    private static String address(int index) {
+        return String.format(Locale.US, "00:00:00:00:%02X:%02X", (index >> 8) & 0xFF, index & 0xFF);
+    }
+
+    // flags, the heart rate service and manufacturer data carrying the index, zero padded like a
+    // real 31 byte legacy payload
+    private static byte[] advertisement(int index) {
+        final byte[] out = new byte[31];
+        final byte[] head = {0x02, 0x01, 0x06, 0x03, 0x03, 0x0D, 0x18, 0x05, (byte) 0xFF, 0x4C, 0x00};
+        System.arraycopy(head, 0, out, 0, head.length);
+        out[head.length] = (byte) (index >> 8);
+        out[head.length + 1] = (byte) index;
+        return out;
+    }
+
+    @Before
+    public void setUp() {
+        backend = new SimulatedBackend(42);
+        client = new GattClient(backend, sink, NO_TRACE);
+        backend.setGattListener(client);
+    }
+
+    @After
+    public void tearDown() {
+        backend.shutdown();
+    }
+
+    private SimulatedBackend.Peripheral peripheral(int index) {
+        final SimulatedBackend.Peripheral p = new SimulatedBackend.Peripheral(address(index));
+        p.name = "sim-" + index;
+        p.advertisement = advertisement(index);
+        p.advertisedServices = Collections.singletonList(SERVICE);
+        p.notifyIntervalMillis = 20;
+        final BluetoothGattCharacteristic notify = new BluetoothGattCharacteristic(NOTIFY_CHARACTERISTIC,
+                BluetoothGattCharacteristic.PROPERTY_NOTIFY, 0);
+        notify.setValue(new byte[]{0x00, 0x48});
+        final BluetoothGattCharacteristic control = new BluetoothGattCharacteristic(CONTROL_CHARACTERISTIC,
+                BluetoothGattCharacteristic.PROPERTY_READ | BluetoothGattCharacteristic.PROPERTY_WRITE,
+                BluetoothGattCharacteristic.PERMISSION_READ | BluetoothGattCharacteristic.PERMISSION_WRITE);
+        control.setValue(new byte[]{0x01});
+        return p.addService(SERVICE, notify, control);
+    }
+
+    private Message next(long deadline) throws InterruptedException {
+        final Message m = messages.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        if (m == null) {
+            fail("timed out waiting for messages");
+        }
+        return m;
+    }
+
+    @Test
+    public void scansWhileConnectionsStreamNotifications() throws Exception {
+        for (int i = 0; i < ADVERTISERS; i++) {
+            backend.addPeripheral(peripheral(i));
+        }
+
+        final ScanSubscriptions subscriptions = new ScanSubscriptions();
+        subscriptions.add(Protos.ScanSettings.newBuilder().addServiceUuids(SERVICE.toString()).build());
+        final ScanPipeline pipeline = new ScanPipeline(sink, subscriptions);
+        backend.startScan(subscriptions.union(), new BleBackend.ScanListener() {
+            @Override
+            public <D> void onScanResult(D device, ScanPipeline.DeviceConverter<D> converter, byte[] scanRecord, int rssi,
+                                         boolean connectable, long receivedAt) {
+                pipeline.onScanResult(device, converter, scanRecord, rssi, connectable, receivedAt);
+            }
+
+            @Override
+            public void onScanFailed(int errorCode) {
+                fail("scan failed: " + errorCode);
+            }
+        });
+        for (int i = 0; i < CONNECTIONS; i++) {
+            assertTrue(backend.connect(address(i), false));
+        }
+
+        final Set<String> advertised = new HashSet<>();
+        final Set<String> subscribed = new HashSet<>();
+        final Map<String, Integer> notified = new HashMap<>();
+        final Map<String, Integer> mtus = new HashMap<>();
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        int streaming = 0;
+        while (advertised.size() < ADVERTISERS || mtus.size() < CONNECTIONS || streaming < CONNECTIONS) {
+            final Message m = next(deadline);
+            switch (m.method) {
+                case ScanPipeline.METHOD: {
+                    final Protos.ScanResult result = Protos.ScanResult.parseFrom(m.payload);
+                    assertEquals(Collections.singletonList(SERVICE.toString()), result.getAdvertisementData().getServiceUuidsList());
+                    assertTrue(result.getAdvertisementData().getManufacturerDataMap().containsKey(0x004C));
+                    advertised.add(result.getDevice().getRemoteId());
+                    break;
+                }
+                case "DeviceState": {
+                    final Protos.DeviceStateResponse state = Protos.DeviceStateResponse.parseFrom(m.payload);
+                    assertEquals(Protos.DeviceStateResponse.BluetoothDeviceState.CONNECTED, state.getState());
+                    assertTrue(client.discoverServices(state.getRemoteId()));
+                    break;
+                }
+                case "DiscoverServicesResult": {
+                    final Protos.DiscoverServicesResult result = Protos.DiscoverServicesResult.parseFrom(m.payload);
+                    assertEquals(1, result.getServicesCount());
+                    assertEquals(2, result.getServices(0).getCharacteristicsCount());
+                    // what the plugin does for setNotification
+                    final String id = result.getRemoteId();
+                    final BluetoothGattCharacteristic c = backend.getService(id, SERVICE).getCharacteristic(NOTIFY_CHARACTERISTIC);
+                    assertTrue(backend.setCharacteristicNotification(id, c, true));
+                    final BluetoothGattDescriptor cccd = c.getDescriptor(GattClient.CCCD_ID);
+                    cccd.setValue(BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE);
+                    assertTrue(client.writeNotificationDescriptor(id, cccd));
+                    break;
+                }
+                case "WriteDescriptorResponse":
+                    assertTrue(Protos.WriteDescriptorResponse.parseFrom(m.payload).getSuccess());
+                    break;
+                case "SetNotificationResponse": {
+                    final Protos.SetNotificationResponse response = Protos.SetNotificationResponse.parseFrom(m.payload);
+                    assertTrue(response.getSuccess());
+                    assertTrue(subscribed.add(response.getRemoteId()));
+                    assertTrue(client.requestMtu(response.getRemoteId(), MTU));
+                    break;
+                }
+                case "RequestMTUResult": {
+                    final Protos.RequestMTUResult result = Protos.RequestMTUResult.parseFrom(m.payload);
+                    assertTrue(result.getSuccess());
+                    mtus.put(result.getRemoteId(), result.getRemoteMTUSize());
+                    break;
+                }
+                case "OnCharacteristicChanged": {
+                    final Protos.OnCharacteristicChanged changed = Protos.OnCharacteristicChanged.parseFrom(m.payload);
+                    assertEquals(NOTIFY_CHARACTERISTIC.toString(), changed.getCharacteristic().getUuid());
+                    assertEquals(SERVICE.toString(), changed.getCharacteristic().getServiceUuid());
+                    final Integer count = notified.get(changed.getRemoteId());
+                    final int now = count != null ? count + 1 : 1;
+                    notified.put(changed.getRemoteId(), now);
+                    if (now == NOTIFICATIONS) {
+                        streaming++;
+                    }
+                    break;
+                }
+                default:
+                    fail("unexpected message " + m.method);
+            }
+        }
+        backend.stopScan();
+
+        assertEquals(CONNECTIONS, subscribed.size());
+        for (final int mtu : mtus.values()) {
+            assertEquals(MTU, mtu);
+        }
+        final Protos.StatsSnapshot stats = client.stats(null);
+        assertEquals(CONNECTIONS, stats.getConnectionsCount());
+        for (final Protos.ConnectionStats connection : stats.getConnectionsList()) {
+            assertEquals(MTU, connection.getMtu());
+            assertTrue(connection.getNotifications() >= NOTIFICATIONS);
+            for (final Protos.OperationStats op : connection.getOperationsList()) {
+                assertEquals(op.getType() + " of " + connection.getRemoteId(), op.getIssued(), op.getCompleted());
+                assertEquals(0, op.getFailed());
+            }
+        }
+
+        // the disconnects drop the connections' stats
+        for (int i = 0; i < CONNECTIONS; i++) {
+            backend.disconnect(address(i));
+        }
+        int disconnected = 0;
+        while (disconnected < CONNECTIONS) {
+            final Message m = next(deadline);
+            if ("DeviceState".equals(m.method)) {
+                assertEquals(Protos.DeviceStateResponse.BluetoothDeviceState.DISCONNECTED,
+                        Protos.DeviceStateResponse.parseFrom(m.payload).getState());
+                disconnected++;
+            }
+        }
+        assertEquals(0, client.stats(null).getConnectionsCount());
+    }
+
+    @Test
+    public void failedConnectionIsClosed() throws Exception {
+        final SimulatedBackend.Peripheral p = peripheral(0);
+        p.failureRate = 1;
+        backend.addPeripheral(p);
+
+        assertTrue(backend.connect(p.address, false));
+        final Message m = next(System.currentTimeMillis() + TIMEOUT_MILLIS);
+        assertEquals("DeviceState", m.method);
+        assertEquals(Protos.DeviceStateResponse.BluetoothDeviceState.DISCONNECTED,
+                Protos.DeviceStateResponse.parseFrom(m.payload).getState());
+        assertFalse(backend.hasConnection(p.address));
+        assertEquals(BluetoothProfile.STATE_DISCONNECTED, backend.getConnectionState(p.address));
+        assertEquals(0, client.stats(null).getConnectionsCount());
+    }
+
+    @Test
+    public void operationsAreRefusedWhileOneIsPending() throws Exception {
+        backend.addPeripheral(peripheral(0));
+        final String id = address(0);
+        assertTrue(backend.connect(id, false));
+        assertEquals("DeviceState", next(System.currentTimeMillis() + TIMEOUT_MILLIS).method);
+
+        assertTrue(client.discoverServices(id));
+        assertFalse(client.requestMtu(id, MTU));
+        assertEquals("DiscoverServicesResult", next(System.currentTimeMillis() + TIMEOUT_MILLIS).method);
+
+        assertEquals(1, client.stats(id).getConnectionsCount());
+        final Protos.ConnectionStats stats = client.stats(id).getConnections(0);
+        for (final Protos.OperationStats op : stats.getOperationsList()) {
+            if (op.getType() == Protos.OperationStats.Type.REQUEST_MTU) {
+                // counted as issued and failed, not left pending
+                assertEquals(1, op.getIssued());
+                assertEquals(1, op.getFailed());
+            }
+        }
+    }
+}
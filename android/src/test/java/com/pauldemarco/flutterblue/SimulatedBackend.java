@@ -0,0 +1,513 @@
+package com.pauldemarco.flutterblue;
+
+import android.bluetooth.BluetoothAdapter;
+import android.bluetooth.BluetoothGatt;
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import android.bluetooth.BluetoothProfile;
+import android.bluetooth.le.BluetoothLeAdvertiser;
+
+import com.pauldemarco.flutter_blue.Protos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In process {@link BleBackend} serving configurable virtual peripherals.
+ *
+ * Every peripheral advertises on its own schedule, answers gatt operations after its latency,
+ * fails operations at its failure rate and notifies the characteristics whose client
+ * configuration was written at its notification interval. Like the android stack, each
+ * connection runs one operation at a time, advertisements arrive on one scan thread and gatt
+ * callbacks on one binder thread.
+ */
+class SimulatedBackend implements BleBackend {
+    static final int GATT_ERROR = 133;
+
+    static class Peripheral {
+        final String address;
+        String name;
+        byte[] advertisement = new byte[0];
+        List<UUID> advertisedServices = Collections.emptyList();
+        int rssi = -60;
+        boolean connectable = true;
+        long advertiseIntervalMillis = 100;
+        long latencyMillis = 10;
+        long notifyIntervalMillis = 0;
+        double failureRate = 0;
+        int maxMtu = 517;
+
+        private final List<BluetoothGattService> services = new ArrayList<>();
+
+        Peripheral(String address) {
+            this.address = address;
+        }
+
+        /**
+         * Adds a primary service with the characteristics, notifying ones get a client
+         * characteristic configuration descriptor.
+         */
+        Peripheral addService(UUID uuid, BluetoothGattCharacteristic... characteristics) {
+            final BluetoothGattService service = new BluetoothGattService(uuid, BluetoothGattService.SERVICE_TYPE_PRIMARY);
+            for (final BluetoothGattCharacteristic c : characteristics) {
+                if ((c.getProperties() & (BluetoothGattCharacteristic.PROPERTY_NOTIFY | BluetoothGattCharacteristic.PROPERTY_INDICATE)) != 0) {
+                    c.addDescriptor(new BluetoothGattDescriptor(GattClient.CCCD_ID,
+                            BluetoothGattDescriptor.PERMISSION_READ | BluetoothGattDescriptor.PERMISSION_WRITE));
+                }
+                service.addCharacteristic(c);
+            }
+            services.add(service);
+            return this;
+        }
+    }
+
+    static final ScanPipeline.DeviceConverter<Peripheral> PERIPHERALS = new ScanPipeline.DeviceConverter<Peripheral>() {
+        @Override
+        public String address(Peripheral device) {
+            return device.address;
+        }
+
+        @Override
+        public Protos.BluetoothDevice convert(Peripheral device) {
+            final Protos.BluetoothDevice.Builder p = Protos.BluetoothDevice.newBuilder();
+            p.setRemoteId(device.address);
+            if (device.name != null) {
+                p.setName(device.name);
+            }
+            p.setType(Protos.BluetoothDevice.Type.LE);
+            return p.build();
+        }
+    };
+
+    private class Connection {
+        final Peripheral peripheral;
+        // characteristics routed with setCharacteristicNotification
+        final Set<BluetoothGattCharacteristic> routed = new HashSet<>();
+        final Map<BluetoothGattCharacteristic, ScheduledFuture<?>> notifications = new HashMap<>();
+        int state = BluetoothProfile.STATE_DISCONNECTED;
+        boolean discovered;
+        boolean busy;
+
+        Connection(Peripheral peripheral) {
+            this.peripheral = peripheral;
+        }
+
+        synchronized void cancelNotifications() {
+            for (final ScheduledFuture<?> f : notifications.values()) {
+                f.cancel(false);
+            }
+            notifications.clear();
+        }
+    }
+
+    private final Map<String, Peripheral> peripherals = new ConcurrentHashMap<>();
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+    private final List<ScheduledFuture<?>> advertisers = new ArrayList<>();
+    private final ScheduledExecutorService scanThread = Executors.newSingleThreadScheduledExecutor();
+    private final ScheduledExecutorService binderThread = Executors.newSingleThreadScheduledExecutor();
+    private final Random random;
+    private volatile GattListener gattListener;
+
+    SimulatedBackend(long seed) {
+        this.random = new Random(seed);
+    }
+
+    void addPeripheral(Peripheral peripheral) {
+        peripherals.put(peripheral.address, peripheral);
+    }
+
+    void shutdown() {
+        stopScan();
+        scanThread.shutdownNow();
+        binderThread.shutdownNow();
+    }
+
+    @Override
+    public int getState() {
+        return BluetoothAdapter.STATE_ON;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public BluetoothLeAdvertiser getAdvertiser() {
+        return null;
+    }
+
+    @Override
+    public boolean isLeExtendedAdvertisingSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isLeCodedPhySupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isLe2MPhySupported() {
+        return false;
+    }
+
+    /**
+     * Only the settings' service uuids filter, the scan filters are left to the subscriptions.
+     */
+    @Override
+    public synchronized void startScan(Protos.ScanSettings settings, final ScanListener listener) {
+        stopScan();
+        final List<UUID> serviceUuids = new ArrayList<>();
+        for (final String uuid : settings.getServiceUuidsList()) {
+            serviceUuids.add(UUID.fromString(uuid));
+        }
+
+        for (final Peripheral p : peripherals.values()) {
+            if (!serviceUuids.isEmpty() && Collections.disjoint(serviceUuids, p.advertisedServices)) {
+                continue;
+            }
+            final long initialDelay = (long) (random.nextDouble() * p.advertiseIntervalMillis);
+            advertisers.add(scanThread.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onScanResult(p, PERIPHERALS, p.advertisement, p.rssi, p.connectable, System.nanoTime());
+                }
+            }, initialDelay, p.advertiseIntervalMillis, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Override
+    public synchronized void stopScan() {
+        for (final ScheduledFuture<?> f : advertisers) {
+            f.cancel(false);
+        }
+        advertisers.clear();
+    }
+
+    @Override
+    public void setGattListener(GattListener listener) {
+        this.gattListener = listener;
+    }
+
+    @Override
+    public int getConnectionState(String address) {
+        final Connection c = connections.get(address);
+        if (c == null) {
+            return BluetoothProfile.STATE_DISCONNECTED;
+        }
+        synchronized (c) {
+            return c.state;
+        }
+    }
+
+    @Override
+    public boolean hasConnection(String address) {
+        return connections.containsKey(address);
+    }
+
+    @Override
+    public boolean connect(String address, boolean autoConnect) {
+        final Peripheral p = peripherals.get(address);
+        if (p == null) {
+            return false;
+        }
+
+        Connection known = connections.get(address);
+        if (known == null) {
+            known = new Connection(p);
+            connections.put(address, known);
+        }
+        final Connection c = known;
+        synchronized (c) {
+            if (c.state != BluetoothProfile.STATE_DISCONNECTED) {
+                return true;
+            }
+            c.state = BluetoothProfile.STATE_CONNECTING;
+        }
+        later(p, new Runnable() {
+            @Override
+            public void run() {
+                final boolean failed = fails(p);
+                final int state = failed ? BluetoothProfile.STATE_DISCONNECTED : BluetoothProfile.STATE_CONNECTED;
+                synchronized (c) {
+                    c.state = state;
+                    c.discovered = false;
+                }
+                listener().onConnectionStateChange(p.address, failed ? GATT_ERROR : BluetoothGatt.GATT_SUCCESS, state);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public void disconnect(String address) {
+        final Connection c = connections.get(address);
+        if (c == null) {
+            return;
+        }
+        synchronized (c) {
+            if (c.state != BluetoothProfile.STATE_CONNECTED) {
+                return;
+            }
+            c.state = BluetoothProfile.STATE_DISCONNECTED;
+            c.busy = false;
+        }
+        c.cancelNotifications();
+        later(c.peripheral, new Runnable() {
+            @Override
+            public void run() {
+                listener().onConnectionStateChange(c.peripheral.address, BluetoothGatt.GATT_SUCCESS,
+                        BluetoothProfile.STATE_DISCONNECTED);
+            }
+        });
+    }
+
+    @Override
+    public void close(String address) {
+        final Connection c = connections.remove(address);
+        if (c != null) {
+            c.cancelNotifications();
+        }
+    }
+
+    @Override
+    public void closeAll() {
+        for (final String address : new ArrayList<>(connections.keySet())) {
+            close(address);
+        }
+    }
+
+    @Override
+    public boolean discoverServices(String address) {
+        final Connection c = begin(address);
+        if (c == null) {
+            return false;
+        }
+
+        later(c.peripheral, new Runnable() {
+            @Override
+            public void run() {
+                final boolean failed = fails(c.peripheral);
+                synchronized (c) {
+                    c.discovered |= !failed;
+                    c.busy = false;
+                }
+                listener().onServicesDiscovered(c.peripheral.address, failed ? GATT_ERROR : BluetoothGatt.GATT_SUCCESS);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public List<BluetoothGattService> getServices(String address) {
+        final Connection c = connections.get(address);
+        if (c == null) {
+            return Collections.emptyList();
+        }
+        synchronized (c) {
+            return c.discovered ? c.peripheral.services : Collections.<BluetoothGattService>emptyList();
+        }
+    }
+
+    @Override
+    public BluetoothGattService getService(String address, UUID uuid) {
+        for (final BluetoothGattService s : getServices(address)) {
+            if (s.getUuid().equals(uuid)) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean readCharacteristic(String address, final BluetoothGattCharacteristic characteristic) {
+        final Connection c = begin(address);
+        if (c == null) {
+            return false;
+        }
+
+        later(c.peripheral, new Runnable() {
+            @Override
+            public void run() {
+                final int status = end(c);
+                listener().onCharacteristicRead(c.peripheral.address, characteristic, status);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public boolean writeCharacteristic(String address, final BluetoothGattCharacteristic characteristic) {
+        final Connection c = begin(address);
+        if (c == null) {
+            return false;
+        }
+
+        later(c.peripheral, new Runnable() {
+            @Override
+            public void run() {
+                final int status = end(c);
+                listener().onCharacteristicWrite(c.peripheral.address, characteristic, status);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public boolean readDescriptor(String address, final BluetoothGattDescriptor descriptor) {
+        final Connection c = begin(address);
+        if (c == null) {
+            return false;
+        }
+
+        later(c.peripheral, new Runnable() {
+            @Override
+            public void run() {
+                final int status = end(c);
+                listener().onDescriptorRead(c.peripheral.address, descriptor, status);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Writing a client characteristic configuration starts or stops the characteristic's
+     * notifications.
+     */
+    @Override
+    public boolean writeDescriptor(String address, final BluetoothGattDescriptor descriptor) {
+        final Connection c = begin(address);
+        if (c == null) {
+            return false;
+        }
+
+        final byte[] value = descriptor.getValue();
+        later(c.peripheral, new Runnable() {
+            @Override
+            public void run() {
+                final int status = end(c);
+                if (status == BluetoothGatt.GATT_SUCCESS && descriptor.getUuid().equals(GattClient.CCCD_ID)) {
+                    subscribe(c, descriptor.getCharacteristic(),
+                            !Arrays.equals(value, BluetoothGattDescriptor.DISABLE_NOTIFICATION_VALUE));
+                }
+                listener().onDescriptorWrite(c.peripheral.address, descriptor, status);
+            }
+        });
+        return true;
+    }
+
+    @Override
+    public boolean setCharacteristicNotification(String address, BluetoothGattCharacteristic characteristic, boolean enable) {
+        final Connection c = connections.get(address);
+        if (c == null) {
+            return false;
+        }
+        synchronized (c) {
+            if (enable) {
+                c.routed.add(characteristic);
+            } else {
+                c.routed.remove(characteristic);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean requestMtu(String address, final int mtu) {
+        final Connection c = begin(address);
+        if (c == null) {
+            return false;
+        }
+
+        later(c.peripheral, new Runnable() {
+            @Override
+            public void run() {
+                final int status = end(c);
+                listener().onMtuChanged(c.peripheral.address, Math.min(mtu, c.peripheral.maxMtu), status);
+            }
+        });
+        return true;
+    }
+
+    private void subscribe(final Connection c, final BluetoothGattCharacteristic characteristic, boolean enable) {
+        synchronized (c) {
+            final ScheduledFuture<?> running = c.notifications.remove(characteristic);
+            if (running != null) {
+                running.cancel(false);
+            }
+            if (!enable || c.peripheral.notifyIntervalMillis <= 0) {
+                return;
+            }
+            c.notifications.put(characteristic, binderThread.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (c) {
+                        // the stack drops notifications of characteristics not routed to the app
+                        if (c.state != BluetoothProfile.STATE_CONNECTED || !c.routed.contains(characteristic)) {
+                            return;
+                        }
+                    }
+                    listener().onCharacteristicChanged(c.peripheral.address, characteristic);
+                }
+            }, c.peripheral.notifyIntervalMillis, c.peripheral.notifyIntervalMillis, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    /**
+     * Claims the connection for one operation, null when not connected or busy.
+     */
+    private Connection begin(String address) {
+        final Connection c = connections.get(address);
+        if (c == null) {
+            return null;
+        }
+        synchronized (c) {
+            if (c.state != BluetoothProfile.STATE_CONNECTED || c.busy) {
+                return null;
+            }
+            c.busy = true;
+        }
+        return c;
+    }
+
+    /**
+     * @return the status the operation completes with
+     */
+    private int end(Connection c) {
+        synchronized (c) {
+            c.busy = false;
+        }
+        return fails(c.peripheral) ? GATT_ERROR : BluetoothGatt.GATT_SUCCESS;
+    }
+
+    private boolean fails(Peripheral p) {
+        return p.failureRate > 0 && random.nextDouble() < p.failureRate;
+    }
+
+    private void later(Peripheral p, Runnable r) {
+        binderThread.schedule(r, p.latencyMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private GattListener listener() {
+        final GattListener l = gattListener;
+        if (l == null) {
+            throw new IllegalStateException("no gatt listener set");
+        }
+        return l;
+    }
+}
@@ -5,9 +5,11 @@
 library flutter_blue;
 
 import 'dart:async';
+import 'dart:typed_data';
 
 import 'package:collection/collection.dart';
 import 'package:convert/convert.dart';
+import 'package:fixnum/fixnum.dart';
 import 'package:flutter/services.dart';
 import 'package:flutter_blue/gen/flutter_blue.pbenum.dart';
 import 'package:meta/meta.dart';
@@ -26,7 +28,9 @@ part 'src/server/bluetooth_characteristic_server.dart';
 part 'src/server/bluetooth_descriptor_server.dart';
 
 part 'src/bluetooth_device_common.dart';
+part 'src/compact_discovery.dart';
 part 'src/constants.dart';
+part 'src/event_frame.dart';
 part 'src/flutter_blue.dart';
 part 'src/guid.dart';
 part 'src/server/bluetooth_server_device_container.dart';
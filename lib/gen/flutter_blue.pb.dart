@@ -7,6 +7,7 @@
 
 import 'dart:core' as $core;
 
+import 'package:fixnum/fixnum.dart' as $fixnum;
 import 'package:protobuf/protobuf.dart' as $pb;
 
 import 'flutter_blue.pbenum.dart';
@@ -83,6 +84,7 @@ class AdvertisementData extends $pb.GeneratedMessage {
     ..m<$core.int, $core.List<$core.int>>(4, 'manufacturerData', entryClassName: 'AdvertisementData.ManufacturerDataEntry', keyFieldType: $pb.PbFieldType.O3, valueFieldType: $pb.PbFieldType.OY)
     ..m<$core.String, $core.List<$core.int>>(5, 'serviceData', entryClassName: 'AdvertisementData.ServiceDataEntry', keyFieldType: $pb.PbFieldType.OS, valueFieldType: $pb.PbFieldType.OY)
     ..pPS(6, 'serviceUuids')
+    ..pc<Beacon>(7, 'beacons', $pb.PbFieldType.PM, subBuilder: Beacon.create)
     ..hasRequiredFields = false
   ;
 
@@ -138,495 +140,684 @@ class AdvertisementData extends $pb.GeneratedMessage {
 
   @$pb.TagNumber(6)
   $core.List<$core.String> get serviceUuids => $_getList(5);
+
+  @$pb.TagNumber(7)
+  $core.List<Beacon> get beacons => $_getList(6);
 }
 
-class ScanSettings extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ScanSettings', createEmptyInstance: create)
-    ..a<$core.int>(1, 'androidScanMode', $pb.PbFieldType.O3)
-    ..pPS(2, 'serviceUuids')
+enum Beacon_Frame {
+  ibeacon, 
+  altBeacon, 
+  eddystoneUid, 
+  eddystoneUrl, 
+  eddystoneTlm, 
+  eddystoneEid, 
+  notSet
+}
+
+class Beacon extends $pb.GeneratedMessage {
+  static const $core.Map<$core.int, Beacon_Frame> _Beacon_FrameByTag = {
+    1 : Beacon_Frame.ibeacon,
+    2 : Beacon_Frame.altBeacon,
+    3 : Beacon_Frame.eddystoneUid,
+    4 : Beacon_Frame.eddystoneUrl,
+    5 : Beacon_Frame.eddystoneTlm,
+    6 : Beacon_Frame.eddystoneEid,
+    0 : Beacon_Frame.notSet
+  };
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('Beacon', createEmptyInstance: create)
+    ..oo(0, [1, 2, 3, 4, 5, 6])
+    ..aOM<IBeacon>(1, 'ibeacon', subBuilder: IBeacon.create)
+    ..aOM<AltBeacon>(2, 'altBeacon', subBuilder: AltBeacon.create)
+    ..aOM<EddystoneUid>(3, 'eddystoneUid', subBuilder: EddystoneUid.create)
+    ..aOM<EddystoneUrl>(4, 'eddystoneUrl', subBuilder: EddystoneUrl.create)
+    ..aOM<EddystoneTlm>(5, 'eddystoneTlm', subBuilder: EddystoneTlm.create)
+    ..aOM<EddystoneEid>(6, 'eddystoneEid', subBuilder: EddystoneEid.create)
     ..hasRequiredFields = false
   ;
 
-  ScanSettings._() : super();
-  factory ScanSettings() => create();
-  factory ScanSettings.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ScanSettings.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ScanSettings clone() => ScanSettings()..mergeFromMessage(this);
-  ScanSettings copyWith(void Function(ScanSettings) updates) => super.copyWith((message) => updates(message as ScanSettings));
+  Beacon._() : super();
+  factory Beacon() => create();
+  factory Beacon.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory Beacon.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  Beacon clone() => Beacon()..mergeFromMessage(this);
+  Beacon copyWith(void Function(Beacon) updates) => super.copyWith((message) => updates(message as Beacon));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ScanSettings create() => ScanSettings._();
-  ScanSettings createEmptyInstance() => create();
-  static $pb.PbList<ScanSettings> createRepeated() => $pb.PbList<ScanSettings>();
+  static Beacon create() => Beacon._();
+  Beacon createEmptyInstance() => create();
+  static $pb.PbList<Beacon> createRepeated() => $pb.PbList<Beacon>();
   @$core.pragma('dart2js:noInline')
-  static ScanSettings getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanSettings>(create);
-  static ScanSettings _defaultInstance;
+  static Beacon getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<Beacon>(create);
+  static Beacon _defaultInstance;
+
+  Beacon_Frame whichFrame() => _Beacon_FrameByTag[$_whichOneof(0)];
+  void clearFrame() => clearField($_whichOneof(0));
 
   @$pb.TagNumber(1)
-  $core.int get androidScanMode => $_getIZ(0);
+  IBeacon get ibeacon => $_getN(0);
   @$pb.TagNumber(1)
-  set androidScanMode($core.int v) { $_setSignedInt32(0, v); }
+  set ibeacon(IBeacon v) { setField(1, v); }
   @$pb.TagNumber(1)
-  $core.bool hasAndroidScanMode() => $_has(0);
+  $core.bool hasIbeacon() => $_has(0);
   @$pb.TagNumber(1)
-  void clearAndroidScanMode() => clearField(1);
+  void clearIbeacon() => clearField(1);
+  @$pb.TagNumber(1)
+  IBeacon ensureIbeacon() => $_ensure(0);
 
   @$pb.TagNumber(2)
-  $core.List<$core.String> get serviceUuids => $_getList(1);
+  AltBeacon get altBeacon => $_getN(1);
+  @$pb.TagNumber(2)
+  set altBeacon(AltBeacon v) { setField(2, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasAltBeacon() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearAltBeacon() => clearField(2);
+  @$pb.TagNumber(2)
+  AltBeacon ensureAltBeacon() => $_ensure(1);
+
+  @$pb.TagNumber(3)
+  EddystoneUid get eddystoneUid => $_getN(2);
+  @$pb.TagNumber(3)
+  set eddystoneUid(EddystoneUid v) { setField(3, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasEddystoneUid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearEddystoneUid() => clearField(3);
+  @$pb.TagNumber(3)
+  EddystoneUid ensureEddystoneUid() => $_ensure(2);
+
+  @$pb.TagNumber(4)
+  EddystoneUrl get eddystoneUrl => $_getN(3);
+  @$pb.TagNumber(4)
+  set eddystoneUrl(EddystoneUrl v) { setField(4, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasEddystoneUrl() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearEddystoneUrl() => clearField(4);
+  @$pb.TagNumber(4)
+  EddystoneUrl ensureEddystoneUrl() => $_ensure(3);
+
+  @$pb.TagNumber(5)
+  EddystoneTlm get eddystoneTlm => $_getN(4);
+  @$pb.TagNumber(5)
+  set eddystoneTlm(EddystoneTlm v) { setField(5, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasEddystoneTlm() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearEddystoneTlm() => clearField(5);
+  @$pb.TagNumber(5)
+  EddystoneTlm ensureEddystoneTlm() => $_ensure(4);
+
+  @$pb.TagNumber(6)
+  EddystoneEid get eddystoneEid => $_getN(5);
+  @$pb.TagNumber(6)
+  set eddystoneEid(EddystoneEid v) { setField(6, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasEddystoneEid() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearEddystoneEid() => clearField(6);
+  @$pb.TagNumber(6)
+  EddystoneEid ensureEddystoneEid() => $_ensure(5);
 }
 
-class ScanResult extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ScanResult', createEmptyInstance: create)
-    ..aOM<BluetoothDevice>(1, 'device', subBuilder: BluetoothDevice.create)
-    ..aOM<AdvertisementData>(2, 'advertisementData', subBuilder: AdvertisementData.create)
-    ..a<$core.int>(3, 'rssi', $pb.PbFieldType.O3)
+class IBeacon extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('IBeacon', createEmptyInstance: create)
+    ..aOS(1, 'uuid')
+    ..a<$core.int>(2, 'major', $pb.PbFieldType.O3)
+    ..a<$core.int>(3, 'minor', $pb.PbFieldType.O3)
+    ..a<$core.int>(4, 'measuredPower', $pb.PbFieldType.O3)
     ..hasRequiredFields = false
   ;
 
-  ScanResult._() : super();
-  factory ScanResult() => create();
-  factory ScanResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ScanResult.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ScanResult clone() => ScanResult()..mergeFromMessage(this);
-  ScanResult copyWith(void Function(ScanResult) updates) => super.copyWith((message) => updates(message as ScanResult));
+  IBeacon._() : super();
+  factory IBeacon() => create();
+  factory IBeacon.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory IBeacon.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  IBeacon clone() => IBeacon()..mergeFromMessage(this);
+  IBeacon copyWith(void Function(IBeacon) updates) => super.copyWith((message) => updates(message as IBeacon));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ScanResult create() => ScanResult._();
-  ScanResult createEmptyInstance() => create();
-  static $pb.PbList<ScanResult> createRepeated() => $pb.PbList<ScanResult>();
+  static IBeacon create() => IBeacon._();
+  IBeacon createEmptyInstance() => create();
+  static $pb.PbList<IBeacon> createRepeated() => $pb.PbList<IBeacon>();
   @$core.pragma('dart2js:noInline')
-  static ScanResult getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanResult>(create);
-  static ScanResult _defaultInstance;
+  static IBeacon getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<IBeacon>(create);
+  static IBeacon _defaultInstance;
 
   @$pb.TagNumber(1)
-  BluetoothDevice get device => $_getN(0);
-  @$pb.TagNumber(1)
-  set device(BluetoothDevice v) { setField(1, v); }
+  $core.String get uuid => $_getSZ(0);
   @$pb.TagNumber(1)
-  $core.bool hasDevice() => $_has(0);
+  set uuid($core.String v) { $_setString(0, v); }
   @$pb.TagNumber(1)
-  void clearDevice() => clearField(1);
+  $core.bool hasUuid() => $_has(0);
   @$pb.TagNumber(1)
-  BluetoothDevice ensureDevice() => $_ensure(0);
+  void clearUuid() => clearField(1);
 
   @$pb.TagNumber(2)
-  AdvertisementData get advertisementData => $_getN(1);
-  @$pb.TagNumber(2)
-  set advertisementData(AdvertisementData v) { setField(2, v); }
+  $core.int get major => $_getIZ(1);
   @$pb.TagNumber(2)
-  $core.bool hasAdvertisementData() => $_has(1);
+  set major($core.int v) { $_setSignedInt32(1, v); }
   @$pb.TagNumber(2)
-  void clearAdvertisementData() => clearField(2);
+  $core.bool hasMajor() => $_has(1);
   @$pb.TagNumber(2)
-  AdvertisementData ensureAdvertisementData() => $_ensure(1);
+  void clearMajor() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.int get rssi => $_getIZ(2);
+  $core.int get minor => $_getIZ(2);
   @$pb.TagNumber(3)
-  set rssi($core.int v) { $_setSignedInt32(2, v); }
+  set minor($core.int v) { $_setSignedInt32(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasRssi() => $_has(2);
+  $core.bool hasMinor() => $_has(2);
   @$pb.TagNumber(3)
-  void clearRssi() => clearField(3);
+  void clearMinor() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.int get measuredPower => $_getIZ(3);
+  @$pb.TagNumber(4)
+  set measuredPower($core.int v) { $_setSignedInt32(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasMeasuredPower() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearMeasuredPower() => clearField(4);
 }
 
-class ServerAdvertisePayload extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ServerAdvertisePayload', createEmptyInstance: create)
-    ..aOS(1, 'serviceUuid')
-    ..a<$core.int>(2, 'manufacturerID', $pb.PbFieldType.O3, protoName: 'manufacturerID')
-    ..a<$core.List<$core.int>>(3, 'manufacturerData', $pb.PbFieldType.OY, protoName: 'manufacturerData')
+class AltBeacon extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('AltBeacon', createEmptyInstance: create)
+    ..a<$core.int>(1, 'manufacturerId', $pb.PbFieldType.O3)
+    ..aOS(2, 'uuid')
+    ..a<$core.int>(3, 'major', $pb.PbFieldType.O3)
+    ..a<$core.int>(4, 'minor', $pb.PbFieldType.O3)
+    ..a<$core.int>(5, 'referenceRssi', $pb.PbFieldType.O3)
+    ..a<$core.int>(6, 'reserved', $pb.PbFieldType.O3)
     ..hasRequiredFields = false
   ;
 
-  ServerAdvertisePayload._() : super();
-  factory ServerAdvertisePayload() => create();
-  factory ServerAdvertisePayload.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ServerAdvertisePayload.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ServerAdvertisePayload clone() => ServerAdvertisePayload()..mergeFromMessage(this);
-  ServerAdvertisePayload copyWith(void Function(ServerAdvertisePayload) updates) => super.copyWith((message) => updates(message as ServerAdvertisePayload));
+  AltBeacon._() : super();
+  factory AltBeacon() => create();
+  factory AltBeacon.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory AltBeacon.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  AltBeacon clone() => AltBeacon()..mergeFromMessage(this);
+  AltBeacon copyWith(void Function(AltBeacon) updates) => super.copyWith((message) => updates(message as AltBeacon));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ServerAdvertisePayload create() => ServerAdvertisePayload._();
-  ServerAdvertisePayload createEmptyInstance() => create();
-  static $pb.PbList<ServerAdvertisePayload> createRepeated() => $pb.PbList<ServerAdvertisePayload>();
+  static AltBeacon create() => AltBeacon._();
+  AltBeacon createEmptyInstance() => create();
+  static $pb.PbList<AltBeacon> createRepeated() => $pb.PbList<AltBeacon>();
   @$core.pragma('dart2js:noInline')
-  static ServerAdvertisePayload getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ServerAdvertisePayload>(create);
-  static ServerAdvertisePayload _defaultInstance;
+  static AltBeacon getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<AltBeacon>(create);
+  static AltBeacon _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get serviceUuid => $_getSZ(0);
+  $core.int get manufacturerId => $_getIZ(0);
   @$pb.TagNumber(1)
-  set serviceUuid($core.String v) { $_setString(0, v); }
+  set manufacturerId($core.int v) { $_setSignedInt32(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasServiceUuid() => $_has(0);
+  $core.bool hasManufacturerId() => $_has(0);
   @$pb.TagNumber(1)
-  void clearServiceUuid() => clearField(1);
+  void clearManufacturerId() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.int get manufacturerID => $_getIZ(1);
+  $core.String get uuid => $_getSZ(1);
   @$pb.TagNumber(2)
-  set manufacturerID($core.int v) { $_setSignedInt32(1, v); }
+  set uuid($core.String v) { $_setString(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasManufacturerID() => $_has(1);
+  $core.bool hasUuid() => $_has(1);
   @$pb.TagNumber(2)
-  void clearManufacturerID() => clearField(2);
+  void clearUuid() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.List<$core.int> get manufacturerData => $_getN(2);
+  $core.int get major => $_getIZ(2);
   @$pb.TagNumber(3)
-  set manufacturerData($core.List<$core.int> v) { $_setBytes(2, v); }
+  set major($core.int v) { $_setSignedInt32(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasManufacturerData() => $_has(2);
+  $core.bool hasMajor() => $_has(2);
   @$pb.TagNumber(3)
-  void clearManufacturerData() => clearField(3);
+  void clearMajor() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.int get minor => $_getIZ(3);
+  @$pb.TagNumber(4)
+  set minor($core.int v) { $_setSignedInt32(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasMinor() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearMinor() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.int get referenceRssi => $_getIZ(4);
+  @$pb.TagNumber(5)
+  set referenceRssi($core.int v) { $_setSignedInt32(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasReferenceRssi() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearReferenceRssi() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.int get reserved => $_getIZ(5);
+  @$pb.TagNumber(6)
+  set reserved($core.int v) { $_setSignedInt32(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasReserved() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearReserved() => clearField(6);
 }
 
-class ServerAdvertiseResult extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ServerAdvertiseResult', createEmptyInstance: create)
-    ..aOB(1, 'success')
-    ..a<$core.int>(2, 'errorCode', $pb.PbFieldType.O3, protoName: 'errorCode')
+class EddystoneUid extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('EddystoneUid', createEmptyInstance: create)
+    ..a<$core.int>(1, 'txPower', $pb.PbFieldType.O3)
+    ..a<$core.List<$core.int>>(2, 'namespace', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(3, 'instance', $pb.PbFieldType.OY)
     ..hasRequiredFields = false
   ;
 
-  ServerAdvertiseResult._() : super();
-  factory ServerAdvertiseResult() => create();
-  factory ServerAdvertiseResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ServerAdvertiseResult.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ServerAdvertiseResult clone() => ServerAdvertiseResult()..mergeFromMessage(this);
-  ServerAdvertiseResult copyWith(void Function(ServerAdvertiseResult) updates) => super.copyWith((message) => updates(message as ServerAdvertiseResult));
+  EddystoneUid._() : super();
+  factory EddystoneUid() => create();
+  factory EddystoneUid.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory EddystoneUid.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  EddystoneUid clone() => EddystoneUid()..mergeFromMessage(this);
+  EddystoneUid copyWith(void Function(EddystoneUid) updates) => super.copyWith((message) => updates(message as EddystoneUid));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ServerAdvertiseResult create() => ServerAdvertiseResult._();
-  ServerAdvertiseResult createEmptyInstance() => create();
-  static $pb.PbList<ServerAdvertiseResult> createRepeated() => $pb.PbList<ServerAdvertiseResult>();
+  static EddystoneUid create() => EddystoneUid._();
+  EddystoneUid createEmptyInstance() => create();
+  static $pb.PbList<EddystoneUid> createRepeated() => $pb.PbList<EddystoneUid>();
   @$core.pragma('dart2js:noInline')
-  static ServerAdvertiseResult getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ServerAdvertiseResult>(create);
-  static ServerAdvertiseResult _defaultInstance;
+  static EddystoneUid getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<EddystoneUid>(create);
+  static EddystoneUid _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.bool get success => $_getBF(0);
+  $core.int get txPower => $_getIZ(0);
   @$pb.TagNumber(1)
-  set success($core.bool v) { $_setBool(0, v); }
+  set txPower($core.int v) { $_setSignedInt32(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasSuccess() => $_has(0);
+  $core.bool hasTxPower() => $_has(0);
   @$pb.TagNumber(1)
-  void clearSuccess() => clearField(1);
+  void clearTxPower() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.int get errorCode => $_getIZ(1);
+  $core.List<$core.int> get namespace => $_getN(1);
   @$pb.TagNumber(2)
-  set errorCode($core.int v) { $_setSignedInt32(1, v); }
+  set namespace($core.List<$core.int> v) { $_setBytes(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasErrorCode() => $_has(1);
+  $core.bool hasNamespace() => $_has(1);
   @$pb.TagNumber(2)
-  void clearErrorCode() => clearField(2);
+  void clearNamespace() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.List<$core.int> get instance => $_getN(2);
+  @$pb.TagNumber(3)
+  set instance($core.List<$core.int> v) { $_setBytes(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasInstance() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearInstance() => clearField(3);
 }
 
-class ConnectRequest extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ConnectRequest', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..aOB(2, 'androidAutoConnect')
+class EddystoneUrl extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('EddystoneUrl', createEmptyInstance: create)
+    ..a<$core.int>(1, 'txPower', $pb.PbFieldType.O3)
+    ..aOS(2, 'url')
     ..hasRequiredFields = false
   ;
 
-  ConnectRequest._() : super();
-  factory ConnectRequest() => create();
-  factory ConnectRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ConnectRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ConnectRequest clone() => ConnectRequest()..mergeFromMessage(this);
-  ConnectRequest copyWith(void Function(ConnectRequest) updates) => super.copyWith((message) => updates(message as ConnectRequest));
+  EddystoneUrl._() : super();
+  factory EddystoneUrl() => create();
+  factory EddystoneUrl.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory EddystoneUrl.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  EddystoneUrl clone() => EddystoneUrl()..mergeFromMessage(this);
+  EddystoneUrl copyWith(void Function(EddystoneUrl) updates) => super.copyWith((message) => updates(message as EddystoneUrl));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ConnectRequest create() => ConnectRequest._();
-  ConnectRequest createEmptyInstance() => create();
-  static $pb.PbList<ConnectRequest> createRepeated() => $pb.PbList<ConnectRequest>();
+  static EddystoneUrl create() => EddystoneUrl._();
+  EddystoneUrl createEmptyInstance() => create();
+  static $pb.PbList<EddystoneUrl> createRepeated() => $pb.PbList<EddystoneUrl>();
   @$core.pragma('dart2js:noInline')
-  static ConnectRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ConnectRequest>(create);
-  static ConnectRequest _defaultInstance;
+  static EddystoneUrl getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<EddystoneUrl>(create);
+  static EddystoneUrl _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $core.int get txPower => $_getIZ(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set txPower($core.int v) { $_setSignedInt32(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasTxPower() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearTxPower() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.bool get androidAutoConnect => $_getBF(1);
+  $core.String get url => $_getSZ(1);
   @$pb.TagNumber(2)
-  set androidAutoConnect($core.bool v) { $_setBool(1, v); }
+  set url($core.String v) { $_setString(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasAndroidAutoConnect() => $_has(1);
+  $core.bool hasUrl() => $_has(1);
   @$pb.TagNumber(2)
-  void clearAndroidAutoConnect() => clearField(2);
+  void clearUrl() => clearField(2);
 }
 
-class BluetoothDevice extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothDevice', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..aOS(2, 'name')
-    ..e<BluetoothDevice_Type>(3, 'type', $pb.PbFieldType.OE, defaultOrMaker: BluetoothDevice_Type.UNKNOWN, valueOf: BluetoothDevice_Type.valueOf, enumValues: BluetoothDevice_Type.values)
+class EddystoneTlm extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('EddystoneTlm', createEmptyInstance: create)
+    ..a<$core.int>(1, 'version', $pb.PbFieldType.O3)
+    ..a<$core.int>(2, 'batteryMillivolts', $pb.PbFieldType.O3)
+    ..a<$core.double>(3, 'temperature', $pb.PbFieldType.OF)
+    ..aInt64(4, 'advertisementCount')
+    ..aInt64(5, 'uptimeMillis')
+    ..a<$core.List<$core.int>>(6, 'encrypted', $pb.PbFieldType.OY)
     ..hasRequiredFields = false
   ;
 
-  BluetoothDevice._() : super();
-  factory BluetoothDevice() => create();
-  factory BluetoothDevice.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory BluetoothDevice.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  BluetoothDevice clone() => BluetoothDevice()..mergeFromMessage(this);
-  BluetoothDevice copyWith(void Function(BluetoothDevice) updates) => super.copyWith((message) => updates(message as BluetoothDevice));
+  EddystoneTlm._() : super();
+  factory EddystoneTlm() => create();
+  factory EddystoneTlm.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory EddystoneTlm.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  EddystoneTlm clone() => EddystoneTlm()..mergeFromMessage(this);
+  EddystoneTlm copyWith(void Function(EddystoneTlm) updates) => super.copyWith((message) => updates(message as EddystoneTlm));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static BluetoothDevice create() => BluetoothDevice._();
-  BluetoothDevice createEmptyInstance() => create();
-  static $pb.PbList<BluetoothDevice> createRepeated() => $pb.PbList<BluetoothDevice>();
+  static EddystoneTlm create() => EddystoneTlm._();
+  EddystoneTlm createEmptyInstance() => create();
+  static $pb.PbList<EddystoneTlm> createRepeated() => $pb.PbList<EddystoneTlm>();
   @$core.pragma('dart2js:noInline')
-  static BluetoothDevice getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothDevice>(create);
-  static BluetoothDevice _defaultInstance;
+  static EddystoneTlm getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<EddystoneTlm>(create);
+  static EddystoneTlm _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $core.int get version => $_getIZ(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set version($core.int v) { $_setSignedInt32(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasVersion() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearVersion() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.String get name => $_getSZ(1);
+  $core.int get batteryMillivolts => $_getIZ(1);
   @$pb.TagNumber(2)
-  set name($core.String v) { $_setString(1, v); }
+  set batteryMillivolts($core.int v) { $_setSignedInt32(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasName() => $_has(1);
+  $core.bool hasBatteryMillivolts() => $_has(1);
   @$pb.TagNumber(2)
-  void clearName() => clearField(2);
+  void clearBatteryMillivolts() => clearField(2);
 
   @$pb.TagNumber(3)
-  BluetoothDevice_Type get type => $_getN(2);
+  $core.double get temperature => $_getN(2);
   @$pb.TagNumber(3)
-  set type(BluetoothDevice_Type v) { setField(3, v); }
+  set temperature($core.double v) { $_setFloat(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasType() => $_has(2);
+  $core.bool hasTemperature() => $_has(2);
   @$pb.TagNumber(3)
-  void clearType() => clearField(3);
+  void clearTemperature() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $fixnum.Int64 get advertisementCount => $_getI64(3);
+  @$pb.TagNumber(4)
+  set advertisementCount($fixnum.Int64 v) { $_setInt64(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasAdvertisementCount() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearAdvertisementCount() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $fixnum.Int64 get uptimeMillis => $_getI64(4);
+  @$pb.TagNumber(5)
+  set uptimeMillis($fixnum.Int64 v) { $_setInt64(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasUptimeMillis() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearUptimeMillis() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get encrypted => $_getN(5);
+  @$pb.TagNumber(6)
+  set encrypted($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasEncrypted() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearEncrypted() => clearField(6);
 }
 
-class BluetoothServerDevice extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothServerDevice', createEmptyInstance: create)
-    ..aOM<BluetoothDevice>(1, 'device', subBuilder: BluetoothDevice.create)
-    ..aOB(2, 'connected')
+class EddystoneEid extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('EddystoneEid', createEmptyInstance: create)
+    ..a<$core.int>(1, 'txPower', $pb.PbFieldType.O3)
+    ..a<$core.List<$core.int>>(2, 'ephemeralId', $pb.PbFieldType.OY)
     ..hasRequiredFields = false
   ;
 
-  BluetoothServerDevice._() : super();
-  factory BluetoothServerDevice() => create();
-  factory BluetoothServerDevice.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory BluetoothServerDevice.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  BluetoothServerDevice clone() => BluetoothServerDevice()..mergeFromMessage(this);
-  BluetoothServerDevice copyWith(void Function(BluetoothServerDevice) updates) => super.copyWith((message) => updates(message as BluetoothServerDevice));
+  EddystoneEid._() : super();
+  factory EddystoneEid() => create();
+  factory EddystoneEid.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory EddystoneEid.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  EddystoneEid clone() => EddystoneEid()..mergeFromMessage(this);
+  EddystoneEid copyWith(void Function(EddystoneEid) updates) => super.copyWith((message) => updates(message as EddystoneEid));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static BluetoothServerDevice create() => BluetoothServerDevice._();
-  BluetoothServerDevice createEmptyInstance() => create();
-  static $pb.PbList<BluetoothServerDevice> createRepeated() => $pb.PbList<BluetoothServerDevice>();
+  static EddystoneEid create() => EddystoneEid._();
+  EddystoneEid createEmptyInstance() => create();
+  static $pb.PbList<EddystoneEid> createRepeated() => $pb.PbList<EddystoneEid>();
   @$core.pragma('dart2js:noInline')
-  static BluetoothServerDevice getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothServerDevice>(create);
-  static BluetoothServerDevice _defaultInstance;
+  static EddystoneEid getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<EddystoneEid>(create);
+  static EddystoneEid _defaultInstance;
 
   @$pb.TagNumber(1)
-  BluetoothDevice get device => $_getN(0);
-  @$pb.TagNumber(1)
-  set device(BluetoothDevice v) { setField(1, v); }
+  $core.int get txPower => $_getIZ(0);
   @$pb.TagNumber(1)
-  $core.bool hasDevice() => $_has(0);
+  set txPower($core.int v) { $_setSignedInt32(0, v); }
   @$pb.TagNumber(1)
-  void clearDevice() => clearField(1);
+  $core.bool hasTxPower() => $_has(0);
   @$pb.TagNumber(1)
-  BluetoothDevice ensureDevice() => $_ensure(0);
+  void clearTxPower() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.bool get connected => $_getBF(1);
+  $core.List<$core.int> get ephemeralId => $_getN(1);
   @$pb.TagNumber(2)
-  set connected($core.bool v) { $_setBool(1, v); }
+  set ephemeralId($core.List<$core.int> v) { $_setBytes(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasConnected() => $_has(1);
+  $core.bool hasEphemeralId() => $_has(1);
   @$pb.TagNumber(2)
-  void clearConnected() => clearField(2);
+  void clearEphemeralId() => clearField(2);
 }
 
-class BluetoothService extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothService', createEmptyInstance: create)
-    ..aOS(1, 'uuid')
-    ..aOS(2, 'remoteId')
-    ..aOB(3, 'isPrimary')
-    ..pc<BluetoothCharacteristic>(4, 'characteristics', $pb.PbFieldType.PM, subBuilder: BluetoothCharacteristic.create)
-    ..pc<BluetoothService>(5, 'includedServices', $pb.PbFieldType.PM, subBuilder: BluetoothService.create)
+class ScanSettings extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ScanSettings', createEmptyInstance: create)
+    ..a<$core.int>(1, 'androidScanMode', $pb.PbFieldType.O3)
+    ..pPS(2, 'serviceUuids')
+    ..pc<ScanFilter>(3, 'filters', $pb.PbFieldType.PM, subBuilder: ScanFilter.create)
+    ..aOM<ScanPredicate>(4, 'predicate', subBuilder: ScanPredicate.create)
     ..hasRequiredFields = false
   ;
 
-  BluetoothService._() : super();
-  factory BluetoothService() => create();
-  factory BluetoothService.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory BluetoothService.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  BluetoothService clone() => BluetoothService()..mergeFromMessage(this);
-  BluetoothService copyWith(void Function(BluetoothService) updates) => super.copyWith((message) => updates(message as BluetoothService));
+  ScanSettings._() : super();
+  factory ScanSettings() => create();
+  factory ScanSettings.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ScanSettings.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ScanSettings clone() => ScanSettings()..mergeFromMessage(this);
+  ScanSettings copyWith(void Function(ScanSettings) updates) => super.copyWith((message) => updates(message as ScanSettings));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static BluetoothService create() => BluetoothService._();
-  BluetoothService createEmptyInstance() => create();
-  static $pb.PbList<BluetoothService> createRepeated() => $pb.PbList<BluetoothService>();
+  static ScanSettings create() => ScanSettings._();
+  ScanSettings createEmptyInstance() => create();
+  static $pb.PbList<ScanSettings> createRepeated() => $pb.PbList<ScanSettings>();
   @$core.pragma('dart2js:noInline')
-  static BluetoothService getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothService>(create);
-  static BluetoothService _defaultInstance;
+  static ScanSettings getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanSettings>(create);
+  static ScanSettings _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get uuid => $_getSZ(0);
+  $core.int get androidScanMode => $_getIZ(0);
   @$pb.TagNumber(1)
-  set uuid($core.String v) { $_setString(0, v); }
+  set androidScanMode($core.int v) { $_setSignedInt32(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasUuid() => $_has(0);
+  $core.bool hasAndroidScanMode() => $_has(0);
   @$pb.TagNumber(1)
-  void clearUuid() => clearField(1);
+  void clearAndroidScanMode() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.String get remoteId => $_getSZ(1);
-  @$pb.TagNumber(2)
-  set remoteId($core.String v) { $_setString(1, v); }
-  @$pb.TagNumber(2)
-  $core.bool hasRemoteId() => $_has(1);
-  @$pb.TagNumber(2)
-  void clearRemoteId() => clearField(2);
+  $core.List<$core.String> get serviceUuids => $_getList(1);
 
   @$pb.TagNumber(3)
-  $core.bool get isPrimary => $_getBF(2);
-  @$pb.TagNumber(3)
-  set isPrimary($core.bool v) { $_setBool(2, v); }
-  @$pb.TagNumber(3)
-  $core.bool hasIsPrimary() => $_has(2);
-  @$pb.TagNumber(3)
-  void clearIsPrimary() => clearField(3);
+  $core.List<ScanFilter> get filters => $_getList(2);
 
   @$pb.TagNumber(4)
-  $core.List<BluetoothCharacteristic> get characteristics => $_getList(3);
+  ScanPredicate get predicate => $_getN(3);
+  @$pb.TagNumber(4)
+  set predicate(ScanPredicate v) { setField(4, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasPredicate() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearPredicate() => clearField(4);
+  @$pb.TagNumber(4)
+  ScanPredicate ensurePredicate() => $_ensure(3);
+}
 
-  @$pb.TagNumber(5)
-  $core.List<BluetoothService> get includedServices => $_getList(4);
+enum ScanPredicate_Predicate {
+  all, 
+  any, 
+  minRssi, 
+  manufacturerData, 
+  serviceData, 
+  namePrefix, 
+  beacon, 
+  notSet
 }
 
-class BluetoothCharacteristic extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothCharacteristic', createEmptyInstance: create)
-    ..aOS(1, 'uuid')
-    ..aOS(2, 'remoteId')
-    ..aOS(3, 'serviceUuid', protoName: 'serviceUuid')
-    ..aOS(4, 'secondaryServiceUuid', protoName: 'secondaryServiceUuid')
-    ..pc<BluetoothDescriptor>(5, 'descriptors', $pb.PbFieldType.PM, subBuilder: BluetoothDescriptor.create)
-    ..aOM<CharacteristicProperties>(6, 'properties', subBuilder: CharacteristicProperties.create)
-    ..a<$core.List<$core.int>>(7, 'value', $pb.PbFieldType.OY)
+class ScanPredicate extends $pb.GeneratedMessage {
+  static const $core.Map<$core.int, ScanPredicate_Predicate> _ScanPredicate_PredicateByTag = {
+    1 : ScanPredicate_Predicate.all,
+    2 : ScanPredicate_Predicate.any,
+    3 : ScanPredicate_Predicate.minRssi,
+    4 : ScanPredicate_Predicate.manufacturerData,
+    5 : ScanPredicate_Predicate.serviceData,
+    6 : ScanPredicate_Predicate.namePrefix,
+    7 : ScanPredicate_Predicate.beacon,
+    0 : ScanPredicate_Predicate.notSet
+  };
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ScanPredicate', createEmptyInstance: create)
+    ..oo(0, [1, 2, 3, 4, 5, 6, 7])
+    ..aOM<ScanPredicateList>(1, 'all', subBuilder: ScanPredicateList.create)
+    ..aOM<ScanPredicateList>(2, 'any', subBuilder: ScanPredicateList.create)
+    ..a<$core.int>(3, 'minRssi', $pb.PbFieldType.O3)
+    ..aOM<DataPredicate>(4, 'manufacturerData', subBuilder: DataPredicate.create)
+    ..aOM<DataPredicate>(5, 'serviceData', subBuilder: DataPredicate.create)
+    ..aOS(6, 'namePrefix')
+    ..aOM<BeaconPredicate>(7, 'beacon', subBuilder: BeaconPredicate.create)
     ..hasRequiredFields = false
   ;
 
-  BluetoothCharacteristic._() : super();
-  factory BluetoothCharacteristic() => create();
-  factory BluetoothCharacteristic.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory BluetoothCharacteristic.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  BluetoothCharacteristic clone() => BluetoothCharacteristic()..mergeFromMessage(this);
-  BluetoothCharacteristic copyWith(void Function(BluetoothCharacteristic) updates) => super.copyWith((message) => updates(message as BluetoothCharacteristic));
+  ScanPredicate._() : super();
+  factory ScanPredicate() => create();
+  factory ScanPredicate.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ScanPredicate.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ScanPredicate clone() => ScanPredicate()..mergeFromMessage(this);
+  ScanPredicate copyWith(void Function(ScanPredicate) updates) => super.copyWith((message) => updates(message as ScanPredicate));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static BluetoothCharacteristic create() => BluetoothCharacteristic._();
-  BluetoothCharacteristic createEmptyInstance() => create();
-  static $pb.PbList<BluetoothCharacteristic> createRepeated() => $pb.PbList<BluetoothCharacteristic>();
+  static ScanPredicate create() => ScanPredicate._();
+  ScanPredicate createEmptyInstance() => create();
+  static $pb.PbList<ScanPredicate> createRepeated() => $pb.PbList<ScanPredicate>();
   @$core.pragma('dart2js:noInline')
-  static BluetoothCharacteristic getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothCharacteristic>(create);
-  static BluetoothCharacteristic _defaultInstance;
+  static ScanPredicate getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanPredicate>(create);
+  static ScanPredicate _defaultInstance;
+
+  ScanPredicate_Predicate whichPredicate() => _ScanPredicate_PredicateByTag[$_whichOneof(0)];
+  void clearPredicate() => clearField($_whichOneof(0));
 
   @$pb.TagNumber(1)
-  $core.String get uuid => $_getSZ(0);
+  ScanPredicateList get all => $_getN(0);
   @$pb.TagNumber(1)
-  set uuid($core.String v) { $_setString(0, v); }
+  set all(ScanPredicateList v) { setField(1, v); }
   @$pb.TagNumber(1)
-  $core.bool hasUuid() => $_has(0);
+  $core.bool hasAll() => $_has(0);
   @$pb.TagNumber(1)
-  void clearUuid() => clearField(1);
+  void clearAll() => clearField(1);
+  @$pb.TagNumber(1)
+  ScanPredicateList ensureAll() => $_ensure(0);
 
   @$pb.TagNumber(2)
-  $core.String get remoteId => $_getSZ(1);
+  ScanPredicateList get any => $_getN(1);
   @$pb.TagNumber(2)
-  set remoteId($core.String v) { $_setString(1, v); }
+  set any(ScanPredicateList v) { setField(2, v); }
   @$pb.TagNumber(2)
-  $core.bool hasRemoteId() => $_has(1);
+  $core.bool hasAny() => $_has(1);
   @$pb.TagNumber(2)
-  void clearRemoteId() => clearField(2);
+  void clearAny() => clearField(2);
+  @$pb.TagNumber(2)
+  ScanPredicateList ensureAny() => $_ensure(1);
 
   @$pb.TagNumber(3)
-  $core.String get serviceUuid => $_getSZ(2);
+  $core.int get minRssi => $_getIZ(2);
   @$pb.TagNumber(3)
-  set serviceUuid($core.String v) { $_setString(2, v); }
+  set minRssi($core.int v) { $_setSignedInt32(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasServiceUuid() => $_has(2);
+  $core.bool hasMinRssi() => $_has(2);
   @$pb.TagNumber(3)
-  void clearServiceUuid() => clearField(3);
+  void clearMinRssi() => clearField(3);
 
   @$pb.TagNumber(4)
-  $core.String get secondaryServiceUuid => $_getSZ(3);
+  DataPredicate get manufacturerData => $_getN(3);
   @$pb.TagNumber(4)
-  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
+  set manufacturerData(DataPredicate v) { setField(4, v); }
   @$pb.TagNumber(4)
-  $core.bool hasSecondaryServiceUuid() => $_has(3);
+  $core.bool hasManufacturerData() => $_has(3);
   @$pb.TagNumber(4)
-  void clearSecondaryServiceUuid() => clearField(4);
+  void clearManufacturerData() => clearField(4);
+  @$pb.TagNumber(4)
+  DataPredicate ensureManufacturerData() => $_ensure(3);
 
   @$pb.TagNumber(5)
-  $core.List<BluetoothDescriptor> get descriptors => $_getList(4);
+  DataPredicate get serviceData => $_getN(4);
+  @$pb.TagNumber(5)
+  set serviceData(DataPredicate v) { setField(5, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasServiceData() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearServiceData() => clearField(5);
+  @$pb.TagNumber(5)
+  DataPredicate ensureServiceData() => $_ensure(4);
 
   @$pb.TagNumber(6)
-  CharacteristicProperties get properties => $_getN(5);
-  @$pb.TagNumber(6)
-  set properties(CharacteristicProperties v) { setField(6, v); }
+  $core.String get namePrefix => $_getSZ(5);
   @$pb.TagNumber(6)
-  $core.bool hasProperties() => $_has(5);
+  set namePrefix($core.String v) { $_setString(5, v); }
   @$pb.TagNumber(6)
-  void clearProperties() => clearField(6);
+  $core.bool hasNamePrefix() => $_has(5);
   @$pb.TagNumber(6)
-  CharacteristicProperties ensureProperties() => $_ensure(5);
+  void clearNamePrefix() => clearField(6);
 
   @$pb.TagNumber(7)
-  $core.List<$core.int> get value => $_getN(6);
+  BeaconPredicate get beacon => $_getN(6);
   @$pb.TagNumber(7)
-  set value($core.List<$core.int> v) { $_setBytes(6, v); }
+  set beacon(BeaconPredicate v) { setField(7, v); }
   @$pb.TagNumber(7)
-  $core.bool hasValue() => $_has(6);
+  $core.bool hasBeacon() => $_has(6);
   @$pb.TagNumber(7)
-  void clearValue() => clearField(7);
+  void clearBeacon() => clearField(7);
+  @$pb.TagNumber(7)
+  BeaconPredicate ensureBeacon() => $_ensure(6);
 }
 
-class BluetoothDescriptor extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothDescriptor', createEmptyInstance: create)
+class BeaconPredicate extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BeaconPredicate', createEmptyInstance: create)
     ..aOS(1, 'uuid')
-    ..aOS(2, 'remoteId')
-    ..aOS(3, 'serviceUuid', protoName: 'serviceUuid')
-    ..aOS(4, 'characteristicUuid', protoName: 'characteristicUuid')
-    ..a<$core.List<$core.int>>(5, 'value', $pb.PbFieldType.OY)
+    ..aOM<Int32Value>(2, 'major', subBuilder: Int32Value.create)
+    ..aOM<Int32Value>(3, 'minor', subBuilder: Int32Value.create)
+    ..a<$core.List<$core.int>>(4, 'eddystoneNamespace', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(5, 'eddystoneInstance', $pb.PbFieldType.OY)
     ..hasRequiredFields = false
   ;
 
-  BluetoothDescriptor._() : super();
-  factory BluetoothDescriptor() => create();
-  factory BluetoothDescriptor.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory BluetoothDescriptor.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  BluetoothDescriptor clone() => BluetoothDescriptor()..mergeFromMessage(this);
-  BluetoothDescriptor copyWith(void Function(BluetoothDescriptor) updates) => super.copyWith((message) => updates(message as BluetoothDescriptor));
+  BeaconPredicate._() : super();
+  factory BeaconPredicate() => create();
+  factory BeaconPredicate.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory BeaconPredicate.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  BeaconPredicate clone() => BeaconPredicate()..mergeFromMessage(this);
+  BeaconPredicate copyWith(void Function(BeaconPredicate) updates) => super.copyWith((message) => updates(message as BeaconPredicate));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static BluetoothDescriptor create() => BluetoothDescriptor._();
-  BluetoothDescriptor createEmptyInstance() => create();
-  static $pb.PbList<BluetoothDescriptor> createRepeated() => $pb.PbList<BluetoothDescriptor>();
+  static BeaconPredicate create() => BeaconPredicate._();
+  BeaconPredicate createEmptyInstance() => create();
+  static $pb.PbList<BeaconPredicate> createRepeated() => $pb.PbList<BeaconPredicate>();
   @$core.pragma('dart2js:noInline')
-  static BluetoothDescriptor getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothDescriptor>(create);
-  static BluetoothDescriptor _defaultInstance;
+  static BeaconPredicate getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BeaconPredicate>(create);
+  static BeaconPredicate _defaultInstance;
 
   @$pb.TagNumber(1)
   $core.String get uuid => $_getSZ(0);
@@ -638,372 +829,493 @@ class BluetoothDescriptor extends $pb.GeneratedMessage {
   void clearUuid() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.String get remoteId => $_getSZ(1);
+  Int32Value get major => $_getN(1);
   @$pb.TagNumber(2)
-  set remoteId($core.String v) { $_setString(1, v); }
+  set major(Int32Value v) { setField(2, v); }
   @$pb.TagNumber(2)
-  $core.bool hasRemoteId() => $_has(1);
+  $core.bool hasMajor() => $_has(1);
   @$pb.TagNumber(2)
-  void clearRemoteId() => clearField(2);
+  void clearMajor() => clearField(2);
+  @$pb.TagNumber(2)
+  Int32Value ensureMajor() => $_ensure(1);
 
   @$pb.TagNumber(3)
-  $core.String get serviceUuid => $_getSZ(2);
+  Int32Value get minor => $_getN(2);
   @$pb.TagNumber(3)
-  set serviceUuid($core.String v) { $_setString(2, v); }
+  set minor(Int32Value v) { setField(3, v); }
   @$pb.TagNumber(3)
-  $core.bool hasServiceUuid() => $_has(2);
+  $core.bool hasMinor() => $_has(2);
   @$pb.TagNumber(3)
-  void clearServiceUuid() => clearField(3);
+  void clearMinor() => clearField(3);
+  @$pb.TagNumber(3)
+  Int32Value ensureMinor() => $_ensure(2);
 
   @$pb.TagNumber(4)
-  $core.String get characteristicUuid => $_getSZ(3);
+  $core.List<$core.int> get eddystoneNamespace => $_getN(3);
   @$pb.TagNumber(4)
-  set characteristicUuid($core.String v) { $_setString(3, v); }
+  set eddystoneNamespace($core.List<$core.int> v) { $_setBytes(3, v); }
   @$pb.TagNumber(4)
-  $core.bool hasCharacteristicUuid() => $_has(3);
+  $core.bool hasEddystoneNamespace() => $_has(3);
   @$pb.TagNumber(4)
-  void clearCharacteristicUuid() => clearField(4);
+  void clearEddystoneNamespace() => clearField(4);
 
   @$pb.TagNumber(5)
-  $core.List<$core.int> get value => $_getN(4);
+  $core.List<$core.int> get eddystoneInstance => $_getN(4);
   @$pb.TagNumber(5)
-  set value($core.List<$core.int> v) { $_setBytes(4, v); }
+  set eddystoneInstance($core.List<$core.int> v) { $_setBytes(4, v); }
   @$pb.TagNumber(5)
-  $core.bool hasValue() => $_has(4);
+  $core.bool hasEddystoneInstance() => $_has(4);
   @$pb.TagNumber(5)
-  void clearValue() => clearField(5);
+  void clearEddystoneInstance() => clearField(5);
 }
 
-class CharacteristicProperties extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('CharacteristicProperties', createEmptyInstance: create)
-    ..aOB(1, 'broadcast')
-    ..aOB(2, 'read')
-    ..aOB(3, 'writeWithoutResponse')
-    ..aOB(4, 'write')
-    ..aOB(5, 'notify')
-    ..aOB(6, 'indicate')
-    ..aOB(7, 'authenticatedSignedWrites')
-    ..aOB(8, 'extendedProperties')
-    ..aOB(9, 'notifyEncryptionRequired')
-    ..aOB(10, 'indicateEncryptionRequired')
+class ScanPredicateList extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ScanPredicateList', createEmptyInstance: create)
+    ..pc<ScanPredicate>(1, 'predicates', $pb.PbFieldType.PM, subBuilder: ScanPredicate.create)
     ..hasRequiredFields = false
   ;
 
-  CharacteristicProperties._() : super();
-  factory CharacteristicProperties() => create();
-  factory CharacteristicProperties.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory CharacteristicProperties.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  CharacteristicProperties clone() => CharacteristicProperties()..mergeFromMessage(this);
-  CharacteristicProperties copyWith(void Function(CharacteristicProperties) updates) => super.copyWith((message) => updates(message as CharacteristicProperties));
+  ScanPredicateList._() : super();
+  factory ScanPredicateList() => create();
+  factory ScanPredicateList.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ScanPredicateList.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ScanPredicateList clone() => ScanPredicateList()..mergeFromMessage(this);
+  ScanPredicateList copyWith(void Function(ScanPredicateList) updates) => super.copyWith((message) => updates(message as ScanPredicateList));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static CharacteristicProperties create() => CharacteristicProperties._();
-  CharacteristicProperties createEmptyInstance() => create();
-  static $pb.PbList<CharacteristicProperties> createRepeated() => $pb.PbList<CharacteristicProperties>();
+  static ScanPredicateList create() => ScanPredicateList._();
+  ScanPredicateList createEmptyInstance() => create();
+  static $pb.PbList<ScanPredicateList> createRepeated() => $pb.PbList<ScanPredicateList>();
   @$core.pragma('dart2js:noInline')
-  static CharacteristicProperties getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<CharacteristicProperties>(create);
-  static CharacteristicProperties _defaultInstance;
+  static ScanPredicateList getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanPredicateList>(create);
+  static ScanPredicateList _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.bool get broadcast => $_getBF(0);
+  $core.List<ScanPredicate> get predicates => $_getList(0);
+}
+
+class DataPredicate extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('DataPredicate', createEmptyInstance: create)
+    ..a<$core.int>(1, 'manufacturerId', $pb.PbFieldType.O3)
+    ..aOS(2, 'serviceUuid')
+    ..a<$core.int>(3, 'offset', $pb.PbFieldType.O3)
+    ..a<$core.List<$core.int>>(4, 'value', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(5, 'mask', $pb.PbFieldType.OY)
+    ..e<DataPredicate_Comparison>(6, 'comparison', $pb.PbFieldType.OE, defaultOrMaker: DataPredicate_Comparison.EQUAL, valueOf: DataPredicate_Comparison.valueOf, enumValues: DataPredicate_Comparison.values)
+    ..aOB(7, 'littleEndian')
+    ..hasRequiredFields = false
+  ;
+
+  DataPredicate._() : super();
+  factory DataPredicate() => create();
+  factory DataPredicate.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory DataPredicate.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  DataPredicate clone() => DataPredicate()..mergeFromMessage(this);
+  DataPredicate copyWith(void Function(DataPredicate) updates) => super.copyWith((message) => updates(message as DataPredicate));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static DataPredicate create() => DataPredicate._();
+  DataPredicate createEmptyInstance() => create();
+  static $pb.PbList<DataPredicate> createRepeated() => $pb.PbList<DataPredicate>();
+  @$core.pragma('dart2js:noInline')
+  static DataPredicate getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<DataPredicate>(create);
+  static DataPredicate _defaultInstance;
+
   @$pb.TagNumber(1)
-  set broadcast($core.bool v) { $_setBool(0, v); }
+  $core.int get manufacturerId => $_getIZ(0);
   @$pb.TagNumber(1)
-  $core.bool hasBroadcast() => $_has(0);
+  set manufacturerId($core.int v) { $_setSignedInt32(0, v); }
   @$pb.TagNumber(1)
-  void clearBroadcast() => clearField(1);
+  $core.bool hasManufacturerId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearManufacturerId() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.bool get read => $_getBF(1);
+  $core.String get serviceUuid => $_getSZ(1);
   @$pb.TagNumber(2)
-  set read($core.bool v) { $_setBool(1, v); }
+  set serviceUuid($core.String v) { $_setString(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasRead() => $_has(1);
+  $core.bool hasServiceUuid() => $_has(1);
   @$pb.TagNumber(2)
-  void clearRead() => clearField(2);
+  void clearServiceUuid() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.bool get writeWithoutResponse => $_getBF(2);
+  $core.int get offset => $_getIZ(2);
   @$pb.TagNumber(3)
-  set writeWithoutResponse($core.bool v) { $_setBool(2, v); }
+  set offset($core.int v) { $_setSignedInt32(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasWriteWithoutResponse() => $_has(2);
+  $core.bool hasOffset() => $_has(2);
   @$pb.TagNumber(3)
-  void clearWriteWithoutResponse() => clearField(3);
+  void clearOffset() => clearField(3);
 
   @$pb.TagNumber(4)
-  $core.bool get write => $_getBF(3);
+  $core.List<$core.int> get value => $_getN(3);
   @$pb.TagNumber(4)
-  set write($core.bool v) { $_setBool(3, v); }
+  set value($core.List<$core.int> v) { $_setBytes(3, v); }
   @$pb.TagNumber(4)
-  $core.bool hasWrite() => $_has(3);
+  $core.bool hasValue() => $_has(3);
   @$pb.TagNumber(4)
-  void clearWrite() => clearField(4);
+  void clearValue() => clearField(4);
 
   @$pb.TagNumber(5)
-  $core.bool get notify => $_getBF(4);
+  $core.List<$core.int> get mask => $_getN(4);
   @$pb.TagNumber(5)
-  set notify($core.bool v) { $_setBool(4, v); }
+  set mask($core.List<$core.int> v) { $_setBytes(4, v); }
   @$pb.TagNumber(5)
-  $core.bool hasNotify() => $_has(4);
+  $core.bool hasMask() => $_has(4);
   @$pb.TagNumber(5)
-  void clearNotify() => clearField(5);
+  void clearMask() => clearField(5);
 
   @$pb.TagNumber(6)
-  $core.bool get indicate => $_getBF(5);
+  DataPredicate_Comparison get comparison => $_getN(5);
   @$pb.TagNumber(6)
-  set indicate($core.bool v) { $_setBool(5, v); }
+  set comparison(DataPredicate_Comparison v) { setField(6, v); }
   @$pb.TagNumber(6)
-  $core.bool hasIndicate() => $_has(5);
+  $core.bool hasComparison() => $_has(5);
   @$pb.TagNumber(6)
-  void clearIndicate() => clearField(6);
+  void clearComparison() => clearField(6);
 
   @$pb.TagNumber(7)
-  $core.bool get authenticatedSignedWrites => $_getBF(6);
+  $core.bool get littleEndian => $_getBF(6);
   @$pb.TagNumber(7)
-  set authenticatedSignedWrites($core.bool v) { $_setBool(6, v); }
+  set littleEndian($core.bool v) { $_setBool(6, v); }
   @$pb.TagNumber(7)
-  $core.bool hasAuthenticatedSignedWrites() => $_has(6);
+  $core.bool hasLittleEndian() => $_has(6);
   @$pb.TagNumber(7)
-  void clearAuthenticatedSignedWrites() => clearField(7);
-
-  @$pb.TagNumber(8)
-  $core.bool get extendedProperties => $_getBF(7);
-  @$pb.TagNumber(8)
-  set extendedProperties($core.bool v) { $_setBool(7, v); }
-  @$pb.TagNumber(8)
-  $core.bool hasExtendedProperties() => $_has(7);
-  @$pb.TagNumber(8)
-  void clearExtendedProperties() => clearField(8);
-
-  @$pb.TagNumber(9)
-  $core.bool get notifyEncryptionRequired => $_getBF(8);
-  @$pb.TagNumber(9)
-  set notifyEncryptionRequired($core.bool v) { $_setBool(8, v); }
-  @$pb.TagNumber(9)
-  $core.bool hasNotifyEncryptionRequired() => $_has(8);
-  @$pb.TagNumber(9)
-  void clearNotifyEncryptionRequired() => clearField(9);
-
-  @$pb.TagNumber(10)
-  $core.bool get indicateEncryptionRequired => $_getBF(9);
-  @$pb.TagNumber(10)
-  set indicateEncryptionRequired($core.bool v) { $_setBool(9, v); }
-  @$pb.TagNumber(10)
-  $core.bool hasIndicateEncryptionRequired() => $_has(9);
-  @$pb.TagNumber(10)
-  void clearIndicateEncryptionRequired() => clearField(10);
+  void clearLittleEndian() => clearField(7);
 }
 
-class DiscoverServicesResult extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('DiscoverServicesResult', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..pc<BluetoothService>(2, 'services', $pb.PbFieldType.PM, subBuilder: BluetoothService.create)
+class ScanFilter extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ScanFilter', createEmptyInstance: create)
+    ..aOS(1, 'serviceUuid')
+    ..aOS(2, 'deviceName')
+    ..aOS(3, 'deviceAddress')
+    ..aOM<Int32Value>(4, 'manufacturerId', subBuilder: Int32Value.create)
+    ..a<$core.List<$core.int>>(5, 'manufacturerData', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(6, 'manufacturerDataMask', $pb.PbFieldType.OY)
+    ..aOS(7, 'serviceDataUuid')
+    ..a<$core.List<$core.int>>(8, 'serviceData', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(9, 'serviceDataMask', $pb.PbFieldType.OY)
     ..hasRequiredFields = false
   ;
 
-  DiscoverServicesResult._() : super();
-  factory DiscoverServicesResult() => create();
-  factory DiscoverServicesResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory DiscoverServicesResult.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  DiscoverServicesResult clone() => DiscoverServicesResult()..mergeFromMessage(this);
-  DiscoverServicesResult copyWith(void Function(DiscoverServicesResult) updates) => super.copyWith((message) => updates(message as DiscoverServicesResult));
+  ScanFilter._() : super();
+  factory ScanFilter() => create();
+  factory ScanFilter.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ScanFilter.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ScanFilter clone() => ScanFilter()..mergeFromMessage(this);
+  ScanFilter copyWith(void Function(ScanFilter) updates) => super.copyWith((message) => updates(message as ScanFilter));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static DiscoverServicesResult create() => DiscoverServicesResult._();
-  DiscoverServicesResult createEmptyInstance() => create();
-  static $pb.PbList<DiscoverServicesResult> createRepeated() => $pb.PbList<DiscoverServicesResult>();
+  static ScanFilter create() => ScanFilter._();
+  ScanFilter createEmptyInstance() => create();
+  static $pb.PbList<ScanFilter> createRepeated() => $pb.PbList<ScanFilter>();
   @$core.pragma('dart2js:noInline')
-  static DiscoverServicesResult getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<DiscoverServicesResult>(create);
-  static DiscoverServicesResult _defaultInstance;
+  static ScanFilter getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanFilter>(create);
+  static ScanFilter _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $core.String get serviceUuid => $_getSZ(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set serviceUuid($core.String v) { $_setString(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasServiceUuid() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearServiceUuid() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.List<BluetoothService> get services => $_getList(1);
+  $core.String get deviceName => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set deviceName($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasDeviceName() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearDeviceName() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.String get deviceAddress => $_getSZ(2);
+  @$pb.TagNumber(3)
+  set deviceAddress($core.String v) { $_setString(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasDeviceAddress() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearDeviceAddress() => clearField(3);
+
+  @$pb.TagNumber(4)
+  Int32Value get manufacturerId => $_getN(3);
+  @$pb.TagNumber(4)
+  set manufacturerId(Int32Value v) { setField(4, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasManufacturerId() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearManufacturerId() => clearField(4);
+  @$pb.TagNumber(4)
+  Int32Value ensureManufacturerId() => $_ensure(3);
+
+  @$pb.TagNumber(5)
+  $core.List<$core.int> get manufacturerData => $_getN(4);
+  @$pb.TagNumber(5)
+  set manufacturerData($core.List<$core.int> v) { $_setBytes(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasManufacturerData() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearManufacturerData() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get manufacturerDataMask => $_getN(5);
+  @$pb.TagNumber(6)
+  set manufacturerDataMask($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasManufacturerDataMask() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearManufacturerDataMask() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.String get serviceDataUuid => $_getSZ(6);
+  @$pb.TagNumber(7)
+  set serviceDataUuid($core.String v) { $_setString(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasServiceDataUuid() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearServiceDataUuid() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.List<$core.int> get serviceData => $_getN(7);
+  @$pb.TagNumber(8)
+  set serviceData($core.List<$core.int> v) { $_setBytes(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasServiceData() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearServiceData() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $core.List<$core.int> get serviceDataMask => $_getN(8);
+  @$pb.TagNumber(9)
+  set serviceDataMask($core.List<$core.int> v) { $_setBytes(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasServiceDataMask() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearServiceDataMask() => clearField(9);
 }
 
-class RequestMTURequest extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('RequestMTURequest', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..a<$core.int>(2, 'localMTUSize', $pb.PbFieldType.O3, protoName: 'localMTUSize')
+class ScanResult extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ScanResult', createEmptyInstance: create)
+    ..aOM<BluetoothDevice>(1, 'device', subBuilder: BluetoothDevice.create)
+    ..aOM<AdvertisementData>(2, 'advertisementData', subBuilder: AdvertisementData.create)
+    ..a<$core.int>(3, 'rssi', $pb.PbFieldType.O3)
+    ..p<$core.int>(4, 'subscriptionIds', $pb.PbFieldType.K3)
     ..hasRequiredFields = false
   ;
 
-  RequestMTURequest._() : super();
-  factory RequestMTURequest() => create();
-  factory RequestMTURequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory RequestMTURequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  RequestMTURequest clone() => RequestMTURequest()..mergeFromMessage(this);
-  RequestMTURequest copyWith(void Function(RequestMTURequest) updates) => super.copyWith((message) => updates(message as RequestMTURequest));
+  ScanResult._() : super();
+  factory ScanResult() => create();
+  factory ScanResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ScanResult.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ScanResult clone() => ScanResult()..mergeFromMessage(this);
+  ScanResult copyWith(void Function(ScanResult) updates) => super.copyWith((message) => updates(message as ScanResult));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static RequestMTURequest create() => RequestMTURequest._();
-  RequestMTURequest createEmptyInstance() => create();
-  static $pb.PbList<RequestMTURequest> createRepeated() => $pb.PbList<RequestMTURequest>();
+  static ScanResult create() => ScanResult._();
+  ScanResult createEmptyInstance() => create();
+  static $pb.PbList<ScanResult> createRepeated() => $pb.PbList<ScanResult>();
   @$core.pragma('dart2js:noInline')
-  static RequestMTURequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<RequestMTURequest>(create);
-  static RequestMTURequest _defaultInstance;
+  static ScanResult getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanResult>(create);
+  static ScanResult _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  BluetoothDevice get device => $_getN(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set device(BluetoothDevice v) { setField(1, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasDevice() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearDevice() => clearField(1);
+  @$pb.TagNumber(1)
+  BluetoothDevice ensureDevice() => $_ensure(0);
 
   @$pb.TagNumber(2)
-  $core.int get localMTUSize => $_getIZ(1);
+  AdvertisementData get advertisementData => $_getN(1);
   @$pb.TagNumber(2)
-  set localMTUSize($core.int v) { $_setSignedInt32(1, v); }
+  set advertisementData(AdvertisementData v) { setField(2, v); }
   @$pb.TagNumber(2)
-  $core.bool hasLocalMTUSize() => $_has(1);
+  $core.bool hasAdvertisementData() => $_has(1);
   @$pb.TagNumber(2)
-  void clearLocalMTUSize() => clearField(2);
+  void clearAdvertisementData() => clearField(2);
+  @$pb.TagNumber(2)
+  AdvertisementData ensureAdvertisementData() => $_ensure(1);
+
+  @$pb.TagNumber(3)
+  $core.int get rssi => $_getIZ(2);
+  @$pb.TagNumber(3)
+  set rssi($core.int v) { $_setSignedInt32(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasRssi() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearRssi() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.List<$core.int> get subscriptionIds => $_getList(3);
 }
 
-class RequestMTUResult extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('RequestMTUResult', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..a<$core.int>(2, 'remoteMTUSize', $pb.PbFieldType.O3, protoName: 'remoteMTUSize')
-    ..aOB(3, 'success')
+class ScanSessionState extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ScanSessionState', createEmptyInstance: create)
+    ..aOB(1, 'scanning')
+    ..aInt64(2, 'deferredMillis')
+    ..a<$core.int>(3, 'startsLeft', $pb.PbFieldType.O3)
+    ..a<$core.int>(4, 'errorCode', $pb.PbFieldType.O3)
+    ..aOS(5, 'error')
+    ..p<$core.int>(6, 'removedSubscriptionIds', $pb.PbFieldType.K3)
     ..hasRequiredFields = false
   ;
 
-  RequestMTUResult._() : super();
-  factory RequestMTUResult() => create();
-  factory RequestMTUResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory RequestMTUResult.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  RequestMTUResult clone() => RequestMTUResult()..mergeFromMessage(this);
-  RequestMTUResult copyWith(void Function(RequestMTUResult) updates) => super.copyWith((message) => updates(message as RequestMTUResult));
+  ScanSessionState._() : super();
+  factory ScanSessionState() => create();
+  factory ScanSessionState.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ScanSessionState.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ScanSessionState clone() => ScanSessionState()..mergeFromMessage(this);
+  ScanSessionState copyWith(void Function(ScanSessionState) updates) => super.copyWith((message) => updates(message as ScanSessionState));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static RequestMTUResult create() => RequestMTUResult._();
-  RequestMTUResult createEmptyInstance() => create();
-  static $pb.PbList<RequestMTUResult> createRepeated() => $pb.PbList<RequestMTUResult>();
+  static ScanSessionState create() => ScanSessionState._();
+  ScanSessionState createEmptyInstance() => create();
+  static $pb.PbList<ScanSessionState> createRepeated() => $pb.PbList<ScanSessionState>();
   @$core.pragma('dart2js:noInline')
-  static RequestMTUResult getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<RequestMTUResult>(create);
-  static RequestMTUResult _defaultInstance;
+  static ScanSessionState getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ScanSessionState>(create);
+  static ScanSessionState _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $core.bool get scanning => $_getBF(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set scanning($core.bool v) { $_setBool(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasScanning() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearScanning() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.int get remoteMTUSize => $_getIZ(1);
+  $fixnum.Int64 get deferredMillis => $_getI64(1);
   @$pb.TagNumber(2)
-  set remoteMTUSize($core.int v) { $_setSignedInt32(1, v); }
+  set deferredMillis($fixnum.Int64 v) { $_setInt64(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasRemoteMTUSize() => $_has(1);
+  $core.bool hasDeferredMillis() => $_has(1);
   @$pb.TagNumber(2)
-  void clearRemoteMTUSize() => clearField(2);
+  void clearDeferredMillis() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.bool get success => $_getBF(2);
+  $core.int get startsLeft => $_getIZ(2);
   @$pb.TagNumber(3)
-  set success($core.bool v) { $_setBool(2, v); }
+  set startsLeft($core.int v) { $_setSignedInt32(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasSuccess() => $_has(2);
+  $core.bool hasStartsLeft() => $_has(2);
   @$pb.TagNumber(3)
-  void clearSuccess() => clearField(3);
+  void clearStartsLeft() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.int get errorCode => $_getIZ(3);
+  @$pb.TagNumber(4)
+  set errorCode($core.int v) { $_setSignedInt32(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasErrorCode() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearErrorCode() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.String get error => $_getSZ(4);
+  @$pb.TagNumber(5)
+  set error($core.String v) { $_setString(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasError() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearError() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get removedSubscriptionIds => $_getList(5);
 }
 
-class ReadCharacteristicRequest extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ReadCharacteristicRequest', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..aOS(2, 'characteristicUuid')
-    ..aOS(3, 'serviceUuid')
-    ..aOS(4, 'secondaryServiceUuid')
+class PresenceSettings extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('PresenceSettings', createEmptyInstance: create)
+    ..aOB(1, 'enabled')
+    ..aInt64(2, 'lostAfterMillis')
+    ..a<$core.int>(3, 'rssiThreshold', $pb.PbFieldType.O3)
+    ..a<$core.double>(4, 'rssiSmoothing', $pb.PbFieldType.OF)
     ..hasRequiredFields = false
   ;
 
-  ReadCharacteristicRequest._() : super();
-  factory ReadCharacteristicRequest() => create();
-  factory ReadCharacteristicRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ReadCharacteristicRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ReadCharacteristicRequest clone() => ReadCharacteristicRequest()..mergeFromMessage(this);
-  ReadCharacteristicRequest copyWith(void Function(ReadCharacteristicRequest) updates) => super.copyWith((message) => updates(message as ReadCharacteristicRequest));
+  PresenceSettings._() : super();
+  factory PresenceSettings() => create();
+  factory PresenceSettings.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory PresenceSettings.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  PresenceSettings clone() => PresenceSettings()..mergeFromMessage(this);
+  PresenceSettings copyWith(void Function(PresenceSettings) updates) => super.copyWith((message) => updates(message as PresenceSettings));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ReadCharacteristicRequest create() => ReadCharacteristicRequest._();
-  ReadCharacteristicRequest createEmptyInstance() => create();
-  static $pb.PbList<ReadCharacteristicRequest> createRepeated() => $pb.PbList<ReadCharacteristicRequest>();
+  static PresenceSettings create() => PresenceSettings._();
+  PresenceSettings createEmptyInstance() => create();
+  static $pb.PbList<PresenceSettings> createRepeated() => $pb.PbList<PresenceSettings>();
   @$core.pragma('dart2js:noInline')
-  static ReadCharacteristicRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadCharacteristicRequest>(create);
-  static ReadCharacteristicRequest _defaultInstance;
+  static PresenceSettings getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<PresenceSettings>(create);
+  static PresenceSettings _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $core.bool get enabled => $_getBF(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set enabled($core.bool v) { $_setBool(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasEnabled() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearEnabled() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.String get characteristicUuid => $_getSZ(1);
+  $fixnum.Int64 get lostAfterMillis => $_getI64(1);
   @$pb.TagNumber(2)
-  set characteristicUuid($core.String v) { $_setString(1, v); }
+  set lostAfterMillis($fixnum.Int64 v) { $_setInt64(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasCharacteristicUuid() => $_has(1);
+  $core.bool hasLostAfterMillis() => $_has(1);
   @$pb.TagNumber(2)
-  void clearCharacteristicUuid() => clearField(2);
+  void clearLostAfterMillis() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.String get serviceUuid => $_getSZ(2);
+  $core.int get rssiThreshold => $_getIZ(2);
   @$pb.TagNumber(3)
-  set serviceUuid($core.String v) { $_setString(2, v); }
+  set rssiThreshold($core.int v) { $_setSignedInt32(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasServiceUuid() => $_has(2);
+  $core.bool hasRssiThreshold() => $_has(2);
   @$pb.TagNumber(3)
-  void clearServiceUuid() => clearField(3);
+  void clearRssiThreshold() => clearField(3);
 
   @$pb.TagNumber(4)
-  $core.String get secondaryServiceUuid => $_getSZ(3);
+  $core.double get rssiSmoothing => $_getN(3);
   @$pb.TagNumber(4)
-  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
+  set rssiSmoothing($core.double v) { $_setFloat(3, v); }
   @$pb.TagNumber(4)
-  $core.bool hasSecondaryServiceUuid() => $_has(3);
+  $core.bool hasRssiSmoothing() => $_has(3);
   @$pb.TagNumber(4)
-  void clearSecondaryServiceUuid() => clearField(4);
+  void clearRssiSmoothing() => clearField(4);
 }
 
-class ReadCharacteristicResponse extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ReadCharacteristicResponse', createEmptyInstance: create)
+class PresenceEntry extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('PresenceEntry', createEmptyInstance: create)
     ..aOS(1, 'remoteId')
-    ..aOM<BluetoothCharacteristic>(2, 'characteristic', subBuilder: BluetoothCharacteristic.create)
+    ..a<$core.int>(2, 'smoothedRssi', $pb.PbFieldType.O3)
+    ..aInt64(3, 'lastSeenMillisAgo')
+    ..a<$core.int>(4, 'payloadHash', $pb.PbFieldType.O3)
     ..hasRequiredFields = false
   ;
 
-  ReadCharacteristicResponse._() : super();
-  factory ReadCharacteristicResponse() => create();
-  factory ReadCharacteristicResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ReadCharacteristicResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ReadCharacteristicResponse clone() => ReadCharacteristicResponse()..mergeFromMessage(this);
-  ReadCharacteristicResponse copyWith(void Function(ReadCharacteristicResponse) updates) => super.copyWith((message) => updates(message as ReadCharacteristicResponse));
+  PresenceEntry._() : super();
+  factory PresenceEntry() => create();
+  factory PresenceEntry.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory PresenceEntry.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  PresenceEntry clone() => PresenceEntry()..mergeFromMessage(this);
+  PresenceEntry copyWith(void Function(PresenceEntry) updates) => super.copyWith((message) => updates(message as PresenceEntry));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ReadCharacteristicResponse create() => ReadCharacteristicResponse._();
-  ReadCharacteristicResponse createEmptyInstance() => create();
-  static $pb.PbList<ReadCharacteristicResponse> createRepeated() => $pb.PbList<ReadCharacteristicResponse>();
+  static PresenceEntry create() => PresenceEntry._();
+  PresenceEntry createEmptyInstance() => create();
+  static $pb.PbList<PresenceEntry> createRepeated() => $pb.PbList<PresenceEntry>();
   @$core.pragma('dart2js:noInline')
-  static ReadCharacteristicResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadCharacteristicResponse>(create);
-  static ReadCharacteristicResponse _defaultInstance;
+  static PresenceEntry getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<PresenceEntry>(create);
+  static PresenceEntry _defaultInstance;
 
   @$pb.TagNumber(1)
   $core.String get remoteId => $_getSZ(0);
@@ -1015,156 +1327,2085 @@ class ReadCharacteristicResponse extends $pb.GeneratedMessage {
   void clearRemoteId() => clearField(1);
 
   @$pb.TagNumber(2)
-  BluetoothCharacteristic get characteristic => $_getN(1);
-  @$pb.TagNumber(2)
-  set characteristic(BluetoothCharacteristic v) { setField(2, v); }
+  $core.int get smoothedRssi => $_getIZ(1);
   @$pb.TagNumber(2)
-  $core.bool hasCharacteristic() => $_has(1);
+  set smoothedRssi($core.int v) { $_setSignedInt32(1, v); }
   @$pb.TagNumber(2)
-  void clearCharacteristic() => clearField(2);
+  $core.bool hasSmoothedRssi() => $_has(1);
   @$pb.TagNumber(2)
-  BluetoothCharacteristic ensureCharacteristic() => $_ensure(1);
+  void clearSmoothedRssi() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $fixnum.Int64 get lastSeenMillisAgo => $_getI64(2);
+  @$pb.TagNumber(3)
+  set lastSeenMillisAgo($fixnum.Int64 v) { $_setInt64(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasLastSeenMillisAgo() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearLastSeenMillisAgo() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.int get payloadHash => $_getIZ(3);
+  @$pb.TagNumber(4)
+  set payloadHash($core.int v) { $_setSignedInt32(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasPayloadHash() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearPayloadHash() => clearField(4);
 }
 
-class ReadDescriptorRequest extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ReadDescriptorRequest', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..aOS(2, 'descriptorUuid')
-    ..aOS(3, 'serviceUuid')
-    ..aOS(4, 'secondaryServiceUuid')
-    ..aOS(5, 'characteristicUuid')
+class PresenceEvent extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('PresenceEvent', createEmptyInstance: create)
+    ..aOM<PresenceEntry>(1, 'device', subBuilder: PresenceEntry.create)
+    ..aOM<ScanResult>(2, 'result', subBuilder: ScanResult.create)
     ..hasRequiredFields = false
   ;
 
-  ReadDescriptorRequest._() : super();
-  factory ReadDescriptorRequest() => create();
-  factory ReadDescriptorRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ReadDescriptorRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ReadDescriptorRequest clone() => ReadDescriptorRequest()..mergeFromMessage(this);
-  ReadDescriptorRequest copyWith(void Function(ReadDescriptorRequest) updates) => super.copyWith((message) => updates(message as ReadDescriptorRequest));
+  PresenceEvent._() : super();
+  factory PresenceEvent() => create();
+  factory PresenceEvent.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory PresenceEvent.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  PresenceEvent clone() => PresenceEvent()..mergeFromMessage(this);
+  PresenceEvent copyWith(void Function(PresenceEvent) updates) => super.copyWith((message) => updates(message as PresenceEvent));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ReadDescriptorRequest create() => ReadDescriptorRequest._();
-  ReadDescriptorRequest createEmptyInstance() => create();
-  static $pb.PbList<ReadDescriptorRequest> createRepeated() => $pb.PbList<ReadDescriptorRequest>();
+  static PresenceEvent create() => PresenceEvent._();
+  PresenceEvent createEmptyInstance() => create();
+  static $pb.PbList<PresenceEvent> createRepeated() => $pb.PbList<PresenceEvent>();
   @$core.pragma('dart2js:noInline')
-  static ReadDescriptorRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadDescriptorRequest>(create);
-  static ReadDescriptorRequest _defaultInstance;
+  static PresenceEvent getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<PresenceEvent>(create);
+  static PresenceEvent _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  PresenceEntry get device => $_getN(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set device(PresenceEntry v) { setField(1, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasDevice() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearDevice() => clearField(1);
+  @$pb.TagNumber(1)
+  PresenceEntry ensureDevice() => $_ensure(0);
 
   @$pb.TagNumber(2)
-  $core.String get descriptorUuid => $_getSZ(1);
+  ScanResult get result => $_getN(1);
   @$pb.TagNumber(2)
-  set descriptorUuid($core.String v) { $_setString(1, v); }
+  set result(ScanResult v) { setField(2, v); }
   @$pb.TagNumber(2)
-  $core.bool hasDescriptorUuid() => $_has(1);
+  $core.bool hasResult() => $_has(1);
   @$pb.TagNumber(2)
-  void clearDescriptorUuid() => clearField(2);
+  void clearResult() => clearField(2);
+  @$pb.TagNumber(2)
+  ScanResult ensureResult() => $_ensure(1);
+}
+
+class PresenceSnapshot extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('PresenceSnapshot', createEmptyInstance: create)
+    ..pc<PresenceEntry>(1, 'devices', $pb.PbFieldType.PM, subBuilder: PresenceEntry.create)
+    ..hasRequiredFields = false
+  ;
+
+  PresenceSnapshot._() : super();
+  factory PresenceSnapshot() => create();
+  factory PresenceSnapshot.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory PresenceSnapshot.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  PresenceSnapshot clone() => PresenceSnapshot()..mergeFromMessage(this);
+  PresenceSnapshot copyWith(void Function(PresenceSnapshot) updates) => super.copyWith((message) => updates(message as PresenceSnapshot));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static PresenceSnapshot create() => PresenceSnapshot._();
+  PresenceSnapshot createEmptyInstance() => create();
+  static $pb.PbList<PresenceSnapshot> createRepeated() => $pb.PbList<PresenceSnapshot>();
+  @$core.pragma('dart2js:noInline')
+  static PresenceSnapshot getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<PresenceSnapshot>(create);
+  static PresenceSnapshot _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.List<PresenceEntry> get devices => $_getList(0);
+}
+
+class ServerAdvertisePayload extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ServerAdvertisePayload', createEmptyInstance: create)
+    ..aOS(1, 'serviceUuid')
+    ..a<$core.int>(2, 'manufacturerID', $pb.PbFieldType.O3, protoName: 'manufacturerID')
+    ..a<$core.List<$core.int>>(3, 'manufacturerData', $pb.PbFieldType.OY, protoName: 'manufacturerData')
+    ..hasRequiredFields = false
+  ;
+
+  ServerAdvertisePayload._() : super();
+  factory ServerAdvertisePayload() => create();
+  factory ServerAdvertisePayload.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ServerAdvertisePayload.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ServerAdvertisePayload clone() => ServerAdvertisePayload()..mergeFromMessage(this);
+  ServerAdvertisePayload copyWith(void Function(ServerAdvertisePayload) updates) => super.copyWith((message) => updates(message as ServerAdvertisePayload));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ServerAdvertisePayload create() => ServerAdvertisePayload._();
+  ServerAdvertisePayload createEmptyInstance() => create();
+  static $pb.PbList<ServerAdvertisePayload> createRepeated() => $pb.PbList<ServerAdvertisePayload>();
+  @$core.pragma('dart2js:noInline')
+  static ServerAdvertisePayload getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ServerAdvertisePayload>(create);
+  static ServerAdvertisePayload _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get serviceUuid => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set serviceUuid($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasServiceUuid() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearServiceUuid() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.int get manufacturerID => $_getIZ(1);
+  @$pb.TagNumber(2)
+  set manufacturerID($core.int v) { $_setSignedInt32(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasManufacturerID() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearManufacturerID() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.List<$core.int> get manufacturerData => $_getN(2);
+  @$pb.TagNumber(3)
+  set manufacturerData($core.List<$core.int> v) { $_setBytes(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasManufacturerData() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearManufacturerData() => clearField(3);
+}
+
+class ServerAdvertiseResult extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ServerAdvertiseResult', createEmptyInstance: create)
+    ..aOB(1, 'success')
+    ..a<$core.int>(2, 'errorCode', $pb.PbFieldType.O3, protoName: 'errorCode')
+    ..hasRequiredFields = false
+  ;
+
+  ServerAdvertiseResult._() : super();
+  factory ServerAdvertiseResult() => create();
+  factory ServerAdvertiseResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ServerAdvertiseResult.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ServerAdvertiseResult clone() => ServerAdvertiseResult()..mergeFromMessage(this);
+  ServerAdvertiseResult copyWith(void Function(ServerAdvertiseResult) updates) => super.copyWith((message) => updates(message as ServerAdvertiseResult));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ServerAdvertiseResult create() => ServerAdvertiseResult._();
+  ServerAdvertiseResult createEmptyInstance() => create();
+  static $pb.PbList<ServerAdvertiseResult> createRepeated() => $pb.PbList<ServerAdvertiseResult>();
+  @$core.pragma('dart2js:noInline')
+  static ServerAdvertiseResult getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ServerAdvertiseResult>(create);
+  static ServerAdvertiseResult _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.bool get success => $_getBF(0);
+  @$pb.TagNumber(1)
+  set success($core.bool v) { $_setBool(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasSuccess() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearSuccess() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.int get errorCode => $_getIZ(1);
+  @$pb.TagNumber(2)
+  set errorCode($core.int v) { $_setSignedInt32(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasErrorCode() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearErrorCode() => clearField(2);
+}
+
+class ConnectRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ConnectRequest', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOB(2, 'androidAutoConnect')
+    ..hasRequiredFields = false
+  ;
+
+  ConnectRequest._() : super();
+  factory ConnectRequest() => create();
+  factory ConnectRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ConnectRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ConnectRequest clone() => ConnectRequest()..mergeFromMessage(this);
+  ConnectRequest copyWith(void Function(ConnectRequest) updates) => super.copyWith((message) => updates(message as ConnectRequest));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ConnectRequest create() => ConnectRequest._();
+  ConnectRequest createEmptyInstance() => create();
+  static $pb.PbList<ConnectRequest> createRepeated() => $pb.PbList<ConnectRequest>();
+  @$core.pragma('dart2js:noInline')
+  static ConnectRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ConnectRequest>(create);
+  static ConnectRequest _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.bool get androidAutoConnect => $_getBF(1);
+  @$pb.TagNumber(2)
+  set androidAutoConnect($core.bool v) { $_setBool(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasAndroidAutoConnect() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearAndroidAutoConnect() => clearField(2);
+}
+
+class BluetoothDevice extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothDevice', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOS(2, 'name')
+    ..e<BluetoothDevice_Type>(3, 'type', $pb.PbFieldType.OE, defaultOrMaker: BluetoothDevice_Type.UNKNOWN, valueOf: BluetoothDevice_Type.valueOf, enumValues: BluetoothDevice_Type.values)
+    ..hasRequiredFields = false
+  ;
+
+  BluetoothDevice._() : super();
+  factory BluetoothDevice() => create();
+  factory BluetoothDevice.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory BluetoothDevice.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  BluetoothDevice clone() => BluetoothDevice()..mergeFromMessage(this);
+  BluetoothDevice copyWith(void Function(BluetoothDevice) updates) => super.copyWith((message) => updates(message as BluetoothDevice));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static BluetoothDevice create() => BluetoothDevice._();
+  BluetoothDevice createEmptyInstance() => create();
+  static $pb.PbList<BluetoothDevice> createRepeated() => $pb.PbList<BluetoothDevice>();
+  @$core.pragma('dart2js:noInline')
+  static BluetoothDevice getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothDevice>(create);
+  static BluetoothDevice _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get name => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set name($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasName() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearName() => clearField(2);
+
+  @$pb.TagNumber(3)
+  BluetoothDevice_Type get type => $_getN(2);
+  @$pb.TagNumber(3)
+  set type(BluetoothDevice_Type v) { setField(3, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasType() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearType() => clearField(3);
+}
+
+class BluetoothServerDevice extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothServerDevice', createEmptyInstance: create)
+    ..aOM<BluetoothDevice>(1, 'device', subBuilder: BluetoothDevice.create)
+    ..aOB(2, 'connected')
+    ..hasRequiredFields = false
+  ;
+
+  BluetoothServerDevice._() : super();
+  factory BluetoothServerDevice() => create();
+  factory BluetoothServerDevice.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory BluetoothServerDevice.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  BluetoothServerDevice clone() => BluetoothServerDevice()..mergeFromMessage(this);
+  BluetoothServerDevice copyWith(void Function(BluetoothServerDevice) updates) => super.copyWith((message) => updates(message as BluetoothServerDevice));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static BluetoothServerDevice create() => BluetoothServerDevice._();
+  BluetoothServerDevice createEmptyInstance() => create();
+  static $pb.PbList<BluetoothServerDevice> createRepeated() => $pb.PbList<BluetoothServerDevice>();
+  @$core.pragma('dart2js:noInline')
+  static BluetoothServerDevice getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothServerDevice>(create);
+  static BluetoothServerDevice _defaultInstance;
+
+  @$pb.TagNumber(1)
+  BluetoothDevice get device => $_getN(0);
+  @$pb.TagNumber(1)
+  set device(BluetoothDevice v) { setField(1, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasDevice() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearDevice() => clearField(1);
+  @$pb.TagNumber(1)
+  BluetoothDevice ensureDevice() => $_ensure(0);
+
+  @$pb.TagNumber(2)
+  $core.bool get connected => $_getBF(1);
+  @$pb.TagNumber(2)
+  set connected($core.bool v) { $_setBool(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasConnected() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearConnected() => clearField(2);
+}
+
+class BluetoothService extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothService', createEmptyInstance: create)
+    ..aOS(1, 'uuid')
+    ..aOS(2, 'remoteId')
+    ..aOB(3, 'isPrimary')
+    ..pc<BluetoothCharacteristic>(4, 'characteristics', $pb.PbFieldType.PM, subBuilder: BluetoothCharacteristic.create)
+    ..pc<BluetoothService>(5, 'includedServices', $pb.PbFieldType.PM, subBuilder: BluetoothService.create)
+    ..a<$core.List<$core.int>>(6, 'binaryUuid', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  BluetoothService._() : super();
+  factory BluetoothService() => create();
+  factory BluetoothService.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory BluetoothService.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  BluetoothService clone() => BluetoothService()..mergeFromMessage(this);
+  BluetoothService copyWith(void Function(BluetoothService) updates) => super.copyWith((message) => updates(message as BluetoothService));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static BluetoothService create() => BluetoothService._();
+  BluetoothService createEmptyInstance() => create();
+  static $pb.PbList<BluetoothService> createRepeated() => $pb.PbList<BluetoothService>();
+  @$core.pragma('dart2js:noInline')
+  static BluetoothService getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothService>(create);
+  static BluetoothService _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get uuid => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set uuid($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasUuid() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearUuid() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get remoteId => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set remoteId($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasRemoteId() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearRemoteId() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.bool get isPrimary => $_getBF(2);
+  @$pb.TagNumber(3)
+  set isPrimary($core.bool v) { $_setBool(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasIsPrimary() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearIsPrimary() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.List<BluetoothCharacteristic> get characteristics => $_getList(3);
+
+  @$pb.TagNumber(5)
+  $core.List<BluetoothService> get includedServices => $_getList(4);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get binaryUuid => $_getN(5);
+  @$pb.TagNumber(6)
+  set binaryUuid($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasBinaryUuid() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearBinaryUuid() => clearField(6);
+}
+
+class BluetoothCharacteristic extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothCharacteristic', createEmptyInstance: create)
+    ..aOS(1, 'uuid')
+    ..aOS(2, 'remoteId')
+    ..aOS(3, 'serviceUuid', protoName: 'serviceUuid')
+    ..aOS(4, 'secondaryServiceUuid', protoName: 'secondaryServiceUuid')
+    ..pc<BluetoothDescriptor>(5, 'descriptors', $pb.PbFieldType.PM, subBuilder: BluetoothDescriptor.create)
+    ..aOM<CharacteristicProperties>(6, 'properties', subBuilder: CharacteristicProperties.create)
+    ..a<$core.List<$core.int>>(7, 'value', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(8, 'binaryUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(9, 'binaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(10, 'binarySecondaryServiceUuid', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  BluetoothCharacteristic._() : super();
+  factory BluetoothCharacteristic() => create();
+  factory BluetoothCharacteristic.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory BluetoothCharacteristic.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  BluetoothCharacteristic clone() => BluetoothCharacteristic()..mergeFromMessage(this);
+  BluetoothCharacteristic copyWith(void Function(BluetoothCharacteristic) updates) => super.copyWith((message) => updates(message as BluetoothCharacteristic));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static BluetoothCharacteristic create() => BluetoothCharacteristic._();
+  BluetoothCharacteristic createEmptyInstance() => create();
+  static $pb.PbList<BluetoothCharacteristic> createRepeated() => $pb.PbList<BluetoothCharacteristic>();
+  @$core.pragma('dart2js:noInline')
+  static BluetoothCharacteristic getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothCharacteristic>(create);
+  static BluetoothCharacteristic _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get uuid => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set uuid($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasUuid() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearUuid() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get remoteId => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set remoteId($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasRemoteId() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearRemoteId() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.String get serviceUuid => $_getSZ(2);
+  @$pb.TagNumber(3)
+  set serviceUuid($core.String v) { $_setString(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasServiceUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearServiceUuid() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.String get secondaryServiceUuid => $_getSZ(3);
+  @$pb.TagNumber(4)
+  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasSecondaryServiceUuid() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearSecondaryServiceUuid() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.List<BluetoothDescriptor> get descriptors => $_getList(4);
+
+  @$pb.TagNumber(6)
+  CharacteristicProperties get properties => $_getN(5);
+  @$pb.TagNumber(6)
+  set properties(CharacteristicProperties v) { setField(6, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasProperties() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearProperties() => clearField(6);
+  @$pb.TagNumber(6)
+  CharacteristicProperties ensureProperties() => $_ensure(5);
+
+  @$pb.TagNumber(7)
+  $core.List<$core.int> get value => $_getN(6);
+  @$pb.TagNumber(7)
+  set value($core.List<$core.int> v) { $_setBytes(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasValue() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearValue() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.List<$core.int> get binaryUuid => $_getN(7);
+  @$pb.TagNumber(8)
+  set binaryUuid($core.List<$core.int> v) { $_setBytes(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasBinaryUuid() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearBinaryUuid() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $core.List<$core.int> get binaryServiceUuid => $_getN(8);
+  @$pb.TagNumber(9)
+  set binaryServiceUuid($core.List<$core.int> v) { $_setBytes(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasBinaryServiceUuid() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearBinaryServiceUuid() => clearField(9);
+
+  @$pb.TagNumber(10)
+  $core.List<$core.int> get binarySecondaryServiceUuid => $_getN(9);
+  @$pb.TagNumber(10)
+  set binarySecondaryServiceUuid($core.List<$core.int> v) { $_setBytes(9, v); }
+  @$pb.TagNumber(10)
+  $core.bool hasBinarySecondaryServiceUuid() => $_has(9);
+  @$pb.TagNumber(10)
+  void clearBinarySecondaryServiceUuid() => clearField(10);
+}
+
+class BluetoothDescriptor extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('BluetoothDescriptor', createEmptyInstance: create)
+    ..aOS(1, 'uuid')
+    ..aOS(2, 'remoteId')
+    ..aOS(3, 'serviceUuid', protoName: 'serviceUuid')
+    ..aOS(4, 'characteristicUuid', protoName: 'characteristicUuid')
+    ..a<$core.List<$core.int>>(5, 'value', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(6, 'binaryUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(7, 'binaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(8, 'binaryCharacteristicUuid', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  BluetoothDescriptor._() : super();
+  factory BluetoothDescriptor() => create();
+  factory BluetoothDescriptor.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory BluetoothDescriptor.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  BluetoothDescriptor clone() => BluetoothDescriptor()..mergeFromMessage(this);
+  BluetoothDescriptor copyWith(void Function(BluetoothDescriptor) updates) => super.copyWith((message) => updates(message as BluetoothDescriptor));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static BluetoothDescriptor create() => BluetoothDescriptor._();
+  BluetoothDescriptor createEmptyInstance() => create();
+  static $pb.PbList<BluetoothDescriptor> createRepeated() => $pb.PbList<BluetoothDescriptor>();
+  @$core.pragma('dart2js:noInline')
+  static BluetoothDescriptor getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<BluetoothDescriptor>(create);
+  static BluetoothDescriptor _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get uuid => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set uuid($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasUuid() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearUuid() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get remoteId => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set remoteId($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasRemoteId() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearRemoteId() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.String get serviceUuid => $_getSZ(2);
+  @$pb.TagNumber(3)
+  set serviceUuid($core.String v) { $_setString(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasServiceUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearServiceUuid() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.String get characteristicUuid => $_getSZ(3);
+  @$pb.TagNumber(4)
+  set characteristicUuid($core.String v) { $_setString(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasCharacteristicUuid() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearCharacteristicUuid() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.List<$core.int> get value => $_getN(4);
+  @$pb.TagNumber(5)
+  set value($core.List<$core.int> v) { $_setBytes(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasValue() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearValue() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get binaryUuid => $_getN(5);
+  @$pb.TagNumber(6)
+  set binaryUuid($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasBinaryUuid() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearBinaryUuid() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.List<$core.int> get binaryServiceUuid => $_getN(6);
+  @$pb.TagNumber(7)
+  set binaryServiceUuid($core.List<$core.int> v) { $_setBytes(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasBinaryServiceUuid() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearBinaryServiceUuid() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.List<$core.int> get binaryCharacteristicUuid => $_getN(7);
+  @$pb.TagNumber(8)
+  set binaryCharacteristicUuid($core.List<$core.int> v) { $_setBytes(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasBinaryCharacteristicUuid() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearBinaryCharacteristicUuid() => clearField(8);
+}
+
+class CharacteristicProperties extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('CharacteristicProperties', createEmptyInstance: create)
+    ..aOB(1, 'broadcast')
+    ..aOB(2, 'read')
+    ..aOB(3, 'writeWithoutResponse')
+    ..aOB(4, 'write')
+    ..aOB(5, 'notify')
+    ..aOB(6, 'indicate')
+    ..aOB(7, 'authenticatedSignedWrites')
+    ..aOB(8, 'extendedProperties')
+    ..aOB(9, 'notifyEncryptionRequired')
+    ..aOB(10, 'indicateEncryptionRequired')
+    ..hasRequiredFields = false
+  ;
+
+  CharacteristicProperties._() : super();
+  factory CharacteristicProperties() => create();
+  factory CharacteristicProperties.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory CharacteristicProperties.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  CharacteristicProperties clone() => CharacteristicProperties()..mergeFromMessage(this);
+  CharacteristicProperties copyWith(void Function(CharacteristicProperties) updates) => super.copyWith((message) => updates(message as CharacteristicProperties));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static CharacteristicProperties create() => CharacteristicProperties._();
+  CharacteristicProperties createEmptyInstance() => create();
+  static $pb.PbList<CharacteristicProperties> createRepeated() => $pb.PbList<CharacteristicProperties>();
+  @$core.pragma('dart2js:noInline')
+  static CharacteristicProperties getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<CharacteristicProperties>(create);
+  static CharacteristicProperties _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.bool get broadcast => $_getBF(0);
+  @$pb.TagNumber(1)
+  set broadcast($core.bool v) { $_setBool(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasBroadcast() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearBroadcast() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.bool get read => $_getBF(1);
+  @$pb.TagNumber(2)
+  set read($core.bool v) { $_setBool(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasRead() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearRead() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.bool get writeWithoutResponse => $_getBF(2);
+  @$pb.TagNumber(3)
+  set writeWithoutResponse($core.bool v) { $_setBool(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasWriteWithoutResponse() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearWriteWithoutResponse() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.bool get write => $_getBF(3);
+  @$pb.TagNumber(4)
+  set write($core.bool v) { $_setBool(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasWrite() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearWrite() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.bool get notify => $_getBF(4);
+  @$pb.TagNumber(5)
+  set notify($core.bool v) { $_setBool(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasNotify() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearNotify() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.bool get indicate => $_getBF(5);
+  @$pb.TagNumber(6)
+  set indicate($core.bool v) { $_setBool(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasIndicate() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearIndicate() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.bool get authenticatedSignedWrites => $_getBF(6);
+  @$pb.TagNumber(7)
+  set authenticatedSignedWrites($core.bool v) { $_setBool(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasAuthenticatedSignedWrites() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearAuthenticatedSignedWrites() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.bool get extendedProperties => $_getBF(7);
+  @$pb.TagNumber(8)
+  set extendedProperties($core.bool v) { $_setBool(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasExtendedProperties() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearExtendedProperties() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $core.bool get notifyEncryptionRequired => $_getBF(8);
+  @$pb.TagNumber(9)
+  set notifyEncryptionRequired($core.bool v) { $_setBool(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasNotifyEncryptionRequired() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearNotifyEncryptionRequired() => clearField(9);
+
+  @$pb.TagNumber(10)
+  $core.bool get indicateEncryptionRequired => $_getBF(9);
+  @$pb.TagNumber(10)
+  set indicateEncryptionRequired($core.bool v) { $_setBool(9, v); }
+  @$pb.TagNumber(10)
+  $core.bool hasIndicateEncryptionRequired() => $_has(9);
+  @$pb.TagNumber(10)
+  void clearIndicateEncryptionRequired() => clearField(10);
+}
+
+class DiscoverServicesResult extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('DiscoverServicesResult', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..pc<BluetoothService>(2, 'services', $pb.PbFieldType.PM, subBuilder: BluetoothService.create)
+    ..hasRequiredFields = false
+  ;
+
+  DiscoverServicesResult._() : super();
+  factory DiscoverServicesResult() => create();
+  factory DiscoverServicesResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory DiscoverServicesResult.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  DiscoverServicesResult clone() => DiscoverServicesResult()..mergeFromMessage(this);
+  DiscoverServicesResult copyWith(void Function(DiscoverServicesResult) updates) => super.copyWith((message) => updates(message as DiscoverServicesResult));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static DiscoverServicesResult create() => DiscoverServicesResult._();
+  DiscoverServicesResult createEmptyInstance() => create();
+  static $pb.PbList<DiscoverServicesResult> createRepeated() => $pb.PbList<DiscoverServicesResult>();
+  @$core.pragma('dart2js:noInline')
+  static DiscoverServicesResult getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<DiscoverServicesResult>(create);
+  static DiscoverServicesResult _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.List<BluetoothService> get services => $_getList(1);
+}
+
+class ServiceRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ServiceRequest', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOS(2, 'serviceUuid')
+    ..a<$core.List<$core.int>>(3, 'binaryServiceUuid', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  ServiceRequest._() : super();
+  factory ServiceRequest() => create();
+  factory ServiceRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ServiceRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ServiceRequest clone() => ServiceRequest()..mergeFromMessage(this);
+  ServiceRequest copyWith(void Function(ServiceRequest) updates) => super.copyWith((message) => updates(message as ServiceRequest));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ServiceRequest create() => ServiceRequest._();
+  ServiceRequest createEmptyInstance() => create();
+  static $pb.PbList<ServiceRequest> createRepeated() => $pb.PbList<ServiceRequest>();
+  @$core.pragma('dart2js:noInline')
+  static ServiceRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ServiceRequest>(create);
+  static ServiceRequest _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get serviceUuid => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set serviceUuid($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasServiceUuid() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearServiceUuid() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.List<$core.int> get binaryServiceUuid => $_getN(2);
+  @$pb.TagNumber(3)
+  set binaryServiceUuid($core.List<$core.int> v) { $_setBytes(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasBinaryServiceUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearBinaryServiceUuid() => clearField(3);
+}
+
+class CompactDiscoverServicesResult extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('CompactDiscoverServicesResult', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..pPS(2, 'uuids')
+    ..pc<CompactService>(3, 'services', $pb.PbFieldType.PM, subBuilder: CompactService.create)
+    ..pc<CompactCharacteristic>(4, 'characteristics', $pb.PbFieldType.PM, subBuilder: CompactCharacteristic.create)
+    ..pc<CompactDescriptor>(5, 'descriptors', $pb.PbFieldType.PM, subBuilder: CompactDescriptor.create)
+    ..p<$core.List<$core.int>>(6, 'binaryUuids', $pb.PbFieldType.PY)
+    ..hasRequiredFields = false
+  ;
+
+  CompactDiscoverServicesResult._() : super();
+  factory CompactDiscoverServicesResult() => create();
+  factory CompactDiscoverServicesResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory CompactDiscoverServicesResult.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  CompactDiscoverServicesResult clone() => CompactDiscoverServicesResult()..mergeFromMessage(this);
+  CompactDiscoverServicesResult copyWith(void Function(CompactDiscoverServicesResult) updates) => super.copyWith((message) => updates(message as CompactDiscoverServicesResult));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static CompactDiscoverServicesResult create() => CompactDiscoverServicesResult._();
+  CompactDiscoverServicesResult createEmptyInstance() => create();
+  static $pb.PbList<CompactDiscoverServicesResult> createRepeated() => $pb.PbList<CompactDiscoverServicesResult>();
+  @$core.pragma('dart2js:noInline')
+  static CompactDiscoverServicesResult getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<CompactDiscoverServicesResult>(create);
+  static CompactDiscoverServicesResult _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.List<$core.String> get uuids => $_getList(1);
+
+  @$pb.TagNumber(3)
+  $core.List<CompactService> get services => $_getList(2);
+
+  @$pb.TagNumber(4)
+  $core.List<CompactCharacteristic> get characteristics => $_getList(3);
+
+  @$pb.TagNumber(5)
+  $core.List<CompactDescriptor> get descriptors => $_getList(4);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.List<$core.int>> get binaryUuids => $_getList(5);
+}
+
+class CompactService extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('CompactService', createEmptyInstance: create)
+    ..a<$core.int>(1, 'uuid', $pb.PbFieldType.OU3)
+    ..aOB(2, 'isPrimary')
+    ..p<$core.int>(3, 'includedServices', $pb.PbFieldType.KU3)
+    ..hasRequiredFields = false
+  ;
+
+  CompactService._() : super();
+  factory CompactService() => create();
+  factory CompactService.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory CompactService.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  CompactService clone() => CompactService()..mergeFromMessage(this);
+  CompactService copyWith(void Function(CompactService) updates) => super.copyWith((message) => updates(message as CompactService));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static CompactService create() => CompactService._();
+  CompactService createEmptyInstance() => create();
+  static $pb.PbList<CompactService> createRepeated() => $pb.PbList<CompactService>();
+  @$core.pragma('dart2js:noInline')
+  static CompactService getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<CompactService>(create);
+  static CompactService _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.int get uuid => $_getIZ(0);
+  @$pb.TagNumber(1)
+  set uuid($core.int v) { $_setUnsignedInt32(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasUuid() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearUuid() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.bool get isPrimary => $_getBF(1);
+  @$pb.TagNumber(2)
+  set isPrimary($core.bool v) { $_setBool(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasIsPrimary() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearIsPrimary() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.List<$core.int> get includedServices => $_getList(2);
+}
+
+class CompactCharacteristic extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('CompactCharacteristic', createEmptyInstance: create)
+    ..a<$core.int>(1, 'service', $pb.PbFieldType.OU3)
+    ..a<$core.int>(2, 'uuid', $pb.PbFieldType.OU3)
+    ..a<$core.int>(3, 'properties', $pb.PbFieldType.OU3)
+    ..a<$core.List<$core.int>>(4, 'value', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  CompactCharacteristic._() : super();
+  factory CompactCharacteristic() => create();
+  factory CompactCharacteristic.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory CompactCharacteristic.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  CompactCharacteristic clone() => CompactCharacteristic()..mergeFromMessage(this);
+  CompactCharacteristic copyWith(void Function(CompactCharacteristic) updates) => super.copyWith((message) => updates(message as CompactCharacteristic));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static CompactCharacteristic create() => CompactCharacteristic._();
+  CompactCharacteristic createEmptyInstance() => create();
+  static $pb.PbList<CompactCharacteristic> createRepeated() => $pb.PbList<CompactCharacteristic>();
+  @$core.pragma('dart2js:noInline')
+  static CompactCharacteristic getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<CompactCharacteristic>(create);
+  static CompactCharacteristic _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.int get service => $_getIZ(0);
+  @$pb.TagNumber(1)
+  set service($core.int v) { $_setUnsignedInt32(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasService() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearService() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.int get uuid => $_getIZ(1);
+  @$pb.TagNumber(2)
+  set uuid($core.int v) { $_setUnsignedInt32(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasUuid() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearUuid() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.int get properties => $_getIZ(2);
+  @$pb.TagNumber(3)
+  set properties($core.int v) { $_setUnsignedInt32(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasProperties() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearProperties() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.List<$core.int> get value => $_getN(3);
+  @$pb.TagNumber(4)
+  set value($core.List<$core.int> v) { $_setBytes(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasValue() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearValue() => clearField(4);
+}
+
+class CompactDescriptor extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('CompactDescriptor', createEmptyInstance: create)
+    ..a<$core.int>(1, 'characteristic', $pb.PbFieldType.OU3)
+    ..a<$core.int>(2, 'uuid', $pb.PbFieldType.OU3)
+    ..a<$core.List<$core.int>>(3, 'value', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  CompactDescriptor._() : super();
+  factory CompactDescriptor() => create();
+  factory CompactDescriptor.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory CompactDescriptor.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  CompactDescriptor clone() => CompactDescriptor()..mergeFromMessage(this);
+  CompactDescriptor copyWith(void Function(CompactDescriptor) updates) => super.copyWith((message) => updates(message as CompactDescriptor));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static CompactDescriptor create() => CompactDescriptor._();
+  CompactDescriptor createEmptyInstance() => create();
+  static $pb.PbList<CompactDescriptor> createRepeated() => $pb.PbList<CompactDescriptor>();
+  @$core.pragma('dart2js:noInline')
+  static CompactDescriptor getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<CompactDescriptor>(create);
+  static CompactDescriptor _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.int get characteristic => $_getIZ(0);
+  @$pb.TagNumber(1)
+  set characteristic($core.int v) { $_setUnsignedInt32(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasCharacteristic() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearCharacteristic() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.int get uuid => $_getIZ(1);
+  @$pb.TagNumber(2)
+  set uuid($core.int v) { $_setUnsignedInt32(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasUuid() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearUuid() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.List<$core.int> get value => $_getN(2);
+  @$pb.TagNumber(3)
+  set value($core.List<$core.int> v) { $_setBytes(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasValue() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearValue() => clearField(3);
+}
+
+class RequestMTURequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('RequestMTURequest', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..a<$core.int>(2, 'localMTUSize', $pb.PbFieldType.O3, protoName: 'localMTUSize')
+    ..hasRequiredFields = false
+  ;
+
+  RequestMTURequest._() : super();
+  factory RequestMTURequest() => create();
+  factory RequestMTURequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory RequestMTURequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  RequestMTURequest clone() => RequestMTURequest()..mergeFromMessage(this);
+  RequestMTURequest copyWith(void Function(RequestMTURequest) updates) => super.copyWith((message) => updates(message as RequestMTURequest));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static RequestMTURequest create() => RequestMTURequest._();
+  RequestMTURequest createEmptyInstance() => create();
+  static $pb.PbList<RequestMTURequest> createRepeated() => $pb.PbList<RequestMTURequest>();
+  @$core.pragma('dart2js:noInline')
+  static RequestMTURequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<RequestMTURequest>(create);
+  static RequestMTURequest _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.int get localMTUSize => $_getIZ(1);
+  @$pb.TagNumber(2)
+  set localMTUSize($core.int v) { $_setSignedInt32(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasLocalMTUSize() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearLocalMTUSize() => clearField(2);
+}
+
+class RequestMTUResult extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('RequestMTUResult', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..a<$core.int>(2, 'remoteMTUSize', $pb.PbFieldType.O3, protoName: 'remoteMTUSize')
+    ..aOB(3, 'success')
+    ..hasRequiredFields = false
+  ;
+
+  RequestMTUResult._() : super();
+  factory RequestMTUResult() => create();
+  factory RequestMTUResult.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory RequestMTUResult.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  RequestMTUResult clone() => RequestMTUResult()..mergeFromMessage(this);
+  RequestMTUResult copyWith(void Function(RequestMTUResult) updates) => super.copyWith((message) => updates(message as RequestMTUResult));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static RequestMTUResult create() => RequestMTUResult._();
+  RequestMTUResult createEmptyInstance() => create();
+  static $pb.PbList<RequestMTUResult> createRepeated() => $pb.PbList<RequestMTUResult>();
+  @$core.pragma('dart2js:noInline')
+  static RequestMTUResult getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<RequestMTUResult>(create);
+  static RequestMTUResult _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.int get remoteMTUSize => $_getIZ(1);
+  @$pb.TagNumber(2)
+  set remoteMTUSize($core.int v) { $_setSignedInt32(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasRemoteMTUSize() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearRemoteMTUSize() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.bool get success => $_getBF(2);
+  @$pb.TagNumber(3)
+  set success($core.bool v) { $_setBool(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasSuccess() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearSuccess() => clearField(3);
+}
+
+class ReadCharacteristicRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ReadCharacteristicRequest', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOS(2, 'characteristicUuid')
+    ..aOS(3, 'serviceUuid')
+    ..aOS(4, 'secondaryServiceUuid')
+    ..a<$core.List<$core.int>>(5, 'binaryCharacteristicUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(6, 'binaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(7, 'binarySecondaryServiceUuid', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  ReadCharacteristicRequest._() : super();
+  factory ReadCharacteristicRequest() => create();
+  factory ReadCharacteristicRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ReadCharacteristicRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ReadCharacteristicRequest clone() => ReadCharacteristicRequest()..mergeFromMessage(this);
+  ReadCharacteristicRequest copyWith(void Function(ReadCharacteristicRequest) updates) => super.copyWith((message) => updates(message as ReadCharacteristicRequest));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ReadCharacteristicRequest create() => ReadCharacteristicRequest._();
+  ReadCharacteristicRequest createEmptyInstance() => create();
+  static $pb.PbList<ReadCharacteristicRequest> createRepeated() => $pb.PbList<ReadCharacteristicRequest>();
+  @$core.pragma('dart2js:noInline')
+  static ReadCharacteristicRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadCharacteristicRequest>(create);
+  static ReadCharacteristicRequest _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get characteristicUuid => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set characteristicUuid($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasCharacteristicUuid() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearCharacteristicUuid() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.String get serviceUuid => $_getSZ(2);
+  @$pb.TagNumber(3)
+  set serviceUuid($core.String v) { $_setString(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasServiceUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearServiceUuid() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.String get secondaryServiceUuid => $_getSZ(3);
+  @$pb.TagNumber(4)
+  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasSecondaryServiceUuid() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearSecondaryServiceUuid() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.List<$core.int> get binaryCharacteristicUuid => $_getN(4);
+  @$pb.TagNumber(5)
+  set binaryCharacteristicUuid($core.List<$core.int> v) { $_setBytes(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasBinaryCharacteristicUuid() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearBinaryCharacteristicUuid() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get binaryServiceUuid => $_getN(5);
+  @$pb.TagNumber(6)
+  set binaryServiceUuid($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasBinaryServiceUuid() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearBinaryServiceUuid() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.List<$core.int> get binarySecondaryServiceUuid => $_getN(6);
+  @$pb.TagNumber(7)
+  set binarySecondaryServiceUuid($core.List<$core.int> v) { $_setBytes(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasBinarySecondaryServiceUuid() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearBinarySecondaryServiceUuid() => clearField(7);
+}
+
+class ReadCharacteristicResponse extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ReadCharacteristicResponse', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOM<BluetoothCharacteristic>(2, 'characteristic', subBuilder: BluetoothCharacteristic.create)
+    ..hasRequiredFields = false
+  ;
+
+  ReadCharacteristicResponse._() : super();
+  factory ReadCharacteristicResponse() => create();
+  factory ReadCharacteristicResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ReadCharacteristicResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ReadCharacteristicResponse clone() => ReadCharacteristicResponse()..mergeFromMessage(this);
+  ReadCharacteristicResponse copyWith(void Function(ReadCharacteristicResponse) updates) => super.copyWith((message) => updates(message as ReadCharacteristicResponse));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ReadCharacteristicResponse create() => ReadCharacteristicResponse._();
+  ReadCharacteristicResponse createEmptyInstance() => create();
+  static $pb.PbList<ReadCharacteristicResponse> createRepeated() => $pb.PbList<ReadCharacteristicResponse>();
+  @$core.pragma('dart2js:noInline')
+  static ReadCharacteristicResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadCharacteristicResponse>(create);
+  static ReadCharacteristicResponse _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  BluetoothCharacteristic get characteristic => $_getN(1);
+  @$pb.TagNumber(2)
+  set characteristic(BluetoothCharacteristic v) { setField(2, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasCharacteristic() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearCharacteristic() => clearField(2);
+  @$pb.TagNumber(2)
+  BluetoothCharacteristic ensureCharacteristic() => $_ensure(1);
+}
+
+class ReadDescriptorRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ReadDescriptorRequest', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOS(2, 'descriptorUuid')
+    ..aOS(3, 'serviceUuid')
+    ..aOS(4, 'secondaryServiceUuid')
+    ..aOS(5, 'characteristicUuid')
+    ..a<$core.List<$core.int>>(6, 'binaryDescriptorUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(7, 'binaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(8, 'binarySecondaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(9, 'binaryCharacteristicUuid', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  ReadDescriptorRequest._() : super();
+  factory ReadDescriptorRequest() => create();
+  factory ReadDescriptorRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ReadDescriptorRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ReadDescriptorRequest clone() => ReadDescriptorRequest()..mergeFromMessage(this);
+  ReadDescriptorRequest copyWith(void Function(ReadDescriptorRequest) updates) => super.copyWith((message) => updates(message as ReadDescriptorRequest));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ReadDescriptorRequest create() => ReadDescriptorRequest._();
+  ReadDescriptorRequest createEmptyInstance() => create();
+  static $pb.PbList<ReadDescriptorRequest> createRepeated() => $pb.PbList<ReadDescriptorRequest>();
+  @$core.pragma('dart2js:noInline')
+  static ReadDescriptorRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadDescriptorRequest>(create);
+  static ReadDescriptorRequest _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get descriptorUuid => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set descriptorUuid($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasDescriptorUuid() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearDescriptorUuid() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.String get serviceUuid => $_getSZ(2);
+  @$pb.TagNumber(3)
+  set serviceUuid($core.String v) { $_setString(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasServiceUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearServiceUuid() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.String get secondaryServiceUuid => $_getSZ(3);
+  @$pb.TagNumber(4)
+  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasSecondaryServiceUuid() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearSecondaryServiceUuid() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.String get characteristicUuid => $_getSZ(4);
+  @$pb.TagNumber(5)
+  set characteristicUuid($core.String v) { $_setString(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasCharacteristicUuid() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearCharacteristicUuid() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get binaryDescriptorUuid => $_getN(5);
+  @$pb.TagNumber(6)
+  set binaryDescriptorUuid($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasBinaryDescriptorUuid() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearBinaryDescriptorUuid() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.List<$core.int> get binaryServiceUuid => $_getN(6);
+  @$pb.TagNumber(7)
+  set binaryServiceUuid($core.List<$core.int> v) { $_setBytes(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasBinaryServiceUuid() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearBinaryServiceUuid() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.List<$core.int> get binarySecondaryServiceUuid => $_getN(7);
+  @$pb.TagNumber(8)
+  set binarySecondaryServiceUuid($core.List<$core.int> v) { $_setBytes(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasBinarySecondaryServiceUuid() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearBinarySecondaryServiceUuid() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $core.List<$core.int> get binaryCharacteristicUuid => $_getN(8);
+  @$pb.TagNumber(9)
+  set binaryCharacteristicUuid($core.List<$core.int> v) { $_setBytes(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasBinaryCharacteristicUuid() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearBinaryCharacteristicUuid() => clearField(9);
+}
+
+class ReadDescriptorResponse extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ReadDescriptorResponse', createEmptyInstance: create)
+    ..aOM<ReadDescriptorRequest>(1, 'request', subBuilder: ReadDescriptorRequest.create)
+    ..a<$core.List<$core.int>>(2, 'value', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  ReadDescriptorResponse._() : super();
+  factory ReadDescriptorResponse() => create();
+  factory ReadDescriptorResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ReadDescriptorResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ReadDescriptorResponse clone() => ReadDescriptorResponse()..mergeFromMessage(this);
+  ReadDescriptorResponse copyWith(void Function(ReadDescriptorResponse) updates) => super.copyWith((message) => updates(message as ReadDescriptorResponse));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ReadDescriptorResponse create() => ReadDescriptorResponse._();
+  ReadDescriptorResponse createEmptyInstance() => create();
+  static $pb.PbList<ReadDescriptorResponse> createRepeated() => $pb.PbList<ReadDescriptorResponse>();
+  @$core.pragma('dart2js:noInline')
+  static ReadDescriptorResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadDescriptorResponse>(create);
+  static ReadDescriptorResponse _defaultInstance;
+
+  @$pb.TagNumber(1)
+  ReadDescriptorRequest get request => $_getN(0);
+  @$pb.TagNumber(1)
+  set request(ReadDescriptorRequest v) { setField(1, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRequest() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRequest() => clearField(1);
+  @$pb.TagNumber(1)
+  ReadDescriptorRequest ensureRequest() => $_ensure(0);
+
+  @$pb.TagNumber(2)
+  $core.List<$core.int> get value => $_getN(1);
+  @$pb.TagNumber(2)
+  set value($core.List<$core.int> v) { $_setBytes(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasValue() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearValue() => clearField(2);
+}
+
+class WriteCharacteristicRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('WriteCharacteristicRequest', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOS(2, 'characteristicUuid')
+    ..aOS(3, 'serviceUuid')
+    ..aOS(4, 'secondaryServiceUuid')
+    ..e<WriteCharacteristicRequest_WriteType>(5, 'writeType', $pb.PbFieldType.OE, defaultOrMaker: WriteCharacteristicRequest_WriteType.WITH_RESPONSE, valueOf: WriteCharacteristicRequest_WriteType.valueOf, enumValues: WriteCharacteristicRequest_WriteType.values)
+    ..a<$core.List<$core.int>>(6, 'value', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(7, 'binaryCharacteristicUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(8, 'binaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(9, 'binarySecondaryServiceUuid', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  WriteCharacteristicRequest._() : super();
+  factory WriteCharacteristicRequest() => create();
+  factory WriteCharacteristicRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory WriteCharacteristicRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  WriteCharacteristicRequest clone() => WriteCharacteristicRequest()..mergeFromMessage(this);
+  WriteCharacteristicRequest copyWith(void Function(WriteCharacteristicRequest) updates) => super.copyWith((message) => updates(message as WriteCharacteristicRequest));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static WriteCharacteristicRequest create() => WriteCharacteristicRequest._();
+  WriteCharacteristicRequest createEmptyInstance() => create();
+  static $pb.PbList<WriteCharacteristicRequest> createRepeated() => $pb.PbList<WriteCharacteristicRequest>();
+  @$core.pragma('dart2js:noInline')
+  static WriteCharacteristicRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteCharacteristicRequest>(create);
+  static WriteCharacteristicRequest _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get characteristicUuid => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set characteristicUuid($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasCharacteristicUuid() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearCharacteristicUuid() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.String get serviceUuid => $_getSZ(2);
+  @$pb.TagNumber(3)
+  set serviceUuid($core.String v) { $_setString(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasServiceUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearServiceUuid() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.String get secondaryServiceUuid => $_getSZ(3);
+  @$pb.TagNumber(4)
+  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasSecondaryServiceUuid() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearSecondaryServiceUuid() => clearField(4);
+
+  @$pb.TagNumber(5)
+  WriteCharacteristicRequest_WriteType get writeType => $_getN(4);
+  @$pb.TagNumber(5)
+  set writeType(WriteCharacteristicRequest_WriteType v) { setField(5, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasWriteType() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearWriteType() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get value => $_getN(5);
+  @$pb.TagNumber(6)
+  set value($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasValue() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearValue() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.List<$core.int> get binaryCharacteristicUuid => $_getN(6);
+  @$pb.TagNumber(7)
+  set binaryCharacteristicUuid($core.List<$core.int> v) { $_setBytes(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasBinaryCharacteristicUuid() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearBinaryCharacteristicUuid() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.List<$core.int> get binaryServiceUuid => $_getN(7);
+  @$pb.TagNumber(8)
+  set binaryServiceUuid($core.List<$core.int> v) { $_setBytes(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasBinaryServiceUuid() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearBinaryServiceUuid() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $core.List<$core.int> get binarySecondaryServiceUuid => $_getN(8);
+  @$pb.TagNumber(9)
+  set binarySecondaryServiceUuid($core.List<$core.int> v) { $_setBytes(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasBinarySecondaryServiceUuid() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearBinarySecondaryServiceUuid() => clearField(9);
+}
+
+class WriteCharacteristicResponse extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('WriteCharacteristicResponse', createEmptyInstance: create)
+    ..aOM<WriteCharacteristicRequest>(1, 'request', subBuilder: WriteCharacteristicRequest.create)
+    ..aOB(2, 'success')
+    ..hasRequiredFields = false
+  ;
+
+  WriteCharacteristicResponse._() : super();
+  factory WriteCharacteristicResponse() => create();
+  factory WriteCharacteristicResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory WriteCharacteristicResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  WriteCharacteristicResponse clone() => WriteCharacteristicResponse()..mergeFromMessage(this);
+  WriteCharacteristicResponse copyWith(void Function(WriteCharacteristicResponse) updates) => super.copyWith((message) => updates(message as WriteCharacteristicResponse));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static WriteCharacteristicResponse create() => WriteCharacteristicResponse._();
+  WriteCharacteristicResponse createEmptyInstance() => create();
+  static $pb.PbList<WriteCharacteristicResponse> createRepeated() => $pb.PbList<WriteCharacteristicResponse>();
+  @$core.pragma('dart2js:noInline')
+  static WriteCharacteristicResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteCharacteristicResponse>(create);
+  static WriteCharacteristicResponse _defaultInstance;
+
+  @$pb.TagNumber(1)
+  WriteCharacteristicRequest get request => $_getN(0);
+  @$pb.TagNumber(1)
+  set request(WriteCharacteristicRequest v) { setField(1, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRequest() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRequest() => clearField(1);
+  @$pb.TagNumber(1)
+  WriteCharacteristicRequest ensureRequest() => $_ensure(0);
+
+  @$pb.TagNumber(2)
+  $core.bool get success => $_getBF(1);
+  @$pb.TagNumber(2)
+  set success($core.bool v) { $_setBool(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasSuccess() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearSuccess() => clearField(2);
+}
+
+class WriteDescriptorRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('WriteDescriptorRequest', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOS(2, 'descriptorUuid')
+    ..aOS(3, 'serviceUuid')
+    ..aOS(4, 'secondaryServiceUuid')
+    ..aOS(5, 'characteristicUuid')
+    ..a<$core.List<$core.int>>(6, 'value', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(7, 'binaryDescriptorUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(8, 'binaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(9, 'binarySecondaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(10, 'binaryCharacteristicUuid', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  WriteDescriptorRequest._() : super();
+  factory WriteDescriptorRequest() => create();
+  factory WriteDescriptorRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory WriteDescriptorRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  WriteDescriptorRequest clone() => WriteDescriptorRequest()..mergeFromMessage(this);
+  WriteDescriptorRequest copyWith(void Function(WriteDescriptorRequest) updates) => super.copyWith((message) => updates(message as WriteDescriptorRequest));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static WriteDescriptorRequest create() => WriteDescriptorRequest._();
+  WriteDescriptorRequest createEmptyInstance() => create();
+  static $pb.PbList<WriteDescriptorRequest> createRepeated() => $pb.PbList<WriteDescriptorRequest>();
+  @$core.pragma('dart2js:noInline')
+  static WriteDescriptorRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteDescriptorRequest>(create);
+  static WriteDescriptorRequest _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get descriptorUuid => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set descriptorUuid($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasDescriptorUuid() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearDescriptorUuid() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.String get serviceUuid => $_getSZ(2);
+  @$pb.TagNumber(3)
+  set serviceUuid($core.String v) { $_setString(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasServiceUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearServiceUuid() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.String get secondaryServiceUuid => $_getSZ(3);
+  @$pb.TagNumber(4)
+  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasSecondaryServiceUuid() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearSecondaryServiceUuid() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.String get characteristicUuid => $_getSZ(4);
+  @$pb.TagNumber(5)
+  set characteristicUuid($core.String v) { $_setString(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasCharacteristicUuid() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearCharacteristicUuid() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get value => $_getN(5);
+  @$pb.TagNumber(6)
+  set value($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasValue() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearValue() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.List<$core.int> get binaryDescriptorUuid => $_getN(6);
+  @$pb.TagNumber(7)
+  set binaryDescriptorUuid($core.List<$core.int> v) { $_setBytes(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasBinaryDescriptorUuid() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearBinaryDescriptorUuid() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.List<$core.int> get binaryServiceUuid => $_getN(7);
+  @$pb.TagNumber(8)
+  set binaryServiceUuid($core.List<$core.int> v) { $_setBytes(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasBinaryServiceUuid() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearBinaryServiceUuid() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $core.List<$core.int> get binarySecondaryServiceUuid => $_getN(8);
+  @$pb.TagNumber(9)
+  set binarySecondaryServiceUuid($core.List<$core.int> v) { $_setBytes(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasBinarySecondaryServiceUuid() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearBinarySecondaryServiceUuid() => clearField(9);
+
+  @$pb.TagNumber(10)
+  $core.List<$core.int> get binaryCharacteristicUuid => $_getN(9);
+  @$pb.TagNumber(10)
+  set binaryCharacteristicUuid($core.List<$core.int> v) { $_setBytes(9, v); }
+  @$pb.TagNumber(10)
+  $core.bool hasBinaryCharacteristicUuid() => $_has(9);
+  @$pb.TagNumber(10)
+  void clearBinaryCharacteristicUuid() => clearField(10);
+}
+
+class WriteDescriptorResponse extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('WriteDescriptorResponse', createEmptyInstance: create)
+    ..aOM<WriteDescriptorRequest>(1, 'request', subBuilder: WriteDescriptorRequest.create)
+    ..aOB(2, 'success')
+    ..hasRequiredFields = false
+  ;
+
+  WriteDescriptorResponse._() : super();
+  factory WriteDescriptorResponse() => create();
+  factory WriteDescriptorResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory WriteDescriptorResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  WriteDescriptorResponse clone() => WriteDescriptorResponse()..mergeFromMessage(this);
+  WriteDescriptorResponse copyWith(void Function(WriteDescriptorResponse) updates) => super.copyWith((message) => updates(message as WriteDescriptorResponse));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static WriteDescriptorResponse create() => WriteDescriptorResponse._();
+  WriteDescriptorResponse createEmptyInstance() => create();
+  static $pb.PbList<WriteDescriptorResponse> createRepeated() => $pb.PbList<WriteDescriptorResponse>();
+  @$core.pragma('dart2js:noInline')
+  static WriteDescriptorResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteDescriptorResponse>(create);
+  static WriteDescriptorResponse _defaultInstance;
+
+  @$pb.TagNumber(1)
+  WriteDescriptorRequest get request => $_getN(0);
+  @$pb.TagNumber(1)
+  set request(WriteDescriptorRequest v) { setField(1, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRequest() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRequest() => clearField(1);
+  @$pb.TagNumber(1)
+  WriteDescriptorRequest ensureRequest() => $_ensure(0);
+
+  @$pb.TagNumber(2)
+  $core.bool get success => $_getBF(1);
+  @$pb.TagNumber(2)
+  set success($core.bool v) { $_setBool(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasSuccess() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearSuccess() => clearField(2);
+}
+
+class SetNotificationRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('SetNotificationRequest', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOS(2, 'serviceUuid')
+    ..aOS(3, 'secondaryServiceUuid')
+    ..aOS(4, 'characteristicUuid')
+    ..aOB(5, 'enable')
+    ..a<$core.List<$core.int>>(6, 'binaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(7, 'binarySecondaryServiceUuid', $pb.PbFieldType.OY)
+    ..a<$core.List<$core.int>>(8, 'binaryCharacteristicUuid', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  SetNotificationRequest._() : super();
+  factory SetNotificationRequest() => create();
+  factory SetNotificationRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory SetNotificationRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  SetNotificationRequest clone() => SetNotificationRequest()..mergeFromMessage(this);
+  SetNotificationRequest copyWith(void Function(SetNotificationRequest) updates) => super.copyWith((message) => updates(message as SetNotificationRequest));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static SetNotificationRequest create() => SetNotificationRequest._();
+  SetNotificationRequest createEmptyInstance() => create();
+  static $pb.PbList<SetNotificationRequest> createRepeated() => $pb.PbList<SetNotificationRequest>();
+  @$core.pragma('dart2js:noInline')
+  static SetNotificationRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<SetNotificationRequest>(create);
+  static SetNotificationRequest _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  $core.String get serviceUuid => $_getSZ(1);
+  @$pb.TagNumber(2)
+  set serviceUuid($core.String v) { $_setString(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasServiceUuid() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearServiceUuid() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.String get serviceUuid => $_getSZ(2);
-  @$pb.TagNumber(3)
-  set serviceUuid($core.String v) { $_setString(2, v); }
+  $core.String get secondaryServiceUuid => $_getSZ(2);
   @$pb.TagNumber(3)
-  $core.bool hasServiceUuid() => $_has(2);
+  set secondaryServiceUuid($core.String v) { $_setString(2, v); }
   @$pb.TagNumber(3)
-  void clearServiceUuid() => clearField(3);
+  $core.bool hasSecondaryServiceUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearSecondaryServiceUuid() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.String get characteristicUuid => $_getSZ(3);
+  @$pb.TagNumber(4)
+  set characteristicUuid($core.String v) { $_setString(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasCharacteristicUuid() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearCharacteristicUuid() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.bool get enable => $_getBF(4);
+  @$pb.TagNumber(5)
+  set enable($core.bool v) { $_setBool(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasEnable() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearEnable() => clearField(5);
+
+  @$pb.TagNumber(6)
+  $core.List<$core.int> get binaryServiceUuid => $_getN(5);
+  @$pb.TagNumber(6)
+  set binaryServiceUuid($core.List<$core.int> v) { $_setBytes(5, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasBinaryServiceUuid() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearBinaryServiceUuid() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.List<$core.int> get binarySecondaryServiceUuid => $_getN(6);
+  @$pb.TagNumber(7)
+  set binarySecondaryServiceUuid($core.List<$core.int> v) { $_setBytes(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasBinarySecondaryServiceUuid() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearBinarySecondaryServiceUuid() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.List<$core.int> get binaryCharacteristicUuid => $_getN(7);
+  @$pb.TagNumber(8)
+  set binaryCharacteristicUuid($core.List<$core.int> v) { $_setBytes(7, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasBinaryCharacteristicUuid() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearBinaryCharacteristicUuid() => clearField(8);
+}
+
+class SetNotificationResponse extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('SetNotificationResponse', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOM<BluetoothCharacteristic>(2, 'characteristic', subBuilder: BluetoothCharacteristic.create)
+    ..aOB(3, 'success')
+    ..hasRequiredFields = false
+  ;
+
+  SetNotificationResponse._() : super();
+  factory SetNotificationResponse() => create();
+  factory SetNotificationResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory SetNotificationResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  SetNotificationResponse clone() => SetNotificationResponse()..mergeFromMessage(this);
+  SetNotificationResponse copyWith(void Function(SetNotificationResponse) updates) => super.copyWith((message) => updates(message as SetNotificationResponse));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static SetNotificationResponse create() => SetNotificationResponse._();
+  SetNotificationResponse createEmptyInstance() => create();
+  static $pb.PbList<SetNotificationResponse> createRepeated() => $pb.PbList<SetNotificationResponse>();
+  @$core.pragma('dart2js:noInline')
+  static SetNotificationResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<SetNotificationResponse>(create);
+  static SetNotificationResponse _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  BluetoothCharacteristic get characteristic => $_getN(1);
+  @$pb.TagNumber(2)
+  set characteristic(BluetoothCharacteristic v) { setField(2, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasCharacteristic() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearCharacteristic() => clearField(2);
+  @$pb.TagNumber(2)
+  BluetoothCharacteristic ensureCharacteristic() => $_ensure(1);
+
+  @$pb.TagNumber(3)
+  $core.bool get success => $_getBF(2);
+  @$pb.TagNumber(3)
+  set success($core.bool v) { $_setBool(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasSuccess() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearSuccess() => clearField(3);
+}
+
+class OnCharacteristicChanged extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('OnCharacteristicChanged', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..aOM<BluetoothCharacteristic>(2, 'characteristic', subBuilder: BluetoothCharacteristic.create)
+    ..hasRequiredFields = false
+  ;
+
+  OnCharacteristicChanged._() : super();
+  factory OnCharacteristicChanged() => create();
+  factory OnCharacteristicChanged.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory OnCharacteristicChanged.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  OnCharacteristicChanged clone() => OnCharacteristicChanged()..mergeFromMessage(this);
+  OnCharacteristicChanged copyWith(void Function(OnCharacteristicChanged) updates) => super.copyWith((message) => updates(message as OnCharacteristicChanged));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static OnCharacteristicChanged create() => OnCharacteristicChanged._();
+  OnCharacteristicChanged createEmptyInstance() => create();
+  static $pb.PbList<OnCharacteristicChanged> createRepeated() => $pb.PbList<OnCharacteristicChanged>();
+  @$core.pragma('dart2js:noInline')
+  static OnCharacteristicChanged getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<OnCharacteristicChanged>(create);
+  static OnCharacteristicChanged _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
+
+  @$pb.TagNumber(2)
+  BluetoothCharacteristic get characteristic => $_getN(1);
+  @$pb.TagNumber(2)
+  set characteristic(BluetoothCharacteristic v) { setField(2, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasCharacteristic() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearCharacteristic() => clearField(2);
+  @$pb.TagNumber(2)
+  BluetoothCharacteristic ensureCharacteristic() => $_ensure(1);
+}
+
+class DeviceStateResponse extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('DeviceStateResponse', createEmptyInstance: create)
+    ..aOS(1, 'remoteId')
+    ..e<DeviceStateResponse_BluetoothDeviceState>(2, 'state', $pb.PbFieldType.OE, defaultOrMaker: DeviceStateResponse_BluetoothDeviceState.DISCONNECTED, valueOf: DeviceStateResponse_BluetoothDeviceState.valueOf, enumValues: DeviceStateResponse_BluetoothDeviceState.values)
+    ..hasRequiredFields = false
+  ;
+
+  DeviceStateResponse._() : super();
+  factory DeviceStateResponse() => create();
+  factory DeviceStateResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory DeviceStateResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  DeviceStateResponse clone() => DeviceStateResponse()..mergeFromMessage(this);
+  DeviceStateResponse copyWith(void Function(DeviceStateResponse) updates) => super.copyWith((message) => updates(message as DeviceStateResponse));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static DeviceStateResponse create() => DeviceStateResponse._();
+  DeviceStateResponse createEmptyInstance() => create();
+  static $pb.PbList<DeviceStateResponse> createRepeated() => $pb.PbList<DeviceStateResponse>();
+  @$core.pragma('dart2js:noInline')
+  static DeviceStateResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<DeviceStateResponse>(create);
+  static DeviceStateResponse _defaultInstance;
 
-  @$pb.TagNumber(4)
-  $core.String get secondaryServiceUuid => $_getSZ(3);
-  @$pb.TagNumber(4)
-  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
-  @$pb.TagNumber(4)
-  $core.bool hasSecondaryServiceUuid() => $_has(3);
-  @$pb.TagNumber(4)
-  void clearSecondaryServiceUuid() => clearField(4);
+  @$pb.TagNumber(1)
+  $core.String get remoteId => $_getSZ(0);
+  @$pb.TagNumber(1)
+  set remoteId($core.String v) { $_setString(0, v); }
+  @$pb.TagNumber(1)
+  $core.bool hasRemoteId() => $_has(0);
+  @$pb.TagNumber(1)
+  void clearRemoteId() => clearField(1);
 
-  @$pb.TagNumber(5)
-  $core.String get characteristicUuid => $_getSZ(4);
-  @$pb.TagNumber(5)
-  set characteristicUuid($core.String v) { $_setString(4, v); }
-  @$pb.TagNumber(5)
-  $core.bool hasCharacteristicUuid() => $_has(4);
-  @$pb.TagNumber(5)
-  void clearCharacteristicUuid() => clearField(5);
+  @$pb.TagNumber(2)
+  DeviceStateResponse_BluetoothDeviceState get state => $_getN(1);
+  @$pb.TagNumber(2)
+  set state(DeviceStateResponse_BluetoothDeviceState v) { setField(2, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasState() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearState() => clearField(2);
 }
 
-class ReadDescriptorResponse extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ReadDescriptorResponse', createEmptyInstance: create)
-    ..aOM<ReadDescriptorRequest>(1, 'request', subBuilder: ReadDescriptorRequest.create)
-    ..a<$core.List<$core.int>>(2, 'value', $pb.PbFieldType.OY)
+class ConnectedDevicesResponse extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ConnectedDevicesResponse', createEmptyInstance: create)
+    ..pc<BluetoothDevice>(1, 'devices', $pb.PbFieldType.PM, subBuilder: BluetoothDevice.create)
     ..hasRequiredFields = false
   ;
 
-  ReadDescriptorResponse._() : super();
-  factory ReadDescriptorResponse() => create();
-  factory ReadDescriptorResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ReadDescriptorResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ReadDescriptorResponse clone() => ReadDescriptorResponse()..mergeFromMessage(this);
-  ReadDescriptorResponse copyWith(void Function(ReadDescriptorResponse) updates) => super.copyWith((message) => updates(message as ReadDescriptorResponse));
+  ConnectedDevicesResponse._() : super();
+  factory ConnectedDevicesResponse() => create();
+  factory ConnectedDevicesResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ConnectedDevicesResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ConnectedDevicesResponse clone() => ConnectedDevicesResponse()..mergeFromMessage(this);
+  ConnectedDevicesResponse copyWith(void Function(ConnectedDevicesResponse) updates) => super.copyWith((message) => updates(message as ConnectedDevicesResponse));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static ReadDescriptorResponse create() => ReadDescriptorResponse._();
-  ReadDescriptorResponse createEmptyInstance() => create();
-  static $pb.PbList<ReadDescriptorResponse> createRepeated() => $pb.PbList<ReadDescriptorResponse>();
+  static ConnectedDevicesResponse create() => ConnectedDevicesResponse._();
+  ConnectedDevicesResponse createEmptyInstance() => create();
+  static $pb.PbList<ConnectedDevicesResponse> createRepeated() => $pb.PbList<ConnectedDevicesResponse>();
   @$core.pragma('dart2js:noInline')
-  static ReadDescriptorResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ReadDescriptorResponse>(create);
-  static ReadDescriptorResponse _defaultInstance;
+  static ConnectedDevicesResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ConnectedDevicesResponse>(create);
+  static ConnectedDevicesResponse _defaultInstance;
 
   @$pb.TagNumber(1)
-  ReadDescriptorRequest get request => $_getN(0);
+  $core.List<BluetoothDevice> get devices => $_getList(0);
+}
+
+class OperationStats extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('OperationStats', createEmptyInstance: create)
+    ..e<OperationStats_Type>(1, 'type', $pb.PbFieldType.OE, defaultOrMaker: OperationStats_Type.READ_CHARACTERISTIC, valueOf: OperationStats_Type.valueOf, enumValues: OperationStats_Type.values)
+    ..aInt64(2, 'issued')
+    ..aInt64(3, 'completed')
+    ..aInt64(4, 'failed')
+    ..p<$fixnum.Int64>(5, 'latencyHistogram', $pb.PbFieldType.K6)
+    ..hasRequiredFields = false
+  ;
+
+  OperationStats._() : super();
+  factory OperationStats() => create();
+  factory OperationStats.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory OperationStats.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  OperationStats clone() => OperationStats()..mergeFromMessage(this);
+  OperationStats copyWith(void Function(OperationStats) updates) => super.copyWith((message) => updates(message as OperationStats));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static OperationStats create() => OperationStats._();
+  OperationStats createEmptyInstance() => create();
+  static $pb.PbList<OperationStats> createRepeated() => $pb.PbList<OperationStats>();
+  @$core.pragma('dart2js:noInline')
+  static OperationStats getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<OperationStats>(create);
+  static OperationStats _defaultInstance;
+
   @$pb.TagNumber(1)
-  set request(ReadDescriptorRequest v) { setField(1, v); }
+  OperationStats_Type get type => $_getN(0);
   @$pb.TagNumber(1)
-  $core.bool hasRequest() => $_has(0);
+  set type(OperationStats_Type v) { setField(1, v); }
   @$pb.TagNumber(1)
-  void clearRequest() => clearField(1);
+  $core.bool hasType() => $_has(0);
   @$pb.TagNumber(1)
-  ReadDescriptorRequest ensureRequest() => $_ensure(0);
+  void clearType() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.List<$core.int> get value => $_getN(1);
+  $fixnum.Int64 get issued => $_getI64(1);
   @$pb.TagNumber(2)
-  set value($core.List<$core.int> v) { $_setBytes(1, v); }
+  set issued($fixnum.Int64 v) { $_setInt64(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasValue() => $_has(1);
+  $core.bool hasIssued() => $_has(1);
   @$pb.TagNumber(2)
-  void clearValue() => clearField(2);
+  void clearIssued() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $fixnum.Int64 get completed => $_getI64(2);
+  @$pb.TagNumber(3)
+  set completed($fixnum.Int64 v) { $_setInt64(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasCompleted() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearCompleted() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $fixnum.Int64 get failed => $_getI64(3);
+  @$pb.TagNumber(4)
+  set failed($fixnum.Int64 v) { $_setInt64(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasFailed() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearFailed() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.List<$fixnum.Int64> get latencyHistogram => $_getList(4);
 }
 
-class WriteCharacteristicRequest extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('WriteCharacteristicRequest', createEmptyInstance: create)
+class ConnectionStats extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ConnectionStats', createEmptyInstance: create)
     ..aOS(1, 'remoteId')
-    ..aOS(2, 'characteristicUuid')
-    ..aOS(3, 'serviceUuid')
-    ..aOS(4, 'secondaryServiceUuid')
-    ..e<WriteCharacteristicRequest_WriteType>(5, 'writeType', $pb.PbFieldType.OE, defaultOrMaker: WriteCharacteristicRequest_WriteType.WITH_RESPONSE, valueOf: WriteCharacteristicRequest_WriteType.valueOf, enumValues: WriteCharacteristicRequest_WriteType.values)
-    ..a<$core.List<$core.int>>(6, 'value', $pb.PbFieldType.OY)
+    ..a<$core.int>(2, 'mtu', $pb.PbFieldType.O3)
+    ..aInt64(3, 'bytesRead')
+    ..aInt64(4, 'bytesWritten')
+    ..aInt64(5, 'bytesNotified')
+    ..aInt64(6, 'notifications')
+    ..a<$core.double>(7, 'notificationsPerSecond', $pb.PbFieldType.OD)
+    ..pc<OperationStats>(8, 'operations', $pb.PbFieldType.PM, subBuilder: OperationStats.create)
     ..hasRequiredFields = false
   ;
 
-  WriteCharacteristicRequest._() : super();
-  factory WriteCharacteristicRequest() => create();
-  factory WriteCharacteristicRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory WriteCharacteristicRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  WriteCharacteristicRequest clone() => WriteCharacteristicRequest()..mergeFromMessage(this);
-  WriteCharacteristicRequest copyWith(void Function(WriteCharacteristicRequest) updates) => super.copyWith((message) => updates(message as WriteCharacteristicRequest));
+  ConnectionStats._() : super();
+  factory ConnectionStats() => create();
+  factory ConnectionStats.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ConnectionStats.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ConnectionStats clone() => ConnectionStats()..mergeFromMessage(this);
+  ConnectionStats copyWith(void Function(ConnectionStats) updates) => super.copyWith((message) => updates(message as ConnectionStats));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static WriteCharacteristicRequest create() => WriteCharacteristicRequest._();
-  WriteCharacteristicRequest createEmptyInstance() => create();
-  static $pb.PbList<WriteCharacteristicRequest> createRepeated() => $pb.PbList<WriteCharacteristicRequest>();
+  static ConnectionStats create() => ConnectionStats._();
+  ConnectionStats createEmptyInstance() => create();
+  static $pb.PbList<ConnectionStats> createRepeated() => $pb.PbList<ConnectionStats>();
   @$core.pragma('dart2js:noInline')
-  static WriteCharacteristicRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteCharacteristicRequest>(create);
-  static WriteCharacteristicRequest _defaultInstance;
+  static ConnectionStats getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ConnectionStats>(create);
+  static ConnectionStats _defaultInstance;
 
   @$pb.TagNumber(1)
   $core.String get remoteId => $_getSZ(0);
@@ -1176,242 +3417,295 @@ class WriteCharacteristicRequest extends $pb.GeneratedMessage {
   void clearRemoteId() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.String get characteristicUuid => $_getSZ(1);
+  $core.int get mtu => $_getIZ(1);
   @$pb.TagNumber(2)
-  set characteristicUuid($core.String v) { $_setString(1, v); }
+  set mtu($core.int v) { $_setSignedInt32(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasCharacteristicUuid() => $_has(1);
+  $core.bool hasMtu() => $_has(1);
   @$pb.TagNumber(2)
-  void clearCharacteristicUuid() => clearField(2);
+  void clearMtu() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.String get serviceUuid => $_getSZ(2);
+  $fixnum.Int64 get bytesRead => $_getI64(2);
   @$pb.TagNumber(3)
-  set serviceUuid($core.String v) { $_setString(2, v); }
+  set bytesRead($fixnum.Int64 v) { $_setInt64(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasServiceUuid() => $_has(2);
+  $core.bool hasBytesRead() => $_has(2);
   @$pb.TagNumber(3)
-  void clearServiceUuid() => clearField(3);
+  void clearBytesRead() => clearField(3);
 
   @$pb.TagNumber(4)
-  $core.String get secondaryServiceUuid => $_getSZ(3);
+  $fixnum.Int64 get bytesWritten => $_getI64(3);
   @$pb.TagNumber(4)
-  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
+  set bytesWritten($fixnum.Int64 v) { $_setInt64(3, v); }
   @$pb.TagNumber(4)
-  $core.bool hasSecondaryServiceUuid() => $_has(3);
+  $core.bool hasBytesWritten() => $_has(3);
   @$pb.TagNumber(4)
-  void clearSecondaryServiceUuid() => clearField(4);
+  void clearBytesWritten() => clearField(4);
 
   @$pb.TagNumber(5)
-  WriteCharacteristicRequest_WriteType get writeType => $_getN(4);
+  $fixnum.Int64 get bytesNotified => $_getI64(4);
   @$pb.TagNumber(5)
-  set writeType(WriteCharacteristicRequest_WriteType v) { setField(5, v); }
+  set bytesNotified($fixnum.Int64 v) { $_setInt64(4, v); }
   @$pb.TagNumber(5)
-  $core.bool hasWriteType() => $_has(4);
+  $core.bool hasBytesNotified() => $_has(4);
   @$pb.TagNumber(5)
-  void clearWriteType() => clearField(5);
+  void clearBytesNotified() => clearField(5);
 
   @$pb.TagNumber(6)
-  $core.List<$core.int> get value => $_getN(5);
+  $fixnum.Int64 get notifications => $_getI64(5);
   @$pb.TagNumber(6)
-  set value($core.List<$core.int> v) { $_setBytes(5, v); }
+  set notifications($fixnum.Int64 v) { $_setInt64(5, v); }
   @$pb.TagNumber(6)
-  $core.bool hasValue() => $_has(5);
+  $core.bool hasNotifications() => $_has(5);
   @$pb.TagNumber(6)
-  void clearValue() => clearField(6);
+  void clearNotifications() => clearField(6);
+
+  @$pb.TagNumber(7)
+  $core.double get notificationsPerSecond => $_getN(6);
+  @$pb.TagNumber(7)
+  set notificationsPerSecond($core.double v) { $_setDouble(6, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasNotificationsPerSecond() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearNotificationsPerSecond() => clearField(7);
+
+  @$pb.TagNumber(8)
+  $core.List<OperationStats> get operations => $_getList(7);
 }
 
-class WriteCharacteristicResponse extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('WriteCharacteristicResponse', createEmptyInstance: create)
-    ..aOM<WriteCharacteristicRequest>(1, 'request', subBuilder: WriteCharacteristicRequest.create)
-    ..aOB(2, 'success')
+class StatsSnapshot extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('StatsSnapshot', createEmptyInstance: create)
+    ..pc<ConnectionStats>(1, 'connections', $pb.PbFieldType.PM, subBuilder: ConnectionStats.create)
     ..hasRequiredFields = false
   ;
 
-  WriteCharacteristicResponse._() : super();
-  factory WriteCharacteristicResponse() => create();
-  factory WriteCharacteristicResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory WriteCharacteristicResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  WriteCharacteristicResponse clone() => WriteCharacteristicResponse()..mergeFromMessage(this);
-  WriteCharacteristicResponse copyWith(void Function(WriteCharacteristicResponse) updates) => super.copyWith((message) => updates(message as WriteCharacteristicResponse));
+  StatsSnapshot._() : super();
+  factory StatsSnapshot() => create();
+  factory StatsSnapshot.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory StatsSnapshot.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  StatsSnapshot clone() => StatsSnapshot()..mergeFromMessage(this);
+  StatsSnapshot copyWith(void Function(StatsSnapshot) updates) => super.copyWith((message) => updates(message as StatsSnapshot));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static WriteCharacteristicResponse create() => WriteCharacteristicResponse._();
-  WriteCharacteristicResponse createEmptyInstance() => create();
-  static $pb.PbList<WriteCharacteristicResponse> createRepeated() => $pb.PbList<WriteCharacteristicResponse>();
+  static StatsSnapshot create() => StatsSnapshot._();
+  StatsSnapshot createEmptyInstance() => create();
+  static $pb.PbList<StatsSnapshot> createRepeated() => $pb.PbList<StatsSnapshot>();
   @$core.pragma('dart2js:noInline')
-  static WriteCharacteristicResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteCharacteristicResponse>(create);
-  static WriteCharacteristicResponse _defaultInstance;
+  static StatsSnapshot getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<StatsSnapshot>(create);
+  static StatsSnapshot _defaultInstance;
 
   @$pb.TagNumber(1)
-  WriteCharacteristicRequest get request => $_getN(0);
-  @$pb.TagNumber(1)
-  set request(WriteCharacteristicRequest v) { setField(1, v); }
-  @$pb.TagNumber(1)
-  $core.bool hasRequest() => $_has(0);
-  @$pb.TagNumber(1)
-  void clearRequest() => clearField(1);
-  @$pb.TagNumber(1)
-  WriteCharacteristicRequest ensureRequest() => $_ensure(0);
-
-  @$pb.TagNumber(2)
-  $core.bool get success => $_getBF(1);
-  @$pb.TagNumber(2)
-  set success($core.bool v) { $_setBool(1, v); }
-  @$pb.TagNumber(2)
-  $core.bool hasSuccess() => $_has(1);
-  @$pb.TagNumber(2)
-  void clearSuccess() => clearField(2);
+  $core.List<ConnectionStats> get connections => $_getList(0);
 }
 
-class WriteDescriptorRequest extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('WriteDescriptorRequest', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..aOS(2, 'descriptorUuid')
-    ..aOS(3, 'serviceUuid')
-    ..aOS(4, 'secondaryServiceUuid')
-    ..aOS(5, 'characteristicUuid')
-    ..a<$core.List<$core.int>>(6, 'value', $pb.PbFieldType.OY)
+class DispatchStats extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('DispatchStats', createEmptyInstance: create)
+    ..aOS(1, 'event')
+    ..aInt64(2, 'dispatched')
+    ..aInt64(3, 'dropped')
+    ..p<$fixnum.Int64>(4, 'serializeHistogram', $pb.PbFieldType.K6)
+    ..p<$fixnum.Int64>(5, 'queueHistogram', $pb.PbFieldType.K6)
+    ..p<$fixnum.Int64>(6, 'totalHistogram', $pb.PbFieldType.K6)
     ..hasRequiredFields = false
   ;
 
-  WriteDescriptorRequest._() : super();
-  factory WriteDescriptorRequest() => create();
-  factory WriteDescriptorRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory WriteDescriptorRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  WriteDescriptorRequest clone() => WriteDescriptorRequest()..mergeFromMessage(this);
-  WriteDescriptorRequest copyWith(void Function(WriteDescriptorRequest) updates) => super.copyWith((message) => updates(message as WriteDescriptorRequest));
+  DispatchStats._() : super();
+  factory DispatchStats() => create();
+  factory DispatchStats.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory DispatchStats.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  DispatchStats clone() => DispatchStats()..mergeFromMessage(this);
+  DispatchStats copyWith(void Function(DispatchStats) updates) => super.copyWith((message) => updates(message as DispatchStats));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static WriteDescriptorRequest create() => WriteDescriptorRequest._();
-  WriteDescriptorRequest createEmptyInstance() => create();
-  static $pb.PbList<WriteDescriptorRequest> createRepeated() => $pb.PbList<WriteDescriptorRequest>();
+  static DispatchStats create() => DispatchStats._();
+  DispatchStats createEmptyInstance() => create();
+  static $pb.PbList<DispatchStats> createRepeated() => $pb.PbList<DispatchStats>();
   @$core.pragma('dart2js:noInline')
-  static WriteDescriptorRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteDescriptorRequest>(create);
-  static WriteDescriptorRequest _defaultInstance;
+  static DispatchStats getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<DispatchStats>(create);
+  static DispatchStats _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $core.String get event => $_getSZ(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set event($core.String v) { $_setString(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasEvent() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearEvent() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.String get descriptorUuid => $_getSZ(1);
+  $fixnum.Int64 get dispatched => $_getI64(1);
   @$pb.TagNumber(2)
-  set descriptorUuid($core.String v) { $_setString(1, v); }
+  set dispatched($fixnum.Int64 v) { $_setInt64(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasDescriptorUuid() => $_has(1);
+  $core.bool hasDispatched() => $_has(1);
   @$pb.TagNumber(2)
-  void clearDescriptorUuid() => clearField(2);
+  void clearDispatched() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.String get serviceUuid => $_getSZ(2);
+  $fixnum.Int64 get dropped => $_getI64(2);
   @$pb.TagNumber(3)
-  set serviceUuid($core.String v) { $_setString(2, v); }
+  set dropped($fixnum.Int64 v) { $_setInt64(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasServiceUuid() => $_has(2);
+  $core.bool hasDropped() => $_has(2);
   @$pb.TagNumber(3)
-  void clearServiceUuid() => clearField(3);
+  void clearDropped() => clearField(3);
 
   @$pb.TagNumber(4)
-  $core.String get secondaryServiceUuid => $_getSZ(3);
-  @$pb.TagNumber(4)
-  set secondaryServiceUuid($core.String v) { $_setString(3, v); }
-  @$pb.TagNumber(4)
-  $core.bool hasSecondaryServiceUuid() => $_has(3);
-  @$pb.TagNumber(4)
-  void clearSecondaryServiceUuid() => clearField(4);
+  $core.List<$fixnum.Int64> get serializeHistogram => $_getList(3);
 
   @$pb.TagNumber(5)
-  $core.String get characteristicUuid => $_getSZ(4);
-  @$pb.TagNumber(5)
-  set characteristicUuid($core.String v) { $_setString(4, v); }
-  @$pb.TagNumber(5)
-  $core.bool hasCharacteristicUuid() => $_has(4);
-  @$pb.TagNumber(5)
-  void clearCharacteristicUuid() => clearField(5);
+  $core.List<$fixnum.Int64> get queueHistogram => $_getList(4);
 
   @$pb.TagNumber(6)
-  $core.List<$core.int> get value => $_getN(5);
-  @$pb.TagNumber(6)
-  set value($core.List<$core.int> v) { $_setBytes(5, v); }
-  @$pb.TagNumber(6)
-  $core.bool hasValue() => $_has(5);
-  @$pb.TagNumber(6)
-  void clearValue() => clearField(6);
+  $core.List<$fixnum.Int64> get totalHistogram => $_getList(5);
 }
 
-class WriteDescriptorResponse extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('WriteDescriptorResponse', createEmptyInstance: create)
-    ..aOM<WriteDescriptorRequest>(1, 'request', subBuilder: WriteDescriptorRequest.create)
-    ..aOB(2, 'success')
+class DispatchStatsSnapshot extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('DispatchStatsSnapshot', createEmptyInstance: create)
+    ..pc<DispatchStats>(1, 'events', $pb.PbFieldType.PM, subBuilder: DispatchStats.create)
     ..hasRequiredFields = false
   ;
 
-  WriteDescriptorResponse._() : super();
-  factory WriteDescriptorResponse() => create();
-  factory WriteDescriptorResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory WriteDescriptorResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  WriteDescriptorResponse clone() => WriteDescriptorResponse()..mergeFromMessage(this);
-  WriteDescriptorResponse copyWith(void Function(WriteDescriptorResponse) updates) => super.copyWith((message) => updates(message as WriteDescriptorResponse));
+  DispatchStatsSnapshot._() : super();
+  factory DispatchStatsSnapshot() => create();
+  factory DispatchStatsSnapshot.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory DispatchStatsSnapshot.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  DispatchStatsSnapshot clone() => DispatchStatsSnapshot()..mergeFromMessage(this);
+  DispatchStatsSnapshot copyWith(void Function(DispatchStatsSnapshot) updates) => super.copyWith((message) => updates(message as DispatchStatsSnapshot));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static DispatchStatsSnapshot create() => DispatchStatsSnapshot._();
+  DispatchStatsSnapshot createEmptyInstance() => create();
+  static $pb.PbList<DispatchStatsSnapshot> createRepeated() => $pb.PbList<DispatchStatsSnapshot>();
+  @$core.pragma('dart2js:noInline')
+  static DispatchStatsSnapshot getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<DispatchStatsSnapshot>(create);
+  static DispatchStatsSnapshot _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.List<DispatchStats> get events => $_getList(0);
+}
+
+class TraceDump extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('TraceDump', createEmptyInstance: create)
+    ..pPS(1, 'events')
+    ..aInt64(2, 'overwritten')
+    ..hasRequiredFields = false
+  ;
+
+  TraceDump._() : super();
+  factory TraceDump() => create();
+  factory TraceDump.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory TraceDump.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  TraceDump clone() => TraceDump()..mergeFromMessage(this);
+  TraceDump copyWith(void Function(TraceDump) updates) => super.copyWith((message) => updates(message as TraceDump));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static TraceDump create() => TraceDump._();
+  TraceDump createEmptyInstance() => create();
+  static $pb.PbList<TraceDump> createRepeated() => $pb.PbList<TraceDump>();
+  @$core.pragma('dart2js:noInline')
+  static TraceDump getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<TraceDump>(create);
+  static TraceDump _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.List<$core.String> get events => $_getList(0);
+
+  @$pb.TagNumber(2)
+  $fixnum.Int64 get overwritten => $_getI64(1);
+  @$pb.TagNumber(2)
+  set overwritten($fixnum.Int64 v) { $_setInt64(1, v); }
+  @$pb.TagNumber(2)
+  $core.bool hasOverwritten() => $_has(1);
+  @$pb.TagNumber(2)
+  void clearOverwritten() => clearField(2);
+}
+
+class SetServerCharacteristicValueRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('SetServerCharacteristicValueRequest', createEmptyInstance: create)
+    ..aOS(1, 'serviceUuid')
+    ..aOS(2, 'secondaryServiceUuid')
+    ..aOS(3, 'characteristicUuid')
+    ..a<$core.List<$core.int>>(4, 'value', $pb.PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  SetServerCharacteristicValueRequest._() : super();
+  factory SetServerCharacteristicValueRequest() => create();
+  factory SetServerCharacteristicValueRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory SetServerCharacteristicValueRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  SetServerCharacteristicValueRequest clone() => SetServerCharacteristicValueRequest()..mergeFromMessage(this);
+  SetServerCharacteristicValueRequest copyWith(void Function(SetServerCharacteristicValueRequest) updates) => super.copyWith((message) => updates(message as SetServerCharacteristicValueRequest));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static WriteDescriptorResponse create() => WriteDescriptorResponse._();
-  WriteDescriptorResponse createEmptyInstance() => create();
-  static $pb.PbList<WriteDescriptorResponse> createRepeated() => $pb.PbList<WriteDescriptorResponse>();
+  static SetServerCharacteristicValueRequest create() => SetServerCharacteristicValueRequest._();
+  SetServerCharacteristicValueRequest createEmptyInstance() => create();
+  static $pb.PbList<SetServerCharacteristicValueRequest> createRepeated() => $pb.PbList<SetServerCharacteristicValueRequest>();
   @$core.pragma('dart2js:noInline')
-  static WriteDescriptorResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<WriteDescriptorResponse>(create);
-  static WriteDescriptorResponse _defaultInstance;
+  static SetServerCharacteristicValueRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<SetServerCharacteristicValueRequest>(create);
+  static SetServerCharacteristicValueRequest _defaultInstance;
 
   @$pb.TagNumber(1)
-  WriteDescriptorRequest get request => $_getN(0);
-  @$pb.TagNumber(1)
-  set request(WriteDescriptorRequest v) { setField(1, v); }
+  $core.String get serviceUuid => $_getSZ(0);
   @$pb.TagNumber(1)
-  $core.bool hasRequest() => $_has(0);
+  set serviceUuid($core.String v) { $_setString(0, v); }
   @$pb.TagNumber(1)
-  void clearRequest() => clearField(1);
+  $core.bool hasServiceUuid() => $_has(0);
   @$pb.TagNumber(1)
-  WriteDescriptorRequest ensureRequest() => $_ensure(0);
+  void clearServiceUuid() => clearField(1);
 
   @$pb.TagNumber(2)
-  $core.bool get success => $_getBF(1);
+  $core.String get secondaryServiceUuid => $_getSZ(1);
   @$pb.TagNumber(2)
-  set success($core.bool v) { $_setBool(1, v); }
+  set secondaryServiceUuid($core.String v) { $_setString(1, v); }
   @$pb.TagNumber(2)
-  $core.bool hasSuccess() => $_has(1);
+  $core.bool hasSecondaryServiceUuid() => $_has(1);
   @$pb.TagNumber(2)
-  void clearSuccess() => clearField(2);
+  void clearSecondaryServiceUuid() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.String get characteristicUuid => $_getSZ(2);
+  @$pb.TagNumber(3)
+  set characteristicUuid($core.String v) { $_setString(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasCharacteristicUuid() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearCharacteristicUuid() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.List<$core.int> get value => $_getN(3);
+  @$pb.TagNumber(4)
+  set value($core.List<$core.int> v) { $_setBytes(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasValue() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearValue() => clearField(4);
 }
 
-class SetNotificationRequest extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('SetNotificationRequest', createEmptyInstance: create)
+class ServerCharacteristicWrite extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ServerCharacteristicWrite', createEmptyInstance: create)
     ..aOS(1, 'remoteId')
     ..aOS(2, 'serviceUuid')
-    ..aOS(3, 'secondaryServiceUuid')
-    ..aOS(4, 'characteristicUuid')
-    ..aOB(5, 'enable')
+    ..aOS(3, 'characteristicUuid')
+    ..a<$core.List<$core.int>>(4, 'value', $pb.PbFieldType.OY)
     ..hasRequiredFields = false
   ;
 
-  SetNotificationRequest._() : super();
-  factory SetNotificationRequest() => create();
-  factory SetNotificationRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory SetNotificationRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  SetNotificationRequest clone() => SetNotificationRequest()..mergeFromMessage(this);
-  SetNotificationRequest copyWith(void Function(SetNotificationRequest) updates) => super.copyWith((message) => updates(message as SetNotificationRequest));
+  ServerCharacteristicWrite._() : super();
+  factory ServerCharacteristicWrite() => create();
+  factory ServerCharacteristicWrite.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ServerCharacteristicWrite.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ServerCharacteristicWrite clone() => ServerCharacteristicWrite()..mergeFromMessage(this);
+  ServerCharacteristicWrite copyWith(void Function(ServerCharacteristicWrite) updates) => super.copyWith((message) => updates(message as ServerCharacteristicWrite));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static SetNotificationRequest create() => SetNotificationRequest._();
-  SetNotificationRequest createEmptyInstance() => create();
-  static $pb.PbList<SetNotificationRequest> createRepeated() => $pb.PbList<SetNotificationRequest>();
+  static ServerCharacteristicWrite create() => ServerCharacteristicWrite._();
+  ServerCharacteristicWrite createEmptyInstance() => create();
+  static $pb.PbList<ServerCharacteristicWrite> createRepeated() => $pb.PbList<ServerCharacteristicWrite>();
   @$core.pragma('dart2js:noInline')
-  static SetNotificationRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<SetNotificationRequest>(create);
-  static SetNotificationRequest _defaultInstance;
+  static ServerCharacteristicWrite getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ServerCharacteristicWrite>(create);
+  static ServerCharacteristicWrite _defaultInstance;
 
   @$pb.TagNumber(1)
   $core.String get remoteId => $_getSZ(0);
@@ -1432,192 +3726,397 @@ class SetNotificationRequest extends $pb.GeneratedMessage {
   void clearServiceUuid() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.String get secondaryServiceUuid => $_getSZ(2);
+  $core.String get characteristicUuid => $_getSZ(2);
   @$pb.TagNumber(3)
-  set secondaryServiceUuid($core.String v) { $_setString(2, v); }
+  set characteristicUuid($core.String v) { $_setString(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasSecondaryServiceUuid() => $_has(2);
+  $core.bool hasCharacteristicUuid() => $_has(2);
   @$pb.TagNumber(3)
-  void clearSecondaryServiceUuid() => clearField(3);
+  void clearCharacteristicUuid() => clearField(3);
 
   @$pb.TagNumber(4)
-  $core.String get characteristicUuid => $_getSZ(3);
+  $core.List<$core.int> get value => $_getN(3);
   @$pb.TagNumber(4)
-  set characteristicUuid($core.String v) { $_setString(3, v); }
+  set value($core.List<$core.int> v) { $_setBytes(3, v); }
   @$pb.TagNumber(4)
-  $core.bool hasCharacteristicUuid() => $_has(3);
+  $core.bool hasValue() => $_has(3);
   @$pb.TagNumber(4)
-  void clearCharacteristicUuid() => clearField(4);
+  void clearValue() => clearField(4);
+}
+
+class ServerCharacteristicWriteBatch extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ServerCharacteristicWriteBatch', createEmptyInstance: create)
+    ..pc<ServerCharacteristicWrite>(1, 'writes', $pb.PbFieldType.PM, subBuilder: ServerCharacteristicWrite.create)
+    ..hasRequiredFields = false
+  ;
+
+  ServerCharacteristicWriteBatch._() : super();
+  factory ServerCharacteristicWriteBatch() => create();
+  factory ServerCharacteristicWriteBatch.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ServerCharacteristicWriteBatch.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ServerCharacteristicWriteBatch clone() => ServerCharacteristicWriteBatch()..mergeFromMessage(this);
+  ServerCharacteristicWriteBatch copyWith(void Function(ServerCharacteristicWriteBatch) updates) => super.copyWith((message) => updates(message as ServerCharacteristicWriteBatch));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ServerCharacteristicWriteBatch create() => ServerCharacteristicWriteBatch._();
+  ServerCharacteristicWriteBatch createEmptyInstance() => create();
+  static $pb.PbList<ServerCharacteristicWriteBatch> createRepeated() => $pb.PbList<ServerCharacteristicWriteBatch>();
+  @$core.pragma('dart2js:noInline')
+  static ServerCharacteristicWriteBatch getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ServerCharacteristicWriteBatch>(create);
+  static ServerCharacteristicWriteBatch _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.List<ServerCharacteristicWrite> get writes => $_getList(0);
+}
+
+class ServerServices extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ServerServices', createEmptyInstance: create)
+    ..pc<BluetoothService>(1, 'services', $pb.PbFieldType.PM, subBuilder: BluetoothService.create)
+    ..hasRequiredFields = false
+  ;
+
+  ServerServices._() : super();
+  factory ServerServices() => create();
+  factory ServerServices.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory ServerServices.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  ServerServices clone() => ServerServices()..mergeFromMessage(this);
+  ServerServices copyWith(void Function(ServerServices) updates) => super.copyWith((message) => updates(message as ServerServices));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static ServerServices create() => ServerServices._();
+  ServerServices createEmptyInstance() => create();
+  static $pb.PbList<ServerServices> createRepeated() => $pb.PbList<ServerServices>();
+  @$core.pragma('dart2js:noInline')
+  static ServerServices getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ServerServices>(create);
+  static ServerServices _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.List<BluetoothService> get services => $_getList(0);
+}
+
+class AdvertisingPayload extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('AdvertisingPayload', createEmptyInstance: create)
+    ..pPS(1, 'serviceUuids')
+    ..m<$core.int, $core.List<$core.int>>(2, 'manufacturerData', entryClassName: 'AdvertisingPayload.ManufacturerDataEntry', keyFieldType: $pb.PbFieldType.O3, valueFieldType: $pb.PbFieldType.OY)
+    ..m<$core.String, $core.List<$core.int>>(3, 'serviceData', entryClassName: 'AdvertisingPayload.ServiceDataEntry', keyFieldType: $pb.PbFieldType.OS, valueFieldType: $pb.PbFieldType.OY)
+    ..aOB(4, 'includeDeviceName')
+    ..aOB(5, 'includeTxPowerLevel')
+    ..hasRequiredFields = false
+  ;
+
+  AdvertisingPayload._() : super();
+  factory AdvertisingPayload() => create();
+  factory AdvertisingPayload.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory AdvertisingPayload.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  AdvertisingPayload clone() => AdvertisingPayload()..mergeFromMessage(this);
+  AdvertisingPayload copyWith(void Function(AdvertisingPayload) updates) => super.copyWith((message) => updates(message as AdvertisingPayload));
+  $pb.BuilderInfo get info_ => _i;
+  @$core.pragma('dart2js:noInline')
+  static AdvertisingPayload create() => AdvertisingPayload._();
+  AdvertisingPayload createEmptyInstance() => create();
+  static $pb.PbList<AdvertisingPayload> createRepeated() => $pb.PbList<AdvertisingPayload>();
+  @$core.pragma('dart2js:noInline')
+  static AdvertisingPayload getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<AdvertisingPayload>(create);
+  static AdvertisingPayload _defaultInstance;
+
+  @$pb.TagNumber(1)
+  $core.List<$core.String> get serviceUuids => $_getList(0);
+
+  @$pb.TagNumber(2)
+  $core.Map<$core.int, $core.List<$core.int>> get manufacturerData => $_getMap(1);
+
+  @$pb.TagNumber(3)
+  $core.Map<$core.String, $core.List<$core.int>> get serviceData => $_getMap(2);
+
+  @$pb.TagNumber(4)
+  $core.bool get includeDeviceName => $_getBF(3);
+  @$pb.TagNumber(4)
+  set includeDeviceName($core.bool v) { $_setBool(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasIncludeDeviceName() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearIncludeDeviceName() => clearField(4);
 
   @$pb.TagNumber(5)
-  $core.bool get enable => $_getBF(4);
+  $core.bool get includeTxPowerLevel => $_getBF(4);
   @$pb.TagNumber(5)
-  set enable($core.bool v) { $_setBool(4, v); }
+  set includeTxPowerLevel($core.bool v) { $_setBool(4, v); }
   @$pb.TagNumber(5)
-  $core.bool hasEnable() => $_has(4);
+  $core.bool hasIncludeTxPowerLevel() => $_has(4);
   @$pb.TagNumber(5)
-  void clearEnable() => clearField(5);
+  void clearIncludeTxPowerLevel() => clearField(5);
 }
 
-class SetNotificationResponse extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('SetNotificationResponse', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..aOM<BluetoothCharacteristic>(2, 'characteristic', subBuilder: BluetoothCharacteristic.create)
-    ..aOB(3, 'success')
+class AdvertisingSetRequest extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('AdvertisingSetRequest', createEmptyInstance: create)
+    ..aOS(1, 'setId')
+    ..aOB(2, 'connectable')
+    ..aOB(3, 'scannable')
+    ..aOB(4, 'legacy')
+    ..a<$core.int>(5, 'interval', $pb.PbFieldType.O3)
+    ..aOM<Int32Value>(6, 'txPower', subBuilder: Int32Value.create)
+    ..e<AdvertisingSetRequest_Phy>(7, 'primaryPhy', $pb.PbFieldType.OE, defaultOrMaker: AdvertisingSetRequest_Phy.LE_1M, valueOf: AdvertisingSetRequest_Phy.valueOf, enumValues: AdvertisingSetRequest_Phy.values)
+    ..e<AdvertisingSetRequest_Phy>(8, 'secondaryPhy', $pb.PbFieldType.OE, defaultOrMaker: AdvertisingSetRequest_Phy.LE_1M, valueOf: AdvertisingSetRequest_Phy.valueOf, enumValues: AdvertisingSetRequest_Phy.values)
+    ..aOB(9, 'includeTxPower')
+    ..aOM<AdvertisingPayload>(10, 'advertiseData', subBuilder: AdvertisingPayload.create)
+    ..aOM<AdvertisingPayload>(11, 'scanResponse', subBuilder: AdvertisingPayload.create)
+    ..a<$core.int>(12, 'durationMillis', $pb.PbFieldType.O3)
+    ..a<$core.int>(13, 'minUpdateIntervalMillis', $pb.PbFieldType.O3)
     ..hasRequiredFields = false
   ;
 
-  SetNotificationResponse._() : super();
-  factory SetNotificationResponse() => create();
-  factory SetNotificationResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory SetNotificationResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  SetNotificationResponse clone() => SetNotificationResponse()..mergeFromMessage(this);
-  SetNotificationResponse copyWith(void Function(SetNotificationResponse) updates) => super.copyWith((message) => updates(message as SetNotificationResponse));
+  AdvertisingSetRequest._() : super();
+  factory AdvertisingSetRequest() => create();
+  factory AdvertisingSetRequest.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory AdvertisingSetRequest.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  AdvertisingSetRequest clone() => AdvertisingSetRequest()..mergeFromMessage(this);
+  AdvertisingSetRequest copyWith(void Function(AdvertisingSetRequest) updates) => super.copyWith((message) => updates(message as AdvertisingSetRequest));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static SetNotificationResponse create() => SetNotificationResponse._();
-  SetNotificationResponse createEmptyInstance() => create();
-  static $pb.PbList<SetNotificationResponse> createRepeated() => $pb.PbList<SetNotificationResponse>();
+  static AdvertisingSetRequest create() => AdvertisingSetRequest._();
+  AdvertisingSetRequest createEmptyInstance() => create();
+  static $pb.PbList<AdvertisingSetRequest> createRepeated() => $pb.PbList<AdvertisingSetRequest>();
   @$core.pragma('dart2js:noInline')
-  static SetNotificationResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<SetNotificationResponse>(create);
-  static SetNotificationResponse _defaultInstance;
+  static AdvertisingSetRequest getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<AdvertisingSetRequest>(create);
+  static AdvertisingSetRequest _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $core.String get setId => $_getSZ(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set setId($core.String v) { $_setString(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasSetId() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearSetId() => clearField(1);
 
   @$pb.TagNumber(2)
-  BluetoothCharacteristic get characteristic => $_getN(1);
-  @$pb.TagNumber(2)
-  set characteristic(BluetoothCharacteristic v) { setField(2, v); }
+  $core.bool get connectable => $_getBF(1);
   @$pb.TagNumber(2)
-  $core.bool hasCharacteristic() => $_has(1);
+  set connectable($core.bool v) { $_setBool(1, v); }
   @$pb.TagNumber(2)
-  void clearCharacteristic() => clearField(2);
+  $core.bool hasConnectable() => $_has(1);
   @$pb.TagNumber(2)
-  BluetoothCharacteristic ensureCharacteristic() => $_ensure(1);
+  void clearConnectable() => clearField(2);
 
   @$pb.TagNumber(3)
-  $core.bool get success => $_getBF(2);
+  $core.bool get scannable => $_getBF(2);
   @$pb.TagNumber(3)
-  set success($core.bool v) { $_setBool(2, v); }
+  set scannable($core.bool v) { $_setBool(2, v); }
   @$pb.TagNumber(3)
-  $core.bool hasSuccess() => $_has(2);
+  $core.bool hasScannable() => $_has(2);
   @$pb.TagNumber(3)
-  void clearSuccess() => clearField(3);
+  void clearScannable() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.bool get legacy => $_getBF(3);
+  @$pb.TagNumber(4)
+  set legacy($core.bool v) { $_setBool(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasLegacy() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearLegacy() => clearField(4);
+
+  @$pb.TagNumber(5)
+  $core.int get interval => $_getIZ(4);
+  @$pb.TagNumber(5)
+  set interval($core.int v) { $_setSignedInt32(4, v); }
+  @$pb.TagNumber(5)
+  $core.bool hasInterval() => $_has(4);
+  @$pb.TagNumber(5)
+  void clearInterval() => clearField(5);
+
+  @$pb.TagNumber(6)
+  Int32Value get txPower => $_getN(5);
+  @$pb.TagNumber(6)
+  set txPower(Int32Value v) { setField(6, v); }
+  @$pb.TagNumber(6)
+  $core.bool hasTxPower() => $_has(5);
+  @$pb.TagNumber(6)
+  void clearTxPower() => clearField(6);
+  @$pb.TagNumber(6)
+  Int32Value ensureTxPower() => $_ensure(5);
+
+  @$pb.TagNumber(7)
+  AdvertisingSetRequest_Phy get primaryPhy => $_getN(6);
+  @$pb.TagNumber(7)
+  set primaryPhy(AdvertisingSetRequest_Phy v) { setField(7, v); }
+  @$pb.TagNumber(7)
+  $core.bool hasPrimaryPhy() => $_has(6);
+  @$pb.TagNumber(7)
+  void clearPrimaryPhy() => clearField(7);
+
+  @$pb.TagNumber(8)
+  AdvertisingSetRequest_Phy get secondaryPhy => $_getN(7);
+  @$pb.TagNumber(8)
+  set secondaryPhy(AdvertisingSetRequest_Phy v) { setField(8, v); }
+  @$pb.TagNumber(8)
+  $core.bool hasSecondaryPhy() => $_has(7);
+  @$pb.TagNumber(8)
+  void clearSecondaryPhy() => clearField(8);
+
+  @$pb.TagNumber(9)
+  $core.bool get includeTxPower => $_getBF(8);
+  @$pb.TagNumber(9)
+  set includeTxPower($core.bool v) { $_setBool(8, v); }
+  @$pb.TagNumber(9)
+  $core.bool hasIncludeTxPower() => $_has(8);
+  @$pb.TagNumber(9)
+  void clearIncludeTxPower() => clearField(9);
+
+  @$pb.TagNumber(10)
+  AdvertisingPayload get advertiseData => $_getN(9);
+  @$pb.TagNumber(10)
+  set advertiseData(AdvertisingPayload v) { setField(10, v); }
+  @$pb.TagNumber(10)
+  $core.bool hasAdvertiseData() => $_has(9);
+  @$pb.TagNumber(10)
+  void clearAdvertiseData() => clearField(10);
+  @$pb.TagNumber(10)
+  AdvertisingPayload ensureAdvertiseData() => $_ensure(9);
+
+  @$pb.TagNumber(11)
+  AdvertisingPayload get scanResponse => $_getN(10);
+  @$pb.TagNumber(11)
+  set scanResponse(AdvertisingPayload v) { setField(11, v); }
+  @$pb.TagNumber(11)
+  $core.bool hasScanResponse() => $_has(10);
+  @$pb.TagNumber(11)
+  void clearScanResponse() => clearField(11);
+  @$pb.TagNumber(11)
+  AdvertisingPayload ensureScanResponse() => $_ensure(10);
+
+  @$pb.TagNumber(12)
+  $core.int get durationMillis => $_getIZ(11);
+  @$pb.TagNumber(12)
+  set durationMillis($core.int v) { $_setSignedInt32(11, v); }
+  @$pb.TagNumber(12)
+  $core.bool hasDurationMillis() => $_has(11);
+  @$pb.TagNumber(12)
+  void clearDurationMillis() => clearField(12);
+
+  @$pb.TagNumber(13)
+  $core.int get minUpdateIntervalMillis => $_getIZ(12);
+  @$pb.TagNumber(13)
+  set minUpdateIntervalMillis($core.int v) { $_setSignedInt32(12, v); }
+  @$pb.TagNumber(13)
+  $core.bool hasMinUpdateIntervalMillis() => $_has(12);
+  @$pb.TagNumber(13)
+  void clearMinUpdateIntervalMillis() => clearField(13);
 }
 
-class OnCharacteristicChanged extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('OnCharacteristicChanged', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..aOM<BluetoothCharacteristic>(2, 'characteristic', subBuilder: BluetoothCharacteristic.create)
+class AdvertisingSetState extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('AdvertisingSetState', createEmptyInstance: create)
+    ..aOS(1, 'setId')
+    ..aOB(2, 'running')
+    ..a<$core.int>(3, 'status', $pb.PbFieldType.O3)
+    ..a<$core.int>(4, 'txPower', $pb.PbFieldType.O3)
     ..hasRequiredFields = false
   ;
 
-  OnCharacteristicChanged._() : super();
-  factory OnCharacteristicChanged() => create();
-  factory OnCharacteristicChanged.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory OnCharacteristicChanged.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  OnCharacteristicChanged clone() => OnCharacteristicChanged()..mergeFromMessage(this);
-  OnCharacteristicChanged copyWith(void Function(OnCharacteristicChanged) updates) => super.copyWith((message) => updates(message as OnCharacteristicChanged));
+  AdvertisingSetState._() : super();
+  factory AdvertisingSetState() => create();
+  factory AdvertisingSetState.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory AdvertisingSetState.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  AdvertisingSetState clone() => AdvertisingSetState()..mergeFromMessage(this);
+  AdvertisingSetState copyWith(void Function(AdvertisingSetState) updates) => super.copyWith((message) => updates(message as AdvertisingSetState));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static OnCharacteristicChanged create() => OnCharacteristicChanged._();
-  OnCharacteristicChanged createEmptyInstance() => create();
-  static $pb.PbList<OnCharacteristicChanged> createRepeated() => $pb.PbList<OnCharacteristicChanged>();
+  static AdvertisingSetState create() => AdvertisingSetState._();
+  AdvertisingSetState createEmptyInstance() => create();
+  static $pb.PbList<AdvertisingSetState> createRepeated() => $pb.PbList<AdvertisingSetState>();
   @$core.pragma('dart2js:noInline')
-  static OnCharacteristicChanged getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<OnCharacteristicChanged>(create);
-  static OnCharacteristicChanged _defaultInstance;
+  static AdvertisingSetState getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<AdvertisingSetState>(create);
+  static AdvertisingSetState _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $core.String get setId => $_getSZ(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set setId($core.String v) { $_setString(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasSetId() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearSetId() => clearField(1);
 
   @$pb.TagNumber(2)
-  BluetoothCharacteristic get characteristic => $_getN(1);
-  @$pb.TagNumber(2)
-  set characteristic(BluetoothCharacteristic v) { setField(2, v); }
+  $core.bool get running => $_getBF(1);
   @$pb.TagNumber(2)
-  $core.bool hasCharacteristic() => $_has(1);
+  set running($core.bool v) { $_setBool(1, v); }
   @$pb.TagNumber(2)
-  void clearCharacteristic() => clearField(2);
+  $core.bool hasRunning() => $_has(1);
   @$pb.TagNumber(2)
-  BluetoothCharacteristic ensureCharacteristic() => $_ensure(1);
+  void clearRunning() => clearField(2);
+
+  @$pb.TagNumber(3)
+  $core.int get status => $_getIZ(2);
+  @$pb.TagNumber(3)
+  set status($core.int v) { $_setSignedInt32(2, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasStatus() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearStatus() => clearField(3);
+
+  @$pb.TagNumber(4)
+  $core.int get txPower => $_getIZ(3);
+  @$pb.TagNumber(4)
+  set txPower($core.int v) { $_setSignedInt32(3, v); }
+  @$pb.TagNumber(4)
+  $core.bool hasTxPower() => $_has(3);
+  @$pb.TagNumber(4)
+  void clearTxPower() => clearField(4);
 }
 
-class DeviceStateResponse extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('DeviceStateResponse', createEmptyInstance: create)
-    ..aOS(1, 'remoteId')
-    ..e<DeviceStateResponse_BluetoothDeviceState>(2, 'state', $pb.PbFieldType.OE, defaultOrMaker: DeviceStateResponse_BluetoothDeviceState.DISCONNECTED, valueOf: DeviceStateResponse_BluetoothDeviceState.valueOf, enumValues: DeviceStateResponse_BluetoothDeviceState.values)
+class AdvertisingDataUpdate extends $pb.GeneratedMessage {
+  static final $pb.BuilderInfo _i = $pb.BuilderInfo('AdvertisingDataUpdate', createEmptyInstance: create)
+    ..aOS(1, 'setId')
+    ..aOM<AdvertisingPayload>(2, 'advertiseData', subBuilder: AdvertisingPayload.create)
+    ..aOM<AdvertisingPayload>(3, 'scanResponse', subBuilder: AdvertisingPayload.create)
     ..hasRequiredFields = false
   ;
 
-  DeviceStateResponse._() : super();
-  factory DeviceStateResponse() => create();
-  factory DeviceStateResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory DeviceStateResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  DeviceStateResponse clone() => DeviceStateResponse()..mergeFromMessage(this);
-  DeviceStateResponse copyWith(void Function(DeviceStateResponse) updates) => super.copyWith((message) => updates(message as DeviceStateResponse));
+  AdvertisingDataUpdate._() : super();
+  factory AdvertisingDataUpdate() => create();
+  factory AdvertisingDataUpdate.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
+  factory AdvertisingDataUpdate.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
+  AdvertisingDataUpdate clone() => AdvertisingDataUpdate()..mergeFromMessage(this);
+  AdvertisingDataUpdate copyWith(void Function(AdvertisingDataUpdate) updates) => super.copyWith((message) => updates(message as AdvertisingDataUpdate));
   $pb.BuilderInfo get info_ => _i;
   @$core.pragma('dart2js:noInline')
-  static DeviceStateResponse create() => DeviceStateResponse._();
-  DeviceStateResponse createEmptyInstance() => create();
-  static $pb.PbList<DeviceStateResponse> createRepeated() => $pb.PbList<DeviceStateResponse>();
+  static AdvertisingDataUpdate create() => AdvertisingDataUpdate._();
+  AdvertisingDataUpdate createEmptyInstance() => create();
+  static $pb.PbList<AdvertisingDataUpdate> createRepeated() => $pb.PbList<AdvertisingDataUpdate>();
   @$core.pragma('dart2js:noInline')
-  static DeviceStateResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<DeviceStateResponse>(create);
-  static DeviceStateResponse _defaultInstance;
+  static AdvertisingDataUpdate getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<AdvertisingDataUpdate>(create);
+  static AdvertisingDataUpdate _defaultInstance;
 
   @$pb.TagNumber(1)
-  $core.String get remoteId => $_getSZ(0);
+  $core.String get setId => $_getSZ(0);
   @$pb.TagNumber(1)
-  set remoteId($core.String v) { $_setString(0, v); }
+  set setId($core.String v) { $_setString(0, v); }
   @$pb.TagNumber(1)
-  $core.bool hasRemoteId() => $_has(0);
+  $core.bool hasSetId() => $_has(0);
   @$pb.TagNumber(1)
-  void clearRemoteId() => clearField(1);
+  void clearSetId() => clearField(1);
 
   @$pb.TagNumber(2)
-  DeviceStateResponse_BluetoothDeviceState get state => $_getN(1);
+  AdvertisingPayload get advertiseData => $_getN(1);
   @$pb.TagNumber(2)
-  set state(DeviceStateResponse_BluetoothDeviceState v) { setField(2, v); }
+  set advertiseData(AdvertisingPayload v) { setField(2, v); }
   @$pb.TagNumber(2)
-  $core.bool hasState() => $_has(1);
+  $core.bool hasAdvertiseData() => $_has(1);
   @$pb.TagNumber(2)
-  void clearState() => clearField(2);
-}
-
-class ConnectedDevicesResponse extends $pb.GeneratedMessage {
-  static final $pb.BuilderInfo _i = $pb.BuilderInfo('ConnectedDevicesResponse', createEmptyInstance: create)
-    ..pc<BluetoothDevice>(1, 'devices', $pb.PbFieldType.PM, subBuilder: BluetoothDevice.create)
-    ..hasRequiredFields = false
-  ;
-
-  ConnectedDevicesResponse._() : super();
-  factory ConnectedDevicesResponse() => create();
-  factory ConnectedDevicesResponse.fromBuffer($core.List<$core.int> i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromBuffer(i, r);
-  factory ConnectedDevicesResponse.fromJson($core.String i, [$pb.ExtensionRegistry r = $pb.ExtensionRegistry.EMPTY]) => create()..mergeFromJson(i, r);
-  ConnectedDevicesResponse clone() => ConnectedDevicesResponse()..mergeFromMessage(this);
-  ConnectedDevicesResponse copyWith(void Function(ConnectedDevicesResponse) updates) => super.copyWith((message) => updates(message as ConnectedDevicesResponse));
-  $pb.BuilderInfo get info_ => _i;
-  @$core.pragma('dart2js:noInline')
-  static ConnectedDevicesResponse create() => ConnectedDevicesResponse._();
-  ConnectedDevicesResponse createEmptyInstance() => create();
-  static $pb.PbList<ConnectedDevicesResponse> createRepeated() => $pb.PbList<ConnectedDevicesResponse>();
-  @$core.pragma('dart2js:noInline')
-  static ConnectedDevicesResponse getDefault() => _defaultInstance ??= $pb.GeneratedMessage.$_defaultFor<ConnectedDevicesResponse>(create);
-  static ConnectedDevicesResponse _defaultInstance;
+  void clearAdvertiseData() => clearField(2);
+  @$pb.TagNumber(2)
+  AdvertisingPayload ensureAdvertiseData() => $_ensure(1);
 
-  @$pb.TagNumber(1)
-  $core.List<BluetoothDevice> get devices => $_getList(0);
+  @$pb.TagNumber(3)
+  AdvertisingPayload get scanResponse => $_getN(2);
+  @$pb.TagNumber(3)
+  set scanResponse(AdvertisingPayload v) { setField(3, v); }
+  @$pb.TagNumber(3)
+  $core.bool hasScanResponse() => $_has(2);
+  @$pb.TagNumber(3)
+  void clearScanResponse() => clearField(3);
+  @$pb.TagNumber(3)
+  AdvertisingPayload ensureScanResponse() => $_ensure(2);
 }
 
@@ -34,6 +34,29 @@ class BluetoothState_State extends $pb.ProtobufEnum {
   const BluetoothState_State._($core.int v, $core.String n) : super(v, n);
 }
 
+class DataPredicate_Comparison extends $pb.ProtobufEnum {
+  static const DataPredicate_Comparison EQUAL = DataPredicate_Comparison._(0, 'EQUAL');
+  static const DataPredicate_Comparison NOT_EQUAL = DataPredicate_Comparison._(1, 'NOT_EQUAL');
+  static const DataPredicate_Comparison LESS = DataPredicate_Comparison._(2, 'LESS');
+  static const DataPredicate_Comparison LESS_OR_EQUAL = DataPredicate_Comparison._(3, 'LESS_OR_EQUAL');
+  static const DataPredicate_Comparison GREATER = DataPredicate_Comparison._(4, 'GREATER');
+  static const DataPredicate_Comparison GREATER_OR_EQUAL = DataPredicate_Comparison._(5, 'GREATER_OR_EQUAL');
+
+  static const $core.List<DataPredicate_Comparison> values = <DataPredicate_Comparison> [
+    EQUAL,
+    NOT_EQUAL,
+    LESS,
+    LESS_OR_EQUAL,
+    GREATER,
+    GREATER_OR_EQUAL,
+  ];
+
+  static final $core.Map<$core.int, DataPredicate_Comparison> _byValue = $pb.ProtobufEnum.initByValue(values);
+  static DataPredicate_Comparison valueOf($core.int value) => _byValue[value];
+
+  const DataPredicate_Comparison._($core.int v, $core.String n) : super(v, n);
+}
+
 class BluetoothDevice_Type extends $pb.ProtobufEnum {
   static const BluetoothDevice_Type UNKNOWN = BluetoothDevice_Type._(0, 'UNKNOWN');
   static const BluetoothDevice_Type CLASSIC = BluetoothDevice_Type._(1, 'CLASSIC');
@@ -87,3 +110,45 @@ class DeviceStateResponse_BluetoothDeviceState extends $pb.ProtobufEnum {
   const DeviceStateResponse_BluetoothDeviceState._($core.int v, $core.String n) : super(v, n);
 }
 
+class OperationStats_Type extends $pb.ProtobufEnum {
+  static const OperationStats_Type READ_CHARACTERISTIC = OperationStats_Type._(0, 'READ_CHARACTERISTIC');
+  static const OperationStats_Type WRITE_CHARACTERISTIC = OperationStats_Type._(1, 'WRITE_CHARACTERISTIC');
+  static const OperationStats_Type READ_DESCRIPTOR = OperationStats_Type._(2, 'READ_DESCRIPTOR');
+  static const OperationStats_Type WRITE_DESCRIPTOR = OperationStats_Type._(3, 'WRITE_DESCRIPTOR');
+  static const OperationStats_Type SET_NOTIFICATION = OperationStats_Type._(4, 'SET_NOTIFICATION');
+  static const OperationStats_Type DISCOVER_SERVICES = OperationStats_Type._(5, 'DISCOVER_SERVICES');
+  static const OperationStats_Type REQUEST_MTU = OperationStats_Type._(6, 'REQUEST_MTU');
+
+  static const $core.List<OperationStats_Type> values = <OperationStats_Type> [
+    READ_CHARACTERISTIC,
+    WRITE_CHARACTERISTIC,
+    READ_DESCRIPTOR,
+    WRITE_DESCRIPTOR,
+    SET_NOTIFICATION,
+    DISCOVER_SERVICES,
+    REQUEST_MTU,
+  ];
+
+  static final $core.Map<$core.int, OperationStats_Type> _byValue = $pb.ProtobufEnum.initByValue(values);
+  static OperationStats_Type valueOf($core.int value) => _byValue[value];
+
+  const OperationStats_Type._($core.int v, $core.String n) : super(v, n);
+}
+
+class AdvertisingSetRequest_Phy extends $pb.ProtobufEnum {
+  static const AdvertisingSetRequest_Phy LE_1M = AdvertisingSetRequest_Phy._(0, 'LE_1M');
+  static const AdvertisingSetRequest_Phy LE_2M = AdvertisingSetRequest_Phy._(1, 'LE_2M');
+  static const AdvertisingSetRequest_Phy LE_CODED = AdvertisingSetRequest_Phy._(2, 'LE_CODED');
+
+  static const $core.List<AdvertisingSetRequest_Phy> values = <AdvertisingSetRequest_Phy> [
+    LE_1M,
+    LE_2M,
+    LE_CODED,
+  ];
+
+  static final $core.Map<$core.int, AdvertisingSetRequest_Phy> _byValue = $pb.ProtobufEnum.initByValue(values);
+  static AdvertisingSetRequest_Phy valueOf($core.int value) => _byValue[value];
+
+  const AdvertisingSetRequest_Phy._($core.int v, $core.String n) : super(v, n);
+}
+
@@ -42,6 +42,7 @@ const AdvertisementData$json = const {
     const {'1': 'manufacturer_data', '3': 4, '4': 3, '5': 11, '6': '.AdvertisementData.ManufacturerDataEntry', '10': 'manufacturerData'},
     const {'1': 'service_data', '3': 5, '4': 3, '5': 11, '6': '.AdvertisementData.ServiceDataEntry', '10': 'serviceData'},
     const {'1': 'service_uuids', '3': 6, '4': 3, '5': 9, '10': 'serviceUuids'},
+    const {'1': 'beacons', '3': 7, '4': 3, '5': 11, '6': '.Beacon', '10': 'beacons'},
   ],
   '3': const [AdvertisementData_ManufacturerDataEntry$json, AdvertisementData_ServiceDataEntry$json],
 };
@@ -64,11 +65,162 @@ const AdvertisementData_ServiceDataEntry$json = const {
   '7': const {'7': true},
 };
 
+const Beacon$json = const {
+  '1': 'Beacon',
+  '2': const [
+    const {'1': 'ibeacon', '3': 1, '4': 1, '5': 11, '6': '.IBeacon', '9': 0, '10': 'ibeacon'},
+    const {'1': 'alt_beacon', '3': 2, '4': 1, '5': 11, '6': '.AltBeacon', '9': 0, '10': 'altBeacon'},
+    const {'1': 'eddystone_uid', '3': 3, '4': 1, '5': 11, '6': '.EddystoneUid', '9': 0, '10': 'eddystoneUid'},
+    const {'1': 'eddystone_url', '3': 4, '4': 1, '5': 11, '6': '.EddystoneUrl', '9': 0, '10': 'eddystoneUrl'},
+    const {'1': 'eddystone_tlm', '3': 5, '4': 1, '5': 11, '6': '.EddystoneTlm', '9': 0, '10': 'eddystoneTlm'},
+    const {'1': 'eddystone_eid', '3': 6, '4': 1, '5': 11, '6': '.EddystoneEid', '9': 0, '10': 'eddystoneEid'},
+  ],
+  '8': const [
+    const {'1': 'frame'},
+  ],
+};
+
+const IBeacon$json = const {
+  '1': 'IBeacon',
+  '2': const [
+    const {'1': 'uuid', '3': 1, '4': 1, '5': 9, '10': 'uuid'},
+    const {'1': 'major', '3': 2, '4': 1, '5': 5, '10': 'major'},
+    const {'1': 'minor', '3': 3, '4': 1, '5': 5, '10': 'minor'},
+    const {'1': 'measured_power', '3': 4, '4': 1, '5': 5, '10': 'measuredPower'},
+  ],
+};
+
+const AltBeacon$json = const {
+  '1': 'AltBeacon',
+  '2': const [
+    const {'1': 'manufacturer_id', '3': 1, '4': 1, '5': 5, '10': 'manufacturerId'},
+    const {'1': 'uuid', '3': 2, '4': 1, '5': 9, '10': 'uuid'},
+    const {'1': 'major', '3': 3, '4': 1, '5': 5, '10': 'major'},
+    const {'1': 'minor', '3': 4, '4': 1, '5': 5, '10': 'minor'},
+    const {'1': 'reference_rssi', '3': 5, '4': 1, '5': 5, '10': 'referenceRssi'},
+    const {'1': 'reserved', '3': 6, '4': 1, '5': 5, '10': 'reserved'},
+  ],
+};
+
+const EddystoneUid$json = const {
+  '1': 'EddystoneUid',
+  '2': const [
+    const {'1': 'tx_power', '3': 1, '4': 1, '5': 5, '10': 'txPower'},
+    const {'1': 'namespace', '3': 2, '4': 1, '5': 12, '10': 'namespace'},
+    const {'1': 'instance', '3': 3, '4': 1, '5': 12, '10': 'instance'},
+  ],
+};
+
+const EddystoneUrl$json = const {
+  '1': 'EddystoneUrl',
+  '2': const [
+    const {'1': 'tx_power', '3': 1, '4': 1, '5': 5, '10': 'txPower'},
+    const {'1': 'url', '3': 2, '4': 1, '5': 9, '10': 'url'},
+  ],
+};
+
+const EddystoneTlm$json = const {
+  '1': 'EddystoneTlm',
+  '2': const [
+    const {'1': 'version', '3': 1, '4': 1, '5': 5, '10': 'version'},
+    const {'1': 'battery_millivolts', '3': 2, '4': 1, '5': 5, '10': 'batteryMillivolts'},
+    const {'1': 'temperature', '3': 3, '4': 1, '5': 2, '10': 'temperature'},
+    const {'1': 'advertisement_count', '3': 4, '4': 1, '5': 3, '10': 'advertisementCount'},
+    const {'1': 'uptime_millis', '3': 5, '4': 1, '5': 3, '10': 'uptimeMillis'},
+    const {'1': 'encrypted', '3': 6, '4': 1, '5': 12, '10': 'encrypted'},
+  ],
+};
+
+const EddystoneEid$json = const {
+  '1': 'EddystoneEid',
+  '2': const [
+    const {'1': 'tx_power', '3': 1, '4': 1, '5': 5, '10': 'txPower'},
+    const {'1': 'ephemeral_id', '3': 2, '4': 1, '5': 12, '10': 'ephemeralId'},
+  ],
+};
+
 const ScanSettings$json = const {
   '1': 'ScanSettings',
   '2': const [
     const {'1': 'android_scan_mode', '3': 1, '4': 1, '5': 5, '10': 'androidScanMode'},
     const {'1': 'service_uuids', '3': 2, '4': 3, '5': 9, '10': 'serviceUuids'},
+    const {'1': 'filters', '3': 3, '4': 3, '5': 11, '6': '.ScanFilter', '10': 'filters'},
+    const {'1': 'predicate', '3': 4, '4': 1, '5': 11, '6': '.ScanPredicate', '10': 'predicate'},
+  ],
+};
+
+const ScanPredicate$json = const {
+  '1': 'ScanPredicate',
+  '2': const [
+    const {'1': 'all', '3': 1, '4': 1, '5': 11, '6': '.ScanPredicateList', '9': 0, '10': 'all'},
+    const {'1': 'any', '3': 2, '4': 1, '5': 11, '6': '.ScanPredicateList', '9': 0, '10': 'any'},
+    const {'1': 'min_rssi', '3': 3, '4': 1, '5': 5, '9': 0, '10': 'minRssi'},
+    const {'1': 'manufacturer_data', '3': 4, '4': 1, '5': 11, '6': '.DataPredicate', '9': 0, '10': 'manufacturerData'},
+    const {'1': 'service_data', '3': 5, '4': 1, '5': 11, '6': '.DataPredicate', '9': 0, '10': 'serviceData'},
+    const {'1': 'name_prefix', '3': 6, '4': 1, '5': 9, '9': 0, '10': 'namePrefix'},
+    const {'1': 'beacon', '3': 7, '4': 1, '5': 11, '6': '.BeaconPredicate', '9': 0, '10': 'beacon'},
+  ],
+  '8': const [
+    const {'1': 'predicate'},
+  ],
+};
+
+const BeaconPredicate$json = const {
+  '1': 'BeaconPredicate',
+  '2': const [
+    const {'1': 'uuid', '3': 1, '4': 1, '5': 9, '10': 'uuid'},
+    const {'1': 'major', '3': 2, '4': 1, '5': 11, '6': '.Int32Value', '10': 'major'},
+    const {'1': 'minor', '3': 3, '4': 1, '5': 11, '6': '.Int32Value', '10': 'minor'},
+    const {'1': 'eddystone_namespace', '3': 4, '4': 1, '5': 12, '10': 'eddystoneNamespace'},
+    const {'1': 'eddystone_instance', '3': 5, '4': 1, '5': 12, '10': 'eddystoneInstance'},
+  ],
+};
+
+const ScanPredicateList$json = const {
+  '1': 'ScanPredicateList',
+  '2': const [
+    const {'1': 'predicates', '3': 1, '4': 3, '5': 11, '6': '.ScanPredicate', '10': 'predicates'},
+  ],
+};
+
+const DataPredicate$json = const {
+  '1': 'DataPredicate',
+  '2': const [
+    const {'1': 'manufacturer_id', '3': 1, '4': 1, '5': 5, '10': 'manufacturerId'},
+    const {'1': 'service_uuid', '3': 2, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'offset', '3': 3, '4': 1, '5': 5, '10': 'offset'},
+    const {'1': 'value', '3': 4, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'mask', '3': 5, '4': 1, '5': 12, '10': 'mask'},
+    const {'1': 'comparison', '3': 6, '4': 1, '5': 14, '6': '.DataPredicate.Comparison', '10': 'comparison'},
+    const {'1': 'little_endian', '3': 7, '4': 1, '5': 8, '10': 'littleEndian'},
+  ],
+  '4': const [DataPredicate_Comparison$json],
+};
+
+const DataPredicate_Comparison$json = const {
+  '1': 'Comparison',
+  '2': const [
+    const {'1': 'EQUAL', '2': 0},
+    const {'1': 'NOT_EQUAL', '2': 1},
+    const {'1': 'LESS', '2': 2},
+    const {'1': 'LESS_OR_EQUAL', '2': 3},
+    const {'1': 'GREATER', '2': 4},
+    const {'1': 'GREATER_OR_EQUAL', '2': 5},
+  ],
+};
+
+const ScanFilter$json = const {
+  '1': 'ScanFilter',
+  '2': const [
+    const {'1': 'service_uuid', '3': 1, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'device_name', '3': 2, '4': 1, '5': 9, '10': 'deviceName'},
+    const {'1': 'device_address', '3': 3, '4': 1, '5': 9, '10': 'deviceAddress'},
+    const {'1': 'manufacturer_id', '3': 4, '4': 1, '5': 11, '6': '.Int32Value', '10': 'manufacturerId'},
+    const {'1': 'manufacturer_data', '3': 5, '4': 1, '5': 12, '10': 'manufacturerData'},
+    const {'1': 'manufacturer_data_mask', '3': 6, '4': 1, '5': 12, '10': 'manufacturerDataMask'},
+    const {'1': 'service_data_uuid', '3': 7, '4': 1, '5': 9, '10': 'serviceDataUuid'},
+    const {'1': 'service_data', '3': 8, '4': 1, '5': 12, '10': 'serviceData'},
+    const {'1': 'service_data_mask', '3': 9, '4': 1, '5': 12, '10': 'serviceDataMask'},
   ],
 };
 
@@ -78,6 +230,54 @@ const ScanResult$json = const {
     const {'1': 'device', '3': 1, '4': 1, '5': 11, '6': '.BluetoothDevice', '10': 'device'},
     const {'1': 'advertisement_data', '3': 2, '4': 1, '5': 11, '6': '.AdvertisementData', '10': 'advertisementData'},
     const {'1': 'rssi', '3': 3, '4': 1, '5': 5, '10': 'rssi'},
+    const {'1': 'subscription_ids', '3': 4, '4': 3, '5': 5, '10': 'subscriptionIds'},
+  ],
+};
+
+const ScanSessionState$json = const {
+  '1': 'ScanSessionState',
+  '2': const [
+    const {'1': 'scanning', '3': 1, '4': 1, '5': 8, '10': 'scanning'},
+    const {'1': 'deferred_millis', '3': 2, '4': 1, '5': 3, '10': 'deferredMillis'},
+    const {'1': 'starts_left', '3': 3, '4': 1, '5': 5, '10': 'startsLeft'},
+    const {'1': 'error_code', '3': 4, '4': 1, '5': 5, '10': 'errorCode'},
+    const {'1': 'error', '3': 5, '4': 1, '5': 9, '10': 'error'},
+    const {'1': 'removed_subscription_ids', '3': 6, '4': 3, '5': 5, '10': 'removedSubscriptionIds'},
+  ],
+};
+
+const PresenceSettings$json = const {
+  '1': 'PresenceSettings',
+  '2': const [
+    const {'1': 'enabled', '3': 1, '4': 1, '5': 8, '10': 'enabled'},
+    const {'1': 'lost_after_millis', '3': 2, '4': 1, '5': 3, '10': 'lostAfterMillis'},
+    const {'1': 'rssi_threshold', '3': 3, '4': 1, '5': 5, '10': 'rssiThreshold'},
+    const {'1': 'rssi_smoothing', '3': 4, '4': 1, '5': 2, '10': 'rssiSmoothing'},
+  ],
+};
+
+const PresenceEntry$json = const {
+  '1': 'PresenceEntry',
+  '2': const [
+    const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
+    const {'1': 'smoothed_rssi', '3': 2, '4': 1, '5': 5, '10': 'smoothedRssi'},
+    const {'1': 'last_seen_millis_ago', '3': 3, '4': 1, '5': 3, '10': 'lastSeenMillisAgo'},
+    const {'1': 'payload_hash', '3': 4, '4': 1, '5': 5, '10': 'payloadHash'},
+  ],
+};
+
+const PresenceEvent$json = const {
+  '1': 'PresenceEvent',
+  '2': const [
+    const {'1': 'device', '3': 1, '4': 1, '5': 11, '6': '.PresenceEntry', '10': 'device'},
+    const {'1': 'result', '3': 2, '4': 1, '5': 11, '6': '.ScanResult', '10': 'result'},
+  ],
+};
+
+const PresenceSnapshot$json = const {
+  '1': 'PresenceSnapshot',
+  '2': const [
+    const {'1': 'devices', '3': 1, '4': 3, '5': 11, '6': '.PresenceEntry', '10': 'devices'},
   ],
 };
 
@@ -142,6 +342,7 @@ const BluetoothService$json = const {
     const {'1': 'is_primary', '3': 3, '4': 1, '5': 8, '10': 'isPrimary'},
     const {'1': 'characteristics', '3': 4, '4': 3, '5': 11, '6': '.BluetoothCharacteristic', '10': 'characteristics'},
     const {'1': 'included_services', '3': 5, '4': 3, '5': 11, '6': '.BluetoothService', '10': 'includedServices'},
+    const {'1': 'binary_uuid', '3': 6, '4': 1, '5': 12, '10': 'binaryUuid'},
   ],
 };
 
@@ -155,6 +356,9 @@ const BluetoothCharacteristic$json = const {
     const {'1': 'descriptors', '3': 5, '4': 3, '5': 11, '6': '.BluetoothDescriptor', '10': 'descriptors'},
     const {'1': 'properties', '3': 6, '4': 1, '5': 11, '6': '.CharacteristicProperties', '10': 'properties'},
     const {'1': 'value', '3': 7, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'binary_uuid', '3': 8, '4': 1, '5': 12, '10': 'binaryUuid'},
+    const {'1': 'binary_service_uuid', '3': 9, '4': 1, '5': 12, '10': 'binaryServiceUuid'},
+    const {'1': 'binary_secondary_service_uuid', '3': 10, '4': 1, '5': 12, '10': 'binarySecondaryServiceUuid'},
   ],
 };
 
@@ -166,6 +370,9 @@ const BluetoothDescriptor$json = const {
     const {'1': 'serviceUuid', '3': 3, '4': 1, '5': 9, '10': 'serviceUuid'},
     const {'1': 'characteristicUuid', '3': 4, '4': 1, '5': 9, '10': 'characteristicUuid'},
     const {'1': 'value', '3': 5, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'binary_uuid', '3': 6, '4': 1, '5': 12, '10': 'binaryUuid'},
+    const {'1': 'binary_service_uuid', '3': 7, '4': 1, '5': 12, '10': 'binaryServiceUuid'},
+    const {'1': 'binary_characteristic_uuid', '3': 8, '4': 1, '5': 12, '10': 'binaryCharacteristicUuid'},
   ],
 };
 
@@ -193,6 +400,55 @@ const DiscoverServicesResult$json = const {
   ],
 };
 
+const ServiceRequest$json = const {
+  '1': 'ServiceRequest',
+  '2': const [
+    const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
+    const {'1': 'service_uuid', '3': 2, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'binary_service_uuid', '3': 3, '4': 1, '5': 12, '10': 'binaryServiceUuid'},
+  ],
+};
+
+const CompactDiscoverServicesResult$json = const {
+  '1': 'CompactDiscoverServicesResult',
+  '2': const [
+    const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
+    const {'1': 'uuids', '3': 2, '4': 3, '5': 9, '10': 'uuids'},
+    const {'1': 'services', '3': 3, '4': 3, '5': 11, '6': '.CompactService', '10': 'services'},
+    const {'1': 'characteristics', '3': 4, '4': 3, '5': 11, '6': '.CompactCharacteristic', '10': 'characteristics'},
+    const {'1': 'descriptors', '3': 5, '4': 3, '5': 11, '6': '.CompactDescriptor', '10': 'descriptors'},
+    const {'1': 'binary_uuids', '3': 6, '4': 3, '5': 12, '10': 'binaryUuids'},
+  ],
+};
+
+const CompactService$json = const {
+  '1': 'CompactService',
+  '2': const [
+    const {'1': 'uuid', '3': 1, '4': 1, '5': 13, '10': 'uuid'},
+    const {'1': 'is_primary', '3': 2, '4': 1, '5': 8, '10': 'isPrimary'},
+    const {'1': 'included_services', '3': 3, '4': 3, '5': 13, '10': 'includedServices'},
+  ],
+};
+
+const CompactCharacteristic$json = const {
+  '1': 'CompactCharacteristic',
+  '2': const [
+    const {'1': 'service', '3': 1, '4': 1, '5': 13, '10': 'service'},
+    const {'1': 'uuid', '3': 2, '4': 1, '5': 13, '10': 'uuid'},
+    const {'1': 'properties', '3': 3, '4': 1, '5': 13, '10': 'properties'},
+    const {'1': 'value', '3': 4, '4': 1, '5': 12, '10': 'value'},
+  ],
+};
+
+const CompactDescriptor$json = const {
+  '1': 'CompactDescriptor',
+  '2': const [
+    const {'1': 'characteristic', '3': 1, '4': 1, '5': 13, '10': 'characteristic'},
+    const {'1': 'uuid', '3': 2, '4': 1, '5': 13, '10': 'uuid'},
+    const {'1': 'value', '3': 3, '4': 1, '5': 12, '10': 'value'},
+  ],
+};
+
 const RequestMTURequest$json = const {
   '1': 'RequestMTURequest',
   '2': const [
@@ -217,6 +473,9 @@ const ReadCharacteristicRequest$json = const {
     const {'1': 'characteristic_uuid', '3': 2, '4': 1, '5': 9, '10': 'characteristicUuid'},
     const {'1': 'service_uuid', '3': 3, '4': 1, '5': 9, '10': 'serviceUuid'},
     const {'1': 'secondary_service_uuid', '3': 4, '4': 1, '5': 9, '10': 'secondaryServiceUuid'},
+    const {'1': 'binary_characteristic_uuid', '3': 5, '4': 1, '5': 12, '10': 'binaryCharacteristicUuid'},
+    const {'1': 'binary_service_uuid', '3': 6, '4': 1, '5': 12, '10': 'binaryServiceUuid'},
+    const {'1': 'binary_secondary_service_uuid', '3': 7, '4': 1, '5': 12, '10': 'binarySecondaryServiceUuid'},
   ],
 };
 
@@ -236,6 +495,10 @@ const ReadDescriptorRequest$json = const {
     const {'1': 'service_uuid', '3': 3, '4': 1, '5': 9, '10': 'serviceUuid'},
     const {'1': 'secondary_service_uuid', '3': 4, '4': 1, '5': 9, '10': 'secondaryServiceUuid'},
     const {'1': 'characteristic_uuid', '3': 5, '4': 1, '5': 9, '10': 'characteristicUuid'},
+    const {'1': 'binary_descriptor_uuid', '3': 6, '4': 1, '5': 12, '10': 'binaryDescriptorUuid'},
+    const {'1': 'binary_service_uuid', '3': 7, '4': 1, '5': 12, '10': 'binaryServiceUuid'},
+    const {'1': 'binary_secondary_service_uuid', '3': 8, '4': 1, '5': 12, '10': 'binarySecondaryServiceUuid'},
+    const {'1': 'binary_characteristic_uuid', '3': 9, '4': 1, '5': 12, '10': 'binaryCharacteristicUuid'},
   ],
 };
 
@@ -256,6 +519,9 @@ const WriteCharacteristicRequest$json = const {
     const {'1': 'secondary_service_uuid', '3': 4, '4': 1, '5': 9, '10': 'secondaryServiceUuid'},
     const {'1': 'write_type', '3': 5, '4': 1, '5': 14, '6': '.WriteCharacteristicRequest.WriteType', '10': 'writeType'},
     const {'1': 'value', '3': 6, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'binary_characteristic_uuid', '3': 7, '4': 1, '5': 12, '10': 'binaryCharacteristicUuid'},
+    const {'1': 'binary_service_uuid', '3': 8, '4': 1, '5': 12, '10': 'binaryServiceUuid'},
+    const {'1': 'binary_secondary_service_uuid', '3': 9, '4': 1, '5': 12, '10': 'binarySecondaryServiceUuid'},
   ],
   '4': const [WriteCharacteristicRequest_WriteType$json],
 };
@@ -285,6 +551,10 @@ const WriteDescriptorRequest$json = const {
     const {'1': 'secondary_service_uuid', '3': 4, '4': 1, '5': 9, '10': 'secondaryServiceUuid'},
     const {'1': 'characteristic_uuid', '3': 5, '4': 1, '5': 9, '10': 'characteristicUuid'},
     const {'1': 'value', '3': 6, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'binary_descriptor_uuid', '3': 7, '4': 1, '5': 12, '10': 'binaryDescriptorUuid'},
+    const {'1': 'binary_service_uuid', '3': 8, '4': 1, '5': 12, '10': 'binaryServiceUuid'},
+    const {'1': 'binary_secondary_service_uuid', '3': 9, '4': 1, '5': 12, '10': 'binarySecondaryServiceUuid'},
+    const {'1': 'binary_characteristic_uuid', '3': 10, '4': 1, '5': 12, '10': 'binaryCharacteristicUuid'},
   ],
 };
 
@@ -304,6 +574,9 @@ const SetNotificationRequest$json = const {
     const {'1': 'secondary_service_uuid', '3': 3, '4': 1, '5': 9, '10': 'secondaryServiceUuid'},
     const {'1': 'characteristic_uuid', '3': 4, '4': 1, '5': 9, '10': 'characteristicUuid'},
     const {'1': 'enable', '3': 5, '4': 1, '5': 8, '10': 'enable'},
+    const {'1': 'binary_service_uuid', '3': 6, '4': 1, '5': 12, '10': 'binaryServiceUuid'},
+    const {'1': 'binary_secondary_service_uuid', '3': 7, '4': 1, '5': 12, '10': 'binarySecondaryServiceUuid'},
+    const {'1': 'binary_characteristic_uuid', '3': 8, '4': 1, '5': 12, '10': 'binaryCharacteristicUuid'},
   ],
 };
 
@@ -350,3 +623,188 @@ const ConnectedDevicesResponse$json = const {
   ],
 };
 
+const OperationStats$json = const {
+  '1': 'OperationStats',
+  '2': const [
+    const {'1': 'type', '3': 1, '4': 1, '5': 14, '6': '.OperationStats.Type', '10': 'type'},
+    const {'1': 'issued', '3': 2, '4': 1, '5': 3, '10': 'issued'},
+    const {'1': 'completed', '3': 3, '4': 1, '5': 3, '10': 'completed'},
+    const {'1': 'failed', '3': 4, '4': 1, '5': 3, '10': 'failed'},
+    const {'1': 'latency_histogram', '3': 5, '4': 3, '5': 3, '10': 'latencyHistogram'},
+  ],
+  '4': const [OperationStats_Type$json],
+};
+
+const OperationStats_Type$json = const {
+  '1': 'Type',
+  '2': const [
+    const {'1': 'READ_CHARACTERISTIC', '2': 0},
+    const {'1': 'WRITE_CHARACTERISTIC', '2': 1},
+    const {'1': 'READ_DESCRIPTOR', '2': 2},
+    const {'1': 'WRITE_DESCRIPTOR', '2': 3},
+    const {'1': 'SET_NOTIFICATION', '2': 4},
+    const {'1': 'DISCOVER_SERVICES', '2': 5},
+    const {'1': 'REQUEST_MTU', '2': 6},
+  ],
+};
+
+const ConnectionStats$json = const {
+  '1': 'ConnectionStats',
+  '2': const [
+    const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
+    const {'1': 'mtu', '3': 2, '4': 1, '5': 5, '10': 'mtu'},
+    const {'1': 'bytes_read', '3': 3, '4': 1, '5': 3, '10': 'bytesRead'},
+    const {'1': 'bytes_written', '3': 4, '4': 1, '5': 3, '10': 'bytesWritten'},
+    const {'1': 'bytes_notified', '3': 5, '4': 1, '5': 3, '10': 'bytesNotified'},
+    const {'1': 'notifications', '3': 6, '4': 1, '5': 3, '10': 'notifications'},
+    const {'1': 'notifications_per_second', '3': 7, '4': 1, '5': 1, '10': 'notificationsPerSecond'},
+    const {'1': 'operations', '3': 8, '4': 3, '5': 11, '6': '.OperationStats', '10': 'operations'},
+  ],
+};
+
+const StatsSnapshot$json = const {
+  '1': 'StatsSnapshot',
+  '2': const [
+    const {'1': 'connections', '3': 1, '4': 3, '5': 11, '6': '.ConnectionStats', '10': 'connections'},
+  ],
+};
+
+const DispatchStats$json = const {
+  '1': 'DispatchStats',
+  '2': const [
+    const {'1': 'event', '3': 1, '4': 1, '5': 9, '10': 'event'},
+    const {'1': 'dispatched', '3': 2, '4': 1, '5': 3, '10': 'dispatched'},
+    const {'1': 'dropped', '3': 3, '4': 1, '5': 3, '10': 'dropped'},
+    const {'1': 'serialize_histogram', '3': 4, '4': 3, '5': 3, '10': 'serializeHistogram'},
+    const {'1': 'queue_histogram', '3': 5, '4': 3, '5': 3, '10': 'queueHistogram'},
+    const {'1': 'total_histogram', '3': 6, '4': 3, '5': 3, '10': 'totalHistogram'},
+  ],
+};
+
+const DispatchStatsSnapshot$json = const {
+  '1': 'DispatchStatsSnapshot',
+  '2': const [
+    const {'1': 'events', '3': 1, '4': 3, '5': 11, '6': '.DispatchStats', '10': 'events'},
+  ],
+};
+
+const TraceDump$json = const {
+  '1': 'TraceDump',
+  '2': const [
+    const {'1': 'events', '3': 1, '4': 3, '5': 9, '10': 'events'},
+    const {'1': 'overwritten', '3': 2, '4': 1, '5': 3, '10': 'overwritten'},
+  ],
+};
+
+const SetServerCharacteristicValueRequest$json = const {
+  '1': 'SetServerCharacteristicValueRequest',
+  '2': const [
+    const {'1': 'service_uuid', '3': 1, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'secondary_service_uuid', '3': 2, '4': 1, '5': 9, '10': 'secondaryServiceUuid'},
+    const {'1': 'characteristic_uuid', '3': 3, '4': 1, '5': 9, '10': 'characteristicUuid'},
+    const {'1': 'value', '3': 4, '4': 1, '5': 12, '10': 'value'},
+  ],
+};
+
+const ServerCharacteristicWrite$json = const {
+  '1': 'ServerCharacteristicWrite',
+  '2': const [
+    const {'1': 'remote_id', '3': 1, '4': 1, '5': 9, '10': 'remoteId'},
+    const {'1': 'service_uuid', '3': 2, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'characteristic_uuid', '3': 3, '4': 1, '5': 9, '10': 'characteristicUuid'},
+    const {'1': 'value', '3': 4, '4': 1, '5': 12, '10': 'value'},
+  ],
+};
+
+const ServerCharacteristicWriteBatch$json = const {
+  '1': 'ServerCharacteristicWriteBatch',
+  '2': const [
+    const {'1': 'writes', '3': 1, '4': 3, '5': 11, '6': '.ServerCharacteristicWrite', '10': 'writes'},
+  ],
+};
+
+const ServerServices$json = const {
+  '1': 'ServerServices',
+  '2': const [
+    const {'1': 'services', '3': 1, '4': 3, '5': 11, '6': '.BluetoothService', '10': 'services'},
+  ],
+};
+
+const AdvertisingPayload$json = const {
+  '1': 'AdvertisingPayload',
+  '2': const [
+    const {'1': 'service_uuids', '3': 1, '4': 3, '5': 9, '10': 'serviceUuids'},
+    const {'1': 'manufacturer_data', '3': 2, '4': 3, '5': 11, '6': '.AdvertisingPayload.ManufacturerDataEntry', '10': 'manufacturerData'},
+    const {'1': 'service_data', '3': 3, '4': 3, '5': 11, '6': '.AdvertisingPayload.ServiceDataEntry', '10': 'serviceData'},
+    const {'1': 'include_device_name', '3': 4, '4': 1, '5': 8, '10': 'includeDeviceName'},
+    const {'1': 'include_tx_power_level', '3': 5, '4': 1, '5': 8, '10': 'includeTxPowerLevel'},
+  ],
+  '3': const [AdvertisingPayload_ManufacturerDataEntry$json, AdvertisingPayload_ServiceDataEntry$json],
+};
+
+const AdvertisingPayload_ManufacturerDataEntry$json = const {
+  '1': 'ManufacturerDataEntry',
+  '2': const [
+    const {'1': 'key', '3': 1, '4': 1, '5': 5, '10': 'key'},
+    const {'1': 'value', '3': 2, '4': 1, '5': 12, '10': 'value'},
+  ],
+  '7': const {'7': true},
+};
+
+const AdvertisingPayload_ServiceDataEntry$json = const {
+  '1': 'ServiceDataEntry',
+  '2': const [
+    const {'1': 'key', '3': 1, '4': 1, '5': 9, '10': 'key'},
+    const {'1': 'value', '3': 2, '4': 1, '5': 12, '10': 'value'},
+  ],
+  '7': const {'7': true},
+};
+
+const AdvertisingSetRequest$json = const {
+  '1': 'AdvertisingSetRequest',
+  '2': const [
+    const {'1': 'set_id', '3': 1, '4': 1, '5': 9, '10': 'setId'},
+    const {'1': 'connectable', '3': 2, '4': 1, '5': 8, '10': 'connectable'},
+    const {'1': 'scannable', '3': 3, '4': 1, '5': 8, '10': 'scannable'},
+    const {'1': 'legacy', '3': 4, '4': 1, '5': 8, '10': 'legacy'},
+    const {'1': 'interval', '3': 5, '4': 1, '5': 5, '10': 'interval'},
+    const {'1': 'tx_power', '3': 6, '4': 1, '5': 11, '6': '.Int32Value', '10': 'txPower'},
+    const {'1': 'primary_phy', '3': 7, '4': 1, '5': 14, '6': '.AdvertisingSetRequest.Phy', '10': 'primaryPhy'},
+    const {'1': 'secondary_phy', '3': 8, '4': 1, '5': 14, '6': '.AdvertisingSetRequest.Phy', '10': 'secondaryPhy'},
+    const {'1': 'include_tx_power', '3': 9, '4': 1, '5': 8, '10': 'includeTxPower'},
+    const {'1': 'advertise_data', '3': 10, '4': 1, '5': 11, '6': '.AdvertisingPayload', '10': 'advertiseData'},
+    const {'1': 'scan_response', '3': 11, '4': 1, '5': 11, '6': '.AdvertisingPayload', '10': 'scanResponse'},
+    const {'1': 'duration_millis', '3': 12, '4': 1, '5': 5, '10': 'durationMillis'},
+    const {'1': 'min_update_interval_millis', '3': 13, '4': 1, '5': 5, '10': 'minUpdateIntervalMillis'},
+  ],
+  '4': const [AdvertisingSetRequest_Phy$json],
+};
+
+const AdvertisingSetRequest_Phy$json = const {
+  '1': 'Phy',
+  '2': const [
+    const {'1': 'LE_1M', '2': 0},
+    const {'1': 'LE_2M', '2': 1},
+    const {'1': 'LE_CODED', '2': 2},
+  ],
+};
+
+const AdvertisingSetState$json = const {
+  '1': 'AdvertisingSetState',
+  '2': const [
+    const {'1': 'set_id', '3': 1, '4': 1, '5': 9, '10': 'setId'},
+    const {'1': 'running', '3': 2, '4': 1, '5': 8, '10': 'running'},
+    const {'1': 'status', '3': 3, '4': 1, '5': 5, '10': 'status'},
+    const {'1': 'tx_power', '3': 4, '4': 1, '5': 5, '10': 'txPower'},
+  ],
+};
+
+const AdvertisingDataUpdate$json = const {
+  '1': 'AdvertisingDataUpdate',
+  '2': const [
+    const {'1': 'set_id', '3': 1, '4': 1, '5': 9, '10': 'setId'},
+    const {'1': 'advertise_data', '3': 2, '4': 1, '5': 11, '6': '.AdvertisingPayload', '10': 'advertiseData'},
+    const {'1': 'scan_response', '3': 3, '4': 1, '5': 11, '6': '.AdvertisingPayload', '10': 'scanResponse'},
+  ],
+};
+
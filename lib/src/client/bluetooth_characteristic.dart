@@ -38,12 +38,11 @@ class BluetoothCharacteristic {
   List<int> get lastValue => _value.value;
 
   BluetoothCharacteristic.fromProto(protos.BluetoothCharacteristic p)
-      : uuid = new Guid(p.uuid),
+      : uuid = _guidOf(p.uuid, p.binaryUuid),
         deviceId = new DeviceIdentifier(p.remoteId),
-        serviceUuid = new Guid(p.serviceUuid),
-        secondaryServiceUuid = (p.secondaryServiceUuid.length > 0)
-            ? new Guid(p.secondaryServiceUuid)
-            : null,
+        serviceUuid = _guidOf(p.serviceUuid, p.binaryServiceUuid),
+        secondaryServiceUuid =
+            _guidOf(p.secondaryServiceUuid, p.binarySecondaryServiceUuid),
         descriptors = p.descriptors
             .map((d) => new BluetoothDescriptor.fromProto(d))
             .toList(),
@@ -127,8 +126,11 @@ class BluetoothCharacteristic {
             new protos.ReadCharacteristicResponse.fromBuffer(buffer))
         .where((p) =>
             (p.remoteId == request.remoteId) &&
-            (p.characteristic.uuid == request.characteristicUuid) &&
-            (p.characteristic.serviceUuid == request.serviceUuid))
+            (_guidOf(p.characteristic.uuid, p.characteristic.binaryUuid) ==
+                uuid) &&
+            (_guidOf(p.characteristic.serviceUuid,
+                    p.characteristic.binaryServiceUuid) ==
+                serviceUuid))
         .map((p) => p.characteristic.value)
         .first
         .then((d) {
@@ -170,8 +172,11 @@ class BluetoothCharacteristic {
             new protos.WriteCharacteristicResponse.fromBuffer(buffer))
         .where((p) =>
             (p.request.remoteId == request.remoteId) &&
-            (p.request.characteristicUuid == request.characteristicUuid) &&
-            (p.request.serviceUuid == request.serviceUuid))
+            (_guidOf(p.request.characteristicUuid,
+                    p.request.binaryCharacteristicUuid) ==
+                uuid) &&
+            (_guidOf(p.request.serviceUuid, p.request.binaryServiceUuid) ==
+                serviceUuid))
         .first
         .then((w) => w.success)
         .then((success) => (!success)
@@ -198,8 +203,11 @@ class BluetoothCharacteristic {
         .map((buffer) => new protos.SetNotificationResponse.fromBuffer(buffer))
         .where((p) =>
             (p.remoteId == request.remoteId) &&
-            (p.characteristic.uuid == request.characteristicUuid) &&
-            (p.characteristic.serviceUuid == request.serviceUuid))
+            (_guidOf(p.characteristic.uuid, p.characteristic.binaryUuid) ==
+                uuid) &&
+            (_guidOf(p.characteristic.serviceUuid,
+                    p.characteristic.binaryServiceUuid) ==
+                serviceUuid))
         .first
         .then((p) => new _SetNotifyResults(BluetoothCharacteristic.fromProto(p.characteristic), p.success))
         .then((r) {
@@ -18,10 +18,11 @@ class BluetoothDescriptor {
   List<int> get lastValue => _value.value;
 
   BluetoothDescriptor.fromProto(protos.BluetoothDescriptor p)
-      : uuid = new Guid(p.uuid),
+      : uuid = _guidOf(p.uuid, p.binaryUuid),
         deviceId = new DeviceIdentifier(p.remoteId),
-        serviceUuid = new Guid(p.serviceUuid),
-        characteristicUuid = new Guid(p.characteristicUuid),
+        serviceUuid = _guidOf(p.serviceUuid, p.binaryServiceUuid),
+        characteristicUuid =
+            _guidOf(p.characteristicUuid, p.binaryCharacteristicUuid),
         _value = BehaviorSubject.seeded(p.value);
 
   protos.BluetoothDescriptor toProto() {
@@ -61,9 +62,13 @@ class BluetoothDescriptor {
         .map((buffer) => new protos.ReadDescriptorResponse.fromBuffer(buffer))
         .where((p) =>
             (p.request.remoteId == request.remoteId) &&
-            (p.request.descriptorUuid == request.descriptorUuid) &&
-            (p.request.characteristicUuid == request.characteristicUuid) &&
-            (p.request.serviceUuid == request.serviceUuid))
+            (_guidOf(p.request.descriptorUuid, p.request.binaryDescriptorUuid) ==
+                uuid) &&
+            (_guidOf(p.request.characteristicUuid,
+                    p.request.binaryCharacteristicUuid) ==
+                characteristicUuid) &&
+            (_guidOf(p.request.serviceUuid, p.request.binaryServiceUuid) ==
+                serviceUuid))
         .map((d) => d.value)
         .first
         .then((d) {
@@ -90,9 +95,13 @@ class BluetoothDescriptor {
         .map((buffer) => new protos.WriteDescriptorResponse.fromBuffer(buffer))
         .where((p) =>
             (p.request.remoteId == request.remoteId) &&
-            (p.request.descriptorUuid == request.descriptorUuid) &&
-            (p.request.characteristicUuid == request.characteristicUuid) &&
-            (p.request.serviceUuid == request.serviceUuid))
+            (_guidOf(p.request.descriptorUuid, p.request.binaryDescriptorUuid) ==
+                uuid) &&
+            (_guidOf(p.request.characteristicUuid,
+                    p.request.binaryCharacteristicUuid) ==
+                characteristicUuid) &&
+            (_guidOf(p.request.serviceUuid, p.request.binaryServiceUuid) ==
+                serviceUuid))
         .first
         .then((w) => w.success)
         .then((success) => (!success)
@@ -81,12 +81,12 @@ class BluetoothDevice extends BluetoothDeviceCommon {
   /// Discovers services offered by the remote device as well as their characteristics and descriptors
   Future<List<BluetoothService>> discoverServices() async {
     var response = FlutterBlue.instance._methodStream
-        .where((m) => m.method == "DiscoverServicesResult")
-        .map((m) => m.arguments)
-        .map((buffer) => new protos.DiscoverServicesResult.fromBuffer(buffer))
-        .where((p) => p.remoteId == id.toString())
-        .map((p) => p.services)
-        .map((s) => s.map((p) => new BluetoothService.fromProto(p)).toList())
+        .where((m) =>
+            m.method == "DiscoverServicesResult" ||
+            m.method == "CompactDiscoverServicesResult")
+        .map((m) => _servicesOf(m.method, m.arguments))
+        .where((p) => p.key == id.toString())
+        .map((p) => p.value)
         .first
         .then((list) {
       _services.add(list);
@@ -128,12 +128,41 @@ class BluetoothDevice extends BluetoothDeviceCommon {
   Stream<List<BluetoothService>> get services async* {
     yield await FlutterBlue.instance._channel
         .invokeMethod('services', id.toString())
-        .then((buffer) =>
-            new protos.DiscoverServicesResult.fromBuffer(buffer).services)
-        .then((i) => i.map((s) => new BluetoothService.fromProto(s)).toList());
+        .then((buffer) => _servicesOf(
+            FlutterBlue.instance._compactDiscovery
+                ? "CompactDiscoverServicesResult"
+                : "DiscoverServicesResult",
+            buffer))
+        .then((p) => p.value);
     yield* _services.stream;
   }
 
+  /// Returns a single Bluetooth GATT service offered by the remote device,
+  /// without sending the others across.
+  /// This function requires that discoverServices has been completed for this device
+  Future<BluetoothService> service(Guid uuid) async {
+    var request = protos.ServiceRequest.create()
+      ..remoteId = id.toString()
+      ..serviceUuid = uuid.toString();
+
+    return FlutterBlue.instance._channel
+        .invokeMethod('service', request.writeToBuffer())
+        .then((buffer) => new protos.BluetoothService.fromBuffer(buffer))
+        .then((p) => new BluetoothService.fromProto(p));
+  }
+
+  /// The remote id and services of a discovery result in either form.
+  static MapEntry<String, List<BluetoothService>> _servicesOf(
+      String method, List<int> buffer) {
+    if (method == "CompactDiscoverServicesResult") {
+      final p = new protos.CompactDiscoverServicesResult.fromBuffer(buffer);
+      return new MapEntry(p.remoteId, expandCompactDiscovery(p));
+    }
+    final p = new protos.DiscoverServicesResult.fromBuffer(buffer);
+    return new MapEntry(p.remoteId,
+        p.services.map((s) => new BluetoothService.fromProto(s)).toList());
+  }
+
   /// The current connection state of the device
   Stream<BluetoothDeviceState> get state async* {
     yield await FlutterBlue.instance._channel
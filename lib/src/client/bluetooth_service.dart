@@ -12,7 +12,7 @@ class BluetoothService {
   final List<BluetoothService> includedServices;
 
   BluetoothService.fromProto(protos.BluetoothService p)
-      : uuid = new Guid(p.uuid),
+      : uuid = _guidOf(p.uuid, p.binaryUuid),
         deviceId = new DeviceIdentifier(p.remoteId),
         isPrimary = p.isPrimary,
         characteristics = p.characteristics
@@ -0,0 +1,87 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+part of flutter_blue;
+
+/// Rebuilds the services of a CompactDiscoverServicesResult as discovery
+/// reports them without compact discovery: every service at the top level,
+/// included services also nested under the services including them.
+@visibleForTesting
+List<BluetoothService> expandCompactDiscovery(
+    protos.CompactDiscoverServicesResult p) {
+  final uuids = p.binaryUuids.isNotEmpty
+      ? p.binaryUuids.map((b) => new Guid.fromBinary(b).toString()).toList()
+      : p.uuids;
+
+  // characteristics of a secondary service name the service including it
+  final includedBy = <int, int>{};
+  for (var i = 0; i < p.services.length; i++) {
+    for (final included in p.services[i].includedServices) {
+      includedBy[included] = i;
+    }
+  }
+
+  final characteristics = p.characteristics.map((c) {
+    final service = p.services[c.service];
+    final characteristic = protos.BluetoothCharacteristic.create()
+      ..uuid = uuids[c.uuid]
+      ..remoteId = p.remoteId
+      ..properties = _compactProperties(c.properties)
+      ..value = c.value;
+    if (service.isPrimary) {
+      characteristic.serviceUuid = uuids[service.uuid];
+    } else if (includedBy.containsKey(c.service)) {
+      characteristic.serviceUuid = uuids[p.services[includedBy[c.service]].uuid];
+      characteristic.secondaryServiceUuid = uuids[service.uuid];
+    }
+    return characteristic;
+  }).toList();
+
+  for (final d in p.descriptors) {
+    final c = p.characteristics[d.characteristic];
+    characteristics[d.characteristic].descriptors
+        .add(protos.BluetoothDescriptor.create()
+          ..uuid = uuids[d.uuid]
+          ..remoteId = p.remoteId
+          ..serviceUuid = uuids[p.services[c.service].uuid]
+          ..characteristicUuid = uuids[c.uuid]
+          ..value = d.value);
+  }
+
+  final byService = new List<List<protos.BluetoothCharacteristic>>.generate(
+      p.services.length, (_) => <protos.BluetoothCharacteristic>[]);
+  for (var i = 0; i < characteristics.length; i++) {
+    byService[p.characteristics[i].service].add(characteristics[i]);
+  }
+
+  protos.BluetoothService expand(int index) {
+    final s = p.services[index];
+    return protos.BluetoothService.create()
+      ..uuid = uuids[s.uuid]
+      ..remoteId = p.remoteId
+      ..isPrimary = s.isPrimary
+      ..characteristics.addAll(byService[index])
+      ..includedServices.addAll(s.includedServices.map(expand));
+  }
+
+  return new List<int>.generate(p.services.length, (i) => i)
+      .map((i) => new BluetoothService.fromProto(expand(i)))
+      .toList();
+}
+
+/// Bit n of [bits] is CharacteristicProperties field n + 1.
+protos.CharacteristicProperties _compactProperties(int bits) {
+  bool isSet(int bit) => (bits & (1 << bit)) != 0;
+  return protos.CharacteristicProperties.create()
+    ..broadcast = isSet(0)
+    ..read = isSet(1)
+    ..writeWithoutResponse = isSet(2)
+    ..write = isSet(3)
+    ..notify = isSet(4)
+    ..indicate = isSet(5)
+    ..authenticatedSignedWrites = isSet(6)
+    ..extendedProperties = isSet(7)
+    ..notifyEncryptionRequired = isSet(8)
+    ..indicateEncryptionRequired = isSet(9);
+}
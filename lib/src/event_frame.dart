@@ -0,0 +1,36 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+part of flutter_blue;
+
+/// Splits a frame sent on `$NAMESPACE/events` into the events it holds, each
+/// a method name length (u8), the ASCII method name, a payload length
+/// (u32, little endian) and the payload.
+///
+/// Payloads are views of the frame, nothing is copied.
+@visibleForTesting
+List<MethodCall> decodeEventFrame(ByteData frame) {
+  final calls = <MethodCall>[];
+  final bytes =
+      frame.buffer.asUint8List(frame.offsetInBytes, frame.lengthInBytes);
+  int offset = 0;
+  while (offset < bytes.length) {
+    final nameLength = bytes[offset];
+    offset += 1;
+    if (offset + nameLength + 4 > bytes.length) {
+      throw FormatException('truncated event frame', bytes, offset);
+    }
+    final method = String.fromCharCodes(bytes, offset, offset + nameLength);
+    offset += nameLength;
+    final payloadLength = frame.getUint32(offset, Endian.little);
+    offset += 4;
+    if (offset + payloadLength > bytes.length) {
+      throw FormatException('truncated event frame', bytes, offset);
+    }
+    calls.add(MethodCall(method,
+        Uint8List.view(frame.buffer, frame.offsetInBytes + offset, payloadLength)));
+    offset += payloadLength;
+  }
+  return calls;
+}
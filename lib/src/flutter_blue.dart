@@ -17,6 +17,12 @@ class FlutterBlue {
     _channel.setMethodCallHandler((MethodCall call) {
       _methodStreamController.add(call);
     });
+    // events arrive here instead while the event stream is on
+    defaultBinaryMessenger.setMessageHandler('$NAMESPACE/events',
+        (ByteData frame) async {
+      decodeEventFrame(frame).forEach(_methodStreamController.add);
+      return null;
+    });
 
     // Send the log level to the underlying platforms.
     setLogLevel(logLevel);
@@ -116,6 +122,7 @@ class FlutterBlue {
         .takeUntil(Rx.merge(killStreams))
         .doOnDone(stopScan)
         .map((buffer) => new protos.ScanResult.fromBuffer(buffer))
+        .where((p) => p.subscriptionIds.isEmpty || p.subscriptionIds.contains(0))
         .map((p) {
       final result = new ScanResult.fromProto(p);
       final list = _scanResults.value;
@@ -152,6 +159,78 @@ class FlutterBlue {
     _isScanning.add(false);
   }
 
+  /// Scans for the advertisements matching [settings] alongside [scan] and
+  /// the other subscriptions, which share a single hardware scan.
+  /// Cancelling the subscription takes its settings out of the scan, the
+  /// stream closes when the scan fails to start with them.
+  Stream<ScanResult> subscribeScan(protos.ScanSettings settings) async* {
+    final int id =
+        await _channel.invokeMethod('subscribeScan', settings.writeToBuffer());
+
+    yield* _methodStream
+        .where((m) => m.method == "ScanResult")
+        .map((m) => new protos.ScanResult.fromBuffer(m.arguments))
+        .where((p) => p.subscriptionIds.contains(id))
+        .map((p) => new ScanResult.fromProto(p))
+        .takeUntil(scanSessionState
+            .where((s) => s.removedSubscriptionIds.contains(id)))
+        .doOnCancel(() => _channel.invokeMethod('unsubscribeScan', id));
+  }
+
+  /// Changes of the hardware scan that do not follow from a call: starts
+  /// held back to stay within the start limit of the platform, and scans
+  /// that failed or stopped on their own.
+  Stream<protos.ScanSessionState> get scanSessionState => _methodStream
+      .where((m) => m.method == "ScanSessionState")
+      .map((m) => new protos.ScanSessionState.fromBuffer(m.arguments));
+
+  /// Decodes iBeacon, AltBeacon and Eddystone frames into the advertisement
+  /// data of scan results.
+  Future setBeaconDecoding(bool enabled) async {
+    await _channel.invokeMethod('setBeaconDecoding', enabled);
+  }
+
+  /// While enabled, scan results arrive on [presence] when a device appears,
+  /// its smoothed rssi changes by [rssiThreshold] dBm or more, or it is not
+  /// seen for [lostAfter], instead of on every advertisement.
+  /// Zero values pick the defaults of the platform.
+  Future setPresenceTracking(bool enabled,
+      {Duration lostAfter = Duration.zero,
+      int rssiThreshold = 0,
+      double rssiSmoothing = 0}) async {
+    var settings = protos.PresenceSettings.create()
+      ..enabled = enabled
+      ..lostAfterMillis = new Int64(lostAfter.inMilliseconds)
+      ..rssiThreshold = rssiThreshold
+      ..rssiSmoothing = rssiSmoothing;
+    await _channel.invokeMethod(
+        'setPresenceTracking', settings.writeToBuffer());
+  }
+
+  /// The devices presence tracking currently considers present.
+  Future<List<DevicePresence>> get presenceSnapshot => _channel
+      .invokeMethod('presenceSnapshot')
+      .then((buffer) => new protos.PresenceSnapshot.fromBuffer(buffer))
+      .then((p) => p.devices
+          .map((d) => new DevicePresence._(PresenceChange.present, d, null))
+          .toList());
+
+  /// Devices appearing, changing and getting lost while presence tracking is
+  /// enabled.
+  Stream<DevicePresence> get presence => _methodStream
+      .where((m) => _presenceChanges.containsKey(m.method))
+      .map((m) {
+    final p = new protos.PresenceEvent.fromBuffer(m.arguments);
+    return new DevicePresence._(_presenceChanges[m.method], p.device,
+        p.hasResult() ? new ScanResult.fromProto(p.result) : null);
+  });
+
+  static const _presenceChanges = const {
+    "DeviceAppeared": PresenceChange.appeared,
+    "DeviceUpdated": PresenceChange.updated,
+    "DeviceLost": PresenceChange.lost,
+  };
+
   /// Start advertisement of a service.
   Future<bool> startAdvertisement(ServerAdvertisePayload payloadIn) async {
     if (_isAdvertising.value == true) {
@@ -255,6 +334,81 @@ class FlutterBlue {
     _isServerRunning.value = false;
   }
 
+  /// Starts an advertising set, several can run at once (Android 8.0+).
+  /// Completes with the state once the set runs, [advertisingSetState]
+  /// reports later changes.
+  Future<protos.AdvertisingSetState> startAdvertisingSet(
+      protos.AdvertisingSetRequest request) {
+    return _channel
+        .invokeMethod('startAdvertisingSet', request.writeToBuffer())
+        .then((buffer) => new protos.AdvertisingSetState.fromBuffer(buffer));
+  }
+
+  /// Replaces the payloads of the running advertising set of [update].
+  Future updateAdvertisementData(protos.AdvertisingDataUpdate update) async {
+    await _channel.invokeMethod(
+        'updateAdvertisementData', update.writeToBuffer());
+  }
+
+  Future stopAdvertisingSet(String setId) async {
+    await _channel.invokeMethod('stopAdvertisingSet', setId);
+  }
+
+  /// Advertising sets failing, timing out and stopping.
+  Stream<protos.AdvertisingSetState> get advertisingSetState => _methodStream
+      .where((m) => m.method == "AdvertisingSetState")
+      .map((m) => new protos.AdvertisingSetState.fromBuffer(m.arguments));
+
+  /// Adds services to the running server.
+  Future addServerServices(List<BluetoothService> services) async {
+    var payload = protos.ServerServices.create()
+      ..services.addAll(services.map((s) => s.toProto()));
+    await _channel.invokeMethod('addServerServices', payload.writeToBuffer());
+  }
+
+  Future removeServerService(Guid uuid) async {
+    await _channel.invokeMethod('removeServerService', uuid.toString());
+  }
+
+  /// Sets the value clients read from a characteristic of the server.
+  Future setServerCharacteristicValue(
+      Guid serviceUuid, Guid characteristicUuid, List<int> value,
+      {Guid secondaryServiceUuid}) async {
+    await _channel.invokeMethod('setServerCharacteristicValue',
+        _serverValue(serviceUuid, characteristicUuid, value, secondaryServiceUuid));
+  }
+
+  /// Sets the value of a characteristic of the server and notifies or
+  /// indicates it to the subscribed devices, completes with their number.
+  Future<int> notifyServerCharacteristic(
+      Guid serviceUuid, Guid characteristicUuid, List<int> value,
+      {Guid secondaryServiceUuid}) {
+    return _channel
+        .invokeMethod('notifyServerCharacteristic',
+            _serverValue(serviceUuid, characteristicUuid, value, secondaryServiceUuid))
+        .then<int>((d) => d);
+  }
+
+  List<int> _serverValue(Guid serviceUuid, Guid characteristicUuid,
+      List<int> value, Guid secondaryServiceUuid) {
+    var request = protos.SetServerCharacteristicValueRequest.create()
+      ..serviceUuid = serviceUuid.toString()
+      ..characteristicUuid = characteristicUuid.toString()
+      ..value = value;
+    if (secondaryServiceUuid != null) {
+      request.secondaryServiceUuid = secondaryServiceUuid.toString();
+    }
+    return request.writeToBuffer();
+  }
+
+  /// Characteristic writes received by the server, in arrival order.
+  Stream<protos.ServerCharacteristicWrite> get serverCharacteristicWrites =>
+      _methodStream
+          .where((m) => m.method == "ServerCharacteristicWrites")
+          .map((m) =>
+              new protos.ServerCharacteristicWriteBatch.fromBuffer(m.arguments))
+          .expand((p) => p.writes);
+
   /// The list of connected peripherals can include those that are connected
   /// by other apps and that will need to be connected locally using the
   /// device.connect() method before they can be used.
@@ -263,6 +417,64 @@ class FlutterBlue {
 //  }) =>
 //      throw UnimplementedError();
 
+  /// Operation counts, latencies and throughput of the connection to
+  /// [device], or of every connection when null.
+  Future<protos.StatsSnapshot> stats({BluetoothDevice device}) {
+    return _channel
+        .invokeMethod('getStats', device?.id?.toString())
+        .then((buffer) => new protos.StatsSnapshot.fromBuffer(buffer));
+  }
+
+  /// How long the events of the platform take to reach dart, per event.
+  Future<protos.DispatchStatsSnapshot> get dispatchStats => _channel
+      .invokeMethod('getDispatchStats')
+      .then((buffer) => new protos.DispatchStatsSnapshot.fromBuffer(buffer));
+
+  bool _compactDiscovery = false;
+
+  /// Sends discovered services without repeating the uuids of every parent,
+  /// which is faster for large databases. The services are the same either way.
+  Future setCompactDiscovery(bool enabled) async {
+    await _channel.invokeMethod('setCompactDiscovery', enabled);
+    _compactDiscovery = enabled;
+  }
+
+  /// Sends attribute uuids in binary instead of as strings, the client
+  /// classes read either.
+  Future setBinaryUuids(bool enabled) async {
+    await _channel.invokeMethod('setBinaryUuids', enabled);
+  }
+
+  /// Records gatt callbacks and operations in a ring buffer read by [dumpTrace].
+  Future setTraceEnabled(bool enabled) async {
+    await _channel.invokeMethod('setTraceEnabled', enabled);
+  }
+
+  Future<protos.TraceDump> dumpTrace() {
+    return _channel
+        .invokeMethod('dumpTrace')
+        .then((buffer) => new protos.TraceDump.fromBuffer(buffer));
+  }
+
+  /// Records the method calls and scan results crossing the plugin into the
+  /// file at [path] until [stopCapture], read back by the benchmark replay tools.
+  Future startCapture(String path) async {
+    await _channel.invokeMethod('startCapture', path);
+  }
+
+  /// Completes with the number of frames dropped because the recording fell
+  /// behind, each gap is marked in the file.
+  Future<int> stopCapture() {
+    return _channel.invokeMethod('stopCapture').then<int>((d) => d);
+  }
+
+  /// Batches the events of the platform into binary frames instead of sending
+  /// one method call each, which is cheaper at high scan or notification rates.
+  /// The streams deliver the same events either way.
+  Future setEventStream(bool enabled) async {
+    await _channel.invokeMethod('setEventStream', enabled);
+  }
+
   /// Sets the log level of the FlutterBlue instance
   /// Messages equal or below the log level specified are stored/forwarded,
   /// messages above are dropped.
@@ -325,6 +537,22 @@ class DeviceIdentifier {
       other is DeviceIdentifier && compareAsciiLowerCase(id, other.id) == 0;
 }
 
+/// Change of a device tracked by [FlutterBlue.setPresenceTracking].
+enum PresenceChange { appeared, updated, lost, present }
+
+class DevicePresence {
+  final PresenceChange change;
+  final DeviceIdentifier id;
+  final int smoothedRssi;
+  final Duration lastSeen; // Before the event was sent.
+  final ScanResult result; // The advertisement behind an appear or update.
+
+  DevicePresence._(this.change, protos.PresenceEntry p, this.result)
+      : id = new DeviceIdentifier(p.remoteId),
+        smoothedRssi = p.smoothedRssi,
+        lastSeen = new Duration(milliseconds: p.lastSeenMillisAgo.toInt());
+}
+
 class ServerAdvertisePayload {
   final Guid service;
   final int manufacturerID;
@@ -364,6 +592,7 @@ class AdvertisementData {
   final Map<int, List<int>> manufacturerData;
   final Map<String, List<int>> serviceData;
   final List<String> serviceUuids;
+  final List<protos.Beacon> beacons; // Decoded once setBeaconDecoding is on.
 
   AdvertisementData(
       {this.localName,
@@ -371,7 +600,8 @@ class AdvertisementData {
       this.connectable,
       this.manufacturerData,
       this.serviceData,
-      this.serviceUuids});
+      this.serviceUuids,
+      this.beacons});
 
   AdvertisementData.fromProto(protos.AdvertisementData p)
       : localName = p.localName,
@@ -380,5 +610,6 @@ class AdvertisementData {
         connectable = p.connectable,
         manufacturerData = p.manufacturerData,
         serviceData = p.serviceData,
-        serviceUuids = p.serviceUuids;
+        serviceUuids = p.serviceUuids,
+        beacons = p.beacons;
 }
@@ -20,6 +20,10 @@ class Guid {
 
   Guid.empty() : this._internal(new List.filled(16, 0));
 
+  /// A uuid in the binary form of the binary_*uuid proto fields, the 16 or
+  /// 32 bit short form of a uuid on the bluetooth base uuid or all 16 bytes.
+  Guid.fromBinary(List<int> values) : this._internal(_fromBinary(values));
+
   static List<int> _fromIntList(List<int> values) {
     var bytes = new List<int>.filled(16, 0);
 
@@ -34,6 +38,21 @@ class Guid {
     return bytes;
   }
 
+  static List<int> _fromBinary(List<int> values) {
+    if (values == null) {
+      throw new ArgumentError("Values were null");
+    }
+    if (values.length == 16) {
+      return new List<int>.from(values);
+    }
+    if (values.length != 2 && values.length != 4) {
+      throw new ArgumentError("Values contains invalid number of elements");
+    }
+    var bytes = _fromString("00000000-0000-1000-8000-00805f9b34fb");
+    bytes.setRange(4 - values.length, 4, values);
+    return bytes;
+  }
+
   static List<int> _fromMacString(input) {
     var bytes = new List<int>.filled(16, 0);
 
@@ -116,3 +135,12 @@ class Guid {
 
   int get hashCode => _hashCode;
 }
+
+/// The uuid a proto carries in [uuid], or in [binary] once binary uuids are on,
+/// null when neither is set.
+Guid _guidOf(String uuid, List<int> binary) {
+  if (binary.isNotEmpty) {
+    return new Guid.fromBinary(binary);
+  }
+  return uuid.isNotEmpty ? new Guid(uuid) : null;
+}
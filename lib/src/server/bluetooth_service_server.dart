@@ -9,7 +9,7 @@ class BluetoothServiceServer {
   final List<BluetoothServiceServer> includedServices;
 
   BluetoothServiceServer.fromProto(protos.BluetoothService p)
-      : uuid = new Guid(p.uuid),
+      : uuid = _guidOf(p.uuid, p.binaryUuid),
         deviceId = new DeviceIdentifier(p.remoteId),
         isPrimary = p.isPrimary,
         characteristics = p.characteristics
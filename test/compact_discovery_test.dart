@@ -0,0 +1,88 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+import 'package:flutter_blue/flutter_blue.dart';
+import 'package:flutter_blue/gen/flutter_blue.pb.dart' as protos;
+import 'package:flutter_test/flutter_test.dart';
+
+final heartRate = new Guid("0000180d-0000-1000-8000-00805f9b34fb");
+final secondary = new Guid("6e400001-b5a3-f393-e0a9-e50e24dcca9e");
+final measurement = new Guid("00002a37-0000-1000-8000-00805f9b34fb");
+final location = new Guid("00002a38-0000-1000-8000-00805f9b34fb");
+
+// heart rate includes the secondary service, measurement notifies and has a cccd
+protos.CompactDiscoverServicesResult compact() {
+  return protos.CompactDiscoverServicesResult.create()
+    ..remoteId = "01:02:03:04:05:06"
+    ..uuids.addAll([heartRate, measurement, BluetoothDescriptor.cccd, secondary, location]
+        .map((g) => g.toString()))
+    ..services.addAll([
+      protos.CompactService.create()
+        ..uuid = 0
+        ..isPrimary = true
+        ..includedServices.add(1),
+      protos.CompactService.create()..uuid = 3,
+    ])
+    ..characteristics.addAll([
+      protos.CompactCharacteristic.create()
+        ..service = 0
+        ..uuid = 1
+        ..properties = 0x10,
+      protos.CompactCharacteristic.create()
+        ..service = 1
+        ..uuid = 4
+        ..properties = 0x02
+        ..value = [1],
+    ])
+    ..descriptors.add(protos.CompactDescriptor.create()
+      ..characteristic = 0
+      ..uuid = 2
+      ..value = [1, 0]);
+}
+
+main() {
+  group("expandCompactDiscovery", () {
+    test('nests included services and resolves parents', () {
+      final services = expandCompactDiscovery(compact());
+      expect(services.map((s) => s.uuid).toList(), [heartRate, secondary]);
+      expect(services[0].isPrimary, true);
+      expect(services[0].deviceId, new DeviceIdentifier("01:02:03:04:05:06"));
+      expect(services[0].includedServices.single.uuid, secondary);
+
+      final c = services[0].characteristics.single;
+      expect(c.uuid, measurement);
+      expect(c.serviceUuid, heartRate);
+      expect(c.secondaryServiceUuid, null);
+      expect(c.properties.notify, true);
+      expect(c.properties.read, false);
+      expect(c.descriptors.single.uuid, BluetoothDescriptor.cccd);
+      expect(c.descriptors.single.characteristicUuid, measurement);
+      expect(c.descriptors.single.lastValue, [1, 0]);
+
+      final included = services[0].includedServices.single.characteristics.single;
+      expect(included.uuid, location);
+      expect(included.serviceUuid, heartRate);
+      expect(included.secondaryServiceUuid, secondary);
+      expect(included.properties.read, true);
+      expect(included.lastValue, [1]);
+    });
+
+    test('reads the binary uuid table', () {
+      final p = compact();
+      p.binaryUuids.addAll([
+        [0x18, 0x0d],
+        [0x2a, 0x37],
+        [0x29, 0x02],
+        secondary.toByteArray(),
+        [0x2a, 0x38],
+      ]);
+      p.uuids.clear();
+      final services = expandCompactDiscovery(p);
+      expect(services.map((s) => s.uuid).toList(), [heartRate, secondary]);
+      expect(services[0].characteristics.single.descriptors.single.uuid,
+          BluetoothDescriptor.cccd);
+      expect(services[1].characteristics.single.uuid, location);
+    });
+  });
+}
@@ -0,0 +1,60 @@
+// Copyright 2017, Paul DeMarco.
+// All rights reserved. Use of this source code is governed by a
+// BSD-style license that can be found in the LICENSE file.
+
+import 'dart:typed_data';
+
+import 'package:flutter_blue/flutter_blue.dart';
+import 'package:flutter_test/flutter_test.dart';
+
+ByteData frameOf(Map<String, List<int>> events) {
+  final bytes = <int>[];
+  events.forEach((method, payload) {
+    bytes.add(method.length);
+    bytes.addAll(method.codeUnits);
+    final length = ByteData(4)..setUint32(0, payload.length, Endian.little);
+    bytes.addAll(length.buffer.asUint8List());
+    bytes.addAll(payload);
+  });
+  return ByteData.view(Uint8List.fromList(bytes).buffer);
+}
+
+main() {
+  group("decodeEventFrame", () {
+    test('splits the events in order', () {
+      final calls = decodeEventFrame(frameOf({
+        'ScanResult': [1, 2, 3],
+        'OnCharacteristicChanged': [],
+        'DeviceState': List<int>.generate(300, (i) => i & 0xFF),
+      }));
+      expect(calls.map((c) => c.method).toList(),
+          ['ScanResult', 'OnCharacteristicChanged', 'DeviceState']);
+      expect(calls[0].arguments, [1, 2, 3]);
+      expect(calls[1].arguments, isEmpty);
+      expect(calls[2].arguments.length, 300);
+      expect(calls[2].arguments[299], 299 & 0xFF);
+    });
+
+    test('reads a frame at an offset into its buffer', () {
+      final bytes = frameOf({'DeviceState': [7]}).buffer.asUint8List();
+      final padded = Uint8List(bytes.length + 5)
+        ..setRange(5, 5 + bytes.length, bytes);
+      final calls =
+          decodeEventFrame(ByteData.view(padded.buffer, 5, bytes.length));
+      expect(calls.single.method, 'DeviceState');
+      expect(calls.single.arguments, [7]);
+    });
+
+    test('empty frame', () {
+      expect(decodeEventFrame(ByteData(0)), isEmpty);
+    });
+
+    test('truncated payload', () {
+      final bytes = frameOf({'ScanResult': [1, 2, 3]}).buffer.asUint8List();
+      expect(
+          () => decodeEventFrame(
+              ByteData.view(bytes.buffer, 0, bytes.length - 1)),
+          throwsFormatException);
+    });
+  });
+}
@@ -58,5 +58,15 @@ main() {
       expect(guid == guid2, true);
       expect(guid == guid3, false);
     });
+
+    test('fromBinary()', () {
+      expect(new Guid.fromBinary([0x2a, 0x43]),
+          new Guid("00002a43-0000-1000-8000-00805f9b34fb"));
+      expect(new Guid.fromBinary([0x12, 0x34, 0x2a, 0x43]),
+          new Guid("12342a43-0000-1000-8000-00805f9b34fb"));
+      var guid = new Guid("6e400001-b5a3-f393-e0a9-e50e24dcca9e");
+      expect(new Guid.fromBinary(guid.toByteArray()), guid);
+      expect(() => new Guid.fromBinary([1, 2, 3]), throwsArgumentError);
+    });
   });
 }